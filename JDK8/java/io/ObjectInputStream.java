@@ -937,6 +937,40 @@ public class ObjectInputStream
         return bin.available();
     }
 
+    /**
+     * Discards any data remaining unread in the current message and reads
+     * the next message from the given stream, so that one ObjectInputStream
+     * can read a sequence of messages written by an ObjectOutputStream that
+     * is {@linkplain ObjectOutputStream#retarget(OutputStream) retargeted}
+     * at the same points. The buffers and tables of this stream are reused
+     * for the next message, and no stream header is read from the given
+     * stream.
+     *
+     * <p>The objects already read are disregarded, as if the stream had been
+     * reset, except for class descriptors, which the next message may refer
+     * to. Validation callbacks not yet invoked are discarded, and the limits
+     * of the serialization filter apply to each message separately.
+     *
+     * @param   in the input stream to read the next message from
+     * @throws  IOException if retarget() is invoked while deserializing an
+     *          object
+     * @throws  NullPointerException if <code>in</code> is <code>null</code>
+     * @see ObjectOutputStream#retarget(OutputStream)
+     * @since 1.8
+     */
+    public void retarget(InputStream in) throws IOException {
+        if (in == null) {
+            throw new NullPointerException();
+        }
+        if (depth != 0) {
+            throw new IOException("stream active");
+        }
+        bin.setInput(in);
+        handles.retainDescriptors();
+        vlist.clear();
+        totalObjectRefs = 0;
+    }
+
     /**
      * Closes the input stream. Must be called to release any resources
      * associated with the stream.
@@ -1781,6 +1815,9 @@ public class ObjectInputStream
 
         ObjectStreamClass desc = new ObjectStreamClass();
         int descHandle = handles.assign(unshared ? unsharedMarker : desc);
+        if (!unshared) {
+            handles.markDescriptor(descHandle);
+        }
         passHandle = NULL_HANDLE;
 
         int numIfaces = bin.readInt();
@@ -1850,6 +1887,9 @@ public class ObjectInputStream
 
         ObjectStreamClass desc = new ObjectStreamClass();
         int descHandle = handles.assign(unshared ? unsharedMarker : desc);
+        if (!unshared) {
+            handles.markDescriptor(descHandle);
+        }
         passHandle = NULL_HANDLE;
 
         ObjectStreamClass readDesc = null;
@@ -2617,7 +2657,7 @@ public class ObjectInputStream
     private static class PeekInputStream extends InputStream {
 
         /** underlying stream */
-        private final InputStream in;
+        private InputStream in;
         /** peeked byte */
         private int peekb = -1;
         /** total bytes read from the stream */
@@ -2630,6 +2670,16 @@ public class ObjectInputStream
             this.in = in;
         }
 
+        /**
+         * Sets the underlying stream, discarding any peeked byte of the
+         * previous one.
+         */
+        void setInput(InputStream in) {
+            this.in = in;
+            peekb = -1;
+            totalBytesRead = 0;
+        }
+
         /**
          * Peeks at next byte value in stream.  Similar to read(), except
          * that it does not consume the read value.
@@ -2794,6 +2844,18 @@ public class ObjectInputStream
             return blkmode;
         }
 
+        /**
+         * Sets the underlying stream, discarding any data of the previous
+         * one, and turns block data mode on.
+         */
+        void setInput(InputStream in) {
+            this.in.setInput(in);
+            blkmode = true;
+            pos = 0;
+            end = 0;
+            unread = 0;
+        }
+
         /**
          * If in block data mode, skips to the end of the current group of data
          * blocks (but does not unset block data mode).  If not in block data
@@ -3621,6 +3683,8 @@ public class ObjectInputStream
         int lowDep = -1;
         /** number of handles in table */
         int size = 0;
+        /** handles of the class descriptors in table, in ascending order */
+        HandleList descriptors = new HandleList();
 
         /**
          * Creates handle table with the given initial capacity.
@@ -3816,6 +3880,36 @@ public class ObjectInputStream
             Arrays.fill(deps, 0, size, null);
             lowDep = -1;
             size = 0;
+            descriptors = new HandleList();
+        }
+
+        /**
+         * Records that the given handle is assigned to a class descriptor.
+         */
+        void markDescriptor(int handle) {
+            descriptors.add(handle);
+        }
+
+        /**
+         * Removes all handles other than those of class descriptors, which
+         * keep their order but are renumbered from the start.  May only be
+         * called when all handles are finished.
+         */
+        void retainDescriptors() {
+            int n = descriptors.size();
+            HandleList retained = new HandleList();
+            for (int i = 0; i < n; i++) {
+                int handle = descriptors.get(i);
+                status[i] = status[handle];
+                entries[i] = entries[handle];
+                retained.add(i);
+            }
+            Arrays.fill(status, n, size, (byte) 0);
+            Arrays.fill(entries, n, size, null);
+            Arrays.fill(deps, 0, size, null);
+            lowDep = -1;
+            size = n;
+            descriptors = retained;
         }
 
         /**
@@ -183,6 +183,8 @@ public class ObjectOutputStream
     private int protocol = PROTOCOL_VERSION_2;
     /** recursion depth */
     private int depth;
+    /** true if no object has been written since the last reset */
+    private boolean resetPending;
 
     /** buffer for writing primitive field values */
     private byte[] primVals;
@@ -501,6 +503,52 @@ public class ObjectOutputStream
         bout.writeByte(TC_RESET);
         clear();
         bout.setBlockDataMode(true);
+        resetPending = true;
+    }
+
+    /**
+     * Flushes this stream and directs further output to the given stream,
+     * so that one ObjectOutputStream can write a sequence of messages, each
+     * to its own stream. The buffers and tables of this stream are reused
+     * for the next message, and no stream header is written to the given
+     * stream.
+     *
+     * <p>The state of the objects already written is disregarded, as by
+     * {@link #reset}, except for class descriptors: descriptors already
+     * written are written to the next message as references to the earlier
+     * ones. The messages must be read by a single ObjectInputStream that is
+     * {@linkplain ObjectInputStream#retarget(InputStream) retargeted} at the
+     * same points, so that it knows these descriptors; no marker is written
+     * to indicate the point.
+     *
+     * @param   out the output stream to write the next message to
+     * @throws  IOException if an I/O error occurs flushing this stream, or
+     *          if retarget() is invoked while serializing an object
+     * @throws  NullPointerException if <code>out</code> is <code>null</code>
+     * @see ObjectInputStream#retarget(InputStream)
+     * @since 1.8
+     */
+    public void retarget(OutputStream out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        if (depth != 0) {
+            throw new IOException("stream active");
+        }
+        bout.flush();
+        bout.setOutput(out);
+        subs.clear();
+        handles.retainDescriptors();
+        if (resetPending) {
+            /*
+             * A reset with no object written after it may be discarded
+             * unread with the rest of the message, so mark the reset again
+             * at the start of the next one.
+             */
+            bout.setBlockDataMode(false);
+            bout.writeByte(TC_RESET);
+            bout.setBlockDataMode(true);
+        }
     }
 
     /**
@@ -1105,6 +1153,7 @@ public class ObjectOutputStream
     private void writeObject0(Object obj, boolean unshared)
         throws IOException
     {
+        resetPending = false;
         boolean oldMode = bout.setBlockDataMode(false);
         depth++;
         try {
@@ -1759,7 +1808,7 @@ public class ObjectOutputStream
         private int pos = 0;
 
         /** underlying output stream */
-        private final OutputStream out;
+        private OutputStream out;
         /** loopback stream (for data writes that span data blocks) */
         private final DataOutputStream dout;
 
@@ -1796,6 +1845,14 @@ public class ObjectOutputStream
             return blkmode;
         }
 
+        /**
+         * Sets the underlying stream that further output is written to.  Any
+         * buffered data must have been drained.
+         */
+        void setOutput(OutputStream out) {
+            this.out = out;
+        }
+
         /* ----------------- generic output stream methods ----------------- */
         /*
          * The following methods are equivalent to their counterparts in
@@ -2308,6 +2365,25 @@ public class ObjectOutputStream
             size = 0;
         }
 
+        /**
+         * Removes all mappings other than those of class descriptors, which
+         * keep their order but are assigned handles from the start.
+         */
+        void retainDescriptors() {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (objs[i] instanceof ObjectStreamClass) {
+                    objs[n++] = objs[i];
+                }
+            }
+            Arrays.fill(objs, n, size, null);
+            Arrays.fill(spine, -1);
+            size = n;
+            for (int i = 0; i < n; i++) {
+                insert(objs[i], i);
+            }
+        }
+
         /**
          * Returns the number of mappings currently in table.
          */
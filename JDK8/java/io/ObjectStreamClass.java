@@ -104,17 +104,26 @@ public class ObjectStreamClass implements Serializable {
             new ReflectionFactory.GetReflectionFactoryAction());
 
     private static class Caches {
-        /** cache mapping local classes -> descriptors */
-        static final ConcurrentMap<WeakClassKey,Reference<?>> localDescs =
-            new ConcurrentHashMap<>();
+        /**
+         * cache mapping local classes -> descriptors (or the exceptions
+         * thrown creating them); entries are strongly reachable from their
+         * classes, so remain cached for as long as the classes are loaded
+         */
+        static final ClassValue<Object> localDescs = new ClassValue<Object>() {
+            @Override
+            protected Object computeValue(Class<?> type) {
+                try {
+                    return new ObjectStreamClass(type);
+                } catch (Throwable th) {
+                    return th;
+                }
+            }
+        };
 
         /** cache mapping field group/local desc pairs -> field reflectors */
         static final ConcurrentMap<FieldReflectorKey,Reference<?>> reflectors =
             new ConcurrentHashMap<>();
 
-        /** queue for WeakReferences to local classes */
-        private static final ReferenceQueue<Class<?>> localDescsQueue =
-            new ReferenceQueue<>();
         /** queue for WeakReferences to field reflectors keys */
         private static final ReferenceQueue<Class<?>> reflectorsQueue =
             new ReferenceQueue<>();
@@ -344,62 +353,12 @@ public class ObjectStreamClass implements Serializable {
         if (!(all || Serializable.class.isAssignableFrom(cl))) {
             return null;
         }
-        processQueue(Caches.localDescsQueue, Caches.localDescs);
-        WeakClassKey key = new WeakClassKey(cl, Caches.localDescsQueue);
-        Reference<?> ref = Caches.localDescs.get(key);
-        Object entry = null;
-        if (ref != null) {
-            entry = ref.get();
-        }
-        EntryFuture future = null;
-        if (entry == null) {
-            EntryFuture newEntry = new EntryFuture();
-            Reference<?> newRef = new SoftReference<>(newEntry);
-            do {
-                if (ref != null) {
-                    Caches.localDescs.remove(key, ref);
-                }
-                ref = Caches.localDescs.putIfAbsent(key, newRef);
-                if (ref != null) {
-                    entry = ref.get();
-                }
-            } while (ref != null && entry == null);
-            if (entry == null) {
-                future = newEntry;
-            }
-        }
-
-        if (entry instanceof ObjectStreamClass) {  // check common case first
-            return (ObjectStreamClass) entry;
-        }
-        if (entry instanceof EntryFuture) {
-            future = (EntryFuture) entry;
-            if (future.getOwner() == Thread.currentThread()) {
-                /*
-                 * Handle nested call situation described by 4803747: waiting
-                 * for future value to be set by a lookup() call further up the
-                 * stack will result in deadlock, so calculate and set the
-                 * future value here instead.
-                 */
-                entry = null;
-            } else {
-                entry = future.get();
-            }
-        }
-        if (entry == null) {
-            try {
-                entry = new ObjectStreamClass(cl);
-            } catch (Throwable th) {
-                entry = th;
-            }
-            if (future.set(entry)) {
-                Caches.localDescs.put(key, new SoftReference<Object>(entry));
-            } else {
-                // nested lookup call already set future
-                entry = future.get();
-            }
-        }
-
+        /*
+         * A lookup nested in the creation of the same descriptor, as in
+         * 4803747, creates the descriptor itself rather than waiting for it;
+         * the first descriptor created is the one cached.
+         */
+        Object entry = Caches.localDescs.get(cl);
         if (entry instanceof ObjectStreamClass) {
             return (ObjectStreamClass) entry;
         } else if (entry instanceof RuntimeException) {
@@ -412,7 +371,7 @@ public class ObjectStreamClass implements Serializable {
     }
 
     /**
-     * Placeholder used in class descriptor and field reflector lookup tables
+     * Placeholder used in field reflector lookup tables
      * for an entry in the process of being initialized.  (Internal) callers
      * which receive an EntryFuture belonging to another thread as the result
      * of a lookup should call the get() method of the EntryFuture; this will
@@ -2071,6 +2030,17 @@ public class ObjectStreamClass implements Serializable {
         private final char[] typeCodes;
         /** field types */
         private final Class<?>[] types;
+        /** primitive field read keys, grouped by type code */
+        private final long[] primReadKeys;
+        /** primitive field write keys, grouped as primReadKeys */
+        private final long[] primWriteKeys;
+        /** primitive field data offsets, grouped as primReadKeys */
+        private final int[] primOffsets;
+        /** end index of each group of primitive fields */
+        private final int[] primEnds;
+
+        /** type codes, in the order in which primitive fields are grouped */
+        private static final String PRIM_TYPE_CODES = "ZBCSIFJD";
 
         /**
          * Constructs FieldReflector capable of setting/getting values from the
@@ -2107,6 +2077,31 @@ public class ObjectStreamClass implements Serializable {
 
             types = typeList.toArray(new Class<?>[typeList.size()]);
             numPrimFields = nfields - types.length;
+
+            /*
+             * Group the primitive fields by type, so that each of the get and
+             * set loops below accesses fields of a single type.
+             */
+            primReadKeys = new long[numPrimFields];
+            primWriteKeys = new long[numPrimFields];
+            primOffsets = new int[numPrimFields];
+            primEnds = new int[PRIM_TYPE_CODES.length()];
+            int n = 0;
+            for (int t = 0; t < primEnds.length; t++) {
+                char tcode = PRIM_TYPE_CODES.charAt(t);
+                for (int i = 0; i < numPrimFields; i++) {
+                    if (typeCodes[i] == tcode) {
+                        primReadKeys[n] = readKeys[i];
+                        primWriteKeys[n] = writeKeys[i];
+                        primOffsets[n] = offsets[i];
+                        n++;
+                    }
+                }
+                primEnds[t] = n;
+            }
+            if (n != numPrimFields) {
+                throw new InternalError();
+            }
         }
 
         /**
@@ -2132,46 +2127,26 @@ public class ObjectStreamClass implements Serializable {
              * descriptor this FieldReflector was obtained from, no field keys
              * in array should be equal to Unsafe.INVALID_FIELD_OFFSET.
              */
-            for (int i = 0; i < numPrimFields; i++) {
-                long key = readKeys[i];
-                int off = offsets[i];
-                switch (typeCodes[i]) {
-                    case 'Z':
-                        Bits.putBoolean(buf, off, unsafe.getBoolean(obj, key));
-                        break;
-
-                    case 'B':
-                        buf[off] = unsafe.getByte(obj, key);
-                        break;
-
-                    case 'C':
-                        Bits.putChar(buf, off, unsafe.getChar(obj, key));
-                        break;
-
-                    case 'S':
-                        Bits.putShort(buf, off, unsafe.getShort(obj, key));
-                        break;
-
-                    case 'I':
-                        Bits.putInt(buf, off, unsafe.getInt(obj, key));
-                        break;
-
-                    case 'F':
-                        Bits.putFloat(buf, off, unsafe.getFloat(obj, key));
-                        break;
-
-                    case 'J':
-                        Bits.putLong(buf, off, unsafe.getLong(obj, key));
-                        break;
-
-                    case 'D':
-                        Bits.putDouble(buf, off, unsafe.getDouble(obj, key));
-                        break;
-
-                    default:
-                        throw new InternalError();
-                }
-            }
+            long[] keys = primReadKeys;
+            int[] offs = primOffsets;
+            int[] ends = primEnds;
+            int i = 0;
+            for (int end = ends[0]; i < end; i++)
+                Bits.putBoolean(buf, offs[i], unsafe.getBoolean(obj, keys[i]));
+            for (int end = ends[1]; i < end; i++)
+                buf[offs[i]] = unsafe.getByte(obj, keys[i]);
+            for (int end = ends[2]; i < end; i++)
+                Bits.putChar(buf, offs[i], unsafe.getChar(obj, keys[i]));
+            for (int end = ends[3]; i < end; i++)
+                Bits.putShort(buf, offs[i], unsafe.getShort(obj, keys[i]));
+            for (int end = ends[4]; i < end; i++)
+                Bits.putInt(buf, offs[i], unsafe.getInt(obj, keys[i]));
+            for (int end = ends[5]; i < end; i++)
+                Bits.putFloat(buf, offs[i], unsafe.getFloat(obj, keys[i]));
+            for (int end = ends[6]; i < end; i++)
+                Bits.putLong(buf, offs[i], unsafe.getLong(obj, keys[i]));
+            for (int end = ends[7]; i < end; i++)
+                Bits.putDouble(buf, offs[i], unsafe.getDouble(obj, keys[i]));
         }
 
         /**
@@ -2183,48 +2158,44 @@ public class ObjectStreamClass implements Serializable {
             if (obj == null) {
                 throw new NullPointerException();
             }
-            for (int i = 0; i < numPrimFields; i++) {
-                long key = writeKeys[i];
-                if (key == Unsafe.INVALID_FIELD_OFFSET) {
-                    continue;           // discard value
-                }
-                int off = offsets[i];
-                switch (typeCodes[i]) {
-                    case 'Z':
-                        unsafe.putBoolean(obj, key, Bits.getBoolean(buf, off));
-                        break;
-
-                    case 'B':
-                        unsafe.putByte(obj, key, buf[off]);
-                        break;
-
-                    case 'C':
-                        unsafe.putChar(obj, key, Bits.getChar(buf, off));
-                        break;
-
-                    case 'S':
-                        unsafe.putShort(obj, key, Bits.getShort(buf, off));
-                        break;
-
-                    case 'I':
-                        unsafe.putInt(obj, key, Bits.getInt(buf, off));
-                        break;
-
-                    case 'F':
-                        unsafe.putFloat(obj, key, Bits.getFloat(buf, off));
-                        break;
-
-                    case 'J':
-                        unsafe.putLong(obj, key, Bits.getLong(buf, off));
-                        break;
-
-                    case 'D':
-                        unsafe.putDouble(obj, key, Bits.getDouble(buf, off));
-                        break;
-
-                    default:
-                        throw new InternalError();
-                }
+            long[] keys = primWriteKeys;
+            int[] offs = primOffsets;
+            int[] ends = primEnds;
+            int i = 0;
+            // keys equal to Unsafe.INVALID_FIELD_OFFSET discard the value
+            for (int end = ends[0]; i < end; i++) {
+                if (keys[i] != Unsafe.INVALID_FIELD_OFFSET)
+                    unsafe.putBoolean(obj, keys[i],
+                                      Bits.getBoolean(buf, offs[i]));
+            }
+            for (int end = ends[1]; i < end; i++) {
+                if (keys[i] != Unsafe.INVALID_FIELD_OFFSET)
+                    unsafe.putByte(obj, keys[i], buf[offs[i]]);
+            }
+            for (int end = ends[2]; i < end; i++) {
+                if (keys[i] != Unsafe.INVALID_FIELD_OFFSET)
+                    unsafe.putChar(obj, keys[i], Bits.getChar(buf, offs[i]));
+            }
+            for (int end = ends[3]; i < end; i++) {
+                if (keys[i] != Unsafe.INVALID_FIELD_OFFSET)
+                    unsafe.putShort(obj, keys[i], Bits.getShort(buf, offs[i]));
+            }
+            for (int end = ends[4]; i < end; i++) {
+                if (keys[i] != Unsafe.INVALID_FIELD_OFFSET)
+                    unsafe.putInt(obj, keys[i], Bits.getInt(buf, offs[i]));
+            }
+            for (int end = ends[5]; i < end; i++) {
+                if (keys[i] != Unsafe.INVALID_FIELD_OFFSET)
+                    unsafe.putFloat(obj, keys[i], Bits.getFloat(buf, offs[i]));
+            }
+            for (int end = ends[6]; i < end; i++) {
+                if (keys[i] != Unsafe.INVALID_FIELD_OFFSET)
+                    unsafe.putLong(obj, keys[i], Bits.getLong(buf, offs[i]));
+            }
+            for (int end = ends[7]; i < end; i++) {
+                if (keys[i] != Unsafe.INVALID_FIELD_OFFSET)
+                    unsafe.putDouble(obj, keys[i],
+                                     Bits.getDouble(buf, offs[i]));
             }
         }
 
@@ -27,14 +27,17 @@ package java.lang;
 
 import java.io.ObjectStreamField;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Formatter;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -515,6 +518,34 @@ public final class String
         this(bytes, 0, bytes.length, charset);
     }
 
+    /**
+     * Constructs a new {@code String} by decoding the remaining bytes of the
+     * specified buffer using the specified {@linkplain
+     * java.nio.charset.Charset charset}.  The bytes from the buffer's
+     * position up to its limit are decoded, and the position is then set to
+     * the limit.  Neither the buffer's contents nor its limit are modified.
+     *
+     * <p> This method always replaces malformed-input and unmappable-character
+     * sequences with this charset's default replacement string.  The {@link
+     * java.nio.charset.CharsetDecoder} class should be used when more control
+     * over the decoding process is required.
+     *
+     * @param  bytes
+     *         The buffer whose remaining bytes are to be decoded into
+     *         characters
+     *
+     * @param  charset
+     *         The {@linkplain java.nio.charset.Charset charset} to be used to
+     *         decode the {@code bytes}
+     *
+     * @since  1.8
+     */
+    public String(ByteBuffer bytes, Charset charset) {
+        if (charset == null)
+            throw new NullPointerException("charset");
+        this.value = StringCoding.decode(charset, bytes);
+    }
+
     /**
      * Constructs a new {@code String} by decoding the specified subarray of
      * bytes using the platform's default charset.  The length of the new
@@ -941,6 +972,48 @@ public final class String
         return StringCoding.encode(charset, value, 0, value.length);
     }
 
+    /**
+     * Encodes this {@code String} into a sequence of bytes using the given
+     * {@linkplain java.nio.charset.Charset charset}, storing the result into
+     * the destination array beginning at index {@code dstBegin}.
+     *
+     * <p> This method always replaces malformed-input and unmappable-character
+     * sequences with this charset's default replacement byte array.  The
+     * {@link java.nio.charset.CharsetEncoder} class should be used when more
+     * control over the encoding process is required.
+     *
+     * <p> If the encoded bytes do not fit in the destination array an
+     * exception is thrown, and the contents of the array from index
+     * {@code dstBegin} onwards are unspecified.
+     *
+     * @param  charset
+     *         The {@linkplain java.nio.charset.Charset} to be used to encode
+     *         the {@code String}
+     *
+     * @param  dst
+     *         The destination array
+     *
+     * @param  dstBegin
+     *         The start offset in the destination array
+     *
+     * @return  The number of bytes written
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code dstBegin} is negative or greater than {@code
+     *          dst.length}, or if the encoded bytes do not fit in the
+     *          subarray of {@code dst} starting at {@code dstBegin}
+     *
+     * @since  1.8
+     */
+    public int getBytes(Charset charset, byte[] dst, int dstBegin) {
+        if (charset == null) throw new NullPointerException();
+        Objects.requireNonNull(dst);
+        if (dstBegin < 0 || dstBegin > dst.length)
+            throw new ArrayIndexOutOfBoundsException(dstBegin);
+        return StringCoding.encode(charset, value, 0, value.length,
+                                   dst, dstBegin);
+    }
+
     /**
      * Encodes this {@code String} into a sequence of bytes using the
      * platform's default charset, storing the result into a new byte array.
@@ -2118,7 +2191,7 @@ public final class String
      * @spec JSR-51
      */
     public boolean matches(String regex) {
-        return Pattern.matches(regex, this);
+        return PatternCache.get(regex).matcher(this).matches();
     }
 
     /**
@@ -2175,7 +2248,7 @@ public final class String
      * @spec JSR-51
      */
     public String replaceFirst(String regex, String replacement) {
-        return Pattern.compile(regex).matcher(this).replaceFirst(replacement);
+        return PatternCache.get(regex).matcher(this).replaceFirst(replacement);
     }
 
     /**
@@ -2220,7 +2293,7 @@ public final class String
      * @spec JSR-51
      */
     public String replaceAll(String regex, String replacement) {
-        return Pattern.compile(regex).matcher(this).replaceAll(replacement);
+        return PatternCache.get(regex).matcher(this).replaceAll(replacement);
     }
 
     /**
@@ -2377,7 +2450,7 @@ public final class String
             String[] result = new String[resultSize];
             return list.subList(0, resultSize).toArray(result);
         }
-        return Pattern.compile(regex).split(this, limit);
+        return PatternCache.get(regex).split(this, limit);
     }
 
     /**
@@ -3165,4 +3238,78 @@ public final class String
      *          guaranteed to be from a pool of unique strings.
      */
     public native String intern();
+
+    /**
+     * Holds the patterns compiled on behalf of {@link #matches(String)},
+     * {@link #replaceFirst}, {@link #replaceAll} and {@link #split(String,
+     * int)}. These methods are typically called many times with the same
+     * constant expression, and a {@code Pattern} is immutable and safe for
+     * use by multiple threads, so a recently compiled pattern can be shared
+     * rather than recompiled on every call. The cache is bounded; lookups
+     * take no lock, and eviction approximates least recently used with the
+     * second chance ("clock") policy.
+     */
+    private static final class PatternCache {
+        // Expressions longer than this are compiled but never cached
+        private static final int MAX_CACHED_REGEX_LENGTH = 256;
+
+        // Number of recently used expressions retained
+        private static final int CACHE_SIZE = 32;
+
+        private static final ConcurrentHashMap<String, Entry> cache =
+            new ConcurrentHashMap<>(CACHE_SIZE * 2);
+
+        /**
+         * A cached pattern and whether it was used since the last sweep.
+         */
+        private static final class Entry {
+            final Pattern pattern;
+            volatile boolean used = true;
+
+            Entry(Pattern pattern) {
+                this.pattern = pattern;
+            }
+        }
+
+        /**
+         * Returns the compiled form of the given expression, reusing the
+         * result of an earlier compilation if one is cached.
+         *
+         * @throws PatternSyntaxException
+         *         if the expression's syntax is invalid
+         */
+        static Pattern get(String regex) {
+            if (regex.length() > MAX_CACHED_REGEX_LENGTH)
+                return Pattern.compile(regex);
+            Entry e = cache.get(regex);
+            if (e != null) {
+                if (!e.used)
+                    e.used = true;
+                return e.pattern;
+            }
+            Pattern p = Pattern.compile(regex);
+            if (cache.size() >= CACHE_SIZE)
+                evict();
+            cache.putIfAbsent(regex, new Entry(p));
+            return p;
+        }
+
+        /**
+         * Removes an entry not used since the last sweep, giving the used
+         * entries passed over a second chance.
+         */
+        private static void evict() {
+            for (int pass = 0; pass < 2; pass++) {
+                Iterator<Entry> it = cache.values().iterator();
+                while (it.hasNext()) {
+                    Entry e = it.next();
+                    if (!e.used) {
+                        it.remove();
+                        return;
+                    }
+                    e.used = false;
+                }
+            }
+        }
+    }
 }
@@ -36,6 +36,7 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.Arrays;
 import sun.misc.MessageUtils;
@@ -106,6 +107,184 @@ class StringCoding {
         return null;
     }
 
+    // -- Fast paths --
+    //
+    // Text in US-ASCII or ISO-8859-1, and UTF-8 text that is all ASCII, is
+    // coded here directly rather than through a CharsetDecoder or
+    // CharsetEncoder, so that the result is sized exactly in a single pass
+    // instead of for the worst case and then trimmed.  The results are
+    // those of the standard coders with malformed input and unmappable
+    // characters replaced by the default replacement.
+
+    private static final int OTHER  = 0;
+    private static final int ASCII  = 1;
+    private static final int LATIN1 = 2;
+    private static final int UTF8   = 3;
+
+    private static int coding(Charset cs) {
+        if (cs == StandardCharsets.UTF_8)
+            return UTF8;
+        if (cs == StandardCharsets.ISO_8859_1)
+            return LATIN1;
+        if (cs == StandardCharsets.US_ASCII)
+            return ASCII;
+        return OTHER;
+    }
+
+    // Decode the given bytes if the coding has a fast path for them,
+    // otherwise return null
+    //
+    private static char[] decodeFast(int coding, byte[] ba, int off, int len) {
+        char[] ca;
+        switch (coding) {
+        case ASCII:
+            ca = new char[len];
+            for (int i = 0; i < len; i++) {
+                byte b = ba[off + i];
+                ca[i] = (b >= 0) ? (char)b : '\ufffd';
+            }
+            return ca;
+        case LATIN1:
+            ca = new char[len];
+            for (int i = 0; i < len; i++)
+                ca[i] = (char)(ba[off + i] & 0xff);
+            return ca;
+        case UTF8:
+            // Only input that is all ASCII; anything else goes through the
+            // decoder, which is sized for the worst case and trimmed
+            for (int i = 0; i < len; i++) {
+                if (ba[off + i] < 0)
+                    return null;
+            }
+            ca = new char[len];
+            for (int i = 0; i < len; i++)
+                ca[i] = (char)ba[off + i];
+            return ca;
+        default:
+            return null;
+        }
+    }
+
+    // Encode the given chars if the coding has a fast path, otherwise
+    // return null; ce is an encoder for the charset that replaces
+    //
+    private static byte[] encodeFast(int coding, CharsetEncoder ce,
+                                     char[] ca, int off, int len) {
+        byte[] ba;
+        int n;
+        switch (coding) {
+        case ASCII:
+            ba = new byte[len];
+            n = encode8Bit(0x7f, ca, off, len, ba, 0);
+            // A surrogate pair is replaced by a single byte
+            return (n == len) ? ba : Arrays.copyOf(ba, n);
+        case UTF8:
+            // Assume ASCII, which is sized exactly; once a char that is not
+            // turns up, the rest is encoded separately and appended
+            ba = new byte[len];
+            int i = 0;
+            while (i < len && ca[off + i] < 0x80) {
+                ba[i] = (byte)ca[off + i];
+                i++;
+            }
+            if (i == len)
+                return ba;
+            byte[] buf = new byte[scale(len - i, ce.maxBytesPerChar())];
+            n = ((ArrayEncoder)ce).encode(ca, off + i, len - i, buf);
+            if (i == 0)
+                return Arrays.copyOf(buf, n);
+            ba = Arrays.copyOf(ba, i + n);
+            System.arraycopy(buf, 0, ba, i, n);
+            return ba;
+        default:
+            // ISO-8859-1 has an intrinsic encoder, which is faster
+            return null;
+        }
+    }
+
+    // Encode chars into a single byte charset whose characters are those
+    // up to max; return the number of bytes written, which is at most len
+    //
+    private static int encode8Bit(int max, char[] ca, int off, int len,
+                                  byte[] ba, int dp) {
+        int start = dp;
+        int sl = off + len;
+        while (off < sl) {
+            char c = ca[off++];
+            if (c <= max) {
+                ba[dp++] = (byte)c;
+                continue;
+            }
+            if (Character.isHighSurrogate(c) && off < sl &&
+                Character.isLowSurrogate(ca[off]))
+                off++;
+            ba[dp++] = (byte)'?';
+        }
+        return dp - start;
+    }
+
+    // Return the number of bytes the given chars encode to in UTF-8
+    //
+    private static int lengthUTF8(char[] ca, int off, int len) {
+        long n = len;
+        int sl = off + len;
+        while (off < sl) {
+            char c = ca[off++];
+            if (c < 0x80) {
+                continue;
+            } else if (c < 0x800) {
+                n += 1;
+            } else if (Character.isSurrogate(c)) {
+                // A pair is four bytes, a malformed surrogate becomes '?'
+                if (Character.isHighSurrogate(c) && off < sl &&
+                    Character.isLowSurrogate(ca[off])) {
+                    off++;
+                    n += 2;
+                }
+            } else {
+                n += 2;
+            }
+        }
+        if (n > Integer.MAX_VALUE)
+            throw new OutOfMemoryError("Required array size too large");
+        return (int)n;
+    }
+
+    // Encode chars into UTF-8; return the index after the last byte written
+    //
+    private static int encodeUTF8(char[] ca, int off, int len,
+                                  byte[] ba, int dp) {
+        int sl = off + len;
+        // ASCII only loop
+        while (off < sl && ca[off] < 0x80)
+            ba[dp++] = (byte)ca[off++];
+        while (off < sl) {
+            char c = ca[off++];
+            if (c < 0x80) {
+                ba[dp++] = (byte)c;
+            } else if (c < 0x800) {
+                ba[dp++] = (byte)(0xc0 | (c >> 6));
+                ba[dp++] = (byte)(0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && off < sl &&
+                    Character.isLowSurrogate(ca[off])) {
+                    int uc = Character.toCodePoint(c, ca[off++]);
+                    ba[dp++] = (byte)(0xf0 | (uc >> 18));
+                    ba[dp++] = (byte)(0x80 | ((uc >> 12) & 0x3f));
+                    ba[dp++] = (byte)(0x80 | ((uc >> 6) & 0x3f));
+                    ba[dp++] = (byte)(0x80 | (uc & 0x3f));
+                } else {
+                    ba[dp++] = (byte)'?';
+                }
+            } else {
+                ba[dp++] = (byte)(0xe0 | (c >> 12));
+                ba[dp++] = (byte)(0x80 | ((c >> 6) & 0x3f));
+                ba[dp++] = (byte)(0x80 | (c & 0x3f));
+            }
+        }
+        return dp;
+    }
+
     private static void warnUnsupportedCharset(String csn) {
         if (warnUnsupportedCharset) {
             // Use sun.misc.MessageUtils rather than the Logging API or
@@ -124,10 +303,12 @@ class StringCoding {
         private final Charset cs;
         private final CharsetDecoder cd;
         private final boolean isTrusted;
+        private final int coding;
 
         private StringDecoder(Charset cs, String rcn) {
             this.requestedCharsetName = rcn;
             this.cs = cs;
+            this.coding = coding(cs);
             this.cd = cs.newDecoder()
                 .onMalformedInput(CodingErrorAction.REPLACE)
                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
@@ -145,6 +326,9 @@ class StringCoding {
         }
 
         char[] decode(byte[] ba, int off, int len) {
+            char[] fast = decodeFast(coding, ba, off, len);
+            if (fast != null)
+                return fast;
             int en = scale(len, cd.maxCharsPerByte());
             char[] ca = new char[en];
             if (len == 0)
@@ -210,6 +394,9 @@ class StringCoding {
         // check (... && (isTrusted || SM == null || getClassLoader0())) in trim
         // but it then can be argued that the SM is null when the opertaion
         // is started...
+        char[] fast = decodeFast(coding(cs), ba, off, len);
+        if (fast != null)
+            return fast;
         CharsetDecoder cd = cs.newDecoder();
         int en = scale(len, cd.maxCharsPerByte());
         char[] ca = new char[en];
@@ -247,6 +434,50 @@ class StringCoding {
         }
     }
 
+    static char[] decode(Charset cs, ByteBuffer bb) {
+        int len = bb.remaining();
+        if (bb.hasArray()) {
+            char[] ca = decode(cs, bb.array(), bb.arrayOffset() + bb.position(),
+                               len);
+            bb.position(bb.limit());
+            return ca;
+        }
+        int coding = coding(cs);
+        if (coding == ASCII || coding == LATIN1) {
+            char[] ca = new char[len];
+            for (int i = 0; i < len; i++) {
+                byte b = bb.get();
+                ca[i] = (coding == LATIN1) ? (char)(b & 0xff)
+                                           : (b >= 0) ? (char)b : '\ufffd';
+            }
+            return ca;
+        }
+        CharsetDecoder cd = cs.newDecoder();
+        char[] ca = new char[scale(len, cd.maxCharsPerByte())];
+        if (len == 0)
+            return ca;
+        boolean isTrusted = false;
+        if (System.getSecurityManager() != null)
+            isTrusted = (cs.getClass().getClassLoader0() == null);
+        cd.onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE)
+          .reset();
+        CharBuffer cb = CharBuffer.wrap(ca);
+        try {
+            CoderResult cr = cd.decode(bb, cb, true);
+            if (!cr.isUnderflow())
+                cr.throwException();
+            cr = cd.flush(cb);
+            if (!cr.isUnderflow())
+                cr.throwException();
+        } catch (CharacterCodingException x) {
+            // Substitution is always enabled,
+            // so this shouldn't happen
+            throw new Error(x);
+        }
+        return safeTrim(ca, cb.position(), cs, isTrusted);
+    }
+
     static char[] decode(byte[] ba, int off, int len) {
         String csn = Charset.defaultCharset().name();
         try {
@@ -275,10 +506,12 @@ class StringCoding {
         private CharsetEncoder ce;
         private final String requestedCharsetName;
         private final boolean isTrusted;
+        private final int coding;
 
         private StringEncoder(Charset cs, String rcn) {
             this.requestedCharsetName = rcn;
             this.cs = cs;
+            this.coding = coding(cs);
             this.ce = cs.newEncoder()
                 .onMalformedInput(CodingErrorAction.REPLACE)
                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
@@ -296,6 +529,9 @@ class StringCoding {
         }
 
         byte[] encode(char[] ca, int off, int len) {
+            byte[] fast = encodeFast(coding, ce, ca, off, len);
+            if (fast != null)
+                return fast;
             int en = scale(len, ce.maxBytesPerChar());
             byte[] ba = new byte[en];
             if (len == 0)
@@ -346,6 +582,14 @@ class StringCoding {
 
     static byte[] encode(Charset cs, char[] ca, int off, int len) {
         CharsetEncoder ce = cs.newEncoder();
+        int coding = coding(cs);
+        if (coding != OTHER) {
+            ce.onMalformedInput(CodingErrorAction.REPLACE)
+              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            byte[] fast = encodeFast(coding, ce, ca, off, len);
+            if (fast != null)
+                return fast;
+        }
         int en = scale(len, ce.maxBytesPerChar());
         byte[] ba = new byte[en];
         if (len == 0)
@@ -380,6 +624,56 @@ class StringCoding {
         }
     }
 
+    // Encode into the given array from index dp and return the number of
+    // bytes written; throws IndexOutOfBoundsException if they do not fit
+    //
+    static int encode(Charset cs, char[] ca, int off, int len,
+                      byte[] ba, int dp) {
+        int room = ba.length - dp;
+        int coding = coding(cs);
+        if (coding == UTF8) {
+            if (lengthUTF8(ca, off, len) > room)
+                throw new ArrayIndexOutOfBoundsException(ba.length);
+            return encodeUTF8(ca, off, len, ba, dp) - dp;
+        }
+        if ((coding == ASCII || coding == LATIN1) && len <= room)
+            return encode8Bit(coding == ASCII ? 0x7f : 0xff,
+                              ca, off, len, ba, dp);
+        if (len == 0)
+            return 0;
+        CharsetEncoder ce = cs.newEncoder();
+        if (scale(len, ce.maxBytesPerChar()) > room) {
+            // The result may not fit, and not every encoder reports
+            // overflow reliably, so encode it separately to find out
+            byte[] result = encode(cs, ca, off, len);
+            if (result.length > room)
+                throw new ArrayIndexOutOfBoundsException(ba.length);
+            System.arraycopy(result, 0, ba, dp, result.length);
+            return result.length;
+        }
+        if (System.getSecurityManager() != null &&
+            cs.getClass().getClassLoader0() != null) {
+            ca = Arrays.copyOfRange(ca, off, off + len);
+            off = 0;
+        }
+        ce.onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE)
+          .reset();
+        ByteBuffer bb = ByteBuffer.wrap(ba, dp, room);
+        CharBuffer cb = CharBuffer.wrap(ca, off, len);
+        try {
+            CoderResult cr = ce.encode(cb, bb, true);
+            if (!cr.isUnderflow())
+                cr.throwException();
+            cr = ce.flush(bb);
+            if (!cr.isUnderflow())
+                cr.throwException();
+        } catch (CharacterCodingException x) {
+            throw new Error(x);
+        }
+        return bb.position() - dp;
+    }
+
     static byte[] encode(char[] ca, int off, int len) {
         String csn = Charset.defaultCharset().name();
         try {
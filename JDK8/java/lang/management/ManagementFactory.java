@@ -171,6 +171,10 @@ import sun.management.ExtendedPlatformComponent;
  * <td> {@link java.util.logging.LogManager#LOGGING_MXBEAN_NAME
  *             java.util.logging:type=Logging}</td>
  * </tr>
+ * <tr>
+ * <td> {@link java.net.InetAddressCacheMXBean} </td>
+ * <td> {@code java.net:type=InetAddressCache}</td>
+ * </tr>
  * </table>
  * </blockquote>
  *
@@ -25,6 +25,11 @@
 
 package java.lang.management;
 
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetAddressCacheMXBean;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -216,6 +221,19 @@ enum PlatformComponent {
             }
         }),
 
+    /**
+     * Host name lookup cache of java.net.InetAddress.
+     */
+    INET_ADDRESS_CACHE(
+        "java.net.InetAddressCacheMXBean",
+        "java.net", "InetAddressCache", defaultKeyProperties(),
+        true, // singleton
+        new MXBeanFetcher<InetAddressCacheMXBean>() {
+            public List<InetAddressCacheMXBean> getMXBeans() {
+                return Collections.singletonList(getInetAddressCacheMXBean());
+            }
+        }),
+
 
     // Sun Platform Extension
 
@@ -310,6 +328,24 @@ enum PlatformComponent {
         }
     }
 
+    /*
+     * Returns the InetAddressCacheMXBean, which is private to java.net.
+     */
+    private static InetAddressCacheMXBean getInetAddressCacheMXBean() {
+        return AccessController.doPrivileged(
+            new PrivilegedAction<InetAddressCacheMXBean>() {
+                public InetAddressCacheMXBean run() {
+                    try {
+                        Method m = InetAddress.class.getDeclaredMethod("cacheMXBean");
+                        m.setAccessible(true);
+                        return (InetAddressCacheMXBean) m.invoke(null);
+                    } catch (ReflectiveOperationException e) {
+                        throw new InternalError(e);
+                    }
+                }
+            });
+    }
+
     private final String mxbeanInterfaceName;
     private final String domain;
     private final String type;
@@ -0,0 +1,568 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.math;
+
+import static java.math.BigDecimal.INFLATED;
+import static java.math.BigInteger.LONG_MASK;
+import java.util.function.Consumer;
+
+/**
+ * A mutable, arbitrary-precision signed decimal number, for accumulating
+ * sums and products of {@link BigDecimal} values in place.  Each
+ * {@code BigDecimal} operation returns a new {@code BigDecimal}, and often a
+ * new {@code BigInteger} and its magnitude array as well, so a loop which
+ * adds up many values allocates several objects per value.  An accumulator
+ * instead updates its own state: while its unscaled value fits in a
+ * {@code long}, as is usual for monetary amounts, it is kept in a
+ * {@code long} field, and beyond that in a magnitude array which is reused
+ * and grown as needed.
+ *
+ * <p>The value of an accumulator is always exactly the value a chain of
+ * the corresponding {@code BigDecimal} operations would produce, including
+ * its scale.  For example, after
+ * <pre> {@code
+ * BigDecimalAccumulator acc = new BigDecimalAccumulator();
+ * for (BigDecimal amount : amounts)
+ *     acc.add(amount);
+ * BigDecimal total = acc.toBigDecimal();
+ * }</pre>
+ * {@code total} is equal, in both value and scale, to the result of adding
+ * up the amounts with {@code BigDecimal.add}, starting from
+ * {@code BigDecimal.ZERO}.
+ *
+ * <p>{@code BigDecimalAccumulator} can be used as a
+ * {@linkplain java.util.stream.Stream#collect(java.util.stream.Collector)
+ * reduction} target for a {@linkplain java.util.stream.Stream stream}, and
+ * is used by {@link java.util.stream.Collectors#summingBigDecimal
+ * Collectors.summingBigDecimal} and {@link
+ * java.util.stream.Collectors#averagingBigDecimal
+ * Collectors.averagingBigDecimal}.
+ *
+ * <p>Unless otherwise noted, passing a {@code null} argument to a method
+ * in this class will cause a {@code NullPointerException} to be thrown.
+ *
+ * @implNote This implementation is not thread safe. However, it is safe to
+ * use it to collect a parallel stream, because the parallel implementation
+ * of {@link java.util.stream.Stream#collect Stream.collect()} provides the
+ * necessary partitioning, isolation, and merging of results for safe and
+ * efficient parallel execution.
+ *
+ * @see     BigDecimal
+ * @since 1.8
+ */
+public final class BigDecimalAccumulator implements Consumer<BigDecimal> {
+
+    /**
+     * The unscaled value if it fits in a {@code long} other than {@code
+     * INFLATED}, otherwise {@code INFLATED}, and the magnitude of the
+     * unscaled value is in {@code intMag} and its sign in {@code signum}.
+     */
+    private long intCompact;
+
+    /**
+     * The magnitude of the unscaled value when {@code intCompact} is
+     * {@code INFLATED}, otherwise scratch space.  Never shares its array.
+     */
+    private MutableBigInteger intMag;
+
+    /**
+     * The sign of the unscaled value when {@code intCompact} is {@code
+     * INFLATED}.
+     */
+    private int signum;
+
+    /**
+     * The scale of the value.
+     */
+    private int scale;
+
+    /**
+     * Scratch space for products and for operands scaled up to the scale
+     * of this accumulator.  Never shares its array.
+     */
+    private MutableBigInteger product;
+
+    /**
+     * Holds the magnitude of a {@code long} operand.
+     */
+    private MutableBigInteger longOperand;
+
+    /**
+     * A read-only view of the magnitude of a {@code BigInteger} operand.
+     */
+    private MutableBigInteger bigOperand;
+
+    /**
+     * A read-only view of the magnitude of a power of ten.
+     */
+    private MutableBigInteger powerOfTen;
+
+    /**
+     * Constructs an accumulator with the value zero, with a scale of zero.
+     */
+    public BigDecimalAccumulator() {
+    }
+
+    /**
+     * Constructs an accumulator with the value, and scale, of the given
+     * {@code BigDecimal}.
+     *
+     * @param val the initial value
+     */
+    public BigDecimalAccumulator(BigDecimal val) {
+        setValue(val);
+    }
+
+    /**
+     * Adds the given value to this accumulator, as {@link #add(BigDecimal)}.
+     *
+     * @param val the value to add
+     */
+    @Override
+    public void accept(BigDecimal val) {
+        add(val);
+    }
+
+    /**
+     * Adds the given value to this accumulator.  The scale of the result is
+     * {@code max(this.scale(), augend.scale())}.
+     *
+     * @param  augend value to be added to this accumulator.
+     * @return this accumulator
+     */
+    public BigDecimalAccumulator add(BigDecimal augend) {
+        addOperand(augend, false);
+        return this;
+    }
+
+    /**
+     * Adds the given value to this accumulator, and rounds the result
+     * according to the context settings.  The result is the value of
+     * {@code toBigDecimal().add(augend).round(mc)}.
+     *
+     * @param  augend value to be added to this accumulator.
+     * @param  mc the context to use.
+     * @return this accumulator
+     * @throws ArithmeticException if the result is inexact but the
+     *         rounding mode is {@code UNNECESSARY}.
+     */
+    public BigDecimalAccumulator add(BigDecimal augend, MathContext mc) {
+        addOperand(augend, false);
+        round(mc);
+        return this;
+    }
+
+    /**
+     * Subtracts the given value from this accumulator.  The scale of the
+     * result is {@code max(this.scale(), subtrahend.scale())}.
+     *
+     * @param  subtrahend value to be subtracted from this accumulator.
+     * @return this accumulator
+     */
+    public BigDecimalAccumulator subtract(BigDecimal subtrahend) {
+        addOperand(subtrahend, true);
+        return this;
+    }
+
+    /**
+     * Subtracts the given value from this accumulator, and rounds the
+     * result according to the context settings.  The result is the value of
+     * {@code toBigDecimal().subtract(subtrahend).round(mc)}.
+     *
+     * @param  subtrahend value to be subtracted from this accumulator.
+     * @param  mc the context to use.
+     * @return this accumulator
+     * @throws ArithmeticException if the result is inexact but the
+     *         rounding mode is {@code UNNECESSARY}.
+     */
+    public BigDecimalAccumulator subtract(BigDecimal subtrahend, MathContext mc) {
+        addOperand(subtrahend, true);
+        round(mc);
+        return this;
+    }
+
+    /**
+     * Multiplies this accumulator by the given value.  The scale of the
+     * result is {@code (this.scale() + multiplicand.scale())}.
+     *
+     * @param  multiplicand value to multiply this accumulator by.
+     * @return this accumulator
+     * @throws ArithmeticException if the scale of the result is outside the
+     *         range of an {@code int}.
+     */
+    public BigDecimalAccumulator multiply(BigDecimal multiplicand) {
+        int newScale = checkScale((long)scale + multiplicand.scale());
+        long ys = multiplicand.intCompact;
+        if (intCompact != INFLATED && ys != INFLATED) {
+            long product = multiply(intCompact, ys);
+            if (product != INFLATED) {
+                intCompact = product;
+                scale = newScale;
+                return this;
+            }
+        }
+        if (multiplicand.signum() == 0 || signum() == 0) {
+            intCompact = 0;
+        } else {
+            inflate();
+            MutableBigInteger y = operand(ys, multiplicand.intVal);
+            if (product == null)
+                product = new MutableBigInteger();
+            intMag.multiply(y, product);
+            swapProduct();
+            signum *= multiplicand.signum();
+            compactIfPossible();
+        }
+        scale = newScale;
+        return this;
+    }
+
+    /**
+     * Multiplies this accumulator by the given value, and rounds the result
+     * according to the context settings.  The result is the value of
+     * {@code toBigDecimal().multiply(multiplicand).round(mc)}.
+     *
+     * @param  multiplicand value to multiply this accumulator by.
+     * @param  mc the context to use.
+     * @return this accumulator
+     * @throws ArithmeticException if the result is inexact but the
+     *         rounding mode is {@code UNNECESSARY}, or if the scale of the
+     *         result is outside the range of an {@code int}.
+     */
+    public BigDecimalAccumulator multiply(BigDecimal multiplicand, MathContext mc) {
+        multiply(multiplicand);
+        round(mc);
+        return this;
+    }
+
+    /**
+     * Adds the value of another accumulator to this one.  The other
+     * accumulator is not changed.
+     *
+     * @param  other another {@code BigDecimalAccumulator}
+     * @return this accumulator
+     */
+    public BigDecimalAccumulator combine(BigDecimalAccumulator other) {
+        if (other.intCompact != INFLATED) {
+            addUnscaled(other.intCompact, 0, null, other.scale);
+        } else {
+            MutableBigInteger mag = other.intMag;
+            if (other == this)
+                mag = new MutableBigInteger(mag);
+            addUnscaled(INFLATED, other.signum, mag, other.scale);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the value of this accumulator to zero, with a scale of zero.
+     * The storage of the accumulator is kept for reuse.
+     *
+     * @return this accumulator
+     */
+    public BigDecimalAccumulator reset() {
+        intCompact = 0;
+        scale = 0;
+        return this;
+    }
+
+    /**
+     * Returns the signum function of the value of this accumulator.
+     *
+     * @return -1, 0, or 1 as the value of this accumulator is negative,
+     *         zero, or positive.
+     */
+    public int signum() {
+        return (intCompact != INFLATED) ? Long.signum(intCompact) : signum;
+    }
+
+    /**
+     * Returns the scale of the value of this accumulator, as
+     * {@link BigDecimal#scale}.
+     *
+     * @return the scale of the value of this accumulator.
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Returns the value of this accumulator as a {@code BigDecimal}.
+     *
+     * @return the value of this accumulator.
+     */
+    public BigDecimal toBigDecimal() {
+        if (intCompact != INFLATED)
+            return BigDecimal.valueOf(intCompact, scale);
+        // The result may take over the magnitude array, which later
+        // operations update in place, so it is given a copy.
+        return new MutableBigInteger(intMag).toBigDecimal(signum, scale);
+    }
+
+    /**
+     * Returns the string representation of the value of this accumulator,
+     * as {@link BigDecimal#toString}.
+     *
+     * @return string representation of the value of this accumulator.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toString();
+    }
+
+    // Private implementation
+
+    private void setValue(BigDecimal val) {
+        scale = val.scale();
+        if (val.intCompact != INFLATED) {
+            intCompact = val.intCompact;
+        } else {
+            if (intMag == null)
+                intMag = new MutableBigInteger();
+            intMag.copyValue(val.intVal.mag);
+            signum = val.intVal.signum;
+            intCompact = INFLATED;
+        }
+    }
+
+    /**
+     * Adds or subtracts the given value.
+     */
+    private void addOperand(BigDecimal val, boolean negate) {
+        long xs = val.intCompact;
+        if (xs != INFLATED) {
+            addUnscaled(negate ? -xs : xs, 0, null, val.scale());
+        } else {
+            BigInteger b = val.intVal;
+            addUnscaled(INFLATED, negate ? -b.signum : b.signum,
+                        operand(INFLATED, b), val.scale());
+        }
+    }
+
+    /**
+     * Adds the value whose unscaled value is {@code xs}, or if that is
+     * {@code INFLATED}, has the sign {@code xsign} and the magnitude
+     * {@code xmag}, and whose scale is {@code xscale}.
+     */
+    private void addUnscaled(long xs, int xsign, MutableBigInteger xmag, int xscale) {
+        if (xscale > scale) {
+            scaleUp(xscale - scale);
+        } else if (xscale < scale) {
+            int n = scale - xscale;
+            long scaled = (xs != INFLATED) ? BigDecimal.longMultiplyPowerTen(xs, n)
+                                           : INFLATED;
+            if (scaled == INFLATED) {
+                if (xs != INFLATED) {
+                    xsign = Long.signum(xs);
+                    xmag = operand(Math.abs(xs), null);
+                }
+                if (product == null)
+                    product = new MutableBigInteger();
+                multiplyPowerTen(xmag, n, product);
+                xmag = product;
+            }
+            xs = scaled;
+        }
+
+        if (intCompact != INFLATED && xs != INFLATED) {
+            long sum = intCompact + xs;
+            // See "Hacker's Delight" section 2-12 for explanation of
+            // the overflow test.
+            if ((((sum ^ intCompact) & (sum ^ xs))) >= 0L && sum != INFLATED) {
+                intCompact = sum;
+                return;
+            }
+        }
+        if (xs != INFLATED) {
+            xsign = Long.signum(xs);
+            xmag = operand(Math.abs(xs), null);
+        }
+        if (xsign == 0)
+            return;
+        inflate();
+        if (signum == 0) {
+            intMag.copyValue(xmag);
+            signum = xsign;
+        } else if (signum == xsign) {
+            intMag.add(xmag);
+        } else {
+            signum *= intMag.subtract(xmag);
+        }
+        compactIfPossible();
+    }
+
+    /**
+     * Multiplies the unscaled value by ten to the power {@code n}, and
+     * increases the scale by {@code n}.
+     */
+    private void scaleUp(int n) {
+        scale += n;
+        if (intCompact != INFLATED) {
+            long scaled = BigDecimal.longMultiplyPowerTen(intCompact, n);
+            if (scaled != INFLATED) {
+                intCompact = scaled;
+                return;
+            }
+            inflate();
+        }
+        if (product == null)
+            product = new MutableBigInteger();
+        multiplyPowerTen(intMag, n, product);
+        swapProduct();
+    }
+
+    /**
+     * Sets {@code z} to the nonzero {@code x} times ten to the power
+     * {@code n}.
+     */
+    private void multiplyPowerTen(MutableBigInteger x, int n, MutableBigInteger z) {
+        if (n <= 9) {
+            x.mul((int)BigDecimal.LONG_TEN_POWERS_TABLE[n], z);
+        } else {
+            if (powerOfTen == null)
+                powerOfTen = new MutableBigInteger();
+            setView(powerOfTen, BigDecimal.bigTenToThe(n));
+            x.multiply(powerOfTen, z);
+        }
+    }
+
+    /**
+     * Returns the magnitude of the operand whose unscaled value is
+     * {@code xs}, or if that is {@code INFLATED}, is {@code b}.
+     */
+    private MutableBigInteger operand(long xs, BigInteger b) {
+        if (xs != INFLATED) {
+            if (longOperand == null)
+                longOperand = new MutableBigInteger(new int[2]);
+            setMagnitude(longOperand, Math.abs(xs));
+            return longOperand;
+        }
+        if (bigOperand == null)
+            bigOperand = new MutableBigInteger();
+        setView(bigOperand, b);
+        return bigOperand;
+    }
+
+    /**
+     * Makes {@code m} a view of the magnitude of {@code b}, which must not be
+     * modified through it.
+     */
+    private static void setView(MutableBigInteger m, BigInteger b) {
+        m.value = b.mag;
+        m.offset = 0;
+        m.intLen = b.mag.length;
+    }
+
+    /**
+     * Moves the unscaled value into {@code intMag}.
+     */
+    private void inflate() {
+        if (intCompact != INFLATED) {
+            if (intMag == null)
+                intMag = new MutableBigInteger(new int[2]);
+            else if (intMag.value.length < 2)
+                intMag.value = new int[2];
+            setMagnitude(intMag, Math.abs(intCompact));
+            signum = Long.signum(intCompact);
+            intCompact = INFLATED;
+        }
+    }
+
+    /**
+     * Moves the unscaled value back into {@code intCompact} if it fits.
+     */
+    private void compactIfPossible() {
+        MutableBigInteger m = intMag;
+        if (m.intLen > 2)
+            return;
+        long v;
+        if (m.intLen == 0) {
+            v = 0;
+        } else if (m.intLen == 1) {
+            v = m.value[m.offset] & LONG_MASK;
+        } else {
+            v = (m.value[m.offset] & LONG_MASK) << 32 |
+                (m.value[m.offset + 1] & LONG_MASK);
+        }
+        if (v >= 0)                         // less than 2^63
+            intCompact = (signum < 0) ? -v : v;
+    }
+
+    private void swapProduct() {
+        MutableBigInteger t = intMag;
+        intMag = product;
+        product = t;
+    }
+
+    /**
+     * Rounds the value according to the context settings.
+     */
+    private void round(MathContext mc) {
+        if (mc.precision == 0)
+            return;
+        if (intCompact != INFLATED &&
+            BigDecimal.longDigitLength(intCompact) <= mc.precision)
+            return;
+        setValue(toBigDecimal().round(mc));
+    }
+
+    /**
+     * Sets {@code m}, whose array has at least two ints, to the
+     * nonnegative {@code v}.
+     */
+    private static void setMagnitude(MutableBigInteger m, long v) {
+        int hi = (int)(v >>> 32);
+        m.offset = 0;
+        if (hi == 0) {
+            m.value[0] = (int)v;
+            m.intLen = (v == 0) ? 0 : 1;
+        } else {
+            m.value[0] = hi;
+            m.value[1] = (int)v;
+            m.intLen = 2;
+        }
+    }
+
+    /**
+     * Returns the product of two longs, or {@code INFLATED} if it does not
+     * fit in a long other than {@code INFLATED}.
+     */
+    private static long multiply(long x, long y) {
+        long product = x * y;
+        long ax = Math.abs(x);
+        long ay = Math.abs(y);
+        if (((ax | ay) >>> 31 == 0) || (y == 0) || (product / y == x))
+            return product;
+        return INFLATED;
+    }
+
+    private static int checkScale(long val) {
+        int asInt = (int)val;
+        if (asInt != val)
+            throw new ArithmeticException(val > 0 ? "Underflow" : "Overflow");
+        return asInt;
+    }
+}
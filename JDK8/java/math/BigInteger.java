@@ -33,8 +33,11 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamField;
+import java.nio.CharBuffer;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.ThreadLocalRandom;
 import sun.misc.DoubleConsts;
 import sun.misc.FloatConsts;
@@ -242,6 +245,22 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      */
     private static final int TOOM_COOK_SQUARE_THRESHOLD = 216;
 
+    /**
+     * The threshold value for using Schoenhage-Strassen multiplication.  If
+     * the number of ints in both mag arrays are greater than or equal to this
+     * number, then Schoenhage-Strassen multiplication will be used.  This
+     * value is found experimentally to work well.
+     */
+    private static final int SCHOENHAGE_STRASSEN_THRESHOLD = 6144;
+
+    /**
+     * The threshold value for using Schoenhage-Strassen squaring.  If the
+     * number of ints in the number are greater than or equal to this value,
+     * Schoenhage-Strassen squaring will be used.  This value is found
+     * experimentally to work well.
+     */
+    private static final int SCHOENHAGE_STRASSEN_SQUARE_THRESHOLD = 6144;
+
     /**
      * The threshold value for using Burnikel-Ziegler division.  If the number
      * of ints in the divisor are larger than this value, Burnikel-Ziegler
@@ -268,6 +287,16 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      */
     private static final int SCHOENHAGE_BASE_CONVERSION_THRESHOLD = 20;
 
+    /**
+     * The threshold value for using recursive base conversion when parsing a
+     * string.  If the number of ints needed for the number is larger than
+     * this value, its digits are split in two parts that are parsed
+     * recursively and then combined with a power of the radix from the same
+     * cache as is used by the Schoenhage conversion to a string.  This value
+     * is found experimentally to work well.
+     */
+    private static final int SCHOENHAGE_BASE_PARSE_THRESHOLD = 20;
+
     /**
      * The threshold value for using squaring code to perform multiplication
      * of a {@code BigInteger} instance by itself.  If the number of ints in
@@ -460,6 +489,13 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
             reportOverflow();
         }
         int numWords = (int) (numBits + 31) >>> 5;
+        if (numWords > SCHOENHAGE_BASE_PARSE_THRESHOLD) {
+            mag = parseMagnitude(val, cursor, len, radix).mag;
+            if (mag.length >= MAX_MAG_LENGTH) {
+                checkRange();
+            }
+            return;
+        }
         int[] magnitude = new int[numWords];
 
         // Process first (potentially short) digit group
@@ -518,6 +554,17 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
             }
             numWords = (int) (numBits + 31) >>> 5;
         }
+        if (numWords > SCHOENHAGE_BASE_PARSE_THRESHOLD) {
+            try {
+                mag = parseMagnitude(CharBuffer.wrap(val), cursor, len, 10).mag;
+            } catch (NumberFormatException nfe) {
+                throw new NumberFormatException(new String(val));
+            }
+            if (mag.length >= MAX_MAG_LENGTH) {
+                checkRange();
+            }
+            return;
+        }
         int[] magnitude = new int[numWords];
 
         // Process first (potentially short) digit group
@@ -1144,6 +1191,68 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * Initialize static constant array when class is loaded.
      */
     private final static int MAX_CONSTANT = 16;
+    /**
+     * Parses the digits from {@code start} to {@code end} of {@code val},
+     * which has no sign, as a nonnegative number in the given radix.  This
+     * implements the recursive Schoenhage algorithm for base conversions,
+     * in the direction opposite to {@link #toString(BigInteger, Appendable,
+     * int, int)}: the last 2<sup>n</sup> digits, for the largest such
+     * number less than the number of digits, and the digits before them are
+     * parsed separately, and combined using radix<sup>2<sup>n</sup></sup>
+     * from the power cache.
+     *
+     * @throws NumberFormatException if a character is not a digit
+     */
+    private static BigInteger parseMagnitude(CharSequence val, int start,
+                                             int end, int radix) {
+        int numDigits = end - start;
+        if (numDigits <= SCHOENHAGE_BASE_PARSE_THRESHOLD * digitsPerInt[radix])
+            return smallParseMagnitude(val, start, end, radix);
+
+        int n = 31 - Integer.numberOfLeadingZeros(numDigits - 1);
+        int split = end - (1 << n);
+        BigInteger high = parseMagnitude(val, start, split, radix);
+        BigInteger low = parseMagnitude(val, split, end, radix);
+        return high.multiply(getRadixConversionCache(radix, n)).add(low);
+    }
+
+    /**
+     * Parses the digits from {@code start} to {@code end} of {@code val}
+     * a digit group at a time, as the constructors do for small numbers.
+     */
+    private static BigInteger smallParseMagnitude(CharSequence val, int start,
+                                                  int end, int radix) {
+        int numDigits = end - start;
+        int numWords = (int) ((((numDigits * bitsPerDigit[radix]) >>> 10) + 32) >>> 5);
+        int[] magnitude = new int[numWords];
+
+        // Process first (potentially short) digit group
+        int firstGroupLen = numDigits % digitsPerInt[radix];
+        if (firstGroupLen == 0)
+            firstGroupLen = digitsPerInt[radix];
+        magnitude[numWords - 1] = parseGroup(val, start, start += firstGroupLen, radix);
+
+        // Process remaining digit groups
+        int superRadix = intRadix[radix];
+        while (start < end) {
+            int groupVal = parseGroup(val, start, start += digitsPerInt[radix], radix);
+            destructiveMulAdd(magnitude, superRadix, groupVal);
+        }
+        return new BigInteger(trustedStripLeadingZeroInts(magnitude), 1);
+    }
+
+    // Parses a digit group, which fits in an int.
+    private static int parseGroup(CharSequence val, int start, int end, int radix) {
+        int result = 0;
+        for (int index = start; index < end; index++) {
+            int nextVal = Character.digit(val.charAt(index), radix);
+            if (nextVal < 0)
+                throw new NumberFormatException("Illegal digit");
+            result = radix*result + nextVal;
+        }
+        return result;
+    }
+
     private static BigInteger posConst[] = new BigInteger[MAX_CONSTANT+1];
     private static BigInteger negConst[] = new BigInteger[MAX_CONSTANT+1];
 
@@ -1163,10 +1272,12 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
     static {
         assert 0 < KARATSUBA_THRESHOLD
             && KARATSUBA_THRESHOLD < TOOM_COOK_THRESHOLD
-            && TOOM_COOK_THRESHOLD < Integer.MAX_VALUE
+            && TOOM_COOK_THRESHOLD < SCHOENHAGE_STRASSEN_THRESHOLD
+            && SCHOENHAGE_STRASSEN_THRESHOLD < Integer.MAX_VALUE
             && 0 < KARATSUBA_SQUARE_THRESHOLD
             && KARATSUBA_SQUARE_THRESHOLD < TOOM_COOK_SQUARE_THRESHOLD
-            && TOOM_COOK_SQUARE_THRESHOLD < Integer.MAX_VALUE :
+            && TOOM_COOK_SQUARE_THRESHOLD < SCHOENHAGE_STRASSEN_SQUARE_THRESHOLD
+            && SCHOENHAGE_STRASSEN_SQUARE_THRESHOLD < Integer.MAX_VALUE :
             "Algorithm thresholds are inconsistent";
 
         for (int i = 1; i <= MAX_CONSTANT; i++) {
@@ -1490,7 +1601,29 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this * val}
      */
     public BigInteger multiply(BigInteger val) {
-        return multiply(val, false);
+        return multiply(val, false, false, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this * val)}, computed
+     * using the threads of the {@linkplain ForkJoinPool#commonPool() common
+     * pool} when both operands are large, typically many thousands of bits.
+     * The result is exactly the same as that of {@link #multiply}.
+     *
+     * @implNote An implementation may offer better algorithmic
+     * performance when {@code val == this}.  This implementation divides
+     * the work of the recursive multiplication algorithms used for large
+     * operands into tasks run in parallel, which uses more CPU time and
+     * somewhat more memory than {@link #multiply} to produce the result
+     * sooner.
+     *
+     * @param  val value to be multiplied by this BigInteger.
+     * @return {@code this * val}
+     * @see #multiply
+     * @since 1.8
+     */
+    public BigInteger parallelMultiply(BigInteger val) {
+        return multiply(val, false, true, 0);
     }
 
     /**
@@ -1502,13 +1635,28 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this * val}
      */
     private BigInteger multiply(BigInteger val, boolean isRecursion) {
+        return multiply(val, isRecursion, false, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this * val)}.  If
+     * the invocation is recursive certain overflow checks are skipped.
+     *
+     * @param  val value to be multiplied by this BigInteger.
+     * @param  isRecursion whether this is a recursive invocation
+     * @param  parallel whether the multiply should be done in parallel
+     * @param  depth the depth of the parallel recursion
+     * @return {@code this * val}
+     */
+    private BigInteger multiply(BigInteger val, boolean isRecursion,
+                                boolean parallel, int depth) {
         if (val.signum == 0 || signum == 0)
             return ZERO;
 
         int xlen = mag.length;
 
         if (val == this && xlen > MULTIPLY_SQUARE_THRESHOLD) {
-            return square();
+            return square(false, parallel, depth);
         }
 
         int ylen = val.mag.length;
@@ -1586,7 +1734,11 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
                     }
                 }
 
-                return multiplyToomCook3(this, val);
+                if ((xlen >= SCHOENHAGE_STRASSEN_THRESHOLD) &&
+                    (ylen >= SCHOENHAGE_STRASSEN_THRESHOLD)) {
+                    return multiplySchoenhageStrassen(this, val, parallel, depth);
+                }
+                return multiplyToomCook3(this, val, parallel, depth);
             }
         }
     }
@@ -1761,8 +1913,11 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * In C.Carlet and B.Sunar, Eds., "WAIFI'07 proceedings", p. 116-133,
      * LNCS #4547. Springer, Madrid, Spain, June 21-22, 2007.
      *
+     * If {@code parallel} is true, the five multiplies are done by tasks in
+     * the common pool down to the maximum fork depth.
      */
-    private static BigInteger multiplyToomCook3(BigInteger a, BigInteger b) {
+    private static BigInteger multiplyToomCook3(BigInteger a, BigInteger b,
+                                                boolean parallel, int depth) {
         int alen = a.mag.length;
         int blen = b.mag.length;
 
@@ -1786,16 +1941,37 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
 
         BigInteger v0, v1, v2, vm1, vinf, t1, t2, tm1, da1, db1;
 
-        v0 = a0.multiply(b0, true);
-        da1 = a2.add(a0);
-        db1 = b2.add(b0);
-        vm1 = da1.subtract(a1).multiply(db1.subtract(b1), true);
-        da1 = da1.add(a1);
-        db1 = db1.add(b1);
-        v1 = da1.multiply(db1, true);
-        v2 = da1.add(a2).shiftLeft(1).subtract(a0).multiply(
-             db1.add(b2).shiftLeft(1).subtract(b0), true);
-        vinf = a2.multiply(b2, true);
+        if (parallel && depth < RecursiveOp.PARALLEL_FORK_DEPTH_THRESHOLD) {
+            // Fork four of the multiplies and do the fifth in this thread
+            RecursiveOp v0Op, vm1Op, v1Op, v2Op;
+            v0Op = RecursiveOp.forkMultiply(a0, b0, depth + 1);
+            da1 = a2.add(a0);
+            db1 = b2.add(b0);
+            vm1Op = RecursiveOp.forkMultiply(da1.subtract(a1),
+                                             db1.subtract(b1), depth + 1);
+            da1 = da1.add(a1);
+            db1 = db1.add(b1);
+            v1Op = RecursiveOp.forkMultiply(da1, db1, depth + 1);
+            v2Op = RecursiveOp.forkMultiply(da1.add(a2).shiftLeft(1).subtract(a0),
+                                            db1.add(b2).shiftLeft(1).subtract(b0),
+                                            depth + 1);
+            vinf = a2.multiply(b2, true, true, depth + 1);
+            v0 = v0Op.join();
+            vm1 = vm1Op.join();
+            v1 = v1Op.join();
+            v2 = v2Op.join();
+        } else {
+            v0 = a0.multiply(b0, true);
+            da1 = a2.add(a0);
+            db1 = b2.add(b0);
+            vm1 = da1.subtract(a1).multiply(db1.subtract(b1), true);
+            da1 = da1.add(a1);
+            db1 = db1.add(b1);
+            v1 = da1.multiply(db1, true);
+            v2 = da1.add(a2).shiftLeft(1).subtract(a0).multiply(
+                 db1.add(b2).shiftLeft(1).subtract(b0), true);
+            vinf = a2.multiply(b2, true);
+        }
 
         // The algorithm requires two divisions by 2 and one by 3.
         // All divisions are known to be exact, that is, they do not produce
@@ -1824,6 +2000,366 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
     }
 
 
+    /**
+     * Multiplies two BigIntegers, or squares {@code a} if {@code b} is
+     * {@code null}, using the Schoenhage-Strassen algorithm.  The numbers
+     * are split into pieces which are treated as the coefficients of two
+     * polynomials, and the polynomials are multiplied by a Fast Fourier
+     * Transform over the ring of integers modulo 2<sup>N</sup>+1, in which 2
+     * is a root of unity so that the transform only needs additions,
+     * subtractions and shifts.  The pointwise products are done by
+     * {@code multiply}, which recurses into this algorithm when the pieces
+     * are large enough.  The algorithm has a complexity of
+     * O(n log(n) log(log(n))), and should only be used when both numbers
+     * are larger than a certain threshold (found experimentally) which is
+     * much larger than that for Toom-Cook multiplication.
+     *
+     * At most half of the 2<sup>k</sup> pieces of each number are nonzero,
+     * so that the cyclic convolution computed by the transforms is the
+     * product of the polynomials, and N is chosen large enough to hold the
+     * coefficients of the product exactly.
+     *
+     * If {@code parallel} is true, the pointwise products are done by tasks
+     * in the common pool.
+     *
+     *  See: http://en.wikipedia.org/wiki/Schonhage-Strassen_algorithm
+     *
+     * "Schnelle Multiplikation grosser Zahlen" by A. Schoenhage and
+     * V. Strassen; Computing 7, p. 281-292, 1971.
+     */
+    private static BigInteger multiplySchoenhageStrassen(BigInteger a,
+                                                         BigInteger b,
+                                                         boolean parallel,
+                                                         int depth) {
+        int alen = a.mag.length;
+        int blen = (b == null) ? alen : b.mag.length;
+        int largest = Math.max(alen, blen);
+
+        // K = 2^k pieces of pieceInts ints, of which each number has at
+        // most K/2, and a modulus 2^N + 1 which holds the coefficients of the
+        // product and in which 2^(2N/K) is a primitive K-th root of unity.
+        int k = (32 - Integer.numberOfLeadingZeros(largest - 1) + 5) / 2 + 1;
+        int half = 1 << (k - 1);
+        int pieceInts = (largest + half - 1) / half;
+        int align = Math.max(32, half);
+        int n = (64*pieceInts + k + align - 1) / align * align;
+
+        int[][] x = ssaSplit(a.mag, 1 << k, pieceInts, n);
+        int[] tmp = new int[(n >>> 5) + 1];
+        ssaForward(x, n, tmp);
+        int[][] y;
+        if (b == null) {
+            y = x;
+        } else {
+            y = ssaSplit(b.mag, 1 << k, pieceInts, n);
+            ssaForward(y, n, tmp);
+        }
+
+        BigInteger modulus = ONE.shiftLeft(n).add(ONE);
+        if (parallel && depth < RecursiveOp.PARALLEL_FORK_DEPTH_THRESHOLD) {
+            RecursiveOp[] ops = new RecursiveOp[x.length];
+            for (int i = 0; i < x.length; i++) {
+                BigInteger xi = ssaToBigInteger(x[i]);
+                ops[i] = (b == null) ? RecursiveOp.forkSquare(xi, depth + 1)
+                    : RecursiveOp.forkMultiply(xi, ssaToBigInteger(y[i]), depth + 1);
+            }
+            for (int i = 0; i < x.length; i++) {
+                ssaReduce(ops[i].join(), n, modulus, x[i]);
+            }
+        } else {
+            for (int i = 0; i < x.length; i++) {
+                BigInteger xi = ssaToBigInteger(x[i]);
+                BigInteger p = (b == null) ? xi.square(true)
+                    : xi.multiply(ssaToBigInteger(y[i]), true);
+                ssaReduce(p, n, modulus, x[i]);
+            }
+        }
+
+        ssaInverse(x, n, tmp);
+
+        // Divide by K, that is multiply by 2^(2N - k) as 2^(2N) = 1, and
+        // add up the coefficients, which are now exact.
+        int words = tmp.length;
+        int[] result = new int[(x.length - 1) * pieceInts + words + 1];
+        for (int i = 0; i < x.length; i++) {
+            ssaShift(x[i], 2*n - k, tmp);
+            int off = i * pieceInts;
+            long carry = 0;
+            for (int j = 0; j < words; j++, off++) {
+                carry += (result[off] & LONG_MASK) + (tmp[j] & LONG_MASK);
+                result[off] = (int)carry;
+                carry >>>= 32;
+            }
+            for (; carry != 0; off++) {
+                carry += result[off] & LONG_MASK;
+                result[off] = (int)carry;
+                carry >>>= 32;
+            }
+        }
+
+        int[] mag = new int[result.length];
+        for (int i = 0; i < result.length; i++) {
+            mag[mag.length - 1 - i] = result[i];
+        }
+        int sign = (b == null || a.signum == b.signum) ? 1 : -1;
+        return new BigInteger(trustedStripLeadingZeroInts(mag), sign);
+    }
+
+    /**
+     * Splits a magnitude into {@code count} pieces of {@code pieceInts} ints
+     * each, as little-endian elements of the ring of integers modulo
+     * 2<sup>n</sup>+1, which have {@code n/32 + 1} ints to hold
+     * 2<sup>n</sup>.
+     */
+    private static int[][] ssaSplit(int[] mag, int count, int pieceInts, int n) {
+        int[][] pieces = new int[count][(n >>> 5) + 1];
+        int len = mag.length;
+        for (int i = 0, p = 0; p < len; i++, p += pieceInts) {
+            int[] piece = pieces[i];
+            for (int j = 0; j < pieceInts && p + j < len; j++) {
+                piece[j] = mag[len - 1 - p - j];
+            }
+        }
+        return pieces;
+    }
+
+    /**
+     * Transforms the elements in place with a decimation-in-frequency FFT,
+     * leaving them in bit-reversed order.  The root of unity for the
+     * elements of the length {@code 2*len} is 2<sup>n/len</sup>.
+     */
+    private static void ssaForward(int[][] e, int n, int[] tmp) {
+        for (int len = e.length >>> 1; len > 0; len >>>= 1) {
+            int step = n / len;
+            for (int start = 0; start < e.length; start += 2*len) {
+                for (int j = 0; j < len; j++) {
+                    int[] u = e[start + j];
+                    int[] v = e[start + j + len];
+                    ssaSubtract(u, v, tmp);
+                    ssaAdd(u, v, u);
+                    ssaShift(tmp, j*step, v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Transforms the elements of {@link #ssaForward} back in place with a
+     * decimation-in-time FFT using the inverse roots of unity, which leaves
+     * them in natural order, multiplied by their number.
+     */
+    private static void ssaInverse(int[][] e, int n, int[] tmp) {
+        for (int len = 1; len < e.length; len <<= 1) {
+            int step = n / len;
+            for (int start = 0; start < e.length; start += 2*len) {
+                for (int j = 0; j < len; j++) {
+                    int[] u = e[start + j];
+                    int[] v = e[start + j + len];
+                    ssaShift(v, (j == 0) ? 0 : 2*n - j*step, tmp);
+                    ssaSubtract(u, tmp, v);
+                    ssaAdd(u, tmp, u);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets {@code r} to {@code a * 2^s} modulo 2<sup>N</sup>+1, where
+     * {@code 0 <= s < 2N}.  {@code r} and {@code a} must be different arrays.
+     */
+    private static void ssaShift(int[] a, int s, int[] r) {
+        int m = a.length - 1;               // ints below 2^N
+        boolean negate = s >= m << 5;       // as 2^N = -1
+        if (negate)
+            s -= m << 5;
+        int ws = s >>> 5;
+        int bs = s & 31;
+
+        // With lo the low N bits of a << s and hi the rest, the result is
+        // lo + hi * 2^N = lo - hi.
+        long borrow = 0;
+        for (int i = 0; i < m; i++) {
+            long d = (ssaShiftedInt(a, i, ws, bs) & LONG_MASK) -
+                     (ssaShiftedInt(a, i + m, ws, bs) & LONG_MASK) + borrow;
+            r[i] = (int)d;
+            borrow = d >> 32;
+        }
+        r[m] = 0;
+        if (borrow != 0)
+            ssaIncrement(r);
+        if (negate)
+            ssaNegate(r);
+    }
+
+    /**
+     * Returns the int at index {@code i} of {@code a << (32*ws + bs)}.
+     */
+    private static int ssaShiftedInt(int[] a, int i, int ws, int bs) {
+        i -= ws;
+        int hi = (i >= 0 && i < a.length) ? a[i] : 0;
+        if (bs == 0)
+            return hi;
+        int lo = (i > 0 && i <= a.length) ? a[i - 1] : 0;
+        return (hi << bs) | (lo >>> (32 - bs));
+    }
+
+    /**
+     * Sets {@code r} to {@code a + b} modulo 2<sup>N</sup>+1.
+     */
+    private static void ssaAdd(int[] a, int[] b, int[] r) {
+        int m = r.length - 1;
+        long carry = 0;
+        for (int i = 0; i <= m; i++) {
+            carry += (a[i] & LONG_MASK) + (b[i] & LONG_MASK);
+            r[i] = (int)carry;
+            carry >>>= 32;
+        }
+        // The sum is low + top * 2^N = low - top
+        long top = r[m];
+        r[m] = 0;
+        for (int i = 0; top != 0 && i < m; i++) {
+            long d = (r[i] & LONG_MASK) - top;
+            r[i] = (int)d;
+            top = -(d >> 32);
+        }
+        if (top != 0)
+            ssaIncrement(r);
+    }
+
+    /**
+     * Sets {@code r} to {@code a - b} modulo 2<sup>N</sup>+1.
+     */
+    private static void ssaSubtract(int[] a, int[] b, int[] r) {
+        int m = r.length - 1;
+        long borrow = 0;
+        for (int i = 0; i <= m; i++) {
+            long d = (a[i] & LONG_MASK) - (b[i] & LONG_MASK) + borrow;
+            r[i] = (int)d;
+            borrow = d >> 32;
+        }
+        if (borrow != 0) {
+            // Add 2^N + 1 to the negative difference
+            r[m]++;
+            ssaIncrement(r);
+        }
+    }
+
+    /**
+     * Adds one to {@code r}, discarding any carry out of its last int.
+     */
+    private static void ssaIncrement(int[] r) {
+        for (int i = 0; i < r.length && ++r[i] == 0; i++)
+            ;
+    }
+
+    /**
+     * Sets {@code r}, which is at most 2<sup>N</sup>, to {@code -r} modulo
+     * 2<sup>N</sup>+1.
+     */
+    private static void ssaNegate(int[] r) {
+        int m = r.length - 1;
+        if (r[m] != 0) {                    // -2^N = 1
+            r[m] = 0;
+            r[0] = 1;
+            return;
+        }
+        int i = 0;
+        while (i < m && r[i] == 0)
+            i++;
+        if (i == m)
+            return;
+        // 2^N + 1 - r = ~r + 2, with ~r taken in the low N bits
+        for (i = 0; i < m; i++)
+            r[i] = ~r[i];
+        long carry = 2;
+        for (i = 0; carry != 0 && i <= m; i++) {
+            carry += r[i] & LONG_MASK;
+            r[i] = (int)carry;
+            carry >>>= 32;
+        }
+    }
+
+    /**
+     * Returns the element {@code e} of the ring as a BigInteger.
+     */
+    private static BigInteger ssaToBigInteger(int[] e) {
+        int len = e.length;
+        while (len > 0 && e[len - 1] == 0)
+            len--;
+        if (len == 0)
+            return ZERO;
+        int[] mag = new int[len];
+        for (int i = 0; i < len; i++)
+            mag[len - 1 - i] = e[i];
+        return new BigInteger(mag, 1);
+    }
+
+    /**
+     * Sets the element {@code e} of the ring to the nonnegative {@code p},
+     * which is at most 2<sup>2N</sup>, modulo 2<sup>N</sup>+1.
+     */
+    private static void ssaReduce(BigInteger p, int n, BigInteger modulus, int[] e) {
+        // p = lo + hi * 2^N = lo - hi
+        BigInteger r = p.getLower(n >>> 5).subtract(p.getUpper(n >>> 5));
+        if (r.signum < 0)
+            r = r.add(modulus);
+        Arrays.fill(e, 0);
+        int[] mag = r.mag;
+        for (int i = 0; i < mag.length; i++)
+            e[i] = mag[mag.length - 1 - i];
+    }
+
+    /**
+     * A multiply or squaring run in the common pool by
+     * {@link #parallelMultiply}.
+     */
+    @SuppressWarnings("serial")
+    private static final class RecursiveOp extends RecursiveTask<BigInteger> {
+        /**
+         * The depth of recursion beyond which multiplies are no longer
+         * forked.  Each level forks several multiplies, and this many levels
+         * give a few tasks for each thread of the common pool, so that the
+         * threads are kept busy while the tasks remain large.
+         */
+        static final int PARALLEL_FORK_DEPTH_THRESHOLD =
+            calculateMaximumDepth(ForkJoinPool.getCommonPoolParallelism());
+
+        private static int calculateMaximumDepth(int parallelism) {
+            int depth = 1;
+            for (long tasks = 5; tasks < 4L * parallelism; tasks *= 5)
+                depth++;
+            return depth;
+        }
+
+        private final BigInteger a;
+        private final BigInteger b;         // null to square a
+        private final int depth;
+
+        private RecursiveOp(BigInteger a, BigInteger b, int depth) {
+            this.a = a;
+            this.b = b;
+            this.depth = depth;
+        }
+
+        static RecursiveOp forkMultiply(BigInteger a, BigInteger b, int depth) {
+            RecursiveOp op = new RecursiveOp(a, b, depth);
+            op.fork();
+            return op;
+        }
+
+        static RecursiveOp forkSquare(BigInteger a, int depth) {
+            RecursiveOp op = new RecursiveOp(a, null, depth);
+            op.fork();
+            return op;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            return (b == null) ? a.square(true, true, depth)
+                               : a.multiply(b, true, true, depth);
+        }
+    }
+
     /**
      * Returns a slice of a BigInteger for use in Toom-Cook multiplication.
      *
@@ -1961,7 +2497,7 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this<sup>2</sup>}
      */
     private BigInteger square() {
-        return square(false);
+        return square(false, false, 0);
     }
 
     /**
@@ -1972,6 +2508,19 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this<sup>2</sup>}
      */
     private BigInteger square(boolean isRecursion) {
+        return square(isRecursion, false, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this<sup>2</sup>)}. If
+     * the invocation is recursive certain overflow checks are skipped.
+     *
+     * @param isRecursion whether this is a recursive invocation
+     * @param parallel whether the squaring should be done in parallel
+     * @param depth the depth of the parallel recursion
+     * @return {@code this<sup>2</sup>}
+     */
+    private BigInteger square(boolean isRecursion, boolean parallel, int depth) {
         if (signum == 0) {
             return ZERO;
         }
@@ -1993,7 +2542,10 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
                     }
                 }
 
-                return squareToomCook3();
+                if (len >= SCHOENHAGE_STRASSEN_SQUARE_THRESHOLD) {
+                    return multiplySchoenhageStrassen(this, null, parallel, depth);
+                }
+                return squareToomCook3(parallel, depth);
             }
         }
     }
@@ -2124,9 +2676,11 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * should be used when both numbers are larger than a certain threshold
      * (found experimentally).  It is a recursive divide-and-conquer algorithm
      * that has better asymptotic performance than the algorithm used in
-     * squareToLen or squareKaratsuba.
+     * squareToLen or squareKaratsuba.  If {@code parallel} is true, the five
+     * squares are done by tasks in the common pool down to the maximum fork
+     * depth.
      */
-    private BigInteger squareToomCook3() {
+    private BigInteger squareToomCook3(boolean parallel, int depth) {
         int len = mag.length;
 
         // k is the size (in ints) of the lower-order slices.
@@ -2143,13 +2697,30 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         a0 = getToomSlice(k, r, 2, len);
         BigInteger v0, v1, v2, vm1, vinf, t1, t2, tm1, da1;
 
-        v0 = a0.square(true);
-        da1 = a2.add(a0);
-        vm1 = da1.subtract(a1).square(true);
-        da1 = da1.add(a1);
-        v1 = da1.square(true);
-        vinf = a2.square(true);
-        v2 = da1.add(a2).shiftLeft(1).subtract(a0).square(true);
+        if (parallel && depth < RecursiveOp.PARALLEL_FORK_DEPTH_THRESHOLD) {
+            // Fork four of the squares and do the fifth in this thread
+            RecursiveOp v0Op, vm1Op, v1Op, v2Op;
+            v0Op = RecursiveOp.forkSquare(a0, depth + 1);
+            da1 = a2.add(a0);
+            vm1Op = RecursiveOp.forkSquare(da1.subtract(a1), depth + 1);
+            da1 = da1.add(a1);
+            v1Op = RecursiveOp.forkSquare(da1, depth + 1);
+            v2Op = RecursiveOp.forkSquare(da1.add(a2).shiftLeft(1).subtract(a0),
+                                          depth + 1);
+            vinf = a2.square(true, true, depth + 1);
+            v0 = v0Op.join();
+            vm1 = vm1Op.join();
+            v1 = v1Op.join();
+            v2 = v2Op.join();
+        } else {
+            v0 = a0.square(true);
+            da1 = a2.add(a0);
+            vm1 = da1.subtract(a1).square(true);
+            da1 = da1.add(a1);
+            v1 = da1.square(true);
+            vinf = a2.square(true);
+            v2 = da1.add(a2).shiftLeft(1).subtract(a0).square(true);
+        }
 
         // The algorithm requires two divisions by 2 and one by 3.
         // All divisions are known to be exact, that is, they do not produce
@@ -3798,18 +4369,69 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
            return smallToString(radix);
 
         // Otherwise use recursive toString, which requires positive arguments.
-        // The results will be concatenated into this StringBuilder
-        StringBuilder sb = new StringBuilder();
-        if (signum < 0) {
-            toString(this.negate(), sb, radix, 0);
-            sb.insert(0, '-');
+        // The results will be concatenated into this StringBuilder, which is
+        // sized to hold them without growing.
+        StringBuilder sb = new StringBuilder(maxDigits(radix) + 1);
+        if (signum < 0)
+            sb.append('-');
+        try {
+            toString(this.abs(), sb, radix, 0);
+        } catch (IOException e) {
+            throw new AssertionError(e);    // StringBuilder does not throw
         }
-        else
-            toString(this, sb, radix, 0);
-
         return sb.toString();
     }
 
+    /**
+     * Appends the String representation of this BigInteger in the given
+     * radix to the given {@code Appendable}.  The characters appended are
+     * the same as those of {@link #toString(int) toString(radix)}, but for
+     * large numbers they are appended in parts as they are produced, rather
+     * than first being collected in a single String.  A {@link CharBuffer}
+     * or a {@link java.io.Writer Writer} can be used to write the digits
+     * directly to their destination.
+     *
+     * @param  out the {@code Appendable} to which to append the digits.
+     * @param  radix radix of the String representation.
+     * @throws IOException if an I/O error occurs.
+     * @see    #toString(int)
+     * @since 1.8
+     */
+    public void toString(Appendable out, int radix) throws IOException {
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX)
+            radix = 10;
+        if (mag.length <= SCHOENHAGE_BASE_CONVERSION_THRESHOLD) {
+            out.append(smallToString(radix));
+            return;
+        }
+        if (signum < 0)
+            out.append('-');
+        toString(this.abs(), out, radix, 0);
+    }
+
+    /**
+     * Appends the decimal String representation of this BigInteger to the
+     * given {@code Appendable}, as {@link #toString(Appendable, int)
+     * toString(out, 10)}.
+     *
+     * @param  out the {@code Appendable} to which to append the digits.
+     * @throws IOException if an I/O error occurs.
+     * @see    #toString()
+     * @since 1.8
+     */
+    public void toString(Appendable out) throws IOException {
+        toString(out, 10);
+    }
+
+    /**
+     * Returns an upper bound on the number of digits of the magnitude of
+     * this BigInteger in the given radix.
+     */
+    private int maxDigits(int radix) {
+        return (int) Math.min(Integer.MAX_VALUE - 2,
+            (long) (bitLength(mag, mag.length) * LOG_TWO / logCache[radix]) + 2);
+    }
+
     /** This method is used to perform toString when arguments are small. */
     private String smallToString(int radix) {
         if (signum == 0) {
@@ -3865,26 +4487,24 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * Answers to Exercises (4.4) Question 14.
      *
      * @param u      The number to convert to a string.
-     * @param sb     The StringBuilder that will be appended to in place.
+     * @param out    The Appendable that will be appended to in place.
      * @param radix  The base to convert to.
-     * @param digits The minimum number of digits to pad to.
+     * @param digits The minimum number of digits to pad to.  This is
+     *               not positive for the leading part of the number.
      */
-    private static void toString(BigInteger u, StringBuilder sb, int radix,
-                                 int digits) {
+    private static void toString(BigInteger u, Appendable out, int radix,
+                                 int digits) throws IOException {
         /* If we're smaller than a certain threshold, use the smallToString
            method, padding with leading zeroes when necessary. */
         if (u.mag.length <= SCHOENHAGE_BASE_CONVERSION_THRESHOLD) {
             String s = u.smallToString(radix);
 
             // Pad with internal zeros if necessary.
-            // Don't pad if we're at the beginning of the string.
-            if ((s.length() < digits) && (sb.length() > 0)) {
-                for (int i=s.length(); i < digits; i++) { // May be a faster way to
-                    sb.append('0');                    // do this?
-                }
+            for (int pad = digits - s.length(); pad > 0; pad -= 63) {
+                out.append(zeros[Math.min(pad, 63)]);
             }
 
-            sb.append(s);
+            out.append(s);
             return;
         }
 
@@ -3902,8 +4522,8 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         int expectedDigits = 1 << n;
 
         // Now recursively build the two halves of each number.
-        toString(results[0], sb, radix, digits-expectedDigits);
-        toString(results[1], sb, radix, expectedDigits);
+        toString(results[0], out, radix, digits-expectedDigits);
+        toString(results[1], out, radix, expectedDigits);
     }
 
     /**
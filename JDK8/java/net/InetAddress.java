@@ -25,14 +25,19 @@
 
 package java.net;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Random;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import java.security.AccessController;
 import java.io.ObjectStreamException;
 import java.io.ObjectStreamField;
@@ -730,30 +735,73 @@ class InetAddress implements java.io.Serializable {
     /*
      * Cached addresses - our own litle nis, not!
      */
-    private static Cache addressCache = new Cache(Cache.Type.Positive);
+    private static final Cache addressCache = new Cache(Cache.Type.Positive);
 
-    private static Cache negativeCache = new Cache(Cache.Type.Negative);
+    private static final Cache negativeCache = new Cache(Cache.Type.Negative);
 
-    private static boolean addressCacheInit = false;
+    private static volatile boolean addressCacheInit = false;
 
     static InetAddress[]    unknown_array; // put THIS in cache
 
     static InetAddressImpl  impl;
 
-    private static final HashMap<String, Void> lookupTable = new HashMap<>();
+    /*
+     * Hosts with a lookup in progress, mapped to the monitor that threads
+     * looking up the same host wait on until the lookup completes.
+     */
+    private static final ConcurrentHashMap<String, Object> lookupTable =
+        new ConcurrentHashMap<>();
+
+    /*
+     * Cache and name service statistics, see InetAddressCacheMXBean.
+     */
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final LongAdder cacheMisses = new LongAdder();
+    private static final LongAdder lookupCount = new LongAdder();
+    private static final LongAdder lookupTime = new LongAdder();
+    private static final LongAdder refreshCount = new LongAdder();
 
     /**
      * Represents a cache entry
      */
     static final class CacheEntry {
 
-        CacheEntry(InetAddress[] addresses, long expiration) {
+        CacheEntry(String host, InetAddress[] addresses, InetAddress reqAddr,
+                   long expiration, long refreshTime) {
+            this.host = host;
             this.addresses = addresses;
+            this.reqAddr = reqAddr;
             this.expiration = expiration;
+            this.refreshTime = refreshTime;
         }
 
-        InetAddress[] addresses;
-        long expiration;
+        final String host;
+        final InetAddress[] addresses;
+
+        // address moved to the front of the looked up addresses,
+        // or null
+        final InetAddress reqAddr;
+
+        final long expiration;
+
+        // time after which a hit schedules a background refresh,
+        // -1 if the entry is never refreshed
+        final long refreshTime;
+
+        // set to 1 once a refresh has been scheduled for this entry
+        private volatile int refreshing;
+
+        private static final AtomicIntegerFieldUpdater<CacheEntry> REFRESHING =
+            AtomicIntegerFieldUpdater.newUpdater(CacheEntry.class, "refreshing");
+
+        /**
+         * Returns true if the entry is due for a refresh and none has
+         * been scheduled yet, in which case the caller must schedule it.
+         */
+        boolean startRefresh(long now) {
+            return refreshTime >= 0 && refreshTime < now &&
+                   refreshing == 0 && REFRESHING.compareAndSet(this, 0, 1);
+        }
     }
 
     /**
@@ -761,8 +809,10 @@ class InetAddress implements java.io.Serializable {
      * at creation time.
      */
     static final class Cache {
-        private LinkedHashMap<String, CacheEntry> cache;
-        private Type type;
+        private final ConcurrentHashMap<String, CacheEntry> cache;
+        // entries that expire, in insertion order
+        private final ConcurrentLinkedQueue<CacheEntry> expirations;
+        private final Type type;
 
         enum Type {Positive, Negative};
 
@@ -771,7 +821,8 @@ class InetAddress implements java.io.Serializable {
          */
         public Cache(Type type) {
             this.type = type;
-            cache = new LinkedHashMap<String, CacheEntry>();
+            cache = new ConcurrentHashMap<String, CacheEntry>();
+            expirations = new ConcurrentLinkedQueue<CacheEntry>();
         }
 
         private int getPolicy() {
@@ -788,46 +839,56 @@ class InetAddress implements java.io.Serializable {
          * replaced.
          */
         public Cache put(String host, InetAddress[] addresses) {
+            return put(host, addresses, null);
+        }
+
+        /**
+         * Add an entry to the cache, recording the address that was
+         * moved to the front of the addresses so that a refresh of the
+         * entry keeps it there.
+         */
+        public Cache put(String host, InetAddress[] addresses,
+                         InetAddress reqAddr) {
             int policy = getPolicy();
             if (policy == InetAddressCachePolicy.NEVER) {
                 return this;
             }
 
-            // purge any expired entries
-
-            if (policy != InetAddressCachePolicy.FOREVER) {
-
-                // As we iterate in insertion order we can
-                // terminate when a non-expired entry is found.
-                LinkedList<String> expired = new LinkedList<>();
-                long now = System.currentTimeMillis();
-                for (String key : cache.keySet()) {
-                    CacheEntry entry = cache.get(key);
-
-                    if (entry.expiration >= 0 && entry.expiration < now) {
-                        expired.add(key);
-                    } else {
-                        break;
-                    }
-                }
+            long now = System.currentTimeMillis();
 
-                for (String key : expired) {
-                    cache.remove(key);
+            // purge any expired entries
+            //
+            // As we iterate in insertion order we can terminate when a
+            // non-expired entry is found. Entries that have since been
+            // replaced are only dropped from the queue.
+            CacheEntry head;
+            while ((head = expirations.peek()) != null &&
+                   head.expiration < now) {
+                if (expirations.remove(head)) {
+                    cache.remove(head.host, head);
                 }
             }
 
-            // create new entry and add it to the cache
-            // -- as a HashMap replaces existing entries we
-            //    don't need to explicitly check if there is
-            //    already an entry for this host.
-            long expiration;
+            // create new entry and add it to the cache, replacing
+            // any existing entry for this host. Positive entries are
+            // refreshed in the background during the last tenth of
+            // their lifetime so that hot hosts do not expire.
+            long expiration, refreshTime;
             if (policy == InetAddressCachePolicy.FOREVER) {
                 expiration = -1;
+                refreshTime = -1;
             } else {
-                expiration = System.currentTimeMillis() + (policy * 1000);
+                long ttl = policy * 1000L;
+                expiration = now + ttl;
+                refreshTime = (type == Type.Positive && addresses != unknown_array)
+                              ? expiration - ttl / 10 : -1;
             }
-            CacheEntry entry = new CacheEntry(addresses, expiration);
+            CacheEntry entry = new CacheEntry(host, addresses, reqAddr,
+                                              expiration, refreshTime);
             cache.put(host, entry);
+            if (expiration >= 0) {
+                expirations.add(entry);
+            }
             return this;
         }
 
@@ -846,7 +907,7 @@ class InetAddress implements java.io.Serializable {
             if (entry != null && policy != InetAddressCachePolicy.FOREVER) {
                 if (entry.expiration >= 0 &&
                     entry.expiration < System.currentTimeMillis()) {
-                    cache.remove(host);
+                    cache.remove(host, entry);
                     entry = null;
                 }
             }
@@ -860,17 +921,21 @@ class InetAddress implements java.io.Serializable {
      * unknown array with no expiry.
      */
     private static void cacheInitIfNeeded() {
-        assert Thread.holdsLock(addressCache);
         if (addressCacheInit) {
             return;
         }
-        unknown_array = new InetAddress[1];
-        unknown_array[0] = impl.anyLocalAddress();
+        synchronized (addressCache) {
+            if (addressCacheInit) {
+                return;
+            }
+            unknown_array = new InetAddress[1];
+            unknown_array[0] = impl.anyLocalAddress();
 
-        addressCache.put(impl.anyLocalAddress().getHostName(),
-                         unknown_array);
+            addressCache.put(impl.anyLocalAddress().getHostName(),
+                             unknown_array);
 
-        addressCacheInit = true;
+            addressCacheInit = true;
+        }
     }
 
     /*
@@ -878,15 +943,14 @@ class InetAddress implements java.io.Serializable {
      */
     private static void cacheAddresses(String hostname,
                                        InetAddress[] addresses,
+                                       InetAddress reqAddr,
                                        boolean success) {
         hostname = hostname.toLowerCase();
-        synchronized (addressCache) {
-            cacheInitIfNeeded();
-            if (success) {
-                addressCache.put(hostname, addresses);
-            } else {
-                negativeCache.put(hostname, addresses);
-            }
+        cacheInitIfNeeded();
+        if (success) {
+            addressCache.put(hostname, addresses, reqAddr);
+        } else {
+            negativeCache.put(hostname, addresses);
         }
     }
 
@@ -896,26 +960,142 @@ class InetAddress implements java.io.Serializable {
      */
     private static InetAddress[] getCachedAddresses(String hostname) {
         hostname = hostname.toLowerCase();
+        cacheInitIfNeeded();
 
         // search both positive & negative caches
 
-        synchronized (addressCache) {
-            cacheInitIfNeeded();
-
-            CacheEntry entry = addressCache.get(hostname);
-            if (entry == null) {
-                entry = negativeCache.get(hostname);
+        CacheEntry entry = addressCache.get(hostname);
+        if (entry != null) {
+            if (entry.startRefresh(System.currentTimeMillis())) {
+                CacheRefresher.refresh(hostname, entry.reqAddr);
             }
+        } else {
+            entry = negativeCache.get(hostname);
+        }
 
-            if (entry != null) {
-                return entry.addresses;
-            }
+        if (entry != null) {
+            return entry.addresses;
         }
 
         // not found
         return null;
     }
 
+    /*
+     * Refreshes positive cache entries that are about to expire on a
+     * background thread. Until the refreshed addresses are cached the
+     * current entry continues to be returned; a failed refresh leaves
+     * it in place until it expires. An address that the lookup which
+     * created the entry moved to the front is kept there.
+     */
+    private static final class CacheRefresher implements Runnable {
+        private static final ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS,
+                                   new LinkedBlockingQueue<Runnable>(),
+                                   new ThreadFactory() {
+                public Thread newThread(final Runnable r) {
+                    return AccessController.doPrivileged(
+                        new java.security.PrivilegedAction<Thread>() {
+                            public Thread run() {
+                                ThreadGroup group = Thread.currentThread().getThreadGroup();
+                                while (group.getParent() != null) {
+                                    group = group.getParent();
+                                }
+                                Thread t = new Thread(group, r, "InetAddress Cache Refresher");
+                                t.setDaemon(true);
+                                t.setContextClassLoader(null);
+                                return t;
+                            }
+                        });
+                }
+            });
+
+        private final String host;
+        private final InetAddress reqAddr;
+
+        private CacheRefresher(String host, InetAddress reqAddr) {
+            this.host = host;
+            this.reqAddr = reqAddr;
+        }
+
+        static void refresh(String host, InetAddress reqAddr) {
+            executor.execute(new CacheRefresher(host, reqAddr));
+        }
+
+        public void run() {
+            // a lookup already in progress will cache fresh addresses
+            Object lock = new Object();
+            if (lookupTable.putIfAbsent(host, lock) != null) {
+                return;
+            }
+            try {
+                InetAddress[] addresses = lookupAllHostAddr(host);
+                moveToFront(addresses, reqAddr);
+                cacheAddresses(host, addresses, reqAddr, true);
+                refreshCount.increment();
+            } catch (UnknownHostException | RuntimeException e) {
+                // keep the current entry until it expires
+            } finally {
+                updateLookupTable(host, lock);
+            }
+        }
+    }
+
+    /**
+     * The {@code InetAddressCacheMXBean} of the address cache.
+     */
+    private static final class CacheMXBean implements InetAddressCacheMXBean {
+        public long getHitCount() {
+            return cacheHits.sum();
+        }
+
+        public long getMissCount() {
+            return cacheMisses.sum();
+        }
+
+        public long getLookupCount() {
+            return lookupCount.sum();
+        }
+
+        public long getTotalLookupTime() {
+            return TimeUnit.NANOSECONDS.toMillis(lookupTime.sum());
+        }
+
+        public long getRefreshCount() {
+            return refreshCount.sum();
+        }
+
+        public int getCacheSize() {
+            return addressCache.cache.size();
+        }
+
+        public int getNegativeCacheSize() {
+            return negativeCache.cache.size();
+        }
+
+        public javax.management.ObjectName getObjectName() {
+            try {
+                return javax.management.ObjectName.getInstance(
+                    "java.net:type=InetAddressCache");
+            } catch (javax.management.MalformedObjectNameException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+
+    private static CacheMXBean cacheMXBean;
+
+    /*
+     * Returns the management interface of the address cache. Invoked
+     * reflectively by java.lang.management.PlatformComponent.
+     */
+    private static synchronized InetAddressCacheMXBean cacheMXBean() {
+        if (cacheMXBean == null) {
+            cacheMXBean = new CacheMXBean();
+        }
+        return cacheMXBean;
+    }
+
     private static NameService createNSProvider(String provider) {
         if (provider == null)
             return null;
@@ -1274,7 +1454,10 @@ class InetAddress implements java.io.Serializable {
 
         /* If no entry in cache, then do the host lookup */
         if (addresses == null) {
+            cacheMisses.increment();
             addresses = getAddressesFromNameService(host, reqAddr);
+        } else {
+            cacheHits.increment();
         }
 
         if (addresses == unknown_array)
@@ -1287,10 +1470,10 @@ class InetAddress implements java.io.Serializable {
         throws UnknownHostException
     {
         InetAddress[] addresses = null;
-        boolean success = false;
         UnknownHostException ex = null;
 
-        // Check whether the host is in the lookupTable.
+        // Lookups of the same host are coalesced through the lookupTable,
+        // keyed by the lower case name as the address cache is.
         // 1) If the host isn't in the lookupTable when
         //    checkLookupTable() is called, checkLookupTable()
         //    would add the host in the lookupTable and
@@ -1308,114 +1491,138 @@ class InetAddress implements java.io.Serializable {
         //         it should add the host in the
         //         lookupTable and return null so the
         //         following code would do  a lookup itself.
-        if ((addresses = checkLookupTable(host)) == null) {
+        // Only threads looking up the same host wait for each other.
+        String key = host.toLowerCase();
+        Object lock = new Object();
+        if ((addresses = checkLookupTable(key, lock)) == null) {
             try {
                 // This is the first thread which looks up the addresses
                 // this host or the cache entry for this host has been
                 // expired so this thread should do the lookup.
-                for (NameService nameService : nameServices) {
-                    try {
-                        /*
-                         * Do not put the call to lookup() inside the
-                         * constructor.  if you do you will still be
-                         * allocating space when the lookup fails.
-                         */
-
-                        addresses = nameService.lookupAllHostAddr(host);
-                        success = true;
-                        break;
-                    } catch (UnknownHostException uhe) {
-                        if (host.equalsIgnoreCase("localhost")) {
-                            InetAddress[] local = new InetAddress[] { impl.loopbackAddress() };
-                            addresses = local;
-                            success = true;
-                            break;
-                        }
-                        else {
-                            addresses = unknown_array;
-                            success = false;
-                            ex = uhe;
-                        }
-                    }
+                boolean success;
+                try {
+                    addresses = lookupAllHostAddr(host);
+                    success = true;
+                } catch (UnknownHostException uhe) {
+                    addresses = unknown_array;
+                    success = false;
+                    ex = uhe;
                 }
 
                 // More to do?
-                if (reqAddr != null && addresses.length > 1 && !addresses[0].equals(reqAddr)) {
-                    // Find it?
-                    int i = 1;
-                    for (; i < addresses.length; i++) {
-                        if (addresses[i].equals(reqAddr)) {
-                            break;
-                        }
-                    }
-                    // Rotate
-                    if (i < addresses.length) {
-                        InetAddress tmp, tmp2 = reqAddr;
-                        for (int j = 0; j < i; j++) {
-                            tmp = addresses[j];
-                            addresses[j] = tmp2;
-                            tmp2 = tmp;
-                        }
-                        addresses[i] = tmp2;
-                    }
-                }
+                moveToFront(addresses, reqAddr);
                 // Cache the address.
-                cacheAddresses(host, addresses, success);
+                cacheAddresses(host, addresses, reqAddr, success);
 
-                if (!success && ex != null)
+                if (!success)
                     throw ex;
 
             } finally {
                 // Delete host from the lookupTable and notify
-                // all threads waiting on the lookupTable monitor.
-                updateLookupTable(host);
+                // all threads waiting on its lock.
+                updateLookupTable(key, lock);
             }
         }
 
         return addresses;
     }
 
+    /*
+     * Moves reqAddr, if not null and found among the addresses, to the
+     * front, shifting the addresses before it back by one.
+     */
+    private static void moveToFront(InetAddress[] addresses, InetAddress reqAddr) {
+        if (reqAddr != null && addresses.length > 1 && !addresses[0].equals(reqAddr)) {
+            // Find it?
+            int i = 1;
+            for (; i < addresses.length; i++) {
+                if (addresses[i].equals(reqAddr)) {
+                    break;
+                }
+            }
+            // Rotate
+            if (i < addresses.length) {
+                InetAddress tmp, tmp2 = reqAddr;
+                for (int j = 0; j < i; j++) {
+                    tmp = addresses[j];
+                    addresses[j] = tmp2;
+                    tmp2 = tmp;
+                }
+                addresses[i] = tmp2;
+            }
+        }
+    }
+
+    /*
+     * Looks up the addresses of the host with the configured name
+     * services, recording the time taken.
+     */
+    private static InetAddress[] lookupAllHostAddr(String host)
+        throws UnknownHostException
+    {
+        UnknownHostException ex = null;
+        long start = System.nanoTime();
+        try {
+            for (NameService nameService : nameServices) {
+                try {
+                    /*
+                     * Do not put the call to lookup() inside the
+                     * constructor.  if you do you will still be
+                     * allocating space when the lookup fails.
+                     */
+
+                    return nameService.lookupAllHostAddr(host);
+                } catch (UnknownHostException uhe) {
+                    if (host.equalsIgnoreCase("localhost")) {
+                        return new InetAddress[] { impl.loopbackAddress() };
+                    }
+                    ex = uhe;
+                }
+            }
+        } finally {
+            lookupCount.increment();
+            lookupTime.add(System.nanoTime() - start);
+        }
+        throw (ex != null) ? ex : new UnknownHostException(host);
+    }
 
-    private static InetAddress[] checkLookupTable(String host) {
-        synchronized (lookupTable) {
+    private static InetAddress[] checkLookupTable(String host, Object lock) {
+        for (;;) {
             // If the host isn't in the lookupTable, add it in the
             // lookuptable and return null. The caller should do
             // the lookup.
-            if (lookupTable.containsKey(host) == false) {
-                lookupTable.put(host, null);
+            Object current = lookupTable.putIfAbsent(host, lock);
+            if (current == null) {
                 return null;
             }
 
             // If the host is in the lookupTable, it means that another
             // thread is trying to look up the addresses of this host.
             // This thread should wait.
-            while (lookupTable.containsKey(host)) {
-                try {
-                    lookupTable.wait();
-                } catch (InterruptedException e) {
+            synchronized (current) {
+                while (lookupTable.get(host) == current) {
+                    try {
+                        current.wait();
+                    } catch (InterruptedException e) {
+                    }
                 }
             }
-        }
 
-        // The other thread has finished looking up the addresses of
-        // the host. This thread should retry to get the addresses
-        // from the addressCache. If it doesn't get the addresses from
-        // the cache, it will try to look up the addresses itself.
-        InetAddress[] addresses = getCachedAddresses(host);
-        if (addresses == null) {
-            synchronized (lookupTable) {
-                lookupTable.put(host, null);
-                return null;
+            // The other thread has finished looking up the addresses of
+            // the host. This thread should retry to get the addresses
+            // from the addressCache. If it doesn't get the addresses from
+            // the cache, it will try to look up the addresses itself.
+            InetAddress[] addresses = getCachedAddresses(host);
+            if (addresses != null) {
+                return addresses;
             }
         }
-
-        return addresses;
     }
 
-    private static void updateLookupTable(String host) {
-        synchronized (lookupTable) {
-            lookupTable.remove(host);
-            lookupTable.notifyAll();
+    private static void updateLookupTable(String host, Object lock) {
+        synchronized (lock) {
+            lookupTable.remove(host, lock);
+            lock.notifyAll();
         }
     }
 
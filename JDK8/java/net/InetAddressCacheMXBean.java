@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.net;
+
+import java.lang.management.PlatformManagedObject;
+
+/**
+ * The management interface for the cache of host name lookups kept by
+ * {@link InetAddress}.
+ *
+ * <p> A class implementing this interface is an
+ * {@link javax.management.MXBean}. A Java virtual machine has a single
+ * instance of the implementation class of this interface, which can be
+ * obtained with the {@link
+ * java.lang.management.ManagementFactory#getPlatformMXBean(Class)
+ * getPlatformMXBean} method:
+ * <pre>
+ *     InetAddressCacheMXBean cache =
+ *         ManagementFactory.getPlatformMXBean(InetAddressCacheMXBean.class);
+ * </pre>
+ *
+ * <p> The management interface is also registered with the platform {@link
+ * javax.management.MBeanServer MBeanServer}. The {@link
+ * javax.management.ObjectName ObjectName} that uniquely identifies the
+ * management interface within the {@code MBeanServer} is:
+ * <pre>
+ *     java.net:type=InetAddressCache
+ * </pre>
+ *
+ * <p> The counts are updated without synchronization and so are
+ * estimates while lookups are in progress.
+ *
+ * @see InetAddress#getAllByName
+ * @since 1.8
+ */
+public interface InetAddressCacheMXBean extends PlatformManagedObject {
+
+    /**
+     * Returns the number of host name lookups that were answered from
+     * the positive or negative cache.
+     *
+     * @return the number of cache hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of host name lookups that were not found in the
+     * cache. A lookup that waits for a lookup of the same host by another
+     * thread to complete is counted as a miss.
+     *
+     * @return the number of cache misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of lookups performed by the name service,
+     * including background refreshes of cached entries.
+     *
+     * @return the number of name service lookups
+     */
+    long getLookupCount();
+
+    /**
+     * Returns the total time spent in name service lookups, including
+     * background refreshes of cached entries.
+     *
+     * @return the total name service lookup time in milliseconds
+     */
+    long getTotalLookupTime();
+
+    /**
+     * Returns the number of cached entries that were refreshed before they
+     * expired.
+     *
+     * @return the number of successful background refreshes
+     */
+    long getRefreshCount();
+
+    /**
+     * Returns the number of entries in the positive cache. The count may
+     * include expired entries that have not yet been removed.
+     *
+     * @return the number of entries in the positive cache
+     */
+    int getCacheSize();
+
+    /**
+     * Returns the number of entries in the negative cache. The count may
+     * include expired entries that have not yet been removed.
+     *
+     * @return the number of entries in the negative cache
+     */
+    int getNegativeCacheSize();
+}
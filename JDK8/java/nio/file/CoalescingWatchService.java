@@ -0,0 +1,938 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio.file;
+
+import java.io.IOException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * A {@link WatchService} that watches whole file trees, coalesces bursts of
+ * events, and retrieves the events of many keys in one call.
+ *
+ * <p> Directories are registered with this watch service by invoking its
+ * {@link #register register} method rather than {@link Path#register
+ * Path.register}. The directories are watched by a watch service of their
+ * {@link FileSystem#newWatchService file system}, from which a daemon thread
+ * reads events as they occur. When a directory is registered with the {@link
+ * #FILE_TREE} modifier then the directory and all directories under it are
+ * watched by a single key. The key's {@link WatchKey#watchable watchable} is
+ * the registered directory, the {@link WatchEvent#context context} of each
+ * event is the path of the entry relative to that directory, and
+ * directories created in the tree are watched as they are created. The
+ * entries found in such a directory when it is registered are reported as
+ * {@link StandardWatchEventKinds#ENTRY_CREATE ENTRY_CREATE} events.
+ *
+ * <p> While events are pending for a key, further events of the same kind
+ * for the same entry are coalesced into one event whose {@link
+ * WatchEvent#count count} is the number of times it occurred. A key can be
+ * given a {@link #setCoalescingWindow coalescing window}: the key is then
+ * signalled no sooner than the window after the first of its pending
+ * events, so that a burst of modifications to a file is retrieved as a
+ * single event. The number of distinct events pending for a key is bounded;
+ * further events are counted by an {@link StandardWatchEventKinds#OVERFLOW
+ * OVERFLOW} event.
+ *
+ * <p> The {@link #pollAll pollAll} method retrieves the events of all the
+ * signalled keys in one call, and resets the keys.
+ *
+ * @since 1.8
+ */
+
+public final class CoalescingWatchService implements WatchService {
+    // maximum number of distinct events pending for a key
+    private static final int MAX_EVENT_LIST_SIZE = 512;
+
+    private static enum TreeModifier implements WatchEvent.Modifier {
+        FILE_TREE
+    }
+
+    /**
+     * Modifier to register a directory and all directories under it.
+     */
+    public static final WatchEvent.Modifier FILE_TREE = TreeModifier.FILE_TREE;
+
+    private final WatchService watcher;
+
+    // guards the state of the keys and the queue of signalled keys
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // the keys of this service that each key of the file system watches for
+    private final Map<WatchKey, List<Key>> watches = new HashMap<>();
+
+    // the key of the file system's watch service for each watched directory
+    private final Map<Path, WatchKey> watchedDirs = new HashMap<>();
+
+    // keys that are signalled and not yet retrieved
+    private final ArrayDeque<Key> ready = new ArrayDeque<>();
+
+    // keys with pending events that wait for their coalescing window
+    private final List<Key> waiting = new ArrayList<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a watch service that watches directories of the given file
+     * system.
+     *
+     * @param   fs
+     *          the file system
+     *
+     * @throws  UnsupportedOperationException
+     *          if the file system does not support watching
+     * @throws  IOException
+     *          if an I/O error occurs
+     */
+    public CoalescingWatchService(FileSystem fs) throws IOException {
+        this.watcher = fs.newWatchService();
+        AccessController.doPrivileged(new PrivilegedAction<Void>() {
+            @Override
+            public Void run() {
+                Thread thr = new Thread(CoalescingWatchService.this::readEvents,
+                                        "CoalescingWatchService");
+                thr.setDaemon(true);
+                thr.start();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * An event, coalesced with the later events of the same kind for the same
+     * entry.
+     */
+    private static final class Event<T> implements WatchEvent<T> {
+        private final WatchEvent.Kind<T> kind;
+        private final T context;
+        private int count;
+
+        Event(WatchEvent.Kind<T> kind, T context, int count) {
+            this.kind = kind;
+            this.context = context;
+            this.count = count;
+        }
+
+        @Override
+        public WatchEvent.Kind<T> kind() {
+            return kind;
+        }
+
+        @Override
+        public T context() {
+            return context;
+        }
+
+        @Override
+        public int count() {
+            return count;
+        }
+
+        void increment(int n) {
+            count = (count > Integer.MAX_VALUE - n) ? Integer.MAX_VALUE : count + n;
+        }
+    }
+
+    /**
+     * A key of this watch service, watching a directory or a file tree with
+     * one or more keys of the file system's watch service.
+     */
+    private final class Key implements WatchKey {
+        private final Path root;
+        private final boolean tree;
+        private final Set<WatchEvent.Kind<?>> kinds;
+        private final WatchEvent.Kind<?>[] watched;
+        private final WatchEvent.Modifier[] modifiers;
+        private final Set<WatchKey> watchKeys = new HashSet<>();
+        private final Set<Path> directories = new HashSet<>();
+
+        private final Map<List<Object>, Event<?>> events = new LinkedHashMap<>();
+        private int overflow;
+        private long pendingSince;
+        private long window;
+        private boolean signalled;
+        private boolean valid = true;
+
+        Key(Path root, boolean tree, Set<WatchEvent.Kind<?>> kinds,
+            WatchEvent.Modifier[] modifiers)
+        {
+            this.root = root;
+            this.tree = tree;
+            this.kinds = kinds;
+            Set<WatchEvent.Kind<?>> watched = new HashSet<>(kinds);
+            if (tree)
+                watched.add(ENTRY_CREATE);
+            this.watched = watched.toArray(new WatchEvent.Kind<?>[0]);
+            this.modifiers = modifiers;
+        }
+
+        /**
+         * Handles an event of the file system's watch service for the
+         * given directory, returning the directory created in the tree
+         * that is to be registered, or {@code null}.
+         */
+        Path process(Path dir, WatchEvent<?> ev) {
+            WatchEvent.Kind<?> kind = ev.kind();
+            if (kind == OVERFLOW) {
+                signalOverflow(ev.count());
+                return null;
+            }
+            Path child = dir.resolve((Path)ev.context());
+            if (tree && kind == ENTRY_CREATE && directories.contains(child)) {
+                // already reported when its parent was registered
+                return null;
+            }
+            if (kinds.contains(kind))
+                signalEvent(kind, root.relativize(child), ev.count());
+            if (tree && kind == ENTRY_CREATE &&
+                Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS))
+                return child;
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void signalEvent(WatchEvent.Kind<?> kind, Path context, int count) {
+            if (!valid)
+                return;
+            List<Object> id = Arrays.asList(kind, context);
+            Event<?> ev = events.get(id);
+            if (ev != null) {
+                ev.increment(count);
+            } else if (events.size() >= MAX_EVENT_LIST_SIZE) {
+                signalOverflow(count);
+                return;
+            } else {
+                if (isEmpty())
+                    pendingSince = System.nanoTime();
+                events.put(id, new Event<>((WatchEvent.Kind<Path>)kind, context, count));
+            }
+            schedule();
+        }
+
+        void signalOverflow(int count) {
+            if (!valid)
+                return;
+            if (isEmpty())
+                pendingSince = System.nanoTime();
+            overflow = (overflow > Integer.MAX_VALUE - count) ?
+                Integer.MAX_VALUE : overflow + count;
+            schedule();
+        }
+
+        boolean isEmpty() {
+            return events.isEmpty() && overflow == 0;
+        }
+
+        /**
+         * Queues the key, or adds it to the keys waiting for their window,
+         * if it is not signalled already.
+         */
+        void schedule() {
+            if (signalled || waiting.contains(this))
+                return;
+            if (window == 0L) {
+                signal();
+            } else {
+                waiting.add(this);
+                changed.signalAll();
+            }
+        }
+
+        void signal() {
+            signalled = true;
+            ready.add(this);
+            changed.signalAll();
+        }
+
+        /**
+         * Invalidates the key once its last directory is no longer watched,
+         * signalling it so that the consumer is notified.
+         */
+        void invalidate() {
+            valid = false;
+            waiting.remove(this);
+            if (!signalled)
+                signal();
+        }
+
+        List<WatchEvent<?>> takeEvents() {
+            List<WatchEvent<?>> list = new ArrayList<>(events.size() + 1);
+            if (overflow > 0)
+                list.add(new Event<>(OVERFLOW, null, overflow));
+            list.addAll(events.values());
+            events.clear();
+            overflow = 0;
+            waiting.remove(this);
+            return list;
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid && !closed;
+        }
+
+        @Override
+        public List<WatchEvent<?>> pollEvents() {
+            lock.lock();
+            try {
+                return takeEvents();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean reset() {
+            lock.lock();
+            try {
+                if (!isValid())
+                    return false;
+                if (signalled) {
+                    signalled = false;
+                    if (!isEmpty())
+                        schedule();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                if (!valid)
+                    return;
+                valid = false;
+                for (WatchKey wk: watchKeys) {
+                    List<Key> keys = watches.get(wk);
+                    if (keys != null) {
+                        keys.remove(this);
+                        if (keys.isEmpty()) {
+                            watches.remove(wk);
+                            watchedDirs.remove(wk.watchable(), wk);
+                            wk.cancel();
+                        }
+                    }
+                }
+                watchKeys.clear();
+                directories.clear();
+                waiting.remove(this);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Watchable watchable() {
+            return root;
+        }
+
+        CoalescingWatchService outer() {
+            return CoalescingWatchService.this;
+        }
+    }
+
+    /**
+     * The events retrieved by a {@link CoalescingWatchService#pollAll pollAll}
+     * operation.
+     *
+     * @since 1.8
+     */
+    public static final class Batch {
+        private final Map<WatchKey, List<WatchEvent<?>>> events;
+        private final Map<WatchKey, Integer> overflows;
+        private final long overflowCount;
+
+        private Batch(Map<WatchKey, List<WatchEvent<?>>> events,
+                      Map<WatchKey, Integer> overflows)
+        {
+            long n = 0L;
+            for (int count: overflows.values())
+                n += count;
+            this.events = events;
+            this.overflows = overflows;
+            this.overflowCount = n;
+        }
+
+        /**
+         * Returns the keys whose events were retrieved, in the order that
+         * they were signalled.
+         *
+         * @return  an unmodifiable set of the keys
+         */
+        public Set<WatchKey> keys() {
+            return Collections.unmodifiableSet(events.keySet());
+        }
+
+        /**
+         * Returns the events retrieved for the given key, including any
+         * {@link StandardWatchEventKinds#OVERFLOW OVERFLOW} event.
+         *
+         * @param   key
+         *          the key
+         *
+         * @return  an unmodifiable list of the events, empty if no events
+         *          were retrieved for the key
+         */
+        public List<WatchEvent<?>> events(WatchKey key) {
+            List<WatchEvent<?>> list = events.get(key);
+            return (list == null) ? Collections.<WatchEvent<?>>emptyList() :
+                Collections.unmodifiableList(list);
+        }
+
+        /**
+         * Returns the number of events that were lost or discarded for the
+         * given key, that is the count of its {@link
+         * StandardWatchEventKinds#OVERFLOW OVERFLOW} event.
+         *
+         * @param   key
+         *          the key
+         *
+         * @return  the number of events lost for the key
+         */
+        public int overflowCount(WatchKey key) {
+            Integer count = overflows.get(key);
+            return (count == null) ? 0 : count;
+        }
+
+        /**
+         * Returns the number of events that were lost or discarded for all
+         * the keys.
+         *
+         * @return  the number of events lost
+         */
+        public long overflowCount() {
+            return overflowCount;
+        }
+
+        /**
+         * Returns {@code true} if no keys were signalled.
+         *
+         * @return  {@code true} if the batch is empty
+         */
+        public boolean isEmpty() {
+            return events.isEmpty();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new ClosedWatchServiceException();
+    }
+
+    private Key checkKey(WatchKey key) {
+        if (!(key instanceof Key) || ((Key)key).outer() != this)
+            throw new IllegalArgumentException("Key not registered with this watch service");
+        return (Key)key;
+    }
+
+    /**
+     * Registers a directory with this watch service.
+     *
+     * <p> The {@code modifiers} parameter may contain the {@link #FILE_TREE}
+     * modifier to watch the directory and all the directories under it.
+     * Other modifiers are passed to the file system's watch service.
+     *
+     * @param   dir
+     *          the directory to register
+     * @param   events
+     *          the events for which the directory should be registered
+     * @param   modifiers
+     *          the modifiers, if any, that modify how the directory is
+     *          registered
+     *
+     * @return  a key representing the registration
+     *
+     * @throws  UnsupportedOperationException
+     *          if unsupported events or modifiers are specified
+     * @throws  IllegalArgumentException
+     *          if an invalid combination of events or modifiers is specified
+     * @throws  ClosedWatchServiceException
+     *          if this watch service is closed
+     * @throws  NotDirectoryException
+     *          if the file is not a directory
+     * @throws  IOException
+     *          if an I/O error occurs
+     * @throws  SecurityException
+     *          In the case of the default provider, and a security manager is
+     *          installed, the {@link SecurityManager#checkRead(String) checkRead}
+     *          method is invoked to check read access to the directory.
+     */
+    public WatchKey register(Path dir,
+                             WatchEvent.Kind<?>[] events,
+                             WatchEvent.Modifier... modifiers)
+        throws IOException
+    {
+        Set<WatchEvent.Kind<?>> kinds = new HashSet<>();
+        for (WatchEvent.Kind<?> kind: events) {
+            if (Objects.requireNonNull(kind) != OVERFLOW)
+                kinds.add(kind);
+        }
+        if (kinds.isEmpty())
+            throw new IllegalArgumentException("No events to register");
+
+        boolean tree = false;
+        List<WatchEvent.Modifier> others = new ArrayList<>();
+        for (WatchEvent.Modifier modifier: modifiers) {
+            if (Objects.requireNonNull(modifier) == FILE_TREE) {
+                tree = true;
+            } else {
+                others.add(modifier);
+            }
+        }
+
+        checkOpen();
+        Key key = new Key(dir, tree, kinds,
+                          others.toArray(new WatchEvent.Modifier[0]));
+        try {
+            if (tree) {
+                registerTree(key, dir, false);
+            } else {
+                lock.lock();
+                try {
+                    registerDirectory(key, dir);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (IOException | RuntimeException x) {
+            key.cancel();
+            throw x;
+        }
+        return key;
+    }
+
+    /**
+     * Registers a directory with this watch service.
+     *
+     * @param   dir
+     *          the directory to register
+     * @param   events
+     *          the events for which the directory should be registered
+     *
+     * @return  a key representing the registration
+     *
+     * @throws  UnsupportedOperationException
+     *          if unsupported events are specified
+     * @throws  IllegalArgumentException
+     *          if an invalid combination of events is specified
+     * @throws  ClosedWatchServiceException
+     *          if this watch service is closed
+     * @throws  NotDirectoryException
+     *          if the file is not a directory
+     * @throws  IOException
+     *          if an I/O error occurs
+     * @throws  SecurityException
+     *          In the case of the default provider, and a security manager is
+     *          installed, the {@link SecurityManager#checkRead(String) checkRead}
+     *          method is invoked to check read access to the directory.
+     *
+     * @see #register(Path, WatchEvent.Kind[], WatchEvent.Modifier[])
+     */
+    public WatchKey register(Path dir, WatchEvent.Kind<?>... events)
+        throws IOException
+    {
+        return register(dir, events, new WatchEvent.Modifier[0]);
+    }
+
+    /**
+     * Registers a directory with the file system's watch service for the
+     * given key, and for any other keys that watch it. Registering a
+     * directory again replaces the events it is watched for, so it is
+     * registered for the events of all its keys. Invoked while holding
+     * the lock.
+     */
+    private void registerDirectory(Key key, Path dir) throws IOException {
+        Set<WatchEvent.Kind<?>> all = new HashSet<>(Arrays.asList(key.watched));
+        WatchKey existing = watchedDirs.get(dir);
+        List<Key> keys = (existing != null) ? watches.get(existing) : null;
+        if (keys != null) {
+            for (Key k: keys)
+                all.addAll(Arrays.asList(k.watched));
+        }
+        WatchKey wk = dir.register(watcher, all.toArray(new WatchEvent.Kind<?>[0]),
+                                   key.modifiers);
+        if (wk != existing) {
+            keys = watches.get(wk);
+            if (keys == null) {
+                keys = new ArrayList<>(1);
+                watches.put(wk, keys);
+            } else {
+                // watched by other keys under another path, so register
+                // again if the events of those keys were dropped
+                Set<WatchEvent.Kind<?>> others = new HashSet<>();
+                for (Key k: keys)
+                    others.addAll(Arrays.asList(k.watched));
+                if (!all.containsAll(others)) {
+                    all.addAll(others);
+                    dir.register(watcher, all.toArray(new WatchEvent.Kind<?>[0]),
+                                 key.modifiers);
+                }
+            }
+            watchedDirs.put((Path)wk.watchable(), wk);
+        }
+        if (!keys.contains(key))
+            keys.add(key);
+        key.watchKeys.add(wk);
+        key.directories.add(dir);
+    }
+
+    /**
+     * Registers the directories of a file tree for the given key. If
+     * {@code created} is true then the entries under the directory are
+     * reported as created. The tree is walked without holding the lock,
+     * which is taken for each entry.
+     */
+    private void registerTree(Key key, Path start, boolean created)
+        throws IOException
+    {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir,
+                                                     BasicFileAttributes attrs)
+                throws IOException
+            {
+                lock.lock();
+                try {
+                    checkOpen();
+                    if (!key.valid)
+                        return FileVisitResult.TERMINATE;   // cancelled
+                    try {
+                        registerDirectory(key, dir);
+                    } catch (NoSuchFileException x) {
+                        if (dir.equals(start) && !created)
+                            throw x;
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (created && !dir.equals(start))
+                        key.signalEvent(ENTRY_CREATE, key.root.relativize(dir), 1);
+                } finally {
+                    lock.unlock();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (created) {
+                    lock.lock();
+                    try {
+                        key.signalEvent(ENTRY_CREATE, key.root.relativize(file), 1);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc)
+                throws IOException
+            {
+                if (file.equals(start))
+                    throw exc;
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Reads the events of the file system's watch service until it is
+     * closed.
+     */
+    private void readEvents() {
+        List<Key> treeKeys = new ArrayList<>();
+        List<Path> treeDirs = new ArrayList<>();
+        for (;;) {
+            WatchKey wk;
+            try {
+                wk = watcher.take();
+            } catch (ClosedWatchServiceException | InterruptedException x) {
+                return;
+            }
+            lock.lock();
+            try {
+                do {
+                    process(wk, treeKeys, treeDirs);
+                } while ((wk = watcher.poll()) != null);
+            } catch (ClosedWatchServiceException x) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // register the directories created in watched trees
+            for (int i = 0; i < treeKeys.size(); i++) {
+                try {
+                    registerTree(treeKeys.get(i), treeDirs.get(i), true);
+                } catch (ClosedWatchServiceException x) {
+                    return;
+                } catch (IOException | SecurityException x) {
+                    // directory removed or not accessible
+                }
+            }
+            treeKeys.clear();
+            treeDirs.clear();
+        }
+    }
+
+    /**
+     * Dispatches the events of a key of the file system's watch service,
+     * adding the directories created in watched trees, and their keys, to
+     * the given lists. Invoked while holding the lock.
+     */
+    private void process(WatchKey wk, List<Key> treeKeys, List<Path> treeDirs) {
+        List<WatchEvent<?>> events = wk.pollEvents();
+        boolean valid = wk.reset();
+        List<Key> keys = watches.get(wk);
+        if (keys == null)
+            return;
+        Path dir = (Path)wk.watchable();
+        Key[] targets = keys.toArray(new Key[keys.size()]);
+        for (WatchEvent<?> ev: events) {
+            for (Key key: targets) {
+                Path created = key.process(dir, ev);
+                if (created != null) {
+                    treeKeys.add(key);
+                    treeDirs.add(created);
+                }
+            }
+        }
+        if (!valid) {
+            // directory deleted or no longer accessible
+            watches.remove(wk);
+            watchedDirs.remove(dir, wk);
+            for (Key key: targets) {
+                key.watchKeys.remove(wk);
+                key.directories.remove(dir);
+                if (key.watchKeys.isEmpty() && key.valid)
+                    key.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Signals the keys whose coalescing window has passed, returning the
+     * time in nanoseconds until the next window passes.
+     */
+    private long signalWaiting() {
+        long next = Long.MAX_VALUE;
+        if (!waiting.isEmpty()) {
+            long now = System.nanoTime();
+            for (int i = 0; i < waiting.size(); ) {
+                Key key = waiting.get(i);
+                long remaining = key.pendingSince + key.window - now;
+                if (remaining <= 0L) {
+                    waiting.remove(i);
+                    key.signal();
+                } else {
+                    next = Math.min(next, remaining);
+                    i++;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Waits up to the given time for a key to be signalled, returning
+     * {@code true} if one is queued; waits indefinitely if {@code nanos}
+     * is negative. Invoked while holding the lock.
+     */
+    private boolean await(long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        for (;;) {
+            checkOpen();
+            long next = signalWaiting();
+            if (!ready.isEmpty())
+                return true;
+            if (nanos >= 0L) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L)
+                    return false;
+                next = Math.min(next, remaining);
+            }
+            if (next == Long.MAX_VALUE) {
+                changed.await();
+            } else {
+                changed.awaitNanos(next);
+            }
+        }
+    }
+
+    @Override
+    public WatchKey poll() {
+        lock.lock();
+        try {
+            checkOpen();
+            signalWaiting();
+            return ready.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public WatchKey poll(long timeout, TimeUnit unit)
+        throws InterruptedException
+    {
+        long nanos = Math.max(0L, unit.toNanos(timeout));
+        lock.lockInterruptibly();
+        try {
+            return await(nanos) ? ready.poll() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public WatchKey take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            await(-1L);
+            return ready.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the events of all the signalled keys, waiting if necessary
+     * up to the specified wait time for a key to be signalled. The keys are
+     * {@link WatchKey#reset reset} after their events are retrieved; a key
+     * that is no longer valid is included with the events that remained
+     * pending for it.
+     *
+     * @param   timeout
+     *          how to wait before giving up, in units of unit
+     * @param   unit
+     *          a {@code TimeUnit} determining how to interpret the timeout
+     *          parameter
+     *
+     * @return  the events retrieved, an empty batch if no key was signalled
+     *
+     * @throws  ClosedWatchServiceException
+     *          if this watch service is closed, or it is closed while waiting
+     *          for a key to be signalled
+     * @throws  InterruptedException
+     *          if interrupted while waiting
+     */
+    public Batch pollAll(long timeout, TimeUnit unit)
+        throws InterruptedException
+    {
+        long nanos = Math.max(0L, unit.toNanos(timeout));
+        Map<WatchKey, List<WatchEvent<?>>> events = new LinkedHashMap<>();
+        Map<WatchKey, Integer> overflows = new HashMap<>();
+        lock.lockInterruptibly();
+        try {
+            if (await(nanos)) {
+                Key key;
+                while ((key = ready.poll()) != null) {
+                    int overflow = key.overflow;
+                    events.put(key, key.takeEvents());
+                    if (overflow > 0)
+                        overflows.put(key, overflow);
+                    key.signalled = false;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new Batch(events, overflows);
+    }
+
+    /**
+     * Sets the coalescing window of a key. A key with pending events is
+     * signalled no sooner than the window after the first of the events.
+     * A window of zero, the initial window, signals the key as soon as an
+     * event occurs.
+     *
+     * @param   key
+     *          a key of this watch service
+     * @param   window
+     *          the window, in units of unit
+     * @param   unit
+     *          a {@code TimeUnit} determining how to interpret the window
+     *
+     * @throws  IllegalArgumentException
+     *          if the key is not a key of this watch service or the window
+     *          is negative
+     */
+    public void setCoalescingWindow(WatchKey key, long window, TimeUnit unit) {
+        Key k = checkKey(key);
+        if (window < 0L)
+            throw new IllegalArgumentException("'window' is negative");
+        long nanos = unit.toNanos(window);
+        lock.lock();
+        try {
+            k.window = nanos;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            watcher.close();
+        } finally {
+            lock.lock();
+            try {
+                for (List<Key> keys: watches.values()) {
+                    for (Key key: keys)
+                        key.valid = false;
+                }
+                watches.clear();
+                watchedDirs.clear();
+                ready.clear();
+                waiting.clear();
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.nio.file.FileTreeWalker.Event;
+
+/**
+ * A {@code Spliterator} over the nodes of a file tree. The walk is split at
+ * directory boundaries: {@link #trySplit} hands the second half of the
+ * entries not yet visited in the shallowest open directory, together with
+ * the file trees under them, to a new spliterator. When no directory can be
+ * split, {@code trySplit} walks ahead, buffering a bounded number of events,
+ * until one can; the directory listings and file attributes of the subtrees
+ * are so read concurrently when the stream is parallel.
+ *
+ * <pre>{@code
+ *     try (FileTreeSpliterator spliterator = new FileTreeSpliterator(start, maxDepth, options)) {
+ *         Stream<Event> s = StreamSupport.stream(spliterator, true);
+ *         ...
+ *     }
+ * }</pre>
+ */
+
+class FileTreeSpliterator implements Spliterator<Event>, Closeable {
+    // maximum number of entries of a directory read ahead to split it
+    private static final int SPLIT_BATCH = 1024;
+
+    // maximum number of events buffered walking ahead to find a directory
+    private static final int PREFETCH_LIMIT = 256;
+
+    // a fork/join worker does not split while it has more tasks queued
+    private static final int MAX_SURPLUS = 3;
+
+    private final FileTreeWalker walker;
+
+    // the walkers of all spliterators split from the same walk that have
+    // not finished, so that closing the walk closes their directories
+    private final Set<FileTreeWalker> walkers;
+
+    // events read ahead by trySplit
+    private final ArrayDeque<Event> pending = new ArrayDeque<>();
+
+    /**
+     * Creates a new spliterator to walk the file tree starting at the given
+     * file.
+     *
+     * @throws  IllegalArgumentException
+     *          if {@code maxDepth} is negative
+     * @throws  IOException
+     *          if an I/O errors occurs opening the starting file
+     * @throws  SecurityException
+     *          if the security manager denies access to the starting file
+     * @throws  NullPointerException
+     *          if {@code start} or {@code options} is {@code null} or
+     *          the options array contains a {@code null} element
+     */
+    FileTreeSpliterator(Path start, int maxDepth, FileVisitOption... options)
+        throws IOException
+    {
+        this.walker = new FileTreeWalker(Arrays.asList(options), maxDepth);
+        this.walkers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        Event first = walker.walk(start);
+        assert first.type() == FileTreeWalker.EventType.ENTRY ||
+               first.type() == FileTreeWalker.EventType.START_DIRECTORY;
+
+        // IOException if there a problem accessing the starting file
+        IOException ioe = first.ioeException();
+        if (ioe != null)
+            throw ioe;
+        pending.add(first);
+        walkers.add(walker);
+    }
+
+    private FileTreeSpliterator(FileTreeWalker walker, Set<FileTreeWalker> walkers) {
+        this.walker = walker;
+        this.walkers = walkers;
+    }
+
+    /**
+     * Returns the next event from the walker that is not an END_DIRECTORY
+     * event without an I/O error, or {@code null} if there are no more.
+     */
+    private Event walkerNext() {
+        Event ev = walker.next();
+        while (ev != null &&
+               ev.type() == FileTreeWalker.EventType.END_DIRECTORY &&
+               ev.ioeException() == null)
+        {
+            ev = walker.next();
+        }
+        return ev;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Event> action) {
+        if (!walker.isOpen())
+            throw new IllegalStateException();
+        Event ev = pending.poll();
+        if (ev == null) {
+            ev = walkerNext();
+            if (ev == null) {
+                walkers.remove(walker);
+                return false;
+            }
+        }
+        IOException ioe = ev.ioeException();
+        if (ioe != null)
+            throw new UncheckedIOException(ioe);
+        action.accept(ev);
+        return true;
+    }
+
+    @Override
+    public Spliterator<Event> trySplit() {
+        if (!walker.isOpen() ||
+            ForkJoinTask.getSurplusQueuedTaskCount() > MAX_SURPLUS)
+            return null;
+
+        FileTreeWalker w = walker.split(SPLIT_BATCH);
+        while (w == null && pending.size() < PREFETCH_LIMIT) {
+            Event ev = walkerNext();
+            if (ev == null)
+                break;
+            pending.add(ev);
+            // report I/O errors before walking further
+            if (ev.ioeException() != null)
+                break;
+            w = walker.split(SPLIT_BATCH);
+        }
+        if (w == null)
+            return null;
+        walkers.add(w);
+        return new FileTreeSpliterator(w, walkers);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.DISTINCT | Spliterator.NONNULL;
+    }
+
+    /**
+     * Closes the walkers of this spliterator and of all spliterators split
+     * from the same walk.
+     */
+    @Override
+    public void close() {
+        for (FileTreeWalker w: walkers) {
+            w.close();
+        }
+        walker.close();
+    }
+}
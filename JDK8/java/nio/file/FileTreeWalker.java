@@ -29,6 +29,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import sun.nio.fs.BasicFileAttributesHolder;
@@ -58,9 +59,13 @@ class FileTreeWalker implements Closeable {
     private final boolean followLinks;
     private final LinkOption[] linkOptions;
     private final int maxDepth;
+    private final int baseDepth;
+    private final DirectoryNode[] ancestors;
     private final ArrayDeque<DirectoryNode> stack = new ArrayDeque<>();
     private boolean closed;
 
+    private static final DirectoryNode[] NO_ANCESTORS = new DirectoryNode[0];
+
     /**
      * The element on the walking stack corresponding to a directory node.
      */
@@ -69,6 +74,8 @@ class FileTreeWalker implements Closeable {
         private final Object key;
         private final DirectoryStream<Path> stream;
         private final Iterator<Path> iterator;
+        private ArrayDeque<Path> entries;   // entries read ahead of iterator
+        private IOException deferred;       // error reading ahead
         private boolean skipped;
 
         DirectoryNode(Path dir, Object key, DirectoryStream<Path> stream) {
@@ -78,6 +85,18 @@ class FileTreeWalker implements Closeable {
             this.iterator = stream.iterator();
         }
 
+        /**
+         * Creates a node for a directory whose remaining entries were split
+         * off from another walker; there is no stream to close.
+         */
+        DirectoryNode(Path dir, Object key, ArrayDeque<Path> entries) {
+            this.dir = dir;
+            this.key = key;
+            this.stream = null;
+            this.iterator = null;
+            this.entries = entries;
+        }
+
         Path directory() {
             return dir;
         }
@@ -86,12 +105,57 @@ class FileTreeWalker implements Closeable {
             return key;
         }
 
-        DirectoryStream<Path> stream() {
-            return stream;
+        /**
+         * Returns the next entry in the directory or {@code null} if there
+         * are no more entries.
+         *
+         * @throws  DirectoryIteratorException
+         *          if an I/O error occurs reading the directory
+         */
+        Path nextEntry() {
+            if (entries != null && !entries.isEmpty())
+                return entries.poll();
+            if (deferred != null) {
+                IOException ioe = deferred;
+                deferred = null;
+                throw new DirectoryIteratorException(ioe);
+            }
+            if (iterator != null && iterator.hasNext())
+                return iterator.next();
+            return null;
         }
 
-        Iterator<Path> iterator() {
-            return iterator;
+        /**
+         * Removes the second half of the entries that have not been visited
+         * yet, reading up to {@code max} entries ahead of the iterator first.
+         * Returns {@code null} if fewer than two entries remain.
+         */
+        ArrayDeque<Path> split(int max) {
+            if (skipped)
+                return null;
+            if (entries == null)
+                entries = new ArrayDeque<>();
+            if (iterator != null && deferred == null) {
+                try {
+                    while (entries.size() < max && iterator.hasNext())
+                        entries.add(iterator.next());
+                } catch (DirectoryIteratorException x) {
+                    // reported by nextEntry once the entries read are used up
+                    deferred = x.getCause();
+                }
+            }
+            int n = entries.size();
+            if (n < 2)
+                return null;
+            ArrayDeque<Path> half = new ArrayDeque<>(n / 2);
+            for (int i = n / 2; i > 0; i--)
+                half.addFirst(entries.pollLast());
+            return half;
+        }
+
+        void close() throws IOException {
+            if (stream != null)
+                stream.close();
         }
 
         void skip() {
@@ -191,6 +255,26 @@ class FileTreeWalker implements Closeable {
         this.linkOptions = (fl) ? new LinkOption[0] :
             new LinkOption[] { LinkOption.NOFOLLOW_LINKS };
         this.maxDepth = maxDepth;
+        this.baseDepth = 0;
+        this.ancestors = NO_ANCESTORS;
+    }
+
+    /**
+     * Creates a {@code FileTreeWalker} to walk the given entries of a
+     * directory at the given depth, split off from another walker.
+     */
+    private FileTreeWalker(FileTreeWalker parent,
+                           DirectoryNode[] ancestors,
+                           DirectoryNode node,
+                           int depth,
+                           ArrayDeque<Path> entries)
+    {
+        this.followLinks = parent.followLinks;
+        this.linkOptions = parent.linkOptions;
+        this.maxDepth = parent.maxDepth;
+        this.baseDepth = depth;
+        this.ancestors = ancestors;
+        stack.push(new DirectoryNode(node.directory(), node.key(), entries));
     }
 
     /**
@@ -235,28 +319,34 @@ class FileTreeWalker implements Closeable {
      */
     private boolean wouldLoop(Path dir, Object key) {
         // if this directory and ancestor has a file key then we compare
-        // them; otherwise we use less efficient isSameFile test.
+        // them; otherwise we use less efficient isSameFile test. A walker
+        // split off from another also checks the ancestors of its directory.
         for (DirectoryNode ancestor: stack) {
-            Object ancestorKey = ancestor.key();
-            if (key != null && ancestorKey != null) {
-                if (key.equals(ancestorKey)) {
-                    // cycle detected
-                    return true;
-                }
-            } else {
-                try {
-                    if (Files.isSameFile(dir, ancestor.directory())) {
-                        // cycle detected
-                        return true;
-                    }
-                } catch (IOException | SecurityException x) {
-                    // ignore
-                }
-            }
+            if (isSameDirectory(dir, key, ancestor))
+                return true;     // cycle detected
+        }
+        for (DirectoryNode ancestor: ancestors) {
+            if (isSameDirectory(dir, key, ancestor))
+                return true;     // cycle detected
         }
         return false;
     }
 
+    /**
+     * Returns true if the given directory is the same file as the ancestor.
+     */
+    private static boolean isSameDirectory(Path dir, Object key, DirectoryNode ancestor) {
+        Object ancestorKey = ancestor.key();
+        if (key != null && ancestorKey != null)
+            return key.equals(ancestorKey);
+        try {
+            return Files.isSameFile(dir, ancestor.directory());
+        } catch (IOException | SecurityException x) {
+            // ignore
+            return false;
+        }
+    }
+
     /**
      * Visits the given file, returning the {@code Event} corresponding to that
      * visit.
@@ -283,7 +373,7 @@ class FileTreeWalker implements Closeable {
         }
 
         // at maximum depth or file is not a directory
-        int depth = stack.size();
+        int depth = baseDepth + stack.size();
         if (depth >= maxDepth || !attrs.isDirectory()) {
             return new Event(EventType.ENTRY, entry, attrs);
         }
@@ -343,11 +433,8 @@ class FileTreeWalker implements Closeable {
 
             // get next entry in the directory
             if (!top.skipped()) {
-                Iterator<Path> iterator = top.iterator();
                 try {
-                    if (iterator.hasNext()) {
-                        entry = iterator.next();
-                    }
+                    entry = top.nextEntry();
                 } catch (DirectoryIteratorException x) {
                     ioe = x.getCause();
                 }
@@ -356,9 +443,9 @@ class FileTreeWalker implements Closeable {
             // no next entry so close and pop directory, creating corresponding event
             if (entry == null) {
                 try {
-                    top.stream().close();
+                    top.close();
                 } catch (IOException e) {
-                    if (ioe != null) {
+                    if (ioe == null) {
                         ioe = e;
                     } else {
                         ioe.addSuppressed(e);
@@ -388,7 +475,7 @@ class FileTreeWalker implements Closeable {
         if (!stack.isEmpty()) {
             DirectoryNode node = stack.pop();
             try {
-                node.stream().close();
+                node.close();
             } catch (IOException ignore) { }
         }
     }
@@ -403,6 +490,41 @@ class FileTreeWalker implements Closeable {
         }
     }
 
+    /**
+     * Splits off part of the remaining walk: the second half of the entries
+     * not yet visited in the shallowest directory on the stack that has at
+     * least two, reading up to {@code max} entries of that directory ahead.
+     * The returned walker visits these entries, and the file trees under
+     * them, instead of this walker. Its first event is the event for the
+     * first entry; it returns an END_DIRECTORY event for the directory when
+     * the entries are exhausted. Returns {@code null} if the walk cannot be
+     * split.
+     */
+    FileTreeWalker split(int max) {
+        if (closed)
+            return null;
+        int depth = baseDepth;
+        Iterator<DirectoryNode> iterator = stack.descendingIterator();
+        while (iterator.hasNext()) {
+            DirectoryNode node = iterator.next();
+            ArrayDeque<Path> entries = node.split(max);
+            if (entries != null) {
+                // the directories above the node are needed to detect cycles
+                DirectoryNode[] above = NO_ANCESTORS;
+                if (followLinks) {
+                    above = Arrays.copyOf(ancestors,
+                                          ancestors.length + depth - baseDepth);
+                    Iterator<DirectoryNode> i = stack.descendingIterator();
+                    for (int k = ancestors.length; k < above.length; k++)
+                        above[k] = i.next();
+                }
+                return new FileTreeWalker(this, above, node, depth, entries);
+            }
+            depth++;
+        }
+        return null;
+    }
+
     /**
      * Returns {@code true} if the walker is open.
      */
@@ -3507,6 +3507,14 @@ public final class Files {
      * file tree while iterating, so it may (or may not) reflect updates to
      * the file tree that occur after returned from this method.
      *
+     * <p> If the stream is made {@link Stream#parallel parallel}, the walk
+     * is split between threads at directory boundaries: the entries of a
+     * directory, and the file trees under them, may be handed to other
+     * threads, which read their directory listings and attributes
+     * concurrently. The elements of a parallel stream are not encountered in
+     * depth-first order, though a directory is still encountered before its
+     * entries are.
+     *
      * <p> By default, symbolic links are not automatically followed by this
      * method. If the {@code options} parameter contains the {@link
      * FileVisitOption#FOLLOW_LINKS FOLLOW_LINKS} option then symbolic links are
@@ -3571,13 +3579,13 @@ public final class Files {
                                     FileVisitOption... options)
         throws IOException
     {
-        FileTreeIterator iterator = new FileTreeIterator(start, maxDepth, options);
+        FileTreeSpliterator spliterator = new FileTreeSpliterator(start, maxDepth, options);
         try {
-            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.DISTINCT), false)
-                                .onClose(iterator::close)
+            return StreamSupport.stream(spliterator, false)
+                                .onClose(spliterator::close)
                                 .map(entry -> entry.file());
         } catch (Error|RuntimeException e) {
-            iterator.close();
+            spliterator.close();
             throw e;
         }
     }
@@ -3684,14 +3692,14 @@ public final class Files {
                                     FileVisitOption... options)
         throws IOException
     {
-        FileTreeIterator iterator = new FileTreeIterator(start, maxDepth, options);
+        FileTreeSpliterator spliterator = new FileTreeSpliterator(start, maxDepth, options);
         try {
-            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.DISTINCT), false)
-                                .onClose(iterator::close)
+            return StreamSupport.stream(spliterator, false)
+                                .onClose(spliterator::close)
                                 .filter(entry -> matcher.test(entry.file(), entry.attributes()))
                                 .map(entry -> entry.file());
         } catch (Error|RuntimeException e) {
-            iterator.close();
+            spliterator.close();
             throw e;
         }
     }
@@ -333,7 +333,8 @@ import sun.util.locale.provider.ResourceBundleBasedAdapter;
  * Decimal formats are generally not synchronized.
  * It is recommended to create separate format instances for each thread.
  * If multiple threads access a format concurrently, it must be synchronized
- * externally.
+ * externally.  A {@link DecimalFormatter} compiled from a decimal format is
+ * immutable and may be shared between threads.
  *
  * <h4>Example</h4>
  *
@@ -374,6 +375,7 @@ import sun.util.locale.provider.ResourceBundleBasedAdapter;
  * @see          <a href="https://docs.oracle.com/javase/tutorial/i18n/format/decimalFormat.html">Java Tutorial</a>
  * @see          NumberFormat
  * @see          DecimalFormatSymbols
+ * @see          DecimalFormatter
  * @see          ParsePosition
  * @author       Mark Davis
  * @author       Alan Liu
@@ -3916,7 +3918,7 @@ public class DecimalFormat extends NumberFormat {
      * True if this object represents a currency format.  This determines
      * whether the monetary decimal separator is used instead of the normal one.
      */
-    private transient boolean isCurrencyFormat = false;
+    transient boolean isCurrencyFormat = false;
 
     /**
      * The <code>DecimalFormatSymbols</code> object used by this format.
@@ -3936,7 +3938,7 @@ public class DecimalFormat extends NumberFormat {
      * @serial
      * @since 1.2
      */
-    private boolean useExponentialNotation;  // Newly persistent in the Java 2 platform v.1.2
+    boolean useExponentialNotation;  // Newly persistent in the Java 2 platform v.1.2
 
     /**
      * FieldPositions describing the positive prefix String. This is
@@ -3974,7 +3976,7 @@ public class DecimalFormat extends NumberFormat {
      * @serial
      * @since 1.2
      */
-    private byte    minExponentDigits;       // Newly persistent in the Java 2 platform v.1.2
+    byte    minExponentDigits;       // Newly persistent in the Java 2 platform v.1.2
 
     /**
      * The maximum number of digits allowed in the integer portion of a
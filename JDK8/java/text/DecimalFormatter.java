@@ -0,0 +1,1230 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.text;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import sun.misc.FloatingDecimal;
+
+/**
+ * An immutable and thread-safe formatter for decimal numbers, compiled
+ * from a {@link DecimalFormat} pattern and its {@link DecimalFormatSymbols}.
+ * <p>
+ * A {@code DecimalFormatter} produces the same text as the
+ * {@code DecimalFormat} it was compiled from, but holds no mutable state,
+ * so a single instance may be shared freely between threads instead of
+ * keeping a {@code DecimalFormat} per thread.  The {@code formatTo}
+ * methods write the digits of a {@code long}, {@code double} or
+ * {@code BigDecimal} straight into a caller supplied {@code StringBuilder}
+ * or {@code char} array, without going through a {@code FieldPosition},
+ * a {@code StringBuffer} or a shared digit list.
+ * <p>
+ * Rounding follows {@code DecimalFormat}: a {@code double} is rounded from
+ * the digits of {@link Double#toString(double)}, taking into account
+ * whether those digits are exact.  A tie between zero and the least
+ * significant fraction digit is always decided by the exact value, which
+ * {@code DecimalFormat} does only on its fast path.
+ * <p>
+ * The settings of the format are captured when the formatter is created;
+ * later changes to the {@code DecimalFormat} or to its symbols do not
+ * affect it.  For example:
+ * <blockquote><pre>
+ * DecimalFormatter amount = DecimalFormatter.ofPattern("#,##0.00");
+ * StringBuilder sb = new StringBuilder();
+ * amount.formatTo(1234.5, sb);           // "1,234.50"
+ * </pre></blockquote>
+ *
+ * @see          DecimalFormat
+ * @since        1.8
+ */
+public final class DecimalFormatter {
+
+    /**
+     * Private copy of the format this formatter was compiled from.  It is
+     * never used for formatting, only to answer {@link #toFormat()} and
+     * {@link #toPattern()}.
+     */
+    private final DecimalFormat format;
+
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+
+    private final char zero;
+    private final char grouping;
+    private final char decimal;
+    private final String minus;
+    private final String exponentSeparator;
+    private final String infinity;
+    private final String nan;
+
+    private final boolean groupingUsed;
+    private final int groupingSize;          // 0 if grouping is not used
+    private final boolean decimalSeparatorAlwaysShown;
+    private final boolean useExponentialNotation;
+    private final int minExponentDigits;
+    private final boolean parseIntegerOnly;
+    private final int multiplier;
+    private final BigDecimal bigDecimalMultiplier;
+    private final RoundingMode roundingMode;
+
+    /**
+     * The number of fraction digits to which doubles are rounded exactly
+     * by {@link #fastRound}, or -1 if the fast path does not apply.
+     */
+    private final int fastPathFraDigits;
+
+    // Digit limits for BigDecimal values
+    private final int maxIntDigits;
+    private final int minIntDigits;
+    private final int maxFraDigits;
+    private final int minFraDigits;
+
+    // Digit limits for long and double values, see DecimalFormat
+    private final int doubleMaxIntDigits;
+    private final int doubleMinIntDigits;
+    private final int doubleMaxFraDigits;
+    private final int doubleMinFraDigits;
+
+    /**
+     * Compiles a formatter from the given format, which must not be
+     * shared with any other code.
+     */
+    private DecimalFormatter(DecimalFormat format) {
+        this.format = format;
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+
+        positivePrefix = format.getPositivePrefix();
+        positiveSuffix = format.getPositiveSuffix();
+        negativePrefix = format.getNegativePrefix();
+        negativeSuffix = format.getNegativeSuffix();
+
+        zero = symbols.getZeroDigit();
+        grouping = symbols.getGroupingSeparator();
+        decimal = format.isCurrencyFormat ?
+            symbols.getMonetaryDecimalSeparator() :
+            symbols.getDecimalSeparator();
+        minus = Character.toString(symbols.getMinusSign());
+        exponentSeparator = symbols.getExponentSeparator();
+        infinity = symbols.getInfinity();
+        nan = symbols.getNaN();
+
+        groupingUsed = format.isGroupingUsed();
+        groupingSize = groupingUsed ? format.getGroupingSize() : 0;
+        decimalSeparatorAlwaysShown = format.isDecimalSeparatorAlwaysShown();
+        useExponentialNotation = format.useExponentialNotation;
+        minExponentDigits = format.minExponentDigits;
+        parseIntegerOnly = format.isParseIntegerOnly();
+        multiplier = format.getMultiplier();
+        bigDecimalMultiplier = BigDecimal.valueOf(multiplier);
+        roundingMode = format.getRoundingMode();
+
+        maxIntDigits = format.getMaximumIntegerDigits();
+        minIntDigits = format.getMinimumIntegerDigits();
+        maxFraDigits = format.getMaximumFractionDigits();
+        minFraDigits = format.getMinimumFractionDigits();
+        doubleMaxIntDigits = Math.min(maxIntDigits, DecimalFormat.DOUBLE_INTEGER_DIGITS);
+        doubleMinIntDigits = Math.min(minIntDigits, DecimalFormat.DOUBLE_INTEGER_DIGITS);
+        doubleMaxFraDigits = Math.min(maxFraDigits, DecimalFormat.DOUBLE_FRACTION_DIGITS);
+        doubleMinFraDigits = Math.min(minFraDigits, DecimalFormat.DOUBLE_FRACTION_DIGITS);
+
+        boolean halfRounding = roundingMode == RoundingMode.HALF_EVEN ||
+            roundingMode == RoundingMode.HALF_UP ||
+            roundingMode == RoundingMode.HALF_DOWN;
+        fastPathFraDigits = (!useExponentialNotation && halfRounding &&
+                             doubleMaxFraDigits <= FAST_PATH_MAX_FRACTION_DIGITS) ?
+            doubleMaxFraDigits : -1;
+    }
+
+    /**
+     * Creates a formatter for the given pattern and the symbols of the
+     * default {@link java.util.Locale.Category#FORMAT FORMAT} locale.
+     *
+     * @param pattern a non-localized {@code DecimalFormat} pattern
+     * @return a formatter for the pattern
+     * @exception NullPointerException if {@code pattern} is null
+     * @exception IllegalArgumentException if the pattern is invalid
+     * @see DecimalFormat#DecimalFormat(String)
+     */
+    public static DecimalFormatter ofPattern(String pattern) {
+        return new DecimalFormatter(new DecimalFormat(pattern));
+    }
+
+    /**
+     * Creates a formatter for the given pattern and symbols.
+     *
+     * @param pattern a non-localized {@code DecimalFormat} pattern
+     * @param symbols the symbols to use
+     * @return a formatter for the pattern
+     * @exception NullPointerException if any argument is null
+     * @exception IllegalArgumentException if the pattern is invalid
+     * @see DecimalFormat#DecimalFormat(String, DecimalFormatSymbols)
+     */
+    public static DecimalFormatter ofPattern(String pattern,
+                                             DecimalFormatSymbols symbols) {
+        return new DecimalFormatter(new DecimalFormat(pattern, symbols));
+    }
+
+    /**
+     * Creates a formatter with the current settings of the given format,
+     * including its rounding mode, multiplier and digit limits.
+     *
+     * @param format the format to compile
+     * @return a formatter equivalent to {@code format}
+     * @exception NullPointerException if {@code format} is null
+     */
+    public static DecimalFormatter of(DecimalFormat format) {
+        return new DecimalFormatter((DecimalFormat) format.clone());
+    }
+
+    /**
+     * Returns a new {@code DecimalFormat} with the settings of this
+     * formatter, for APIs that require a {@link Format}.
+     *
+     * @return a new format equivalent to this formatter
+     */
+    public DecimalFormat toFormat() {
+        return (DecimalFormat) format.clone();
+    }
+
+    /**
+     * Returns the pattern of this formatter.
+     *
+     * @return the non-localized pattern
+     * @see DecimalFormat#toPattern()
+     */
+    public String toPattern() {
+        return format.toPattern();
+    }
+
+    /**
+     * Returns a description of this formatter.
+     *
+     * @return a string of the form {@code "DecimalFormatter[pattern]"}
+     */
+    @Override
+    public String toString() {
+        return "DecimalFormatter[" + toPattern() + "]";
+    }
+
+    // -------------------------------------------------------------------
+    // Formatting
+
+    /**
+     * Formats a {@code long}.
+     *
+     * @param number the number to format
+     * @return the formatted text
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public String format(long number) {
+        return formatTo(number, new StringBuilder()).toString();
+    }
+
+    /**
+     * Formats a {@code double}.
+     *
+     * @param number the number to format
+     * @return the formatted text
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public String format(double number) {
+        return formatTo(number, new StringBuilder()).toString();
+    }
+
+    /**
+     * Formats a {@code BigDecimal}.
+     *
+     * @param number the number to format
+     * @return the formatted text
+     * @exception NullPointerException if {@code number} is null
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public String format(BigDecimal number) {
+        return formatTo(number, new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the formatted text of a {@code long} to a builder.
+     *
+     * @param number the number to format
+     * @param toAppendTo the builder to append to
+     * @return {@code toAppendTo}
+     * @exception NullPointerException if {@code toAppendTo} is null
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public StringBuilder formatTo(long number, StringBuilder toAppendTo) {
+        format(number, toAppendTo, null, 0);
+        return toAppendTo;
+    }
+
+    /**
+     * Appends the formatted text of a {@code double} to a builder.
+     *
+     * @param number the number to format
+     * @param toAppendTo the builder to append to
+     * @return {@code toAppendTo}
+     * @exception NullPointerException if {@code toAppendTo} is null
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public StringBuilder formatTo(double number, StringBuilder toAppendTo) {
+        format(number, toAppendTo, null, 0);
+        return toAppendTo;
+    }
+
+    /**
+     * Appends the formatted text of a {@code BigDecimal} to a builder.
+     *
+     * @param number the number to format
+     * @param toAppendTo the builder to append to
+     * @return {@code toAppendTo}
+     * @exception NullPointerException if any argument is null
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public StringBuilder formatTo(BigDecimal number, StringBuilder toAppendTo) {
+        format(number, toAppendTo, null, 0);
+        return toAppendTo;
+    }
+
+    /**
+     * Writes the formatted text of a {@code long} into a char array.
+     *
+     * @param number the number to format
+     * @param dst the destination array
+     * @param offset the index in {@code dst} of the first char to write
+     * @return the index in {@code dst} following the last char written
+     * @exception NullPointerException if {@code dst} is null
+     * @exception IndexOutOfBoundsException if {@code offset} is negative
+     *            or the text does not fit; the contents of {@code dst}
+     *            starting at {@code offset} are then unspecified
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public int formatTo(long number, char[] dst, int offset) {
+        return format(number, null, checkArray(dst, offset), offset);
+    }
+
+    /**
+     * Writes the formatted text of a {@code double} into a char array.
+     *
+     * @param number the number to format
+     * @param dst the destination array
+     * @param offset the index in {@code dst} of the first char to write
+     * @return the index in {@code dst} following the last char written
+     * @exception NullPointerException if {@code dst} is null
+     * @exception IndexOutOfBoundsException if {@code offset} is negative
+     *            or the text does not fit; the contents of {@code dst}
+     *            starting at {@code offset} are then unspecified
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public int formatTo(double number, char[] dst, int offset) {
+        return format(number, null, checkArray(dst, offset), offset);
+    }
+
+    /**
+     * Writes the formatted text of a {@code BigDecimal} into a char array.
+     *
+     * @param number the number to format
+     * @param dst the destination array
+     * @param offset the index in {@code dst} of the first char to write
+     * @return the index in {@code dst} following the last char written
+     * @exception NullPointerException if {@code number} or {@code dst}
+     *            is null
+     * @exception IndexOutOfBoundsException if {@code offset} is negative
+     *            or the text does not fit; the contents of {@code dst}
+     *            starting at {@code offset} are then unspecified
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to {@code RoundingMode.UNNECESSARY}
+     */
+    public int formatTo(BigDecimal number, char[] dst, int offset) {
+        return format(number, null, checkArray(dst, offset), offset);
+    }
+
+    private static char[] checkArray(char[] dst, int offset) {
+        if (offset < 0 || offset > dst.length) {
+            throw new IndexOutOfBoundsException("offset " + offset +
+                                                ", length " + dst.length);
+        }
+        return dst;
+    }
+
+    /*
+     * The formatting methods below write either to sb, if it is not null,
+     * or to dst starting at pos, and return the position following the
+     * last char written.  A non-zero number is carried between them as a
+     * significand without trailing zeros and the position of the decimal
+     * point, as in DigitList: the value is 0.sig * 10^decimalAt.  The
+     * significand is a long when it has at most 18 digits, otherwise the
+     * string of its digits.
+     */
+
+    private int format(long number, StringBuilder sb, char[] dst, int pos) {
+        boolean isNegative = (number < 0);
+        if (isNegative) {
+            number = -number;
+        }
+
+        // The multiplier can push a number near MIN_VALUE or MAX_VALUE
+        // outside the range of a long, in which case we use BigDecimal.
+        boolean useBigDecimal = false;
+        if (number < 0) { // This can only happen if number == Long.MIN_VALUE.
+            if (multiplier != 0) {
+                useBigDecimal = true;
+            }
+        } else if (multiplier != 1 && multiplier != 0) {
+            long cutoff = Long.MAX_VALUE / multiplier;
+            if (cutoff < 0) {
+                cutoff = -cutoff;
+            }
+            useBigDecimal = (number > cutoff);
+        }
+
+        if (useBigDecimal) {
+            if (isNegative) {
+                number = -number;
+            }
+            BigDecimal value = BigDecimal.valueOf(number).multiply(bigDecimalMultiplier);
+            return format(value, true, doubleMaxIntDigits, doubleMinIntDigits,
+                          doubleMaxFraDigits, doubleMinFraDigits, sb, dst, pos);
+        }
+
+        number *= multiplier;
+        if (number == 0) {
+            isNegative = false;
+        } else {
+            if (multiplier < 0) {
+                number = -number;
+                isNegative = !isNegative;
+            }
+        }
+
+        int decimalAt = digitLength(number);
+        long sig = stripZeros(number);
+        if (useExponentialNotation) {
+            int count = digitLength(sig);
+            int keep = doubleMaxIntDigits + doubleMaxFraDigits;
+            if (keep > 0 && keep < count) { // integers ignore a limit of 0
+                long rounded = round(sig, count, keep, isNegative, false, true);
+                decimalAt += digitLength(rounded) - keep;
+                sig = stripZeros(rounded);
+            }
+        }
+        return subformat(sb, dst, pos, isNegative, true, sig, null, decimalAt,
+                         doubleMaxIntDigits, doubleMinIntDigits,
+                         doubleMaxFraDigits, doubleMinFraDigits);
+    }
+
+    private int format(double number, StringBuilder sb, char[] dst, int pos) {
+        if (Double.isNaN(number) ||
+           (Double.isInfinite(number) && multiplier == 0)) {
+            return put(sb, dst, pos, nan);
+        }
+
+        // -0.0 is formatted as negative, see DecimalFormat.format(double)
+        boolean isNegative = ((number < 0.0) || (number == 0.0 && 1/number < 0.0)) ^ (multiplier < 0);
+
+        if (multiplier != 1) {
+            number *= multiplier;
+        }
+
+        if (Double.isInfinite(number)) {
+            pos = put(sb, dst, pos, isNegative ? negativePrefix : positivePrefix);
+            pos = put(sb, dst, pos, infinity);
+            return put(sb, dst, pos, isNegative ? negativeSuffix : positiveSuffix);
+        }
+
+        if (isNegative) {
+            number = -number;
+        }
+
+        long sig = 0;
+        int decimalAt = 0;
+        long rounded = (number != 0.0 && fastPathFraDigits >= 0) ?
+            fastRound(number, fastPathFraDigits) : -1;
+        if (rounded >= 0) {
+            decimalAt = digitLength(rounded) - fastPathFraDigits;
+            sig = stripZeros(rounded);
+        } else if (number != 0.0) {
+            FloatingDecimal.BinaryToASCIIConverter fdConverter =
+                FloatingDecimal.getBinaryToASCIIConverter(number);
+            char[] digits = new char[DOUBLE_DIGITS_LENGTH];
+            int count = fdConverter.getDigits(digits);
+            for (int i = 0; i < count; i++) {
+                sig = sig * 10 + (digits[i] - '0');
+            }
+            sig = stripZeros(sig);
+            count = digitLength(sig);
+            decimalAt = fdConverter.getDecimalExponent();
+
+            int keep = useExponentialNotation ?
+                doubleMaxIntDigits + doubleMaxFraDigits :
+                doubleMaxFraDigits + decimalAt;
+            if (keep < count) {
+                rounded = (keep < 0) ? 0 :
+                    round(sig, count, keep, isNegative,
+                          fdConverter.digitsRoundedUp(),
+                          fdConverter.decimalDigitsExact());
+                decimalAt += digitLength(rounded) - keep;
+                sig = stripZeros(rounded);
+            }
+        }
+        return subformat(sb, dst, pos, isNegative, false, sig, null, decimalAt,
+                         doubleMaxIntDigits, doubleMinIntDigits,
+                         doubleMaxFraDigits, doubleMinFraDigits);
+    }
+
+    private int format(BigDecimal number, StringBuilder sb, char[] dst, int pos) {
+        if (multiplier != 1) {
+            number = number.multiply(bigDecimalMultiplier);
+        }
+        return format(number, false, maxIntDigits, minIntDigits,
+                      maxFraDigits, minFraDigits, sb, dst, pos);
+    }
+
+    private int format(BigDecimal number, boolean isInteger,
+                       int maxIntDigits, int minIntDigits,
+                       int maxFraDigits, int minFraDigits,
+                       StringBuilder sb, char[] dst, int pos) {
+        // Round the signed value, so that CEILING and FLOOR see the sign
+        boolean isNegative = number.signum() == -1;
+        if (number.signum() != 0) {
+            int precision = number.precision();
+            long decimalAt = (long) precision - number.scale();
+            long keep;
+            if (useExponentialNotation) {
+                int maximumDigits = maxIntDigits + maxFraDigits;
+                keep = (maximumDigits < 0 || (isInteger && maximumDigits == 0)) ?
+                    Integer.MAX_VALUE : maximumDigits;
+            } else {
+                keep = maxFraDigits + decimalAt;
+            }
+            if (keep < 0) {
+                // Underflow to zero, as in DigitList, whatever the rounding mode
+                number = BigDecimal.ZERO;
+            } else if (keep < precision) {
+                number = number.setScale((int) (number.scale() - precision + keep),
+                                         roundingMode);
+            }
+        }
+
+        long sig = 0;
+        String big = null;
+        int decimalAt = 0;
+        if (number.signum() != 0) {
+            number = number.abs().stripTrailingZeros();
+            int precision = number.precision();
+            decimalAt = precision - number.scale();
+            if (precision < LONG_TEN_POWERS.length) {
+                sig = number.unscaledValue().longValue();
+            } else {
+                big = number.unscaledValue().toString();
+            }
+        }
+        return subformat(sb, dst, pos, isNegative, isInteger, sig, big, decimalAt,
+                         maxIntDigits, minIntDigits, maxFraDigits, minFraDigits);
+    }
+
+    /**
+     * Lays out a number that has already been rounded, following
+     * {@code DecimalFormat.subformat}.
+     */
+    private int subformat(StringBuilder sb, char[] dst, int pos,
+                          boolean isNegative, boolean isInteger,
+                          long sig, String big, int decimalAt,
+                          int maxIntDigits, int minIntDigits,
+                          int maxFraDigits, int minFraDigits) {
+        int count = (big != null) ? big.length() : digitLength(sig);
+        if (count == 0) {
+            decimalAt = 0; // Normalize
+        }
+
+        pos = put(sb, dst, pos, isNegative ? negativePrefix : positivePrefix);
+
+        if (useExponentialNotation) {
+            // See DecimalFormat.subformat for the handling of minimum and
+            // maximum integer digits in exponential notation.
+            int exponent = decimalAt;
+            int repeat = maxIntDigits;
+            int minimumIntegerDigits = minIntDigits;
+            if (repeat > 1 && repeat > minIntDigits) {
+                if (exponent >= 1) {
+                    exponent = ((exponent - 1) / repeat) * repeat;
+                } else {
+                    // integer division rounds towards 0
+                    exponent = ((exponent - repeat) / repeat) * repeat;
+                }
+                minimumIntegerDigits = 1;
+            } else {
+                exponent -= minimumIntegerDigits;
+            }
+
+            int minimumDigits = minIntDigits + minFraDigits;
+            if (minimumDigits < 0) {    // overflow?
+                minimumDigits = Integer.MAX_VALUE;
+            }
+            int integerDigits = (count == 0) ? minimumIntegerDigits :
+                    decimalAt - exponent;
+            if (minimumDigits < integerDigits) {
+                minimumDigits = integerDigits;
+            }
+            int totalDigits = count;
+            if (minimumDigits > totalDigits) {
+                totalDigits = minimumDigits;
+            }
+
+            for (int i = 0; i < totalDigits; ++i) {
+                if (i == integerDigits) {
+                    pos = put(sb, dst, pos, decimal);
+                }
+                pos = put(sb, dst, pos,
+                          (i < count) ? digit(sig, big, count, i) : zero);
+            }
+            if (decimalSeparatorAlwaysShown && totalDigits == integerDigits) {
+                pos = put(sb, dst, pos, decimal);
+            }
+
+            pos = put(sb, dst, pos, exponentSeparator);
+            if (count == 0) {
+                exponent = 0;
+            }
+            if (exponent < 0) {
+                exponent = -exponent;
+                pos = put(sb, dst, pos, minus);
+            }
+            int exponentDigits = digitLength(exponent);
+            for (int i = exponentDigits; i < minExponentDigits; ++i) {
+                pos = put(sb, dst, pos, zero);
+            }
+            for (int i = 0; i < exponentDigits; ++i) {
+                pos = put(sb, dst, pos, digit(exponent, null, exponentDigits, i));
+            }
+        } else {
+            // Output the integer portion, including the leading zeros
+            // required by the minimum integer digits.  If there are more
+            // integer digits than the maximum, only the least significant
+            // ones are shown.
+            int intCount = minIntDigits;
+            int digitIndex = 0;
+            if (decimalAt > 0 && intCount < decimalAt) {
+                intCount = decimalAt;
+            }
+            if (intCount > maxIntDigits) {
+                intCount = maxIntDigits;
+                digitIndex = decimalAt - intCount;
+            }
+
+            int sizeBeforeIntegerPart = pos;
+            for (int i = intCount - 1; i >= 0; --i) {
+                if (i < decimalAt && digitIndex < count) {
+                    pos = put(sb, dst, pos, digit(sig, big, count, digitIndex++));
+                } else {
+                    pos = put(sb, dst, pos, zero);
+                }
+                if (i > 0 && groupingSize != 0 && (i % groupingSize == 0)) {
+                    pos = put(sb, dst, pos, grouping);
+                }
+            }
+
+            boolean fractionPresent = (minFraDigits > 0) ||
+                (!isInteger && digitIndex < count);
+
+            // Print at least one digit, so that the text can be parsed.
+            if (!fractionPresent && pos == sizeBeforeIntegerPart) {
+                pos = put(sb, dst, pos, zero);
+            }
+
+            if (decimalSeparatorAlwaysShown || fractionPresent) {
+                pos = put(sb, dst, pos, decimal);
+            }
+
+            for (int i = 0; i < maxFraDigits; ++i) {
+                if (i >= minFraDigits &&
+                    (isInteger || digitIndex >= count)) {
+                    break;
+                }
+                // Leading fractional zeros of a number below 1.0
+                if (-1-i > (decimalAt-1)) {
+                    pos = put(sb, dst, pos, zero);
+                    continue;
+                }
+                if (!isInteger && digitIndex < count) {
+                    pos = put(sb, dst, pos, digit(sig, big, count, digitIndex++));
+                } else {
+                    pos = put(sb, dst, pos, zero);
+                }
+            }
+        }
+
+        return put(sb, dst, pos, isNegative ? negativeSuffix : positiveSuffix);
+    }
+
+    /**
+     * Rounds {@code sig}, a significand of {@code count} digits without
+     * trailing zeros, to its first {@code keep} digits according to the
+     * rounding mode.  The flags describe the binary to decimal conversion
+     * as in {@code DigitList.shouldRoundUp}.
+     *
+     * @return the rounded significand, which may be zero or, if rounding
+     *         carried into a new digit, have {@code keep + 1} digits
+     */
+    private long round(long sig, int count, int keep, boolean isNegative,
+                       boolean alreadyRounded, boolean valueExactAsDecimal) {
+        long q, r, half;
+        if (count - keep < LONG_TEN_POWERS.length) {
+            long divisor = LONG_TEN_POWERS[count - keep];
+            q = sig / divisor;
+            r = sig - q * divisor;
+            half = divisor >> 1;
+        } else {
+            // Every digit of a 19 digit long is dropped
+            q = 0;
+            r = sig;
+            half = 5 * LONG_TEN_POWERS[LONG_TEN_POWERS.length - 1];
+        }
+
+        // r is never zero, since sig has no trailing zeros
+        boolean roundUp;
+        switch (roundingMode) {
+        case UP:
+            roundUp = true;
+            break;
+        case DOWN:
+            roundUp = false;
+            break;
+        case CEILING:
+            roundUp = !isNegative;
+            break;
+        case FLOOR:
+            roundUp = isNegative;
+            break;
+        case HALF_UP:
+        case HALF_DOWN:
+            if (r != half) {
+                roundUp = r > half;
+            } else if (valueExactAsDecimal) {
+                roundUp = roundingMode == RoundingMode.HALF_UP;
+            } else {
+                // The digits were either rounded up or truncated to the tie
+                roundUp = !alreadyRounded;
+            }
+            break;
+        case HALF_EVEN:
+            if (r != half) {
+                roundUp = r > half;
+            } else if (alreadyRounded) {
+                roundUp = false;
+            } else if (!valueExactAsDecimal) {
+                roundUp = true;
+            } else {
+                roundUp = (q & 1) != 0;
+            }
+            break;
+        case UNNECESSARY:
+            throw new ArithmeticException(
+                "Rounding needed with the rounding mode being set to RoundingMode.UNNECESSARY");
+        default:
+            throw new AssertionError(roundingMode);
+        }
+        return roundUp ? q + 1 : q;
+    }
+
+    /**
+     * Rounds a positive double to {@code fractionDigits} fraction digits
+     * with one of the HALF rounding modes, working on the exact binary
+     * value, which avoids the binary to decimal conversion.  When an ulp
+     * of the value is well below the rounding unit and no tie lies within
+     * an ulp of it, its shortest decimal digits round the same way as the
+     * exact value, so the result is the one DigitList would give.  Values
+     * close to a tie depend on the conversion flags and are left to the
+     * general path.
+     *
+     * @return the rounded value scaled by 10^fractionDigits, or -1 if the
+     *         fast path does not apply
+     */
+    private long fastRound(double number, int fractionDigits) {
+        long bits = Double.doubleToRawLongBits(number);
+        int biasedExponent = (int) (bits >>> EXP_SHIFT);
+        int shift = EXP_BIAS + EXP_SHIFT - biasedExponent; // number == m / 2^shift
+        if (biasedExponent == 0 || shift <= 0 || shift >= Long.SIZE - 1 ||
+            (1L << (shift - 1)) <= LONG_TEN_POWERS[fractionDigits]) {
+            return -1;
+        }
+        // m < 2^53 and 10^fractionDigits < 2^10, so n cannot overflow
+        long m = (bits & SIGNIF_BIT_MASK) | (1L << EXP_SHIFT);
+        long n = m * LONG_TEN_POWERS[fractionDigits];
+        long q = n >> shift;
+        long r = n & ((1L << shift) - 1);
+        long half = 1L << (shift - 1);
+        // One ulp of number, scaled by 10^fractionDigits, is 10^fractionDigits
+        // units of r.
+        if (Math.abs(r - half) <= LONG_TEN_POWERS[fractionDigits]) {
+            return -1;
+        }
+        return (r > half) ? q + 1 : q;
+    }
+
+    /**
+     * Returns the digit at {@code index} of a significand of {@code count}
+     * digits, converted to the zero digit of the symbols.
+     */
+    private char digit(long sig, String big, int count, int index) {
+        if (big != null) {
+            return (char) (big.charAt(index) - '0' + zero);
+        }
+        int shift = count - 1 - index;
+        long d = (shift == 0) ? sig : sig / LONG_TEN_POWERS[shift];
+        return (char) (zero + (int) (d % 10));
+    }
+
+    private static int digitLength(long n) {
+        if (n == 0) {
+            return 0;
+        }
+        int len = 1;
+        while (len < LONG_TEN_POWERS.length && n >= LONG_TEN_POWERS[len]) {
+            len++;
+        }
+        return len;
+    }
+
+    private static long stripZeros(long n) {
+        if (n != 0) {
+            while (n % 10 == 0) {
+                n /= 10;
+            }
+        }
+        return n;
+    }
+
+    private static int put(StringBuilder sb, char[] dst, int pos, char c) {
+        if (sb != null) {
+            sb.append(c);
+        } else {
+            dst[pos] = c;
+        }
+        return pos + 1;
+    }
+
+    private static int put(StringBuilder sb, char[] dst, int pos, String s) {
+        int len = s.length();
+        if (sb != null) {
+            sb.append(s);
+        } else {
+            s.getChars(0, len, dst, pos);
+        }
+        return pos + len;
+    }
+
+    // -------------------------------------------------------------------
+    // Parsing
+
+    /**
+     * Parses text from a character sequence to produce a {@code Number},
+     * as {@link DecimalFormat#parse(String, ParsePosition)} does when
+     * {@code isParseBigDecimal()} is false: the result is a {@code Long}
+     * if possible, otherwise a {@code Double}.
+     *
+     * @param text the text to parse
+     * @param pos on input, the index to start at; on output, the index
+     *            following the parsed text, or the error index on failure
+     * @return the parsed value, or {@code null} if the parse fails
+     * @exception NullPointerException if any argument is null
+     */
+    public Number parse(CharSequence text, ParsePosition pos) {
+        // special case NaN
+        if (regionMatches(text, pos.index, nan)) {
+            pos.index = pos.index + nan.length();
+            return Double.valueOf(Double.NaN);
+        }
+
+        DigitList digits = new DigitList();
+        boolean[] status = new boolean[STATUS_LENGTH];
+        if (!subparse(text, pos, positivePrefix, negativePrefix, digits, false, status)) {
+            return null;
+        }
+
+        // special case INFINITY
+        if (status[STATUS_INFINITE]) {
+            if (status[STATUS_POSITIVE] == (multiplier >= 0)) {
+                return Double.valueOf(Double.POSITIVE_INFINITY);
+            } else {
+                return Double.valueOf(Double.NEGATIVE_INFINITY);
+            }
+        }
+
+        if (multiplier == 0) {
+            if (digits.isZero()) {
+                return Double.valueOf(Double.NaN);
+            } else if (status[STATUS_POSITIVE]) {
+                return Double.valueOf(Double.POSITIVE_INFINITY);
+            } else {
+                return Double.valueOf(Double.NEGATIVE_INFINITY);
+            }
+        }
+
+        boolean gotDouble = true;
+        boolean gotLongMinimum = false;
+        double  doubleResult = 0.0;
+        long    longResult = 0;
+
+        if (digits.fitsIntoLong(status[STATUS_POSITIVE], parseIntegerOnly)) {
+            gotDouble = false;
+            longResult = digits.getLong();
+            if (longResult < 0) {  // got Long.MIN_VALUE
+                gotLongMinimum = true;
+            }
+        } else {
+            doubleResult = digits.getDouble();
+        }
+
+        // Divide by multiplier, avoiding unneeded conversions between
+        // double and long.
+        if (multiplier != 1) {
+            if (gotDouble) {
+                doubleResult /= multiplier;
+            } else {
+                if (longResult % multiplier == 0) {
+                    longResult /= multiplier;
+                } else {
+                    doubleResult = ((double)longResult) / multiplier;
+                    gotDouble = true;
+                }
+            }
+        }
+
+        if (!status[STATUS_POSITIVE] && !gotLongMinimum) {
+            doubleResult = -doubleResult;
+            longResult = -longResult;
+        }
+
+        // A result divided by the multiplier may fit into a long again;
+        // -0.0 is kept as a double.
+        if (multiplier != 1 && gotDouble) {
+            longResult = (long)doubleResult;
+            gotDouble = ((doubleResult != (double)longResult) ||
+                        (doubleResult == 0.0 && 1/doubleResult < 0.0)) &&
+                        !parseIntegerOnly;
+        }
+
+        return gotDouble ?
+            (Number) Double.valueOf(doubleResult) : (Number) Long.valueOf(longResult);
+    }
+
+    /**
+     * Parses text from a character sequence to produce a
+     * {@code BigDecimal}, as {@link DecimalFormat#parse(String, ParsePosition)}
+     * does when {@code isParseBigDecimal()} is true.  Since a
+     * {@code BigDecimal} cannot represent them, the parse fails for the NaN
+     * and infinity symbols, and for any text if the multiplier is zero.
+     *
+     * @param text the text to parse
+     * @param pos on input, the index to start at; on output, the index
+     *            following the parsed text, or the error index on failure
+     * @return the parsed value, or {@code null} if the parse fails
+     * @exception NullPointerException if any argument is null
+     */
+    public BigDecimal parseBigDecimal(CharSequence text, ParsePosition pos) {
+        int start = pos.index;
+        if (regionMatches(text, start, nan)) {
+            pos.errorIndex = start;
+            return null;
+        }
+
+        DigitList digits = new DigitList();
+        boolean[] status = new boolean[STATUS_LENGTH];
+        if (!subparse(text, pos, positivePrefix, negativePrefix, digits, false, status)) {
+            return null;
+        }
+        if (status[STATUS_INFINITE] || multiplier == 0) {
+            pos.index = start;
+            pos.errorIndex = start;
+            return null;
+        }
+
+        BigDecimal result = digits.getBigDecimal();
+        if (multiplier != 1) {
+            try {
+                result = result.divide(bigDecimalMultiplier);
+            }
+            catch (ArithmeticException e) {  // non-terminating decimal expansion
+                result = result.divide(bigDecimalMultiplier, roundingMode);
+            }
+        }
+        if (!status[STATUS_POSITIVE]) {
+            result = result.negate();
+        }
+        return result;
+    }
+
+    private static final int STATUS_INFINITE = 0;
+    private static final int STATUS_POSITIVE = 1;
+    private static final int STATUS_LENGTH   = 2;
+
+    /**
+     * Parses the given text into a digit list, following
+     * {@code DecimalFormat.subparse}.
+     *
+     * @return true if the parse succeeded
+     */
+    private boolean subparse(CharSequence text, ParsePosition parsePosition,
+                             String positivePrefix, String negativePrefix,
+                             DigitList digits, boolean isExponent,
+                             boolean status[]) {
+        int position = parsePosition.index;
+        int oldStart = parsePosition.index;
+        int backup;
+        boolean gotPositive, gotNegative;
+
+        // check for positivePrefix; take longest
+        gotPositive = regionMatches(text, position, positivePrefix);
+        gotNegative = regionMatches(text, position, negativePrefix);
+
+        if (gotPositive && gotNegative) {
+            if (positivePrefix.length() > negativePrefix.length()) {
+                gotNegative = false;
+            } else if (positivePrefix.length() < negativePrefix.length()) {
+                gotPositive = false;
+            }
+        }
+
+        if (gotPositive) {
+            position += positivePrefix.length();
+        } else if (gotNegative) {
+            position += negativePrefix.length();
+        } else {
+            parsePosition.errorIndex = position;
+            return false;
+        }
+
+        // process digits or Inf, find decimal position
+        status[STATUS_INFINITE] = false;
+        if (!isExponent && regionMatches(text, position, infinity)) {
+            position += infinity.length();
+            status[STATUS_INFINITE] = true;
+        } else {
+            // Only significant digits go into the digit list; leading
+            // zeros are accounted for in the decimal position.
+            digits.decimalAt = digits.count = 0;
+            boolean sawDecimal = false;
+            boolean sawExponent = false;
+            boolean sawDigit = false;
+            int exponent = 0; // Set to the exponent value, if any
+
+            // We have to track digitCount ourselves, because digits.count will
+            // pin when the maximum allowable digits is reached.
+            int digitCount = 0;
+
+            backup = -1;
+            for (; position < text.length(); ++position) {
+                char ch = text.charAt(position);
+
+                // Accept the locale digits as well as any Unicode digit
+                int digit = ch - zero;
+                if (digit < 0 || digit > 9) {
+                    digit = Character.digit(ch, 10);
+                }
+
+                if (digit == 0) {
+                    // Cancel out backup setting (see grouping handler below)
+                    backup = -1;
+                    sawDigit = true;
+
+                    // Handle leading zeros
+                    if (digits.count == 0) {
+                        // Ignore leading zeros in integer part of number.
+                        if (!sawDecimal) {
+                            continue;
+                        }
+                        --digits.decimalAt;
+                    } else {
+                        ++digitCount;
+                        digits.append((char)(digit + '0'));
+                    }
+                } else if (digit > 0 && digit <= 9) {
+                    sawDigit = true;
+                    ++digitCount;
+                    digits.append((char)(digit + '0'));
+
+                    // Cancel out backup setting (see grouping handler below)
+                    backup = -1;
+                } else if (!isExponent && ch == decimal) {
+                    // If we're only parsing integers, or if we ALREADY saw the
+                    // decimal, then don't parse this one.
+                    if (parseIntegerOnly || sawDecimal) {
+                        break;
+                    }
+                    digits.decimalAt = digitCount; // Not digits.count!
+                    sawDecimal = true;
+                } else if (!isExponent && ch == grouping && groupingUsed) {
+                    if (sawDecimal) {
+                        break;
+                    }
+                    // Ignore grouping characters, if we are using them, but
+                    // require that they be followed by a digit.  Otherwise
+                    // we backup and reprocess them.
+                    backup = position;
+                } else if (!isExponent && !sawExponent &&
+                           regionMatches(text, position, exponentSeparator)) {
+                    // Process the exponent by recursively calling this method.
+                    ParsePosition pos = new ParsePosition(position + exponentSeparator.length());
+                    boolean[] stat = new boolean[STATUS_LENGTH];
+                    DigitList exponentDigits = new DigitList();
+
+                    if (subparse(text, pos, "", minus, exponentDigits, true, stat) &&
+                        exponentDigits.fitsIntoLong(stat[STATUS_POSITIVE], true)) {
+                        position = pos.index; // Advance past the exponent
+                        exponent = (int)exponentDigits.getLong();
+                        if (!stat[STATUS_POSITIVE]) {
+                            exponent = -exponent;
+                        }
+                        sawExponent = true;
+                    }
+                    break; // Whether we fail or succeed, we exit this loop
+                } else {
+                    break;
+                }
+            }
+
+            if (backup != -1) {
+                position = backup;
+            }
+
+            // If there was no decimal point we have an integer
+            if (!sawDecimal) {
+                digits.decimalAt = digitCount; // Not digits.count!
+            }
+
+            // Adjust for exponent, if any
+            digits.decimalAt += exponent;
+
+            // If none of the text was recognized, fail at the start.
+            if (!sawDigit && digitCount == 0) {
+                parsePosition.index = oldStart;
+                parsePosition.errorIndex = oldStart;
+                return false;
+            }
+        }
+
+        // check for suffix
+        if (!isExponent) {
+            if (gotPositive) {
+                gotPositive = regionMatches(text, position, positiveSuffix);
+            }
+            if (gotNegative) {
+                gotNegative = regionMatches(text, position, negativeSuffix);
+            }
+
+            // if both match, take longest
+            if (gotPositive && gotNegative) {
+                if (positiveSuffix.length() > negativeSuffix.length()) {
+                    gotNegative = false;
+                } else if (positiveSuffix.length() < negativeSuffix.length()) {
+                    gotPositive = false;
+                }
+            }
+
+            // fail if neither or both
+            if (gotPositive == gotNegative) {
+                parsePosition.errorIndex = position;
+                return false;
+            }
+
+            parsePosition.index = position +
+                (gotPositive ? positiveSuffix.length() : negativeSuffix.length()); // mark success!
+        } else {
+            parsePosition.index = position;
+        }
+
+        status[STATUS_POSITIVE] = gotPositive;
+        if (parsePosition.index == oldStart) {
+            parsePosition.errorIndex = position;
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean regionMatches(CharSequence text, int offset, String s) {
+        int len = s.length();
+        if (offset < 0 || offset > text.length() - len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (text.charAt(offset + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The largest number of fraction digits handled by {@link #fastRound}.
+     */
+    private static final int FAST_PATH_MAX_FRACTION_DIGITS = 3;
+
+    // Layout of a double, see sun.misc.DoubleConsts
+    private static final int EXP_SHIFT = 52;
+    private static final int EXP_BIAS = 1023;
+    private static final long SIGNIF_BIT_MASK = 0x000FFFFFFFFFFFFFL;
+
+    /**
+     * Size of the buffer receiving the digits of a double; the shortest
+     * decimal representation never has more than 17 digits.
+     */
+    private static final int DOUBLE_DIGITS_LENGTH = 20;
+
+    /**
+     * Powers of ten that fit in a long, up to 10^18.
+     */
+    private static final long[] LONG_TEN_POWERS = {
+        1,                     // 0 / 10^0
+        10,                    // 1 / 10^1
+        100,                   // 2 / 10^2
+        1000,                  // 3 / 10^3
+        10000,                 // 4 / 10^4
+        100000,                // 5 / 10^5
+        1000000,               // 6 / 10^6
+        10000000,              // 7 / 10^7
+        100000000,             // 8 / 10^8
+        1000000000,            // 9 / 10^9
+        10000000000L,          // 10 / 10^10
+        100000000000L,         // 11 / 10^11
+        1000000000000L,        // 12 / 10^12
+        10000000000000L,       // 13 / 10^13
+        100000000000000L,      // 14 / 10^14
+        1000000000000000L,     // 15 / 10^15
+        10000000000000000L,    // 16 / 10^16
+        100000000000000000L,   // 17 / 10^17
+        1000000000000000000L   // 18 / 10^18
+    };
+}
@@ -510,6 +510,11 @@ public final class DateTimeFormatter {
      * The zone to use for formatting, null for no override.
      */
     private final ZoneId zone;
+    /**
+     * The specialized layout used in preference to the printer/parser, null if none.
+     * This is only set on the predefined constants, not on formatters derived from them.
+     */
+    private final FixedFormat fixedFormat;
 
     //-----------------------------------------------------------------------
     /**
@@ -707,7 +712,8 @@ public final class DateTimeFormatter {
                 .appendValue(MONTH_OF_YEAR, 2)
                 .appendLiteral('-')
                 .appendValue(DAY_OF_MONTH, 2)
-                .toFormatter(ResolverStyle.STRICT, IsoChronology.INSTANCE);
+                .toFormatter(ResolverStyle.STRICT, IsoChronology.INSTANCE)
+                .withFixedFormat(FixedFormat.ISO_LOCAL_DATE);
     }
 
     //-----------------------------------------------------------------------
@@ -809,7 +815,8 @@ public final class DateTimeFormatter {
                 .appendValue(SECOND_OF_MINUTE, 2)
                 .optionalStart()
                 .appendFraction(NANO_OF_SECOND, 0, 9, true)
-                .toFormatter(ResolverStyle.STRICT, null);
+                .toFormatter(ResolverStyle.STRICT, null)
+                .withFixedFormat(FixedFormat.ISO_LOCAL_TIME);
     }
 
     //-----------------------------------------------------------------------
@@ -896,7 +903,8 @@ public final class DateTimeFormatter {
                 .append(ISO_LOCAL_DATE)
                 .appendLiteral('T')
                 .append(ISO_LOCAL_TIME)
-                .toFormatter(ResolverStyle.STRICT, IsoChronology.INSTANCE);
+                .toFormatter(ResolverStyle.STRICT, IsoChronology.INSTANCE)
+                .withFixedFormat(FixedFormat.ISO_LOCAL_DATE_TIME);
     }
 
     //-----------------------------------------------------------------------
@@ -924,7 +932,8 @@ public final class DateTimeFormatter {
                 .parseCaseInsensitive()
                 .append(ISO_LOCAL_DATE_TIME)
                 .appendOffsetId()
-                .toFormatter(ResolverStyle.STRICT, IsoChronology.INSTANCE);
+                .toFormatter(ResolverStyle.STRICT, IsoChronology.INSTANCE)
+                .withFixedFormat(FixedFormat.ISO_OFFSET_DATE_TIME);
     }
 
     //-----------------------------------------------------------------------
@@ -1127,7 +1136,8 @@ public final class DateTimeFormatter {
         ISO_INSTANT = new DateTimeFormatterBuilder()
                 .parseCaseInsensitive()
                 .appendInstant()
-                .toFormatter(ResolverStyle.STRICT, null);
+                .toFormatter(ResolverStyle.STRICT, null)
+                .withFixedFormat(FixedFormat.ISO_INSTANT);
     }
 
     //-----------------------------------------------------------------------
@@ -1261,7 +1271,8 @@ public final class DateTimeFormatter {
                 .optionalEnd()
                 .appendLiteral(' ')
                 .appendOffset("+HHMM", "GMT")  // should handle UT/Z/EST/EDT/CST/CDT/MST/MDT/PST/MDT
-                .toFormatter(ResolverStyle.SMART, IsoChronology.INSTANCE);
+                .toFormatter(ResolverStyle.SMART, IsoChronology.INSTANCE)
+                .withFixedFormat(FixedFormat.RFC_1123_DATE_TIME);
     }
 
     //-----------------------------------------------------------------------
@@ -1373,6 +1384,25 @@ public final class DateTimeFormatter {
             Locale locale, DecimalStyle decimalStyle,
             ResolverStyle resolverStyle, Set<TemporalField> resolverFields,
             Chronology chrono, ZoneId zone) {
+        this(printerParser, locale, decimalStyle, resolverStyle, resolverFields, chrono, zone, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param printerParser  the printer/parser to use, not null
+     * @param locale  the locale to use, not null
+     * @param decimalStyle  the DecimalStyle to use, not null
+     * @param resolverStyle  the resolver style to use, not null
+     * @param resolverFields  the fields to use during resolving, null for all fields
+     * @param chrono  the chronology to use, null for no override
+     * @param zone  the zone to use, null for no override
+     * @param fixedFormat  the equivalent specialized layout, null if none
+     */
+    private DateTimeFormatter(CompositePrinterParser printerParser,
+            Locale locale, DecimalStyle decimalStyle,
+            ResolverStyle resolverStyle, Set<TemporalField> resolverFields,
+            Chronology chrono, ZoneId zone, FixedFormat fixedFormat) {
         this.printerParser = Objects.requireNonNull(printerParser, "printerParser");
         this.resolverFields = resolverFields;
         this.locale = Objects.requireNonNull(locale, "locale");
@@ -1380,6 +1410,22 @@ public final class DateTimeFormatter {
         this.resolverStyle = Objects.requireNonNull(resolverStyle, "resolverStyle");
         this.chrono = chrono;
         this.zone = zone;
+        this.fixedFormat = fixedFormat;
+    }
+
+    /**
+     * Returns a copy of this formatter which formats and parses the canonical
+     * form of its layout using the specified specialized layout.
+     * <p>
+     * The layout must produce exactly the same results as the printer/parser,
+     * which is only true of the predefined constants.
+     *
+     * @param fixedFormat  the equivalent specialized layout, not null
+     * @return a formatter based on this formatter with the specialized layout, not null
+     */
+    private DateTimeFormatter withFixedFormat(FixedFormat fixedFormat) {
+        return new DateTimeFormatter(printerParser, locale, decimalStyle, resolverStyle,
+                resolverFields, chrono, zone, fixedFormat);
     }
 
     //-----------------------------------------------------------------------
@@ -1741,13 +1787,12 @@ public final class DateTimeFormatter {
         Objects.requireNonNull(temporal, "temporal");
         Objects.requireNonNull(appendable, "appendable");
         try {
-            DateTimePrintContext context = new DateTimePrintContext(temporal, this);
             if (appendable instanceof StringBuilder) {
-                printerParser.format(context, (StringBuilder) appendable);
+                format0(temporal, (StringBuilder) appendable);
             } else {
                 // buffer output to avoid writing to appendable in case of error
                 StringBuilder buf = new StringBuilder(32);
-                printerParser.format(context, buf);
+                format0(temporal, buf);
                 appendable.append(buf);
             }
         } catch (IOException ex) {
@@ -1755,6 +1800,20 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Formats a date-time object to the buffer, using the specialized layout
+     * if it handles the object.
+     *
+     * @param temporal  the temporal object to format, not null
+     * @param buf  the buffer to format to, not null
+     */
+    private void format0(TemporalAccessor temporal, StringBuilder buf) {
+        if (fixedFormat == null || fixedFormat.format(temporal, buf) == false) {
+            DateTimePrintContext context = new DateTimePrintContext(temporal, this);
+            printerParser.format(context, buf);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Fully parses the text producing a temporal object.
@@ -1935,6 +1994,12 @@ public final class DateTimeFormatter {
      * @throws IndexOutOfBoundsException if the position is invalid
      */
     private TemporalAccessor parseResolved0(final CharSequence text, final ParsePosition position) {
+        if (fixedFormat != null && position == null) {
+            Parsed parsed = fixedFormat.parse(text);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
         ParsePosition pos = (position != null ? position : new ParsePosition(0));
         DateTimeParseContext context = parseUnresolved0(text, pos);
         if (context == null || pos.getErrorIndex() >= 0 || (position == null && pos.getIndex() < text.length())) {
@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.time.format;
+
+import static java.time.temporal.ChronoField.INSTANT_SECONDS;
+import static java.time.temporal.ChronoField.MICRO_OF_SECOND;
+import static java.time.temporal.ChronoField.MILLI_OF_SECOND;
+import static java.time.temporal.ChronoField.NANO_OF_SECOND;
+import static java.time.temporal.ChronoField.OFFSET_SECONDS;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.chrono.IsoChronology;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Specialized printer-parsers for the fixed layouts of the most commonly used
+ * predefined formatters.
+ * <p>
+ * The general formatting and parsing mechanism walks the chain of printer-parsers,
+ * creating a {@link DateTimePrintContext} for each format and a
+ * {@link DateTimeParseContext} with its own field map for each parse.
+ * For the canonical forms of the ISO and RFC-1123 layouts the result can be
+ * determined directly from the value or the digits of the text, so
+ * {@link DateTimeFormatter} tries these first.
+ * <p>
+ * Only the common case is handled here: years from 0000 to 9999 (from 1970 for
+ * instants), offsets without seconds, and text in the case that the formatter
+ * prints. Anything else, including any text which fails to parse, is reported
+ * by returning {@code false} or {@code null}, without writing any output, and
+ * the caller falls back to the general mechanism. The results are otherwise
+ * identical to those of the general mechanism.
+ *
+ * @implSpec
+ * This is an immutable and thread-safe enum.
+ *
+ * @since 1.8
+ */
+enum FixedFormat {
+
+    /** The layout of {@link DateTimeFormatter#ISO_LOCAL_DATE}. */
+    ISO_LOCAL_DATE,
+    /** The layout of {@link DateTimeFormatter#ISO_LOCAL_TIME}. */
+    ISO_LOCAL_TIME,
+    /** The layout of {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}. */
+    ISO_LOCAL_DATE_TIME,
+    /** The layout of {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}. */
+    ISO_OFFSET_DATE_TIME,
+    /** The layout of {@link DateTimeFormatter#ISO_INSTANT}. */
+    ISO_INSTANT,
+    /** The layout of {@link DateTimeFormatter#RFC_1123_DATE_TIME}. */
+    RFC_1123_DATE_TIME;
+
+    /**
+     * The largest epoch-second handled, 9999-12-31T23:59:59Z.
+     */
+    private static final long MAX_SECOND = 253402300799L;
+    /**
+     * Seconds per day.
+     */
+    private static final int SECONDS_PER_DAY = 86400;
+    /**
+     * The number of days from year zero to year 1970.
+     */
+    private static final long DAYS_0000_TO_1970 = (146097L * 5L) - (30L * 365L + 7L);
+    /**
+     * The RFC-1123 day-of-week names, from Monday.
+     */
+    private static final String[] DAY_NAMES = {
+        "Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"
+    };
+    /**
+     * The RFC-1123 month names, from January.
+     */
+    private static final String[] MONTH_NAMES = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    //-----------------------------------------------------------------------
+    /**
+     * Formats the temporal if it is of a type and range handled by this layout.
+     *
+     * @param temporal  the temporal object to format, not null
+     * @param buf  the buffer to append to, not null
+     * @return true if the temporal was formatted, false if nothing was appended
+     */
+    boolean format(TemporalAccessor temporal, StringBuilder buf) {
+        LocalDate date = null;
+        LocalTime time = null;
+        ZoneOffset offset = null;
+        if (temporal instanceof OffsetDateTime) {
+            OffsetDateTime odt = (OffsetDateTime) temporal;
+            date = odt.toLocalDate();
+            time = odt.toLocalTime();
+            offset = odt.getOffset();
+        } else if (temporal instanceof ZonedDateTime) {
+            ZonedDateTime zdt = (ZonedDateTime) temporal;
+            date = zdt.toLocalDate();
+            time = zdt.toLocalTime();
+            offset = zdt.getOffset();
+        } else if (temporal instanceof LocalDateTime) {
+            LocalDateTime ldt = (LocalDateTime) temporal;
+            date = ldt.toLocalDate();
+            time = ldt.toLocalTime();
+        } else if (temporal instanceof LocalDate) {
+            date = (LocalDate) temporal;
+        } else if (temporal instanceof LocalTime) {
+            time = (LocalTime) temporal;
+        } else if (temporal instanceof Instant && this == ISO_INSTANT) {
+            Instant instant = (Instant) temporal;
+            return formatInstant(instant.getEpochSecond(), instant.getNano(), buf);
+        } else {
+            return false;
+        }
+        if (date != null && (date.getYear() < 0 || date.getYear() > 9999)) {
+            return false;
+        }
+        if (offset != null && offset.getTotalSeconds() % 60 != 0) {
+            return false;
+        }
+        switch (this) {
+            case ISO_LOCAL_DATE:
+                if (date == null) {
+                    return false;
+                }
+                appendDate(buf, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+                return true;
+            case ISO_LOCAL_TIME:
+                if (time == null) {
+                    return false;
+                }
+                appendTime(buf, time);
+                return true;
+            case ISO_LOCAL_DATE_TIME:
+                if (date == null || time == null) {
+                    return false;
+                }
+                appendDate(buf, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+                buf.append('T');
+                appendTime(buf, time);
+                return true;
+            case ISO_OFFSET_DATE_TIME:
+                if (offset == null) {
+                    return false;
+                }
+                appendDate(buf, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+                buf.append('T');
+                appendTime(buf, time);
+                appendOffset(buf, offset.getTotalSeconds(), ':', "Z");
+                return true;
+            case ISO_INSTANT:
+                if (offset == null) {
+                    return false;
+                }
+                long epochSecond = date.toEpochDay() * SECONDS_PER_DAY
+                        + time.toSecondOfDay() - offset.getTotalSeconds();
+                return formatInstant(epochSecond, time.getNano(), buf);
+            case RFC_1123_DATE_TIME:
+                if (offset == null) {
+                    return false;
+                }
+                buf.append(DAY_NAMES[date.getDayOfWeek().ordinal()]).append(", ")
+                    .append(date.getDayOfMonth()).append(' ')
+                    .append(MONTH_NAMES[date.getMonthValue() - 1]).append(' ');
+                appendFourDigits(buf, date.getYear());
+                buf.append(' ');
+                appendTwoDigits(buf, time.getHour());
+                buf.append(':');
+                appendTwoDigits(buf, time.getMinute());
+                buf.append(':');
+                appendTwoDigits(buf, time.getSecond());
+                buf.append(' ');
+                appendOffset(buf, offset.getTotalSeconds(), '\0', "GMT");
+                return true;
+            default:
+                throw new IllegalStateException("Unreachable");
+        }
+    }
+
+    /**
+     * Formats an instant in the layout of {@code ISO_INSTANT}, which prints the
+     * fraction in groups of three digits.
+     */
+    private static boolean formatInstant(long epochSecond, int nano, StringBuilder buf) {
+        if (epochSecond < 0 || epochSecond > MAX_SECOND) {
+            return false;
+        }
+        long epochDay = epochSecond / SECONDS_PER_DAY;
+        int secsOfDay = (int) (epochSecond % SECONDS_PER_DAY);
+        // as LocalDate.ofEpochDay, simplified as the day is not before 0000-03-01
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        long yearEst = (400 * zeroDay + 591) / 146097;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        int marchDoy0 = (int) doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        int year = (int) (yearEst + marchMonth0 / 10);
+
+        appendDate(buf, year, month, dom);
+        buf.append('T');
+        appendTwoDigits(buf, secsOfDay / 3600);
+        buf.append(':');
+        appendTwoDigits(buf, (secsOfDay / 60) % 60);
+        buf.append(':');
+        appendTwoDigits(buf, secsOfDay % 60);
+        if (nano > 0) {
+            buf.append('.');
+            int div = 100_000_000;
+            for (int i = 0; nano > 0 || (i % 3) != 0; i++) {
+                int digit = nano / div;
+                buf.append((char) (digit + '0'));
+                nano = nano - (digit * div);
+                div = div / 10;
+            }
+        }
+        buf.append('Z');
+        return true;
+    }
+
+    private static void appendDate(StringBuilder buf, int year, int month, int day) {
+        appendFourDigits(buf, year);
+        buf.append('-');
+        appendTwoDigits(buf, month);
+        buf.append('-');
+        appendTwoDigits(buf, day);
+    }
+
+    /**
+     * Appends a time as {@code HH:mm:ss} followed by the nano-of-second as a
+     * fraction without trailing zeros, if it is not zero.
+     */
+    private static void appendTime(StringBuilder buf, LocalTime time) {
+        appendTwoDigits(buf, time.getHour());
+        buf.append(':');
+        appendTwoDigits(buf, time.getMinute());
+        buf.append(':');
+        appendTwoDigits(buf, time.getSecond());
+        int nano = time.getNano();
+        if (nano > 0) {
+            buf.append('.');
+            int div = 100_000_000;
+            while (nano > 0) {
+                int digit = nano / div;
+                buf.append((char) (digit + '0'));
+                nano = nano - (digit * div);
+                div = div / 10;
+            }
+        }
+    }
+
+    /**
+     * Appends an offset of whole minutes as {@code +HH:MM}, or {@code +HHMM} if
+     * the separator is zero, or the zero text if the offset is zero.
+     */
+    private static void appendOffset(StringBuilder buf, int totalSeconds, char sep, String zeroText) {
+        if (totalSeconds == 0) {
+            buf.append(zeroText);
+            return;
+        }
+        int absMinutes = Math.abs(totalSeconds / 60);
+        buf.append(totalSeconds < 0 ? '-' : '+');
+        appendTwoDigits(buf, absMinutes / 60);
+        if (sep != '\0') {
+            buf.append(sep);
+        }
+        appendTwoDigits(buf, absMinutes % 60);
+    }
+
+    private static void appendFourDigits(StringBuilder buf, int value) {
+        appendTwoDigits(buf, value / 100);
+        appendTwoDigits(buf, value % 100);
+    }
+
+    private static void appendTwoDigits(StringBuilder buf, int value) {
+        buf.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses the complete text if it is in the canonical form of this layout.
+     * <p>
+     * The result is in the state that parsing and resolving using the
+     * general mechanism would have produced.
+     *
+     * @param text  the text to parse, not null
+     * @return the resolved result, null if the text is not in the canonical form
+     */
+    Parsed parse(CharSequence text) {
+        int len = text.length();
+        switch (this) {
+            case ISO_LOCAL_DATE: {
+                LocalDate date = (len == 10 ? parseDate(text, 0) : null);
+                return (date != null ? new Parsed().resolved(date, null) : null);
+            }
+            case ISO_LOCAL_TIME: {
+                LocalTime time = parseTime(text, 0, len, false);
+                return (time != null ? new Parsed().resolved(null, time) : null);
+            }
+            case ISO_LOCAL_DATE_TIME: {
+                if (len < 16 || text.charAt(10) != 'T') {
+                    return null;
+                }
+                LocalDate date = parseDate(text, 0);
+                LocalTime time = parseTime(text, 11, len, false);
+                return (date != null && time != null ? new Parsed().resolved(date, time) : null);
+            }
+            case ISO_OFFSET_DATE_TIME: {
+                if (len < 17 || text.charAt(10) != 'T') {
+                    return null;
+                }
+                int end = (text.charAt(len - 1) == 'Z' ? len - 1 : len - 6);
+                int offsetSecs = parseOffset(text, end, len);
+                if (offsetSecs == -1) {
+                    return null;
+                }
+                LocalDate date = parseDate(text, 0);
+                LocalTime time = parseTime(text, 11, end, false);
+                if (date == null || time == null) {
+                    return null;
+                }
+                return new Parsed().resolved(date, time)
+                        .resolvedOffset(offsetSecs, toEpochSecond(date, time, offsetSecs));
+            }
+            case ISO_INSTANT: {
+                if (len < 20 || text.charAt(10) != 'T' || text.charAt(len - 1) != 'Z') {
+                    return null;
+                }
+                LocalDate date = parseDate(text, 0);
+                LocalTime time = parseTime(text, 11, len - 1, true);
+                if (date == null || time == null) {
+                    return null;
+                }
+                long nano = time.getNano();
+                Parsed parsed = new Parsed().resolved(null, null);
+                parsed.fieldValues.put(INSTANT_SECONDS, toEpochSecond(date, time, 0));
+                parsed.fieldValues.put(NANO_OF_SECOND, nano);
+                parsed.fieldValues.put(MICRO_OF_SECOND, nano / 1000);
+                parsed.fieldValues.put(MILLI_OF_SECOND, nano / 1000000);
+                return parsed;
+            }
+            case RFC_1123_DATE_TIME:
+                return parseRfc1123(text, len);
+            default:
+                throw new IllegalStateException("Unreachable");
+        }
+    }
+
+    /**
+     * Parses the RFC-1123 layout, such as 'Tue, 3 Jun 2008 11:05:30 GMT'.
+     */
+    private static Parsed parseRfc1123(CharSequence text, int len) {
+        int pos = 0;
+        int dow = 0;
+        if (len > 5 && text.charAt(3) == ',') {
+            dow = indexOf(DAY_NAMES, text, 0) + 1;
+            if (dow == 0 || text.charAt(4) != ' ') {
+                return null;
+            }
+            pos = 5;
+        }
+        // d MMM yyyy HH:mm GMT
+        if (len < pos + 20) {
+            return null;
+        }
+        int day = digit(text, pos++);
+        if (text.charAt(pos) != ' ') {
+            int digit = digit(text, pos++);
+            day = (day < 0 || digit < 0 ? -1 : day * 10 + digit);
+        }
+        if (text.charAt(pos++) != ' ' || len < pos + 18 ||
+                text.charAt(pos + 3) != ' ' || text.charAt(pos + 8) != ' ') {
+            return null;
+        }
+        int month = indexOf(MONTH_NAMES, text, pos) + 1;
+        int year = parseDigits(text, pos + 4, 4);
+        if (month == 0 || year < 0 || day < 1 || day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        pos += 9;
+        int end = text.charAt(len - 4) == ' ' ? len - 4 : len - 6;
+        if ((end - pos != 5 && end - pos != 8) || text.charAt(end) != ' ') {
+            return null;
+        }
+        LocalTime time = parseTime(text, pos, end, false);
+        if (time == null) {
+            return null;
+        }
+        int offsetSecs = -1;
+        if (end == len - 4) {
+            if (text.charAt(len - 3) == 'G' && text.charAt(len - 2) == 'M' && text.charAt(len - 1) == 'T') {
+                offsetSecs = 0;
+            }
+        } else {
+            char sign = text.charAt(end + 1);
+            int hours = parseDigits(text, end + 2, 2);
+            int minutes = parseDigits(text, end + 4, 2);
+            offsetSecs = offsetSeconds(sign, hours, minutes);
+        }
+        if (offsetSecs == -1) {
+            return null;
+        }
+        LocalDate date = LocalDate.of(year, month, day);
+        if (dow != 0 && date.getDayOfWeek().getValue() != dow) {
+            return null;
+        }
+        return new Parsed().resolved(date, time)
+                .resolvedOffset(offsetSecs, toEpochSecond(date, time, offsetSecs));
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd} at the specified position.
+     */
+    private static LocalDate parseDate(CharSequence text, int pos) {
+        if (text.charAt(pos + 4) != '-' || text.charAt(pos + 7) != '-') {
+            return null;
+        }
+        int year = parseDigits(text, pos, 4);
+        int month = parseDigits(text, pos + 5, 2);
+        int day = parseDigits(text, pos + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Parses {@code HH:mm}, {@code HH:mm:ss} or {@code HH:mm:ss.SSSSSSSSS},
+     * with one to nine fraction digits, occupying the whole of the range.
+     */
+    private static LocalTime parseTime(CharSequence text, int pos, int end, boolean secondsRequired) {
+        int len = end - pos;
+        if (len != 8 && (len < 10 || len > 18 || text.charAt(pos + 8) != '.') &&
+                (len != 5 || secondsRequired)) {
+            return null;
+        }
+        if (text.charAt(pos + 2) != ':' || (len > 5 && text.charAt(pos + 5) != ':')) {
+            return null;
+        }
+        int hour = parseDigits(text, pos, 2);
+        int minute = parseDigits(text, pos + 3, 2);
+        int second = (len > 5 ? parseDigits(text, pos + 6, 2) : 0);
+        int nano = 0;
+        if (len > 8) {
+            int digits = len - 9;
+            nano = parseDigits(text, pos + 9, digits);
+            for (int i = digits; i < 9 && nano >= 0; i++) {
+                nano *= 10;
+            }
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 ||
+                second < 0 || second > 59 || nano < 0) {
+            return null;
+        }
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    /**
+     * Parses {@code Z} or {@code +HH:MM} occupying the range.
+     *
+     * @return the offset in seconds, -1 if not parsed
+     */
+    private static int parseOffset(CharSequence text, int pos, int end) {
+        if (end - pos == 1) {
+            return 0;  // 'Z' checked by caller
+        }
+        if (end - pos != 6 || text.charAt(pos + 3) != ':') {
+            return -1;
+        }
+        return offsetSeconds(text.charAt(pos), parseDigits(text, pos + 1, 2), parseDigits(text, pos + 4, 2));
+    }
+
+    /**
+     * Validates an offset, excluding the forms which the general mechanism
+     * treats specially.
+     *
+     * @return the offset in seconds, -1 if invalid or zero with a negative sign
+     */
+    private static int offsetSeconds(char sign, int hours, int minutes) {
+        if ((sign != '+' && sign != '-') || hours < 0 || minutes < 0 || minutes > 59 ||
+                hours > 18 || (hours == 18 && minutes > 0) || (sign == '-' && hours == 0 && minutes == 0)) {
+            return -1;
+        }
+        int secs = (hours * 60 + minutes) * 60;
+        return (sign == '-' ? -secs : secs);
+    }
+
+    /**
+     * Parses a number of ASCII digits.
+     *
+     * @return the value, negative if any character is not an ASCII digit
+     */
+    private static int parseDigits(CharSequence text, int pos, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = digit(text, pos + i);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int digit(CharSequence text, int pos) {
+        char ch = text.charAt(pos);
+        return (ch >= '0' && ch <= '9' ? ch - '0' : -1);
+    }
+
+    /**
+     * Finds the three letter name at the position, matching case sensitively.
+     *
+     * @return the index of the name, -1 if not found
+     */
+    private static int indexOf(String[] names, CharSequence text, int pos) {
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (text.charAt(pos) == name.charAt(0) && text.charAt(pos + 1) == name.charAt(1) &&
+                    text.charAt(pos + 2) == name.charAt(2)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (IsoChronology.INSTANCE.isLeapYear(year) ? 29 : 28);
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static long toEpochSecond(LocalDate date, LocalTime time, int offsetSecs) {
+        return date.toEpochDay() * SECONDS_PER_DAY + time.toSecondOfDay() - offsetSecs;
+    }
+
+}
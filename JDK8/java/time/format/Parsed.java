@@ -90,6 +90,7 @@ import java.time.chrono.ChronoLocalDate;
 import java.time.chrono.ChronoLocalDateTime;
 import java.time.chrono.ChronoZonedDateTime;
 import java.time.chrono.Chronology;
+import java.time.chrono.IsoChronology;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalField;
@@ -175,6 +176,37 @@ final class Parsed implements TemporalAccessor {
         return cloned;
     }
 
+    /**
+     * Sets the resolved ISO date and time directly.
+     * <p>
+     * This is used by {@link FixedFormat}, which parses and validates the text of
+     * a fixed layout itself, to produce the state that {@link #resolve} would have.
+     *
+     * @param date  the resolved date, null if none
+     * @param time  the resolved time, null if none
+     * @return this, for method chaining
+     */
+    Parsed resolved(LocalDate date, LocalTime time) {
+        this.chrono = IsoChronology.INSTANCE;
+        this.date = date;
+        this.time = time;
+        return this;
+    }
+
+    /**
+     * Adds the offset and instant that {@link #resolve} would have left alongside
+     * a resolved date and time.
+     *
+     * @param offsetSecs  the parsed offset in seconds
+     * @param instantSecs  the instant in epoch seconds
+     * @return this, for method chaining
+     */
+    Parsed resolvedOffset(int offsetSecs, long instantSecs) {
+        fieldValues.put(OFFSET_SECONDS, (long) offsetSecs);
+        fieldValues.put(INSTANT_SECONDS, instantSecs);
+        return this;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public boolean isSupported(TemporalField field) {
@@ -30,6 +30,9 @@ import java.io.InputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -78,6 +81,13 @@ public class Base64 {
 
     private Base64() {}
 
+    /*
+     * Size of the temporary arrays used to encode or decode buffers that
+     * are not backed by an accessible array, and of the buffers used by
+     * the channel wrappers.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
     /**
      * Returns a {@link Encoder} that encodes using the
      * <a href="#basic">Basic</a> type base64 encoding scheme.
@@ -235,14 +245,21 @@ public class Base64 {
         static final Encoder RFC2045 = new Encoder(false, CRLF, MIMELINEMAX, true);
 
         private final int outLength(int srclen) {
-            int len = 0;
+            long len = outLength((long)srclen);
+            if (len > Integer.MAX_VALUE)
+                throw new OutOfMemoryError("Encoded size is too large");
+            return (int)len;
+        }
+
+        private final long outLength(long srclen) {
+            long len = 0;
             if (doPadding) {
                 len = 4 * ((srclen + 2) / 3);
             } else {
-                int n = srclen % 3;
+                long n = srclen % 3;
                 len = 4 * (srclen / 3) + (n == 0 ? 0 : n + 1);
             }
-            if (linemax > 0)                                  // line separators
+            if (linemax > 0 && len > 0)                       // line separators
                 len += (len - 1) / linemax * newline.length;
             return len;
         }
@@ -260,7 +277,7 @@ public class Base64 {
         public byte[] encode(byte[] src) {
             int len = outLength(src.length);          // dst array size
             byte[] dst = new byte[len];
-            int ret = encode0(src, 0, src.length, dst);
+            int ret = encode0(src, 0, src.length, dst, 0);
             if (ret != dst.length)
                  return Arrays.copyOf(dst, ret);
             return dst;
@@ -290,7 +307,7 @@ public class Base64 {
             if (dst.length < len)
                 throw new IllegalArgumentException(
                     "Output byte array is too small for encoding all input bytes");
-            return encode0(src, 0, src.length, dst);
+            return encode0(src, 0, src.length, dst, 0);
         }
 
         /**
@@ -338,18 +355,135 @@ public class Base64 {
                 ret = encode0(buffer.array(),
                               buffer.arrayOffset() + buffer.position(),
                               buffer.arrayOffset() + buffer.limit(),
-                              dst);
+                              dst, 0);
                 buffer.position(buffer.limit());
             } else {
                 byte[] src = new byte[buffer.remaining()];
                 buffer.get(src);
-                ret = encode0(src, 0, src.length, dst);
+                ret = encode0(src, 0, src.length, dst, 0);
             }
             if (ret != dst.length)
                  dst = Arrays.copyOf(dst, ret);
             return ByteBuffer.wrap(dst);
         }
 
+        /**
+         * Encodes as many bytes as possible from the source buffer into the
+         * destination buffer using the {@link Base64} encoding scheme.  This
+         * method can be invoked repeatedly to encode input that arrives in
+         * parts, without first collecting all of it in one buffer.
+         *
+         * <p> Unless {@code endOfInput} is {@code true}, only whole 3-byte
+         * groups are encoded; any 1 or 2 remaining bytes are left in the
+         * source buffer, to be encoded with the bytes that follow them.  An
+         * encoder that separates its output into lines encodes only whole
+         * lines unless {@code endOfInput} is {@code true}, and only lines that
+         * are followed by at least one more byte of input, so that the line
+         * separator is written after each line exactly when a one-shot
+         * encoding would write it.  Invoking this method with
+         * {@code endOfInput} set to {@code true} and enough room in the
+         * destination buffer encodes all remaining bytes, including any
+         * padding.
+         *
+         * <p> Bytes are read starting at the source buffer's position and
+         * written starting at the destination buffer's position, and both
+         * positions are advanced past the bytes read and written.  As many
+         * bytes are encoded as fit in the destination buffer, which should
+         * have room for at least 4 bytes, or for a whole line and its
+         * separator if the encoder separates its output into lines; the
+         * source buffer of such an encoder should hold more than one line's
+         * worth of input bytes.  The invoker
+         * should continue by compacting the source buffer, refilling it and
+         * draining the destination buffer as appropriate, until the last
+         * invocation, with {@code endOfInput} set to {@code true}, leaves no
+         * bytes remaining in the source buffer.
+         *
+         * <p> Buffers backed by an accessible array are encoded directly;
+         * others are copied through temporary arrays of bounded size.
+         *
+         * @param   src
+         *          the source ByteBuffer to encode
+         * @param   dst
+         *          the destination ByteBuffer
+         * @param   endOfInput
+         *          {@code true} if the invoker can provide no input bytes
+         *          beyond those remaining in {@code src}
+         * @return  The number of bytes written to the destination buffer
+         *
+         * @throws  java.nio.ReadOnlyBufferException
+         *          if {@code dst} is read-only
+         */
+        public int encode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+            if (dst.isReadOnly())
+                throw new java.nio.ReadOnlyBufferException();
+            int rem = src.remaining();
+            int room = dst.remaining();
+            int n;                           // number of bytes to encode
+            if (endOfInput && outLength((long)rem) <= room) {
+                n = rem;
+            } else if (linemax > 0) {
+                int lineIn = linemax / 4 * 3;
+                int lineOut = linemax + newline.length;
+                n = Math.min(Math.max(rem - 1, 0) / lineIn, room / lineOut) * lineIn;
+            } else {
+                n = Math.min(rem / 3, room / 4) * 3;
+            }
+            if (n == 0)
+                return 0;
+            int dpos = dst.position();
+            if (src.hasArray() && dst.hasArray()) {
+                int sp = src.arrayOffset() + src.position();
+                int dp = dst.arrayOffset() + dpos;
+                int ret = encode0(src.array(), sp, sp + n, dst.array(), dp);
+                src.position(src.position() + n);
+                dst.position(dpos + (ret - dp));
+            } else {
+                // Through temporary arrays, a whole number of lines or
+                // groups at a time
+                int unit = linemax > 0 ? linemax / 4 * 3 : 3;
+                int chunk = Math.max(CHUNK_SIZE / unit, 1) * unit;
+                byte[] sbuf = new byte[Math.min(n, chunk)];
+                byte[] dbuf = new byte[outLength(sbuf.length)];
+                for (int left = n; left > 0; ) {
+                    int k = Math.min(left, chunk);
+                    src.get(sbuf, 0, k);
+                    dst.put(dbuf, 0, encode0(sbuf, 0, k, dbuf, 0));
+                    left -= k;
+                    if (left > 0 && linemax > 0)
+                        dst.put(newline);
+                }
+            }
+            // The last line encoded is followed by more input
+            if (linemax > 0 && n % (linemax / 4 * 3) == 0 && src.hasRemaining())
+                dst.put(newline);
+            return dst.position() - dpos;
+        }
+
+        /**
+         * Wraps a writable byte channel for encoding byte data using the
+         * {@link Base64} encoding scheme.
+         *
+         * <p> Bytes written to the returned channel are encoded in bounded
+         * chunks as they are written, without collecting the input in
+         * memory.  The returned channel is not safe for use by multiple
+         * concurrent threads, and expects the underlying channel to be in
+         * blocking mode.
+         *
+         * <p> It is recommended to promptly close the returned channel after
+         * use, during which it will write all possible leftover bytes to the
+         * underlying channel. Closing the returned channel will close the
+         * underlying channel.
+         *
+         * @param   ch
+         *          the writable byte channel
+         * @return  the channel for encoding byte data into the specified
+         *          Base64 encoded format
+         */
+        public WritableByteChannel wrap(WritableByteChannel ch) {
+            Objects.requireNonNull(ch);
+            return new EncChannel(this, ch);
+        }
+
         /**
          * Wraps an output stream for encoding byte data using the {@link Base64}
          * encoding scheme.
@@ -388,25 +522,16 @@ public class Base64 {
             return new Encoder(isURL, newline, linemax, false);
         }
 
-        private int encode0(byte[] src, int off, int end, byte[] dst) {
+        private int encode0(byte[] src, int off, int end, byte[] dst, int dp) {
             char[] base64 = isURL ? toBase64URL : toBase64;
             int sp = off;
             int slen = (end - off) / 3 * 3;
             int sl = off + slen;
             if (linemax > 0 && slen  > linemax / 4 * 3)
                 slen = linemax / 4 * 3;
-            int dp = 0;
             while (sp < sl) {
                 int sl0 = Math.min(sp + slen, sl);
-                for (int sp0 = sp, dp0 = dp ; sp0 < sl0; ) {
-                    int bits = (src[sp0++] & 0xff) << 16 |
-                               (src[sp0++] & 0xff) <<  8 |
-                               (src[sp0++] & 0xff);
-                    dst[dp0++] = (byte)base64[(bits >>> 18) & 0x3f];
-                    dst[dp0++] = (byte)base64[(bits >>> 12) & 0x3f];
-                    dst[dp0++] = (byte)base64[(bits >>> 6)  & 0x3f];
-                    dst[dp0++] = (byte)base64[bits & 0x3f];
-                }
+                encodeBlock(src, sp, sl0, dst, dp, base64);
                 int dlen = (sl0 - sp) / 3 * 4;
                 dp += dlen;
                 sp = sl0;
@@ -436,6 +561,43 @@ public class Base64 {
             }
             return dp;
         }
+
+        /*
+         * Encodes the whole 3-byte groups from sp to sl, which is a multiple
+         * of 3 bytes past sp.  Blocks of 24 bytes are read as four 48-bit
+         * words, each giving 8 output characters, so that the loop body is
+         * straight-line code the compiler can unroll and schedule.
+         */
+        private static void encodeBlock(byte[] src, int sp, int sl,
+                                        byte[] dst, int dp, char[] base64) {
+            for (int sl24 = sp + (sl - sp) / 24 * 24; sp < sl24; ) {
+                for (int k = 0; k < 4; k++, sp += 6, dp += 8) {
+                    long bits = (src[sp]     & 0xffL) << 40 |
+                                (src[sp + 1] & 0xffL) << 32 |
+                                (src[sp + 2] & 0xffL) << 24 |
+                                (src[sp + 3] & 0xffL) << 16 |
+                                (src[sp + 4] & 0xffL) <<  8 |
+                                (src[sp + 5] & 0xffL);
+                    dst[dp]     = (byte)base64[(int)(bits >>> 42) & 0x3f];
+                    dst[dp + 1] = (byte)base64[(int)(bits >>> 36) & 0x3f];
+                    dst[dp + 2] = (byte)base64[(int)(bits >>> 30) & 0x3f];
+                    dst[dp + 3] = (byte)base64[(int)(bits >>> 24) & 0x3f];
+                    dst[dp + 4] = (byte)base64[(int)(bits >>> 18) & 0x3f];
+                    dst[dp + 5] = (byte)base64[(int)(bits >>> 12) & 0x3f];
+                    dst[dp + 6] = (byte)base64[(int)(bits >>>  6) & 0x3f];
+                    dst[dp + 7] = (byte)base64[(int)bits & 0x3f];
+                }
+            }
+            while (sp < sl) {
+                int bits = (src[sp++] & 0xff) << 16 |
+                           (src[sp++] & 0xff) <<  8 |
+                           (src[sp++] & 0xff);
+                dst[dp++] = (byte)base64[(bits >>> 18) & 0x3f];
+                dst[dp++] = (byte)base64[(bits >>> 12) & 0x3f];
+                dst[dp++] = (byte)base64[(bits >>> 6)  & 0x3f];
+                dst[dp++] = (byte)base64[bits & 0x3f];
+            }
+        }
     }
 
     /**
@@ -523,7 +685,7 @@ public class Base64 {
          */
         public byte[] decode(byte[] src) {
             byte[] dst = new byte[outLength(src, 0, src.length)];
-            int ret = decode0(src, 0, src.length, dst);
+            int ret = decode0(src, 0, src.length, dst, 0);
             if (ret != dst.length) {
                 dst = Arrays.copyOf(dst, ret);
             }
@@ -579,7 +741,7 @@ public class Base64 {
             if (dst.length < len)
                 throw new IllegalArgumentException(
                     "Output byte array is too small for decoding all input bytes");
-            return decode0(src, 0, src.length, dst);
+            return decode0(src, 0, src.length, dst, 0);
         }
 
         /**
@@ -620,7 +782,7 @@ public class Base64 {
                     sl = src.length;
                 }
                 byte[] dst = new byte[outLength(src, sp, sl)];
-                return ByteBuffer.wrap(dst, 0, decode0(src, sp, sl, dst));
+                return ByteBuffer.wrap(dst, 0, decode0(src, sp, sl, dst, 0));
             } catch (IllegalArgumentException iae) {
                 buffer.position(pos0);
                 throw iae;
@@ -647,6 +809,112 @@ public class Base64 {
             return new DecInputStream(is, isURL ? fromBase64URL : fromBase64, isMIME);
         }
 
+        /**
+         * Decodes as many bytes as possible from the source buffer into the
+         * destination buffer using the {@link Base64} encoding scheme.  This
+         * method can be invoked repeatedly to decode input that arrives in
+         * parts, without first collecting all of it in one buffer.
+         *
+         * <p> Unless {@code endOfInput} is {@code true}, only complete 4-byte
+         * units are decoded, and decoding stops before a padding character
+         * or an incomplete final unit, which are left in the source buffer
+         * until the rest of the input is known.  Invoking this method with
+         * {@code endOfInput} set to {@code true} and enough room in the
+         * destination buffer decodes all remaining bytes, including the
+         * final unit, as {@link #decode(ByteBuffer)} would.
+         *
+         * <p> Bytes are read starting at the source buffer's position and
+         * written starting at the destination buffer's position, and both
+         * positions are advanced past the bytes read and written.  A unit is
+         * decoded only if its 3 decoded bytes fit in the destination buffer.
+         * The invoker should continue by compacting the source buffer,
+         * refilling it and draining the destination buffer as appropriate,
+         * until the last invocation, with {@code endOfInput} set to
+         * {@code true}, leaves no bytes remaining in the source buffer.
+         *
+         * <p> Buffers backed by an accessible array are decoded directly;
+         * others are copied through temporary arrays of bounded size.
+         *
+         * @param   src
+         *          the source ByteBuffer to decode
+         * @param   dst
+         *          the destination ByteBuffer
+         * @param   endOfInput
+         *          {@code true} if the invoker can provide no input bytes
+         *          beyond those remaining in {@code src}
+         * @return  The number of bytes written to the destination buffer
+         *
+         * @throws  IllegalArgumentException
+         *          if {@code src} is not in valid Base64 scheme. Bytes
+         *          decoded before the invalid byte may have been written to
+         *          {@code dst}.
+         * @throws  java.nio.ReadOnlyBufferException
+         *          if {@code dst} is read-only
+         */
+        public int decode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+            if (dst.isReadOnly())
+                throw new java.nio.ReadOnlyBufferException();
+            int dpos = dst.position();
+            if (src.hasArray() && dst.hasArray()) {
+                int off = src.arrayOffset();
+                int doff = dst.arrayOffset();
+                long ret = decodeUnits(src.array(),
+                                       off + src.position(), off + src.limit(),
+                                       dst.array(),
+                                       doff + dpos, doff + dst.limit(),
+                                       endOfInput);
+                src.position((int)(ret >>> 32) - off);
+                dst.position((int)ret - doff);
+            } else {
+                // Through temporary arrays; a chunk in which nothing can
+                // be decoded is widened until it holds the whole remainder
+                int chunk = CHUNK_SIZE;
+                while (src.hasRemaining() && dst.hasRemaining()) {
+                    int pos = src.position();
+                    int n = Math.min(src.remaining(), chunk);
+                    boolean last = n == src.remaining();
+                    byte[] sbuf = new byte[n];
+                    src.get(sbuf);
+                    byte[] dbuf = new byte[Math.min(dst.remaining(), n / 4 * 3 + 3)];
+                    long ret = decodeUnits(sbuf, 0, n, dbuf, 0, dbuf.length,
+                                           endOfInput && last);
+                    int sp = (int)(ret >>> 32);
+                    src.position(pos + sp);
+                    dst.put(dbuf, 0, (int)ret);
+                    if (sp == 0) {
+                        if (last)
+                            break;
+                        chunk = chunk > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE
+                                                              : chunk * 2;
+                    }
+                }
+            }
+            return dst.position() - dpos;
+        }
+
+        /**
+         * Returns a channel for decoding {@link Base64} encoded bytes read
+         * from the specified channel.
+         *
+         * <p> The {@code read} method of the returned channel decodes the
+         * bytes available from the underlying channel in bounded chunks, and
+         * throws {@code IOException} when reading bytes that cannot be
+         * decoded.  The returned channel is not safe for use by multiple
+         * concurrent threads.
+         *
+         * <p> Closing the returned channel will close the underlying channel.
+         *
+         * @param   ch
+         *          the readable byte channel
+         *
+         * @return  the channel for decoding the specified Base64 encoded
+         *          byte stream
+         */
+        public ReadableByteChannel wrap(ReadableByteChannel ch) {
+            Objects.requireNonNull(ch);
+            return new DecChannel(this, ch);
+        }
+
         private int outLength(byte[] src, int sp, int sl) {
             int[] base64 = isURL ? fromBase64URL : fromBase64;
             int paddings = 0;
@@ -685,12 +953,86 @@ public class Base64 {
             return 3 * ((len + 3) / 4) - paddings;
         }
 
-        private int decode0(byte[] src, int sp, int sl, byte[] dst) {
+        /*
+         * Decodes the complete 4-byte units from sp up to, but not including,
+         * any padding or incomplete final unit, while there is room for 3
+         * more bytes before dl.  If endOfInput, the rest is then decoded by
+         * decode0 if its decoded length fits.  Returns the new source and
+         * destination positions as the high and low halves of a long.
+         */
+        private long decodeUnits(byte[] src, int sp, int sl,
+                                 byte[] dst, int dp, int dl,
+                                 boolean endOfInput) {
+            int[] base64 = isURL ? fromBase64URL : fromBase64;
+            while (dl - dp >= 3) {
+                if (sl - sp >= 4) {
+                    int b0 = base64[src[sp] & 0xff];
+                    int b1 = base64[src[sp + 1] & 0xff];
+                    int b2 = base64[src[sp + 2] & 0xff];
+                    int b3 = base64[src[sp + 3] & 0xff];
+                    if ((b0 | b1 | b2 | b3) >= 0) {
+                        int bits = b0 << 18 | b1 << 12 | b2 << 6 | b3;
+                        dst[dp++] = (byte)(bits >> 16);
+                        dst[dp++] = (byte)(bits >>  8);
+                        dst[dp++] = (byte)(bits);
+                        sp += 4;
+                        continue;
+                    }
+                }
+                int bits = 0;
+                int shiftto = 18;
+                int p = sp;
+                while (shiftto >= 0 && p < sl) {
+                    int b = base64[src[p] & 0xff];
+                    if (b >= 0) {
+                        bits |= (b << shiftto);
+                        shiftto -= 6;
+                    } else if (b == -2) {  // padding, left for the last unit
+                        break;
+                    } else if (!isMIME) {
+                        throw new IllegalArgumentException(
+                            "Illegal base64 character " +
+                            Integer.toString(src[p], 16));
+                    } else if (shiftto == 18) {
+                        sp = p + 1;        // skip what precedes the unit
+                    }
+                    p++;
+                }
+                if (shiftto >= 0)
+                    break;
+                dst[dp++] = (byte)(bits >> 16);
+                dst[dp++] = (byte)(bits >>  8);
+                dst[dp++] = (byte)(bits);
+                sp = p;
+            }
+            if (endOfInput && sp < sl && outLength(src, sp, sl) <= dl - dp) {
+                dp = decode0(src, sp, sl, dst, dp);
+                sp = sl;
+            }
+            return (long)sp << 32 | dp;
+        }
+
+        private int decode0(byte[] src, int sp, int sl, byte[] dst, int dp) {
             int[] base64 = isURL ? fromBase64URL : fromBase64;
-            int dp = 0;
             int bits = 0;
             int shiftto = 18;       // pos of first byte of 4-byte atom
             while (sp < sl) {
+                if (shiftto == 18 && sl - sp >= 4) {
+                    // whole unit of alphabet bytes
+                    int b0 = base64[src[sp] & 0xff];
+                    int b1 = base64[src[sp + 1] & 0xff];
+                    int b2 = base64[src[sp + 2] & 0xff];
+                    int b3 = base64[src[sp + 3] & 0xff];
+                    if ((b0 | b1 | b2 | b3) >= 0) {
+                        bits = b0 << 18 | b1 << 12 | b2 << 6 | b3;
+                        dst[dp++] = (byte)(bits >> 16);
+                        dst[dp++] = (byte)(bits >>  8);
+                        dst[dp++] = (byte)(bits);
+                        bits = 0;
+                        sp += 4;
+                        continue;
+                    }
+                }
                 int b = src[sp++] & 0xff;
                 if ((b = base64[b]) < 0) {
                     if (b == -2) {         // padding byte '='
@@ -746,6 +1088,168 @@ public class Base64 {
         }
     }
 
+    /*
+     * A writable channel for encoding bytes into the Base64.
+     */
+    private static class EncChannel implements WritableByteChannel {
+
+        private final Encoder encoder;
+        private final WritableByteChannel ch;
+        private final ByteBuffer in;        // pending input, in fill mode
+        private final ByteBuffer out;
+        private boolean closed = false;
+
+        EncChannel(Encoder encoder, WritableByteChannel ch) {
+            this.encoder = encoder;
+            this.ch = ch;
+            // whole lines, at least two of them so that a full buffer
+            // always holds a line that can be encoded
+            int unit = encoder.linemax > 0 ? encoder.linemax / 4 * 3 : 3;
+            int cap = Math.max(CHUNK_SIZE / unit, 2) * unit;
+            this.in = ByteBuffer.allocate(cap);
+            int nl = encoder.linemax > 0 ? encoder.newline.length : 0;
+            this.out = ByteBuffer.allocate(encoder.outLength(cap) + nl);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (closed)
+                throw new ClosedChannelException();
+            int n = src.remaining();
+            while (src.hasRemaining()) {
+                int k = Math.min(src.remaining(), in.remaining());
+                ByteBuffer part = src.duplicate();
+                part.limit(part.position() + k);
+                in.put(part);
+                src.position(src.position() + k);
+                in.flip();
+                encoder.encode(in, out, false);
+                in.compact();
+                flush();
+            }
+            return n;
+        }
+
+        private void flush() throws IOException {
+            out.flip();
+            while (out.hasRemaining())
+                ch.write(out);
+            out.clear();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                try {
+                    in.flip();
+                    encoder.encode(in, out, true);
+                    flush();
+                } finally {
+                    ch.close();
+                }
+            }
+        }
+    }
+
+    /*
+     * A readable channel for decoding bytes in Base64.
+     */
+    private static class DecChannel implements ReadableByteChannel {
+
+        private final Decoder decoder;
+        private final ReadableByteChannel ch;
+        private ByteBuffer in;              // undecoded input, in drain mode
+        private final ByteBuffer out;       // for a dst with room for < 3 bytes
+        private boolean eof = false;
+        private boolean closed = false;
+
+        DecChannel(Decoder decoder, ReadableByteChannel ch) {
+            this.decoder = decoder;
+            this.ch = ch;
+            this.in = ByteBuffer.allocate(CHUNK_SIZE);
+            this.in.flip();
+            this.out = ByteBuffer.allocate(3);
+            this.out.flip();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (closed)
+                throw new ClosedChannelException();
+            int n = 0;
+            while (dst.hasRemaining()) {
+                if (out.hasRemaining()) {
+                    while (out.hasRemaining() && dst.hasRemaining()) {
+                        dst.put(out.get());
+                        n++;
+                    }
+                    continue;
+                }
+                int rem = in.remaining();
+                int k;
+                try {
+                    if (dst.remaining() >= 3) {
+                        k = decoder.decode(in, dst, eof);
+                        n += k;
+                    } else {
+                        out.clear();
+                        k = decoder.decode(in, out, eof);
+                        out.flip();
+                    }
+                } catch (IllegalArgumentException iae) {
+                    throw new IOException(iae);
+                }
+                if (k > 0 || in.remaining() != rem)
+                    continue;
+                if (eof) {
+                    if (in.hasRemaining())
+                        throw new IOException(
+                            "Base64 stream has incomplete data at end");
+                    return n == 0 ? -1 : n;
+                }
+                if (n > 0)                  // don't wait for more input
+                    return n;
+                if (fill() == 0)
+                    return 0;
+            }
+            return n;
+        }
+
+        private int fill() throws IOException {
+            in.compact();
+            if (!in.hasRemaining()) {      // a unit spread by line separators
+                in.flip();
+                ByteBuffer bb = ByteBuffer.allocate(in.capacity() * 2);
+                bb.put(in);
+                in = bb;
+            }
+            int r = ch.read(in);
+            in.flip();
+            if (r < 0)
+                eof = true;
+            return r;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                ch.close();
+            }
+        }
+    }
+
     /*
      * An output stream for encoding bytes into the Base64.
      */
@@ -0,0 +1,1119 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Hash table based implementation of the <tt>Map</tt> interface using
+ * <i>open addressing</i>.  This class offers the same functional
+ * contract as {@link HashMap}: it permits <tt>null</tt> values and the
+ * <tt>null</tt> key, makes no guarantees as to the order of the map,
+ * and its collection-view iterators and spliterators are
+ * <i>fail-fast</i>.
+ *
+ * <p>Unlike <tt>HashMap</tt>, this class allocates no node per
+ * mapping.  Keys and values are stored next to one another in a single
+ * flat array, and collisions are resolved by linear probing, the
+ * design already used by {@link IdentityHashMap} but with
+ * <tt>equals</tt>-based key comparison.  For maps with many small
+ * entries this roughly halves the memory footprint and keeps lookups
+ * within one or two cache lines, at the cost of recomputing
+ * <tt>hashCode</tt> for every key when the table is resized; keys
+ * with expensive <tt>hashCode</tt> methods are better served by
+ * <tt>HashMap</tt>, which caches hashes in its nodes.  Removal shifts
+ * later entries of the same probe run back into the vacated slot, so
+ * the table never accumulates deleted markers.
+ *
+ * <p>An instance has two parameters that affect its performance:
+ * <i>initial capacity</i> and <i>load factor</i>, with the same
+ * meaning as for <tt>HashMap</tt>.  Because an open-addressed table
+ * needs free slots to terminate unsuccessful lookups, the load factor
+ * must be less than one; the default is <tt>.75</tt>.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access an open hash map concurrently, and at
+ * least one of the threads modifies the map structurally, it
+ * <i>must</i> be synchronized externally, for example with {@link
+ * Collections#synchronizedMap Collections.synchronizedMap}.
+ *
+ * <p>The iterators returned by all of this class's "collection view
+ * methods" are <i>fail-fast</i>: if the map is structurally modified
+ * at any time after the iterator is created, in any way except through
+ * the iterator's own <tt>remove</tt> method, the iterator will throw a
+ * {@link ConcurrentModificationException}.  Fail-fast behavior cannot
+ * be guaranteed in the presence of unsynchronized concurrent
+ * modification, and should be used only to detect bugs.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @see     HashMap
+ * @see     IdentityHashMap
+ * @since   1.8
+ */
+public class OpenHashMap<K,V> extends AbstractMap<K,V>
+    implements Map<K,V>, Cloneable, Serializable {
+
+    private static final long serialVersionUID = -2934168206452853478L;
+
+    /*
+     * Implementation notes.
+     *
+     * The table holds keys at even indexes and the corresponding
+     * values at the following odd index; a null key slot is free,
+     * and the null key itself is stored as NULL_KEY.  Slot indexes
+     * below refer to pairs, so slot i lives at table[2*i].
+     *
+     * Lookups start at the home slot of the key's hash and probe
+     * forward until they find the key or a free slot.  Removal uses
+     * backward-shift deletion: each later entry of the probe run
+     * whose home slot does not lie cyclically between the vacated
+     * slot and its own position is moved back, so every probe run
+     * stays gap-free.
+     *
+     * Iterators start just below a free slot and walk the table
+     * downward.  Since no probe run crosses that free slot, entries
+     * that backward-shift deletion moves during Iterator.remove come
+     * only from slots the iterator has already passed and land in
+     * slots it has already passed, so removal through the iterator
+     * neither skips nor repeats entries.  Spliterators, which do not
+     * support removal, simply partition the slot range.
+     */
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum capacity, used if a higher value is implicitly
+     * specified by either of the constructors with arguments.  MUST
+     * be a power of two <= 1<<29, since the table holds twice as many
+     * elements as there are slots.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Value representing null keys inside tables.
+     */
+    static final Object NULL_KEY = new Object();
+
+    /**
+     * The table, resized as necessary. Length MUST always be twice a
+     * power of two.
+     */
+    transient Object[] table;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    transient int size;
+
+    /**
+     * The number of times this map has been structurally modified.
+     */
+    transient int modCount;
+
+    /**
+     * The next size value at which to resize (capacity * load factor).
+     *
+     * @serial
+     */
+    int threshold;
+
+    /**
+     * The load factor for the hash table.
+     *
+     * @serial
+     */
+    final float loadFactor;
+
+    /**
+     * Holds cached entrySet().
+     */
+    transient Set<Map.Entry<K,V>> entrySet;
+
+    /* ---------------- Public operations -------------- */
+
+    /**
+     * Constructs an empty <tt>OpenHashMap</tt> with the specified
+     * initial capacity and load factor.
+     *
+     * @param  initialCapacity the initial capacity
+     * @param  loadFactor      the load factor
+     * @throws IllegalArgumentException if the initial capacity is negative
+     *         or the load factor is not strictly between zero and one
+     */
+    public OpenHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                                               initialCapacity);
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                                               loadFactor);
+        this.loadFactor = loadFactor;
+        init(capacityFor(initialCapacity, loadFactor));
+    }
+
+    /**
+     * Constructs an empty <tt>OpenHashMap</tt> with the specified
+     * initial capacity and the default load factor (0.75).
+     *
+     * @param  initialCapacity the initial capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative.
+     */
+    public OpenHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty <tt>OpenHashMap</tt> with the default initial
+     * capacity (16) and the default load factor (0.75).
+     */
+    public OpenHashMap() {
+        this.loadFactor = DEFAULT_LOAD_FACTOR;
+        init(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new <tt>OpenHashMap</tt> with the same mappings as
+     * the specified <tt>Map</tt>, and a capacity sufficient to hold
+     * them with the default load factor (0.75).
+     *
+     * @param   m the map whose mappings are to be placed in this map
+     * @throws  NullPointerException if the specified map is null
+     */
+    public OpenHashMap(Map<? extends K, ? extends V> m) {
+        this(m.size(), DEFAULT_LOAD_FACTOR);
+        putAll(m);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains no key-value mappings.
+     *
+     * @return <tt>true</tt> if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * <p>A return value of {@code null} does not <i>necessarily</i>
+     * indicate that the map contains no mapping for the key; it's also
+     * possible that the map explicitly maps the key to {@code null}.
+     * The {@link #containsKey containsKey} operation may be used to
+     * distinguish these two cases.
+     *
+     * @see #put(Object, Object)
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int i = indexOf(key);
+        return (i >= 0) ? (V)table[(i << 1) + 1] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        int i = indexOf(key);
+        return (i >= 0) ? (V)table[(i << 1) + 1] : defaultValue;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains a mapping for the
+     * specified key.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a mapping for the specified
+     * key.
+     */
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        Object[] tab = table;
+        for (int i = 0; i < tab.length; i += 2) {
+            Object v;
+            if (tab[i] != null &&
+                ((v = tab[i + 1]) == value || (value != null && value.equals(v))))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with <tt>key</tt>, or
+     *         <tt>null</tt> if there was no mapping for <tt>key</tt>.
+     *         (A <tt>null</tt> return can also indicate that the map
+     *         previously associated <tt>null</tt> with <tt>key</tt>.)
+     */
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     * These mappings will replace any mappings that this map had for
+     * any of the keys currently in the specified map.
+     *
+     * @param m mappings to be stored in this map
+     * @throws NullPointerException if the specified map is null
+     */
+    public void putAll(Map<? extends K, ? extends V> m) {
+        int n = m.size();
+        if (n == 0)
+            return;
+        if (n > threshold) {
+            int cap = capacityFor(n, loadFactor);
+            if (cap > (table.length >>> 1))
+                resize(cap);
+        }
+        for (Map.Entry<? extends K, ? extends V> e : m.entrySet())
+            putVal(e.getKey(), e.getValue(), false);
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with <tt>key</tt>, or
+     *         <tt>null</tt> if there was no mapping for <tt>key</tt>.
+     *         (A <tt>null</tt> return can also indicate that the map
+     *         previously associated <tt>null</tt> with <tt>key</tt>.)
+     */
+    public V remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0)
+            return null;
+        @SuppressWarnings("unchecked") V old = (V)table[(i << 1) + 1];
+        deleteAt(i);
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        int i = indexOf(key);
+        if (i < 0 || !Objects.equals(table[(i << 1) + 1], value))
+            return false;
+        deleteAt(i);
+        return true;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        int i = indexOf(key);
+        if (i < 0 || !Objects.equals(table[(i << 1) + 1], oldValue))
+            return false;
+        table[(i << 1) + 1] = newValue;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V replace(K key, V value) {
+        int i = indexOf(key);
+        if (i < 0)
+            return null;
+        int vi = (i << 1) + 1;
+        V old = (V)table[vi];
+        table[vi] = value;
+        return old;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    public void clear() {
+        modCount++;
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null)
+            throw new NullPointerException();
+        Object[] tab = table;
+        int mc = modCount;
+        for (int i = 0; i < tab.length && modCount == mc; i += 2) {
+            Object k;
+            if ((k = tab[i]) != null)
+                action.accept((K)unmaskNull(k), (V)tab[i + 1]);
+        }
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        if (function == null)
+            throw new NullPointerException();
+        Object[] tab = table;
+        int mc = modCount;
+        for (int i = 0; i < tab.length; i += 2) {
+            Object k;
+            if ((k = tab[i]) != null) {
+                tab[i + 1] = function.apply((K)unmaskNull(k), (V)tab[i + 1]);
+                if (modCount != mc)
+                    throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Returns a shallow copy of this <tt>OpenHashMap</tt> instance: the
+     * keys and values themselves are not cloned.
+     *
+     * @return a shallow copy of this map
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object clone() {
+        OpenHashMap<K,V> result;
+        try {
+            result = (OpenHashMap<K,V>)super.clone();
+        } catch (CloneNotSupportedException e) {
+            // this shouldn't happen, since we are Cloneable
+            throw new InternalError(e);
+        }
+        result.table = table.clone();
+        result.modCount = 0;
+        result.entrySet = null;
+        result.keySet = null;
+        result.values = null;
+        return result;
+    }
+
+    /* ---------------- Internals -------------- */
+
+    /**
+     * Use NULL_KEY for key if it is null.
+     */
+    private static Object maskNull(Object key) {
+        return (key == null ? NULL_KEY : key);
+    }
+
+    /**
+     * Returns internal representation of null key back to caller as null.
+     */
+    static final Object unmaskNull(Object key) {
+        return (key == NULL_KEY ? null : key);
+    }
+
+    /**
+     * Returns the home slot for a masked key in a table of the given
+     * capacity.  Unlike HashMap, which only folds the upper bits of
+     * the hash down, linear probing needs a well mixed index to avoid
+     * long runs, so the hash is multiplied by the golden ratio first.
+     */
+    static int slotFor(Object k, int capacity) {
+        int h = k.hashCode() * 0x9e3779b9;
+        return (h ^ (h >>> 16)) & (capacity - 1);
+    }
+
+    /**
+     * Returns a power of two capacity holding n mappings below the
+     * given load factor.
+     */
+    static int capacityFor(int n, float loadFactor) {
+        float fc = (float)n / loadFactor + 1.0f;
+        if (fc >= MAXIMUM_CAPACITY)
+            return MAXIMUM_CAPACITY;
+        int cap = DEFAULT_INITIAL_CAPACITY >>> 2;
+        while (cap < fc)
+            cap <<= 1;
+        return cap;
+    }
+
+    /**
+     * Allocates an empty table with the given power of two capacity.
+     */
+    private void init(int capacity) {
+        table = new Object[capacity << 1];
+        threshold = thresholdFor(capacity);
+    }
+
+    /**
+     * Returns the resize threshold for the given capacity, always
+     * leaving at least one free slot.
+     */
+    private int thresholdFor(int capacity) {
+        int t = (int)(capacity * loadFactor);
+        return (t >= capacity) ? capacity - 1 : t;
+    }
+
+    /**
+     * Returns the slot of the given key, or -1 if absent.
+     */
+    final int indexOf(Object key) {
+        Object k = maskNull(key);
+        Object[] tab = table;
+        int cap = tab.length >>> 1, mask = cap - 1;
+        for (int i = slotFor(k, cap); ; i = (i + 1) & mask) {
+            Object item = tab[i << 1];
+            if (item == null)
+                return -1;
+            if (item == k || item.equals(k))
+                return i;
+        }
+    }
+
+    /**
+     * Implements Map.put and related methods.
+     */
+    @SuppressWarnings("unchecked")
+    final V putVal(K key, V value, boolean onlyIfAbsent) {
+        Object k = maskNull(key);
+        for (;;) {
+            Object[] tab = table;
+            int cap = tab.length >>> 1, mask = cap - 1;
+            int i = slotFor(k, cap);
+            Object item;
+            while ((item = tab[i << 1]) != null) {
+                if (item == k || item.equals(k)) {
+                    int vi = (i << 1) + 1;
+                    V old = (V)tab[vi];
+                    if (!onlyIfAbsent || old == null)
+                        tab[vi] = value;
+                    return old;
+                }
+                i = (i + 1) & mask;
+            }
+            if (size >= threshold) {
+                if (cap >= MAXIMUM_CAPACITY && size + 1 >= cap)
+                    throw new IllegalStateException("Capacity exhausted.");
+                if (cap < MAXIMUM_CAPACITY) {
+                    resize(cap << 1);
+                    continue; // recompute slot in new table
+                }
+            }
+            modCount++;
+            tab[i << 1] = k;
+            tab[(i << 1) + 1] = value;
+            ++size;
+            return null;
+        }
+    }
+
+    /**
+     * Rehashes the contents of this map into a new table of the given
+     * power of two capacity.
+     */
+    final void resize(int newCapacity) {
+        Object[] oldTab = table;
+        Object[] newTab = new Object[newCapacity << 1];
+        int mask = newCapacity - 1;
+        for (int j = 0; j < oldTab.length; j += 2) {
+            Object k;
+            if ((k = oldTab[j]) != null) {
+                int i = slotFor(k, newCapacity);
+                while (newTab[i << 1] != null)
+                    i = (i + 1) & mask;
+                newTab[i << 1] = k;
+                newTab[(i << 1) + 1] = oldTab[j + 1];
+            }
+        }
+        table = newTab;
+        threshold = thresholdFor(newCapacity);
+    }
+
+    /**
+     * Removes the mapping at slot i, shifting back later entries of
+     * the same probe run so that no gap is left in it.
+     */
+    final void deleteAt(int i) {
+        modCount++;
+        size--;
+        Object[] tab = table;
+        int cap = tab.length >>> 1, mask = cap - 1;
+        int j = i;
+        Object k;
+        while ((k = tab[(j = (j + 1) & mask) << 1]) != null) {
+            int home = slotFor(k, cap);
+            // Move j back to i unless its home lies cyclically in (i, j]
+            if ((j > i) ? (home <= i || home > j) : (home <= i && home > j)) {
+                tab[i << 1] = k;
+                tab[(i << 1) + 1] = tab[(j << 1) + 1];
+                i = j;
+            }
+        }
+        tab[i << 1] = null;
+        tab[(i << 1) + 1] = null;
+    }
+
+    /* ---------------- Views -------------- */
+
+    /**
+     * Returns a {@link Set} view of the keys contained in this map.
+     * The set is backed by the map, so changes to the map are
+     * reflected in the set, and vice-versa.  The set supports element
+     * removal, but not the <tt>add</tt> or <tt>addAll</tt> operations.
+     *
+     * @return a set view of the keys contained in this map
+     */
+    public Set<K> keySet() {
+        Set<K> ks = keySet;
+        if (ks == null) {
+            ks = new KeySet();
+            keySet = ks;
+        }
+        return ks;
+    }
+
+    final class KeySet extends AbstractSet<K> {
+        public final int size()                 { return size; }
+        public final void clear()               { OpenHashMap.this.clear(); }
+        public final Iterator<K> iterator()     { return new KeyIterator(); }
+        public final boolean contains(Object o) { return containsKey(o); }
+        public final boolean remove(Object key) {
+            int i = indexOf(key);
+            if (i < 0)
+                return false;
+            deleteAt(i);
+            return true;
+        }
+        public final Spliterator<K> spliterator() {
+            return new KeySpliterator<>(OpenHashMap.this, 0, -1, 0, 0);
+        }
+        @SuppressWarnings("unchecked")
+        public final void forEach(Consumer<? super K> action) {
+            if (action == null)
+                throw new NullPointerException();
+            Object[] tab = table;
+            int mc = modCount;
+            for (int i = 0; i < tab.length && modCount == mc; i += 2) {
+                Object k;
+                if ((k = tab[i]) != null)
+                    action.accept((K)unmaskNull(k));
+            }
+            if (modCount != mc)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a {@link Collection} view of the values contained in
+     * this map.  The collection is backed by the map, so changes to
+     * the map are reflected in the collection, and vice-versa.  The
+     * collection supports element removal, but not the <tt>add</tt>
+     * or <tt>addAll</tt> operations.
+     *
+     * @return a view of the values contained in this map
+     */
+    public Collection<V> values() {
+        Collection<V> vs = values;
+        if (vs == null) {
+            vs = new Values();
+            values = vs;
+        }
+        return vs;
+    }
+
+    final class Values extends AbstractCollection<V> {
+        public final int size()                 { return size; }
+        public final void clear()               { OpenHashMap.this.clear(); }
+        public final Iterator<V> iterator()     { return new ValueIterator(); }
+        public final boolean contains(Object o) { return containsValue(o); }
+        public final Spliterator<V> spliterator() {
+            return new ValueSpliterator<>(OpenHashMap.this, 0, -1, 0, 0);
+        }
+        @SuppressWarnings("unchecked")
+        public final void forEach(Consumer<? super V> action) {
+            if (action == null)
+                throw new NullPointerException();
+            Object[] tab = table;
+            int mc = modCount;
+            for (int i = 0; i < tab.length && modCount == mc; i += 2) {
+                if (tab[i] != null)
+                    action.accept((V)tab[i + 1]);
+            }
+            if (modCount != mc)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this
+     * map.  The set is backed by the map, so changes to the map are
+     * reflected in the set, and vice-versa.  The entries returned by
+     * its iterator write through to the map when their value is set.
+     *
+     * @return a set view of the mappings contained in this map
+     */
+    public Set<Map.Entry<K,V>> entrySet() {
+        Set<Map.Entry<K,V>> es;
+        return (es = entrySet) == null ? (entrySet = new EntrySet()) : es;
+    }
+
+    final class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+        public final int size()                 { return size; }
+        public final void clear()               { OpenHashMap.this.clear(); }
+        public final Iterator<Map.Entry<K,V>> iterator() {
+            return new EntryIterator();
+        }
+        public final boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+            int i = indexOf(e.getKey());
+            return i >= 0 && Objects.equals(table[(i << 1) + 1], e.getValue());
+        }
+        public final boolean remove(Object o) {
+            if (o instanceof Map.Entry) {
+                Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+                return OpenHashMap.this.remove(e.getKey(), e.getValue());
+            }
+            return false;
+        }
+        public final Spliterator<Map.Entry<K,V>> spliterator() {
+            return new EntrySpliterator<>(OpenHashMap.this, 0, -1, 0, 0);
+        }
+        public final void forEach(Consumer<? super Map.Entry<K,V>> action) {
+            if (action == null)
+                throw new NullPointerException();
+            Object[] tab = table;
+            int mc = modCount;
+            for (int i = 0; i < tab.length && modCount == mc; i += 2) {
+                if (tab[i] != null)
+                    action.accept(new Entry(i >>> 1));
+            }
+            if (modCount != mc)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * A mapping returned by the entry set.  It captures the key and
+     * value at creation; setValue writes through to the map as long
+     * as the key is still present.
+     */
+    final class Entry implements Map.Entry<K,V> {
+        private final K key;
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        Entry(int i) {
+            key = (K)unmaskNull(table[i << 1]);
+            value = (V)table[(i << 1) + 1];
+        }
+
+        public final K getKey()        { return key; }
+        public final V getValue()      { return value; }
+        public final String toString() { return key + "=" + value; }
+
+        public final V setValue(V newValue) {
+            int i = indexOf(key);
+            if (i < 0)
+                throw new IllegalStateException("Entry was removed");
+            V oldValue = value;
+            table[(i << 1) + 1] = value = newValue;
+            return oldValue;
+        }
+
+        public final int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        public final boolean equals(Object o) {
+            if (o == this)
+                return true;
+            if (o instanceof Map.Entry) {
+                Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+                if (Objects.equals(key, e.getKey()) &&
+                    Objects.equals(value, e.getValue()))
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    /* ---------------- Iterators -------------- */
+
+    abstract class HashIterator {
+        int next;             // next slot to return, or -1
+        int current = -1;     // current slot
+        int expectedModCount; // for fast-fail
+        int remaining;        // slots left to examine below next
+        final int mask;
+
+        HashIterator() {
+            Object[] tab = table;
+            expectedModCount = modCount;
+            mask = (tab.length >>> 1) - 1;
+            int start = 0;
+            if (size > 0) {
+                while (tab[start << 1] != null)
+                    start++;
+            }
+            // Walk downward from just below the free slot at start
+            next = start;
+            remaining = mask + 1;
+            advance();
+        }
+
+        private void advance() {
+            Object[] tab = table;
+            int i = next;
+            while (--remaining > 0) {
+                i = (i - 1) & mask;
+                if (tab[i << 1] != null) {
+                    next = i;
+                    return;
+                }
+            }
+            next = -1;
+        }
+
+        public final boolean hasNext() {
+            return next >= 0;
+        }
+
+        final int nextIndex() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            int i = next;
+            if (i < 0)
+                throw new NoSuchElementException();
+            current = i;
+            advance();
+            return i;
+        }
+
+        public final void remove() {
+            if (current < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            deleteAt(current);
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    final class KeyIterator extends HashIterator implements Iterator<K> {
+        @SuppressWarnings("unchecked")
+        public final K next() { return (K)unmaskNull(table[nextIndex() << 1]); }
+    }
+
+    final class ValueIterator extends HashIterator implements Iterator<V> {
+        @SuppressWarnings("unchecked")
+        public final V next() { return (V)table[(nextIndex() << 1) + 1]; }
+    }
+
+    final class EntryIterator extends HashIterator
+        implements Iterator<Map.Entry<K,V>> {
+        public final Map.Entry<K,V> next() { return new Entry(nextIndex()); }
+    }
+
+    /* ---------------- Spliterators -------------- */
+
+    static class OpenHashMapSpliterator<K,V> {
+        final OpenHashMap<K,V> map;
+        int index;                  // current slot, modified on advance/split
+        int fence;                  // one past last slot
+        int est;                    // size estimate
+        int expectedModCount;       // for comodification checks
+
+        OpenHashMapSpliterator(OpenHashMap<K,V> m, int origin,
+                               int fence, int est,
+                               int expectedModCount) {
+            this.map = m;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final int getFence() { // initialize fence and size on first use
+            int hi;
+            if ((hi = fence) < 0) {
+                OpenHashMap<K,V> m = map;
+                est = m.size;
+                expectedModCount = m.modCount;
+                hi = fence = m.table.length >>> 1;
+            }
+            return hi;
+        }
+
+        public final long estimateSize() {
+            getFence(); // force init
+            return (long) est;
+        }
+
+        /**
+         * Advances index to the next occupied slot below hi, returning
+         * it, or -1 if there is none.
+         */
+        final int nextSlot(int hi) {
+            Object[] tab = map.table;
+            int i;
+            while ((i = index) < hi) {
+                index = i + 1;
+                if (tab[i << 1] != null)
+                    return i;
+            }
+            return -1;
+        }
+
+        final void checkModCount() {
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    static final class KeySpliterator<K,V>
+        extends OpenHashMapSpliterator<K,V>
+        implements Spliterator<K> {
+        KeySpliterator(OpenHashMap<K,V> m, int origin, int fence, int est,
+                       int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public KeySpliterator<K,V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new KeySpliterator<>(map, lo, index = mid, est >>>= 1,
+                                     expectedModCount);
+        }
+
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super K> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int hi = getFence(), i;
+            while ((i = nextSlot(hi)) >= 0)
+                action.accept((K)unmaskNull(map.table[i << 1]));
+            checkModCount();
+        }
+
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super K> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int i = nextSlot(getFence());
+            if (i < 0)
+                return false;
+            action.accept((K)unmaskNull(map.table[i << 1]));
+            checkModCount();
+            return true;
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0) |
+                Spliterator.DISTINCT;
+        }
+    }
+
+    static final class ValueSpliterator<K,V>
+        extends OpenHashMapSpliterator<K,V>
+        implements Spliterator<V> {
+        ValueSpliterator(OpenHashMap<K,V> m, int origin, int fence, int est,
+                         int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public ValueSpliterator<K,V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new ValueSpliterator<>(map, lo, index = mid, est >>>= 1,
+                                       expectedModCount);
+        }
+
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super V> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int hi = getFence(), i;
+            while ((i = nextSlot(hi)) >= 0)
+                action.accept((V)map.table[(i << 1) + 1]);
+            checkModCount();
+        }
+
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super V> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int i = nextSlot(getFence());
+            if (i < 0)
+                return false;
+            action.accept((V)map.table[(i << 1) + 1]);
+            checkModCount();
+            return true;
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0);
+        }
+    }
+
+    static final class EntrySpliterator<K,V>
+        extends OpenHashMapSpliterator<K,V>
+        implements Spliterator<Map.Entry<K,V>> {
+        EntrySpliterator(OpenHashMap<K,V> m, int origin, int fence, int est,
+                         int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public EntrySpliterator<K,V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new EntrySpliterator<>(map, lo, index = mid, est >>>= 1,
+                                       expectedModCount);
+        }
+
+        public void forEachRemaining(Consumer<? super Map.Entry<K,V>> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int hi = getFence(), i;
+            while ((i = nextSlot(hi)) >= 0)
+                action.accept(map.new Entry(i));
+            checkModCount();
+        }
+
+        public boolean tryAdvance(Consumer<? super Map.Entry<K,V>> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int i = nextSlot(getFence());
+            if (i < 0)
+                return false;
+            action.accept(map.new Entry(i));
+            checkModCount();
+            return true;
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0) |
+                Spliterator.DISTINCT;
+        }
+    }
+
+    /* ---------------- Serialization -------------- */
+
+    /**
+     * Save the state of the <tt>OpenHashMap</tt> instance to a stream
+     * (i.e., serialize it).
+     *
+     * @serialData The <i>capacity</i> of the OpenHashMap (the number of
+     *             slots) is emitted (int), followed by the <i>size</i>
+     *             (an int, the number of key-value mappings), followed
+     *             by the key (Object) and value (Object) for each
+     *             key-value mapping.  The key-value mappings are
+     *             emitted in no particular order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws IOException {
+        // Write out the threshold, loadfactor, and any hidden stuff
+        s.defaultWriteObject();
+        s.writeInt(table.length >>> 1);
+        s.writeInt(size);
+        Object[] tab = table;
+        for (int i = 0; i < tab.length; i += 2) {
+            Object k;
+            if ((k = tab[i]) != null) {
+                s.writeObject(unmaskNull(k));
+                s.writeObject(tab[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Reconstitutes the <tt>OpenHashMap</tt> instance from a stream
+     * (i.e., deserializes it).
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws IOException, ClassNotFoundException {
+        // Read in the threshold (ignored), loadfactor, and any hidden stuff
+        s.defaultReadObject();
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new InvalidObjectException("Illegal load factor: " +
+                                             loadFactor);
+        s.readInt();                // Read and ignore number of slots
+        int mappings = s.readInt(); // Read number of mappings (size)
+        if (mappings < 0)
+            throw new InvalidObjectException("Illegal mappings count: " +
+                                             mappings);
+        init(capacityFor(mappings, loadFactor));
+        size = 0;
+        modCount = 0;
+        for (int i = 0; i < mappings; i++) {
+            @SuppressWarnings("unchecked")
+                K key = (K) s.readObject();
+            @SuppressWarnings("unchecked")
+                V value = (V) s.readObject();
+            putVal(key, value, false);
+        }
+    }
+}
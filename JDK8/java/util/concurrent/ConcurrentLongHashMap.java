@@ -0,0 +1,933 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A hash table supporting full concurrency of retrievals and high
+ * expected concurrency for updates, keyed by primitive {@code long}
+ * values.  This class obeys the same functional specification as
+ * {@link ConcurrentHashMap} for the operations it shares with that
+ * class, but neither boxes keys nor allocates a node per mapping:
+ * keys and values are held in flat parallel arrays.
+ *
+ * <p>The table is divided into a fixed number of sections, chosen
+ * from the {@code concurrencyLevel} constructor argument.  Each
+ * section is an open-addressed (linear probing) table guarded by its
+ * own lock, playing the role of a bin lock in {@code
+ * ConcurrentHashMap}; updates to keys hashing to different sections
+ * never contend.  Retrievals are optimistic and do not block unless
+ * they race with an update to the same section.  Sections resize
+ * independently, so a resize only ever stalls updates to a small
+ * fraction of the table.  The element count is maintained in
+ * striped counter cells, as in {@code ConcurrentHashMap}.
+ *
+ * <p>Like {@code ConcurrentHashMap}, this class does <em>not</em>
+ * allow {@code null} to be used as a value, and iteration and bulk
+ * operations are weakly consistent: they reflect the state of each
+ * section at some point at or since the operation started.
+ *
+ * <p>The one departure from the {@code ConcurrentHashMap}
+ * specification is {@link #computeIfAbsent}, which applies its
+ * mapping function without holding any lock.  The function may
+ * therefore be applied more than once for the same key when threads
+ * race, although only one result is ever installed, and it may
+ * safely access this map.
+ *
+ * <p>Bulk operations ({@code forEach}, {@code search}, {@code
+ * reduceToLong} and {@link #keyStream}) accept a {@code
+ * parallelismThreshold} argument with the same meaning as in {@code
+ * ConcurrentHashMap}: they are performed sequentially if the current
+ * map size is estimated to be less than the given threshold, and
+ * {@code Long.MAX_VALUE} suppresses all parallelism.
+ *
+ * @since 1.8
+ * @param <V> the type of mapped values
+ * @see ConcurrentLongLongHashMap
+ */
+public class ConcurrentLongHashMap<V> {
+
+    /*
+     * Overview:
+     *
+     * The key space is split over a power-of-two number of Sections
+     * using the high bits of the spread hash; within a section the
+     * low bits select the home slot of a linear probing table.
+     * Empty slots are marked by a null value (values are never
+     * null), so every long, including 0, is a legal key.  Removal
+     * uses backward-shift deletion, so there are no tombstones and
+     * probe sequences never degrade over time.
+     *
+     * Each Section is itself a StampedLock.  Updates hold the write
+     * lock.  Reads first try an optimistic read and fall back to the
+     * read lock if validation fails; because the arrays are only
+     * replaced (never shrunk in place) under the write lock, an
+     * optimistic reader may see a stale pair of arrays but never
+     * indexes out of bounds once it rechecks their lengths.
+     *
+     * A section resizes (doubling) when its occupancy reaches 3/4
+     * of capacity, the same load factor ConcurrentHashMap uses for
+     * its sizeCtl threshold.  Rehashing one section is the analogue
+     * of ConcurrentHashMap.transfer processing one stride of bins:
+     * other sections remain fully available while it happens.
+     */
+
+    /* ---------------- Constants -------------- */
+
+    /**
+     * The largest possible section capacity.
+     */
+    private static final int MAXIMUM_SECTION_CAPACITY = 1 << 30;
+
+    /**
+     * The default initial table capacity.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The default number of sections, matching the default
+     * concurrency level of ConcurrentHashMap.
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * The largest allowed number of sections.
+     */
+    private static final int MAX_SECTIONS = 1 << 16;
+
+    /**
+     * The smallest section capacity.  Must be a power of two.
+     */
+    private static final int MIN_SECTION_CAPACITY = 4;
+
+    /**
+     * Number of optimistic read attempts before a reader falls back
+     * to acquiring the section read lock.
+     */
+    private static final int OPTIMISTIC_RETRIES = 2;
+
+    /* ---------------- Fields -------------- */
+
+    /**
+     * The sections, indexed by the high bits of the spread hash.
+     */
+    private final Section<V>[] sections;
+
+    /**
+     * Shift value for indexing within sections.
+     */
+    private final int sectionShift;
+
+    /**
+     * Striped element count, updated on every insertion or removal.
+     */
+    private final LongAdder counter = new LongAdder();
+
+    /* ---------------- Public operations -------------- */
+
+    /**
+     * Creates a new, empty map with the default initial table size
+     * (16) and concurrency level (16).
+     */
+    public ConcurrentLongHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new, empty map with an initial table size
+     * accommodating the specified number of elements without the
+     * need to dynamically resize.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the initial capacity of
+     * elements is negative
+     */
+    public ConcurrentLongHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new, empty map with an initial table size based on
+     * the given number of elements ({@code initialCapacity}) and the
+     * number of independently lockable sections ({@code
+     * concurrencyLevel}).
+     *
+     * @param initialCapacity the initial capacity
+     * @param concurrencyLevel the estimated number of concurrently
+     * updating threads, used as a sizing hint for the number of
+     * sections
+     * @throws IllegalArgumentException if the initial capacity is
+     * negative or the concurrency level is nonpositive
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongHashMap(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity < 0 || concurrencyLevel <= 0)
+            throw new IllegalArgumentException();
+        int ssize = sectionsFor(concurrencyLevel);
+        int cap = sectionCapacityFor(initialCapacity, ssize);
+        Section<V>[] ss = (Section<V>[])new Section<?>[ssize];
+        for (int i = 0; i < ssize; ++i)
+            ss[i] = new Section<V>(cap, counter);
+        this.sections = ss;
+        this.sectionShift = 32 - Integer.numberOfTrailingZeros(ssize);
+    }
+
+    /**
+     * Returns the number of mappings.  This method should be used
+     * instead of {@link #size} because the map may contain more
+     * mappings than can be represented as an int. The value returned
+     * is an estimate; the actual count may differ if there are
+     * concurrent insertions or removals.
+     *
+     * @return the number of mappings
+     */
+    public long mappingCount() {
+        long n = counter.sum();
+        return (n < 0L) ? 0L : n; // ignore transient negative values
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map, or
+     * {@code Integer.MAX_VALUE} if there are more.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        long n = mappingCount();
+        return (n > (long)Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int)n;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return counter.sum() <= 0L; // ignore transient negative values
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key
+     */
+    public V get(long key) {
+        int h = spread(key);
+        return sectionFor(h).get(key, h);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or the
+     * given default value if this map contains no mapping for the
+     * key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the value to return if this map contains
+     * no mapping for the given key
+     * @return the mapping for the key, if present; else the default value
+     */
+    public V getOrDefault(long key, V defaultValue) {
+        V v;
+        return (v = get(key)) == null ? defaultValue : v;
+    }
+
+    /**
+     * Tests if the specified long is a key in this table.
+     *
+     * @param key possible key
+     * @return {@code true} if and only if the specified long is a key
+     * in this table
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the specified key to the specified value in this table.
+     * The value can not be null.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     * @throws NullPointerException if the specified value is null
+     */
+    public V put(long key, V value) {
+        if (value == null) throw new NullPointerException();
+        int h = spread(key);
+        return sectionFor(h).put(key, h, value, false);
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * associates it with the given value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws NullPointerException if the specified value is null
+     */
+    public V putIfAbsent(long key, V value) {
+        if (value == null) throw new NullPointerException();
+        int h = spread(key);
+        return sectionFor(h).put(key, h, value, true);
+    }
+
+    /**
+     * Removes the key (and its corresponding value) from this map.
+     * This method does nothing if the key is not in the map.
+     *
+     * @param  key the key that needs to be removed
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     */
+    public V remove(long key) {
+        int h = spread(key);
+        return sectionFor(h).replaceNode(key, h, null, null);
+    }
+
+    /**
+     * Removes the entry for a key only if currently mapped to a given
+     * value.
+     *
+     * @param key key with which the specified value is associated
+     * @param value value expected to be associated with the specified key
+     * @return {@code true} if the value was removed
+     */
+    public boolean remove(long key, Object value) {
+        if (value == null)
+            return false;
+        int h = spread(key);
+        return sectionFor(h).replaceNode(key, h, null, value) != null;
+    }
+
+    /**
+     * Replaces the entry for a key only if currently mapped to a
+     * given value.
+     *
+     * @param key key with which the specified value is associated
+     * @param oldValue value expected to be associated with the specified key
+     * @param newValue value to be associated with the specified key
+     * @return {@code true} if the value was replaced
+     * @throws NullPointerException if any of the values are null
+     */
+    public boolean replace(long key, V oldValue, V newValue) {
+        if (oldValue == null || newValue == null)
+            throw new NullPointerException();
+        int h = spread(key);
+        return sectionFor(h).replaceNode(key, h, newValue, oldValue) != null;
+    }
+
+    /**
+     * Replaces the entry for a key only if currently mapped to some value.
+     *
+     * @param key key with which the specified value is associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws NullPointerException if the specified value is null
+     */
+    public V replace(long key, V value) {
+        if (value == null)
+            throw new NullPointerException();
+        int h = spread(key);
+        return sectionFor(h).replaceNode(key, h, value, null);
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * attempts to compute its value using the given mapping function
+     * and enters it into this map unless {@code null}.  The function
+     * is applied without holding any lock, so it may use this map,
+     * but it may be applied more than once for a key when threads
+     * race: if another thread establishes a mapping for the key
+     * first, that value is returned and the computed one discarded.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated with
+     *         the specified key, or null if the computed value is null
+     * @throws NullPointerException if the mappingFunction is null
+     * @throws RuntimeException or Error if the mappingFunction does so,
+     *         in which case the mapping is left unestablished
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        int h = spread(key);
+        Section<V> s = sectionFor(h);
+        V v, p;
+        if ((v = s.get(key, h)) == null &&
+            (v = mappingFunction.apply(key)) != null &&
+            (p = s.put(key, h, v, true)) != null)
+            v = p;
+        return v;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        for (Section<V> s : sections)
+            s.clear();
+    }
+
+    /* ---------------- Bulk operations -------------- */
+
+    /**
+     * Represents an operation upon a {@code long}-valued key and an
+     * object-valued value.
+     *
+     * @param <V> the type of mapped values
+     */
+    @FunctionalInterface
+    public interface LongObjConsumer<V> {
+        /**
+         * Performs this operation on the given arguments.
+         *
+         * @param key the key
+         * @param value the value
+         */
+        void accept(long key, V value);
+    }
+
+    /**
+     * Represents a function of a {@code long}-valued key and an
+     * object-valued value.
+     *
+     * @param <V> the type of mapped values
+     * @param <R> the type of the result of the function
+     */
+    @FunctionalInterface
+    public interface LongObjFunction<V, R> {
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param key the key
+         * @param value the value
+         * @return the function result
+         */
+        R apply(long key, V value);
+    }
+
+    /**
+     * Represents a function of a {@code long}-valued key and an
+     * object-valued value producing a {@code long}-valued result.
+     *
+     * @param <V> the type of mapped values
+     */
+    @FunctionalInterface
+    public interface LongObjToLongFunction<V> {
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param key the key
+         * @param value the value
+         * @return the function result
+         */
+        long applyAsLong(long key, V value);
+    }
+
+    /**
+     * Performs the given action for each (key, value).
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param action the action
+     */
+    public void forEach(long parallelismThreshold,
+                        LongObjConsumer<? super V> action) {
+        if (action == null) throw new NullPointerException();
+        Section<V>[] ss = sections;
+        sectionIndexes(parallelismThreshold).forEach(i -> ss[i].forEach(action));
+    }
+
+    /**
+     * Returns a non-null result from applying the given search
+     * function on each (key, value), or null if none.  Upon
+     * success, further element processing is suppressed and the
+     * results of any other parallel invocations of the search
+     * function are ignored.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param searchFunction a function returning a non-null
+     * result on success, else null
+     * @param <U> the return type of the search function
+     * @return a non-null result from applying the given search
+     * function on each (key, value), or null if none
+     */
+    public <U> U search(long parallelismThreshold,
+                        LongObjFunction<? super V, ? extends U> searchFunction) {
+        if (searchFunction == null) throw new NullPointerException();
+        Section<V>[] ss = sections;
+        return sectionIndexes(parallelismThreshold)
+            .<U>mapToObj(i -> ss[i].search(searchFunction))
+            .filter(u -> u != null)
+            .findAny()
+            .orElse(null);
+    }
+
+    /**
+     * Returns a non-null result from applying the given search
+     * function on each key, or null if none.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param searchFunction a function returning a non-null
+     * result on success, else null
+     * @param <U> the return type of the search function
+     * @return a non-null result from applying the given search
+     * function on each key, or null if none
+     */
+    public <U> U searchKeys(long parallelismThreshold,
+                            LongFunction<? extends U> searchFunction) {
+        if (searchFunction == null) throw new NullPointerException();
+        return search(parallelismThreshold,
+                      (k, v) -> searchFunction.apply(k));
+    }
+
+    /**
+     * Returns the result of accumulating the given transformation
+     * of all (key, value) pairs using the given reducer to
+     * combine values, and the given basis as an identity value.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param transformer a function returning the transformation
+     * for an element
+     * @param basis the identity (initial default value) for the reduction
+     * @param reducer a commutative associative combining function
+     * @return the result of accumulating the given transformation
+     * of all (key, value) pairs
+     */
+    public long reduceToLong(long parallelismThreshold,
+                             LongObjToLongFunction<? super V> transformer,
+                             long basis,
+                             LongBinaryOperator reducer) {
+        if (transformer == null || reducer == null)
+            throw new NullPointerException();
+        Section<V>[] ss = sections;
+        return sectionIndexes(parallelismThreshold)
+            .mapToLong(i -> ss[i].reduceToLong(transformer, basis, reducer))
+            .reduce(basis, reducer);
+    }
+
+    /**
+     * Returns the result of accumulating the given transformation
+     * of all keys using the given reducer to combine values, and
+     * the given basis as an identity value.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param transformer a function returning the transformation
+     * for an element
+     * @param basis the identity (initial default value) for the reduction
+     * @param reducer a commutative associative combining function
+     * @return the result of accumulating the given transformation
+     * of all keys
+     */
+    public long reduceKeysToLong(long parallelismThreshold,
+                                 LongUnaryOperator transformer,
+                                 long basis,
+                                 LongBinaryOperator reducer) {
+        if (transformer == null || reducer == null)
+            throw new NullPointerException();
+        return reduceToLong(parallelismThreshold,
+                            (k, v) -> transformer.applyAsLong(k),
+                            basis, reducer);
+    }
+
+    /**
+     * Returns a {@link LongStream} of the keys in this map, which is
+     * parallel if the map holds at least {@code parallelismThreshold}
+     * mappings.  The stream is weakly consistent: each section is
+     * snapshotted when the stream first reaches it.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for the stream to be parallel
+     * @return a stream of the keys in this map
+     */
+    public LongStream keyStream(long parallelismThreshold) {
+        Section<V>[] ss = sections;
+        return sectionIndexes(parallelismThreshold)
+            .mapToObj(i -> ss[i].keySnapshot())
+            .flatMapToLong(ks -> Arrays.stream(ks));
+    }
+
+    /**
+     * Returns a {@link LongStream} of the keys in this map whose
+     * values satisfy the given predicate.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for the stream to be parallel
+     * @param keyFilter the predicate to apply to each key
+     * @return a stream of the matching keys in this map
+     */
+    public LongStream keyStream(long parallelismThreshold,
+                                LongPredicate keyFilter) {
+        if (keyFilter == null) throw new NullPointerException();
+        return keyStream(parallelismThreshold).filter(keyFilter);
+    }
+
+    /* ---------------- Internals -------------- */
+
+    /**
+     * Spreads (XORs) higher bits of the 64-bit multiplicative hash
+     * of the key into the returned int.  Both halves matter: the
+     * high bits choose the section and the low bits the slot.
+     */
+    static final int spread(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the power of two number of sections for the given
+     * concurrency level.
+     */
+    static final int sectionsFor(int concurrencyLevel) {
+        int ssize = 1;
+        while (ssize < concurrencyLevel && ssize < MAX_SECTIONS)
+            ssize <<= 1;
+        return ssize;
+    }
+
+    /**
+     * Returns the power of two section capacity able to hold an even
+     * share of {@code initialCapacity} elements below the load
+     * factor.
+     */
+    static final int sectionCapacityFor(int initialCapacity, int ssize) {
+        long per = ((long)initialCapacity + ssize - 1) / ssize;
+        long need = per + (per >>> 1) + 1L; // 1.5x covers 3/4 load
+        int cap = MIN_SECTION_CAPACITY;
+        while (cap < need && cap < MAXIMUM_SECTION_CAPACITY)
+            cap <<= 1;
+        return cap;
+    }
+
+    private Section<V> sectionFor(int h) {
+        return sections[(sectionShift == 32) ? 0 : h >>> sectionShift];
+    }
+
+    /**
+     * Returns the stream of section indexes over which a bulk
+     * operation runs, parallel under the same rule ConcurrentHashMap
+     * applies in batchFor.
+     */
+    private IntStream sectionIndexes(long parallelismThreshold) {
+        IntStream s = IntStream.range(0, sections.length);
+        long n;
+        if (parallelismThreshold != Long.MAX_VALUE &&
+            (n = mappingCount()) > 1L && n >= parallelismThreshold)
+            s = s.parallel();
+        return s;
+    }
+
+    /**
+     * A section: one independently locked open-addressed table.
+     * Empty slots hold a null value.
+     */
+    @SuppressWarnings("serial")
+    static final class Section<V> extends StampedLock {
+        final LongAdder counter;
+        long[] keys;
+        Object[] vals;
+        int count;
+        int threshold;
+
+        Section(int cap, LongAdder counter) {
+            this.counter = counter;
+            keys = new long[cap];
+            vals = new Object[cap];
+            threshold = cap - (cap >>> 2);
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long key, int h) {
+            for (int attempt = 0; attempt < OPTIMISTIC_RETRIES; ++attempt) {
+                long stamp = tryOptimisticRead();
+                if (stamp == 0L)
+                    break;
+                long[] ks = keys;
+                Object[] vs = vals;
+                if (ks.length != vs.length)
+                    continue;
+                Object v = lookup(ks, vs, key, h);
+                if (validate(stamp))
+                    return (V)v;
+            }
+            long stamp = readLock();
+            try {
+                return (V)lookup(keys, vals, key, h);
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        V put(long key, int h, V value, boolean onlyIfAbsent) {
+            long stamp = writeLock();
+            try {
+                int i = indexOf(keys, vals, key, h);
+                if (i >= 0) {
+                    @SuppressWarnings("unchecked") V old = (V)vals[i];
+                    if (!onlyIfAbsent)
+                        vals[i] = value;
+                    return old;
+                }
+                insert(~i, key, value);
+            } finally {
+                unlockWrite(stamp);
+            }
+            counter.increment();
+            return null;
+        }
+
+        /**
+         * Implementation for the four public remove/replace methods:
+         * Replaces value with v, conditional upon match of cv if
+         * non-null.  If resulting value is null, delete.
+         */
+        V replaceNode(long key, int h, V value, Object cv) {
+            V old;
+            long stamp = writeLock();
+            try {
+                int i = indexOf(keys, vals, key, h);
+                if (i < 0)
+                    return null;
+                @SuppressWarnings("unchecked") V ov = (V)vals[i];
+                if (cv != null && cv != ov && !cv.equals(ov))
+                    return null;
+                old = ov;
+                if (value != null) {
+                    vals[i] = value;
+                    return old;
+                }
+                delete(i);
+            } finally {
+                unlockWrite(stamp);
+            }
+            counter.decrement();
+            return old;
+        }
+
+        void clear() {
+            int removed;
+            long stamp = writeLock();
+            try {
+                removed = count;
+                Arrays.fill(vals, null);
+                count = 0;
+            } finally {
+                unlockWrite(stamp);
+            }
+            if (removed != 0)
+                counter.add(-removed);
+        }
+
+        /**
+         * Inserts at the given free slot, which must come from a
+         * failed indexOf, resizing first if the insertion would
+         * cross the threshold.
+         */
+        private void insert(int i, long key, Object value) {
+            if (count >= threshold && keys.length < MAXIMUM_SECTION_CAPACITY) {
+                rehash();
+                i = ~indexOf(keys, vals, key, spread(key));
+            }
+            else if (count + 1 >= keys.length)
+                throw new IllegalStateException("Section capacity exceeded");
+            keys[i] = key;
+            vals[i] = value;
+            ++count;
+        }
+
+        /**
+         * Removes the mapping at slot i, shifting back any later
+         * entries of the same probe run so that lookups never need
+         * tombstones.
+         */
+        private void delete(int i) {
+            long[] ks = keys;
+            Object[] vs = vals;
+            int mask = ks.length - 1;
+            int j = i;
+            for (;;) {
+                j = (j + 1) & mask;
+                if (vs[j] == null)
+                    break;
+                int home = spread(ks[j]) & mask;
+                // Move j back to i unless its home lies cyclically in (i, j]
+                if ((j > i) ? (home <= i || home > j) : (home <= i && home > j)) {
+                    ks[i] = ks[j];
+                    vs[i] = vs[j];
+                    i = j;
+                }
+            }
+            vs[i] = null;
+            --count;
+        }
+
+        /**
+         * Doubles the table.  The new arrays are filled completely
+         * before being published, so optimistic readers observe
+         * either the old or the new table.
+         */
+        private void rehash() {
+            long[] oks = keys;
+            Object[] ovs = vals;
+            int n = oks.length << 1, mask = n - 1;
+            long[] nks = new long[n];
+            Object[] nvs = new Object[n];
+            for (int j = 0; j < oks.length; ++j) {
+                Object v;
+                if ((v = ovs[j]) != null) {
+                    long k = oks[j];
+                    int i = spread(k) & mask;
+                    while (nvs[i] != null)
+                        i = (i + 1) & mask;
+                    nks[i] = k;
+                    nvs[i] = v;
+                }
+            }
+            vals = nvs;
+            keys = nks;
+            threshold = n - (n >>> 2);
+        }
+
+        void forEach(LongObjConsumer<? super V> action) {
+            long[] ks; Object[] vs;
+            long stamp = readLock();
+            try {
+                ks = keys.clone();
+                vs = vals.clone();
+            } finally {
+                unlockRead(stamp);
+            }
+            for (int i = 0; i < vs.length; ++i) {
+                @SuppressWarnings("unchecked") V v = (V)vs[i];
+                if (v != null)
+                    action.accept(ks[i], v);
+            }
+        }
+
+        <U> U search(LongObjFunction<? super V, ? extends U> fn) {
+            long[] ks; Object[] vs;
+            long stamp = readLock();
+            try {
+                ks = keys.clone();
+                vs = vals.clone();
+            } finally {
+                unlockRead(stamp);
+            }
+            for (int i = 0; i < vs.length; ++i) {
+                @SuppressWarnings("unchecked") V v = (V)vs[i];
+                U u;
+                if (v != null && (u = fn.apply(ks[i], v)) != null)
+                    return u;
+            }
+            return null;
+        }
+
+        long reduceToLong(LongObjToLongFunction<? super V> transformer,
+                          long basis, LongBinaryOperator reducer) {
+            long[] ks; Object[] vs;
+            long stamp = readLock();
+            try {
+                ks = keys.clone();
+                vs = vals.clone();
+            } finally {
+                unlockRead(stamp);
+            }
+            long r = basis;
+            for (int i = 0; i < vs.length; ++i) {
+                @SuppressWarnings("unchecked") V v = (V)vs[i];
+                if (v != null)
+                    r = reducer.applyAsLong(r, transformer.applyAsLong(ks[i], v));
+            }
+            return r;
+        }
+
+        long[] keySnapshot() {
+            long stamp = readLock();
+            try {
+                long[] ks = keys, out = new long[count];
+                Object[] vs = vals;
+                for (int i = 0, j = 0; i < vs.length; ++i) {
+                    if (vs[i] != null)
+                        out[j++] = ks[i];
+                }
+                return out;
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Returns the value for key in the given arrays, or null.
+     */
+    static Object lookup(long[] ks, Object[] vs, long key, int h) {
+        int mask = ks.length - 1;
+        for (int i = h & mask, n = 0; n <= mask; i = (i + 1) & mask, ++n) {
+            Object v = vs[i];
+            if (v == null)
+                return null;
+            if (ks[i] == key)
+                return v;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the slot holding key, or the one's complement of the
+     * first free slot of its probe sequence if absent.
+     */
+    static int indexOf(long[] ks, Object[] vs, long key, int h) {
+        int mask = ks.length - 1;
+        int i = h & mask;
+        while (vs[i] != null) {
+            if (ks[i] == key)
+                return i;
+            i = (i + 1) & mask;
+        }
+        return ~i;
+    }
+}
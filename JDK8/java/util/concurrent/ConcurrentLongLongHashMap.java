@@ -0,0 +1,905 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A hash table mapping primitive {@code long} keys to primitive
+ * {@code long} values, supporting full concurrency of retrievals and
+ * high expected concurrency for updates.  Neither keys nor values are
+ * boxed, and no per-mapping node is allocated: the table is made of
+ * flat {@code long} arrays.  The concurrency design is that of {@link
+ * ConcurrentLongHashMap}: independently locked open-addressed
+ * sections, optimistic retrievals and a striped element count.
+ *
+ * <p>As there is no {@code null} value to signal an absent mapping,
+ * methods that would return {@code null} in {@link ConcurrentHashMap}
+ * instead return zero, in the manner of {@link
+ * java.util.concurrent.atomic.AtomicLong}; use {@link #containsKey}
+ * or {@link #getOrDefault} to tell an absent key from a zero value.
+ * Every {@code long}, including zero, is a legal key and value.
+ *
+ * <p>This makes the class well suited to concurrent counters keyed by
+ * id; see {@link #addAndGet} and {@link #merge}.
+ *
+ * <p>Unlike in {@code ConcurrentHashMap}, {@link #computeIfAbsent} and
+ * {@link #merge} apply their functions without holding any lock, and
+ * are not atomic with respect to them: a function may be applied more
+ * than once for the same key when threads race, although each call
+ * stores at most one result.  Functions may safely access this map.
+ *
+ * @since 1.8
+ * @see ConcurrentLongHashMap
+ */
+public class ConcurrentLongLongHashMap {
+
+    /*
+     * Sections mirror those of ConcurrentLongHashMap, except that
+     * with primitive values there is no null to mark a free slot.
+     * A key of zero marks free slots instead, and the mapping for
+     * the key zero itself (if any) is held out of band in the
+     * section that zero hashes to.
+     */
+
+    private static final int MAXIMUM_SECTION_CAPACITY = 1 << 30;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final int OPTIMISTIC_RETRIES = 2;
+
+    /**
+     * The sections, indexed by the high bits of the spread hash.
+     */
+    private final Section[] sections;
+
+    /**
+     * Shift value for indexing within sections.
+     */
+    private final int sectionShift;
+
+    /**
+     * Striped element count, updated on every insertion or removal.
+     */
+    private final LongAdder counter = new LongAdder();
+
+    /**
+     * Creates a new, empty map with the default initial table size
+     * (16) and concurrency level (16).
+     */
+    public ConcurrentLongLongHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new, empty map with an initial table size
+     * accommodating the specified number of elements without the
+     * need to dynamically resize.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the initial capacity of
+     * elements is negative
+     */
+    public ConcurrentLongLongHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new, empty map with an initial table size based on
+     * the given number of elements ({@code initialCapacity}) and the
+     * number of independently lockable sections ({@code
+     * concurrencyLevel}).
+     *
+     * @param initialCapacity the initial capacity
+     * @param concurrencyLevel the estimated number of concurrently
+     * updating threads, used as a sizing hint for the number of
+     * sections
+     * @throws IllegalArgumentException if the initial capacity is
+     * negative or the concurrency level is nonpositive
+     */
+    public ConcurrentLongLongHashMap(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity < 0 || concurrencyLevel <= 0)
+            throw new IllegalArgumentException();
+        int ssize = ConcurrentLongHashMap.sectionsFor(concurrencyLevel);
+        int cap = ConcurrentLongHashMap.sectionCapacityFor(initialCapacity, ssize);
+        Section[] ss = new Section[ssize];
+        for (int i = 0; i < ssize; ++i)
+            ss[i] = new Section(cap, counter);
+        this.sections = ss;
+        this.sectionShift = 32 - Integer.numberOfTrailingZeros(ssize);
+    }
+
+    /**
+     * Returns the number of mappings. The value returned is an
+     * estimate; the actual count may differ if there are concurrent
+     * insertions or removals.
+     *
+     * @return the number of mappings
+     */
+    public long mappingCount() {
+        long n = counter.sum();
+        return (n < 0L) ? 0L : n; // ignore transient negative values
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map, or
+     * {@code Integer.MAX_VALUE} if there are more.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        long n = mappingCount();
+        return (n > (long)Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int)n;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return counter.sum() <= 0L; // ignore transient negative values
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * zero if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or zero
+     */
+    public long get(long key) {
+        return getOrDefault(key, 0L);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or the
+     * given default value if this map contains no mapping for the
+     * key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the value to return if this map contains
+     * no mapping for the given key
+     * @return the mapping for the key, if present; else the default value
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).get(key, h, defaultValue);
+    }
+
+    /**
+     * Tests if the specified long is a key in this table.
+     *
+     * @param key possible key
+     * @return {@code true} if and only if the specified long is a key
+     * in this table
+     */
+    public boolean containsKey(long key) {
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).containsKey(key, h);
+    }
+
+    /**
+     * Maps the specified key to the specified value in this table.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         zero if there was no mapping for {@code key}
+     */
+    public long put(long key, long value) {
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).update(key, h, value, false);
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * associates it with the given value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the specified key,
+     *         or zero if there was no mapping for the key
+     */
+    public long putIfAbsent(long key, long value) {
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).update(key, h, value, true);
+    }
+
+    /**
+     * Adds {@code delta} to the value currently associated with
+     * {@code key}, treating an absent mapping as zero, and returns
+     * the new value.
+     *
+     * @param key the key
+     * @param delta the value to add
+     * @return the updated value
+     */
+    public long addAndGet(long key, long delta) {
+        return merge(key, delta, Long::sum);
+    }
+
+    /**
+     * Adds {@code delta} to the value currently associated with
+     * {@code key}, treating an absent mapping as zero, and returns
+     * the old value.
+     *
+     * @param key the key
+     * @param delta the value to add
+     * @return the previous value, or zero if there was none
+     */
+    public long getAndAdd(long key, long delta) {
+        return addAndGet(key, delta) - delta;
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * associates it with the given value.  Otherwise, replaces the
+     * value with the results of the given remapping function.  The
+     * function is applied without holding any lock, so it may use
+     * this map; if the value changes before the result can be stored,
+     * the function is applied again to the new value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value the value to use if absent
+     * @param remappingFunction the function to recompute a value if present
+     * @return the new value associated with the specified key
+     * @throws NullPointerException if the remappingFunction is null
+     */
+    public long merge(long key, long value, LongBinaryOperator remappingFunction) {
+        if (remappingFunction == null)
+            throw new NullPointerException();
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).merge(key, h, value, remappingFunction);
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * computes its value using the given mapping function and enters
+     * it into this map.  The function is applied without holding any
+     * lock, so it may use this map, but it may be applied more than
+     * once for a key when threads race: if another thread establishes
+     * a mapping for the key first, that value is returned and the
+     * computed one discarded.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated with
+     *         the specified key
+     * @throws NullPointerException if the mappingFunction is null
+     */
+    public long computeIfAbsent(long key, LongUnaryOperator mappingFunction) {
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).computeIfAbsent(key, h, mappingFunction);
+    }
+
+    /**
+     * Removes the key (and its corresponding value) from this map.
+     * This method does nothing if the key is not in the map.
+     *
+     * @param  key the key that needs to be removed
+     * @return the previous value associated with {@code key}, or
+     *         zero if there was no mapping for {@code key}
+     */
+    public long remove(long key) {
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).remove(key, h);
+    }
+
+    /**
+     * Removes the entry for a key only if currently mapped to a given
+     * value.
+     *
+     * @param key key with which the specified value is associated
+     * @param value value expected to be associated with the specified key
+     * @return {@code true} if the value was removed
+     */
+    public boolean remove(long key, long value) {
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).remove(key, h, value);
+    }
+
+    /**
+     * Replaces the entry for a key only if currently mapped to a
+     * given value.
+     *
+     * @param key key with which the specified value is associated
+     * @param oldValue value expected to be associated with the specified key
+     * @param newValue value to be associated with the specified key
+     * @return {@code true} if the value was replaced
+     */
+    public boolean replace(long key, long oldValue, long newValue) {
+        int h = ConcurrentLongHashMap.spread(key);
+        return sectionFor(h).replace(key, h, oldValue, newValue);
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        for (Section s : sections)
+            s.clear();
+    }
+
+    /* ---------------- Bulk operations -------------- */
+
+    /**
+     * Represents an operation upon a {@code long}-valued key and a
+     * {@code long}-valued value.
+     */
+    @FunctionalInterface
+    public interface LongLongConsumer {
+        /**
+         * Performs this operation on the given arguments.
+         *
+         * @param key the key
+         * @param value the value
+         */
+        void accept(long key, long value);
+    }
+
+    /**
+     * Represents a function of a {@code long}-valued key and a
+     * {@code long}-valued value.
+     *
+     * @param <R> the type of the result of the function
+     */
+    @FunctionalInterface
+    public interface LongLongFunction<R> {
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param key the key
+         * @param value the value
+         * @return the function result
+         */
+        R apply(long key, long value);
+    }
+
+    /**
+     * Performs the given action for each (key, value).
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param action the action
+     */
+    public void forEach(long parallelismThreshold, LongLongConsumer action) {
+        if (action == null) throw new NullPointerException();
+        Section[] ss = sections;
+        sectionIndexes(parallelismThreshold).forEach(i -> {
+            long[] kv = ss[i].snapshot();
+            for (int j = 0; j < kv.length; j += 2)
+                action.accept(kv[j], kv[j + 1]);
+        });
+    }
+
+    /**
+     * Returns a non-null result from applying the given search
+     * function on each (key, value), or null if none.  Upon
+     * success, further element processing is suppressed and the
+     * results of any other parallel invocations of the search
+     * function are ignored.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param searchFunction a function returning a non-null
+     * result on success, else null
+     * @param <U> the return type of the search function
+     * @return a non-null result from applying the given search
+     * function on each (key, value), or null if none
+     */
+    public <U> U search(long parallelismThreshold,
+                        LongLongFunction<? extends U> searchFunction) {
+        if (searchFunction == null) throw new NullPointerException();
+        Section[] ss = sections;
+        return sectionIndexes(parallelismThreshold)
+            .<U>mapToObj(i -> {
+                long[] kv = ss[i].snapshot();
+                U u;
+                for (int j = 0; j < kv.length; j += 2) {
+                    if ((u = searchFunction.apply(kv[j], kv[j + 1])) != null)
+                        return u;
+                }
+                return null;
+            })
+            .filter(u -> u != null)
+            .findAny()
+            .orElse(null);
+    }
+
+    /**
+     * Returns the result of accumulating the given transformation
+     * of all (key, value) pairs using the given reducer to
+     * combine values, and the given basis as an identity value.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param transformer a function returning the transformation
+     * for an element
+     * @param basis the identity (initial default value) for the reduction
+     * @param reducer a commutative associative combining function
+     * @return the result of accumulating the given transformation
+     * of all (key, value) pairs
+     */
+    public long reduceToLong(long parallelismThreshold,
+                             LongBinaryOperator transformer,
+                             long basis,
+                             LongBinaryOperator reducer) {
+        if (transformer == null || reducer == null)
+            throw new NullPointerException();
+        Section[] ss = sections;
+        return sectionIndexes(parallelismThreshold).mapToLong(i -> {
+            long[] kv = ss[i].snapshot();
+            long r = basis;
+            for (int j = 0; j < kv.length; j += 2)
+                r = reducer.applyAsLong(r, transformer.applyAsLong(kv[j], kv[j + 1]));
+            return r;
+        }).reduce(basis, reducer);
+    }
+
+    /**
+     * Returns the result of accumulating all values using the given
+     * reducer to combine values, and the given basis as an identity
+     * value.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param basis the identity (initial default value) for the reduction
+     * @param reducer a commutative associative combining function
+     * @return the result of accumulating all values
+     */
+    public long reduceValuesToLong(long parallelismThreshold,
+                                   long basis,
+                                   LongBinaryOperator reducer) {
+        return reduceToLong(parallelismThreshold, (k, v) -> v, basis, reducer);
+    }
+
+    /**
+     * Returns a {@link LongStream} of the keys in this map, which is
+     * parallel if the map holds at least {@code parallelismThreshold}
+     * mappings.  The stream is weakly consistent: each section is
+     * snapshotted when the stream first reaches it.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for the stream to be parallel
+     * @return a stream of the keys in this map
+     */
+    public LongStream keyStream(long parallelismThreshold) {
+        return pairStream(parallelismThreshold, 0);
+    }
+
+    /**
+     * Returns a {@link LongStream} of the values in this map, which is
+     * parallel if the map holds at least {@code parallelismThreshold}
+     * mappings.  The stream is weakly consistent: each section is
+     * snapshotted when the stream first reaches it.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for the stream to be parallel
+     * @return a stream of the values in this map
+     */
+    public LongStream valueStream(long parallelismThreshold) {
+        return pairStream(parallelismThreshold, 1);
+    }
+
+    /* ---------------- Internals -------------- */
+
+    private Section sectionFor(int h) {
+        return sections[(sectionShift == 32) ? 0 : h >>> sectionShift];
+    }
+
+    private IntStream sectionIndexes(long parallelismThreshold) {
+        IntStream s = IntStream.range(0, sections.length);
+        long n;
+        if (parallelismThreshold != Long.MAX_VALUE &&
+            (n = mappingCount()) > 1L && n >= parallelismThreshold)
+            s = s.parallel();
+        return s;
+    }
+
+    private LongStream pairStream(long parallelismThreshold, int offset) {
+        Section[] ss = sections;
+        return sectionIndexes(parallelismThreshold)
+            .mapToObj(i -> ss[i].snapshot())
+            .flatMapToLong(kv -> LongStream.range(0, kv.length >>> 1)
+                           .map(j -> kv[((int)j << 1) + offset]));
+    }
+
+    /**
+     * A section: one independently locked open-addressed table in
+     * which a zero key marks a free slot.
+     */
+    @SuppressWarnings("serial")
+    static final class Section extends StampedLock {
+        final LongAdder counter;
+        long[] keys;
+        long[] vals;
+        int count;           // includes the zero key, if present
+        int threshold;
+        boolean hasZeroKey;
+        long zeroValue;
+
+        Section(int cap, LongAdder counter) {
+            this.counter = counter;
+            keys = new long[cap];
+            vals = new long[cap];
+            threshold = cap - (cap >>> 2);
+        }
+
+        long get(long key, int h, long defaultValue) {
+            for (int attempt = 0; attempt < OPTIMISTIC_RETRIES; ++attempt) {
+                long stamp = tryOptimisticRead();
+                if (stamp == 0L)
+                    break;
+                long v;
+                if (key == 0L)
+                    v = hasZeroKey ? zeroValue : defaultValue;
+                else {
+                    long[] ks = keys, vs = vals;
+                    if (ks.length != vs.length)
+                        continue;
+                    int i = indexOf(ks, key, h);
+                    v = (i >= 0) ? vs[i] : defaultValue;
+                }
+                if (validate(stamp))
+                    return v;
+            }
+            long stamp = readLock();
+            try {
+                if (key == 0L)
+                    return hasZeroKey ? zeroValue : defaultValue;
+                int i = indexOf(keys, key, h);
+                return (i >= 0) ? vals[i] : defaultValue;
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        boolean containsKey(long key, int h) {
+            for (int attempt = 0; attempt < OPTIMISTIC_RETRIES; ++attempt) {
+                long stamp = tryOptimisticRead();
+                if (stamp == 0L)
+                    break;
+                boolean found;
+                if (key == 0L)
+                    found = hasZeroKey;
+                else
+                    found = indexOf(keys, key, h) >= 0;
+                if (validate(stamp))
+                    return found;
+            }
+            long stamp = readLock();
+            try {
+                return (key == 0L) ? hasZeroKey : indexOf(keys, key, h) >= 0;
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        long update(long key, int h, long value, boolean onlyIfAbsent) {
+            long stamp = writeLock();
+            try {
+                if (key == 0L) {
+                    if (hasZeroKey) {
+                        long old = zeroValue;
+                        if (!onlyIfAbsent)
+                            zeroValue = value;
+                        return old;
+                    }
+                    hasZeroKey = true;
+                    zeroValue = value;
+                    ++count;
+                }
+                else {
+                    int i = indexOf(keys, key, h);
+                    if (i >= 0) {
+                        long old = vals[i];
+                        if (!onlyIfAbsent)
+                            vals[i] = value;
+                        return old;
+                    }
+                    insert(~i, key, value);
+                }
+            } finally {
+                unlockWrite(stamp);
+            }
+            counter.increment();
+            return 0L;
+        }
+
+        /**
+         * Applies the function outside the lock, storing the result
+         * only if the value is unchanged, else retrying.
+         */
+        long merge(long key, int h, long value, LongBinaryOperator fn) {
+            for (;;) {
+                long old;
+                long stamp = writeLock();
+                try {
+                    if (key == 0L) {
+                        if (hasZeroKey)
+                            old = zeroValue;
+                        else {
+                            hasZeroKey = true;
+                            zeroValue = value;
+                            ++count;
+                            break;
+                        }
+                    }
+                    else {
+                        int i = indexOf(keys, key, h);
+                        if (i >= 0)
+                            old = vals[i];
+                        else {
+                            insert(~i, key, value);
+                            break;
+                        }
+                    }
+                } finally {
+                    unlockWrite(stamp);
+                }
+                long v = fn.applyAsLong(old, value);
+                if (replace(key, h, old, v))
+                    return v;
+            }
+            counter.increment();
+            return value;
+        }
+
+        /**
+         * Applies the function outside the lock, storing the result
+         * only if the key is still absent.
+         */
+        long computeIfAbsent(long key, int h, LongUnaryOperator fn) {
+            long stamp = readLock();
+            try {
+                if (key == 0L) {
+                    if (hasZeroKey)
+                        return zeroValue;
+                }
+                else {
+                    int i = indexOf(keys, key, h);
+                    if (i >= 0)
+                        return vals[i];
+                }
+            } finally {
+                unlockRead(stamp);
+            }
+            long value = fn.applyAsLong(key);
+            stamp = writeLock();
+            try {
+                if (key == 0L) {
+                    if (hasZeroKey)
+                        return zeroValue;
+                    hasZeroKey = true;
+                    zeroValue = value;
+                    ++count;
+                }
+                else {
+                    int i = indexOf(keys, key, h);
+                    if (i >= 0)
+                        return vals[i];
+                    insert(~i, key, value);
+                }
+            } finally {
+                unlockWrite(stamp);
+            }
+            counter.increment();
+            return value;
+        }
+
+        long remove(long key, int h) {
+            long old;
+            long stamp = writeLock();
+            try {
+                if (key == 0L) {
+                    if (!hasZeroKey)
+                        return 0L;
+                    old = zeroValue;
+                    removeZeroKey();
+                }
+                else {
+                    int i = indexOf(keys, key, h);
+                    if (i < 0)
+                        return 0L;
+                    old = vals[i];
+                    delete(i);
+                }
+            } finally {
+                unlockWrite(stamp);
+            }
+            counter.decrement();
+            return old;
+        }
+
+        boolean remove(long key, int h, long expect) {
+            long stamp = writeLock();
+            try {
+                if (key == 0L) {
+                    if (!hasZeroKey || zeroValue != expect)
+                        return false;
+                    removeZeroKey();
+                }
+                else {
+                    int i = indexOf(keys, key, h);
+                    if (i < 0 || vals[i] != expect)
+                        return false;
+                    delete(i);
+                }
+            } finally {
+                unlockWrite(stamp);
+            }
+            counter.decrement();
+            return true;
+        }
+
+        boolean replace(long key, int h, long expect, long value) {
+            long stamp = writeLock();
+            try {
+                if (key == 0L) {
+                    if (!hasZeroKey || zeroValue != expect)
+                        return false;
+                    zeroValue = value;
+                    return true;
+                }
+                int i = indexOf(keys, key, h);
+                if (i < 0 || vals[i] != expect)
+                    return false;
+                vals[i] = value;
+                return true;
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        void clear() {
+            int removed;
+            long stamp = writeLock();
+            try {
+                removed = count;
+                Arrays.fill(keys, 0L);
+                Arrays.fill(vals, 0L);
+                hasZeroKey = false;
+                zeroValue = 0L;
+                count = 0;
+            } finally {
+                unlockWrite(stamp);
+            }
+            if (removed != 0)
+                counter.add(-removed);
+        }
+
+        /**
+         * Returns the mappings of this section as alternating keys
+         * and values.
+         */
+        long[] snapshot() {
+            long stamp = readLock();
+            try {
+                long[] ks = keys, vs = vals, out = new long[count << 1];
+                int j = 0;
+                if (hasZeroKey) {
+                    out[j++] = 0L;
+                    out[j++] = zeroValue;
+                }
+                for (int i = 0; i < ks.length; ++i) {
+                    long k;
+                    if ((k = ks[i]) != 0L) {
+                        out[j++] = k;
+                        out[j++] = vs[i];
+                    }
+                }
+                return out;
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        private void removeZeroKey() {
+            hasZeroKey = false;
+            zeroValue = 0L;
+            --count;
+        }
+
+        private void insert(int i, long key, long value) {
+            if (count >= threshold && keys.length < MAXIMUM_SECTION_CAPACITY) {
+                rehash();
+                i = ~indexOf(keys, key, ConcurrentLongHashMap.spread(key));
+            }
+            else if (count + 1 >= keys.length)
+                throw new IllegalStateException("Section capacity exceeded");
+            vals[i] = value;
+            keys[i] = key;
+            ++count;
+        }
+
+        private void delete(int i) {
+            long[] ks = keys, vs = vals;
+            int mask = ks.length - 1;
+            int j = i;
+            for (;;) {
+                j = (j + 1) & mask;
+                long k;
+                if ((k = ks[j]) == 0L)
+                    break;
+                int home = ConcurrentLongHashMap.spread(k) & mask;
+                if ((j > i) ? (home <= i || home > j) : (home <= i && home > j)) {
+                    ks[i] = k;
+                    vs[i] = vs[j];
+                    i = j;
+                }
+            }
+            ks[i] = 0L;
+            vs[i] = 0L;
+            --count;
+        }
+
+        private void rehash() {
+            long[] oks = keys, ovs = vals;
+            int n = oks.length << 1, mask = n - 1;
+            long[] nks = new long[n], nvs = new long[n];
+            for (int j = 0; j < oks.length; ++j) {
+                long k;
+                if ((k = oks[j]) != 0L) {
+                    int i = ConcurrentLongHashMap.spread(k) & mask;
+                    while (nks[i] != 0L)
+                        i = (i + 1) & mask;
+                    nks[i] = k;
+                    nvs[i] = ovs[j];
+                }
+            }
+            vals = nvs;
+            keys = nks;
+            threshold = n - (n >>> 2);
+        }
+    }
+
+    /**
+     * Returns the slot holding the (nonzero) key, or the one's
+     * complement of the first free slot of its probe sequence if
+     * absent.
+     */
+    static int indexOf(long[] ks, long key, int h) {
+        int mask = ks.length - 1;
+        int i = h & mask;
+        for (int n = 0; n <= mask; ++n) {
+            long k;
+            if ((k = ks[i]) == key)
+                return i;
+            if (k == 0L)
+                return ~i;
+            i = (i + 1) & mask;
+        }
+        return ~i; // only reachable by a racing optimistic reader
+    }
+}
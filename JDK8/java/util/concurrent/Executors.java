@@ -91,6 +91,48 @@ public class Executors {
                                       new LinkedBlockingQueue<Runnable>());
     }
 
+    /**
+     * Creates a thread pool that reuses a fixed number of threads
+     * operating off a {@link StripedBlockingQueue}, in which each
+     * thread submitting or executing tasks mostly uses a queue stripe
+     * of its own and idle threads steal from the other stripes.  This
+     * avoids the single queue lock of {@link #newFixedThreadPool(int)}
+     * when many threads submit short tasks at a high rate, at the
+     * cost of not executing tasks from different submitters in FIFO
+     * order.  In all other respects the returned pool behaves as one
+     * returned by {@code newFixedThreadPool(nThreads)}.
+     *
+     * @param nThreads the number of threads in the pool
+     * @return the newly created thread pool
+     * @throws IllegalArgumentException if {@code nThreads <= 0}
+     * @since 1.8
+     */
+    public static ExecutorService newStripedThreadPool(int nThreads) {
+        return new ThreadPoolExecutor(nThreads, nThreads,
+                                      0L, TimeUnit.MILLISECONDS,
+                                      new StripedBlockingQueue<Runnable>(nThreads));
+    }
+
+    /**
+     * Creates a thread pool that reuses a fixed number of threads
+     * operating off a {@link StripedBlockingQueue}, using the provided
+     * ThreadFactory to create new threads when needed.
+     *
+     * @param nThreads the number of threads in the pool
+     * @param threadFactory the factory to use when creating new threads
+     * @return the newly created thread pool
+     * @throws NullPointerException if threadFactory is null
+     * @throws IllegalArgumentException if {@code nThreads <= 0}
+     * @see #newStripedThreadPool(int)
+     * @since 1.8
+     */
+    public static ExecutorService newStripedThreadPool(int nThreads, ThreadFactory threadFactory) {
+        return new ThreadPoolExecutor(nThreads, nThreads,
+                                      0L, TimeUnit.MILLISECONDS,
+                                      new StripedBlockingQueue<Runnable>(nThreads),
+                                      threadFactory);
+    }
+
     /**
      * Creates a thread pool that maintains enough threads to support
      * the given parallelism level, and may use multiple queues to
@@ -199,9 +199,15 @@ public class ScheduledThreadPoolExecutor
 
         /**
          * Index into delay queue, to support faster cancellation.
+         * A TimingWheelQueue sets it to 0 while the task is queued.
          */
         int heapIndex;
 
+        /**
+         * Node in a TimingWheelQueue, to support O(1) cancellation.
+         */
+        TimingWheelQueue.Node wheelNode;
+
         /**
          * Creates a one-shot action with given nanoTime-based trigger time.
          */
@@ -486,6 +492,71 @@ public class ScheduledThreadPoolExecutor
               new DelayedWorkQueue(), threadFactory, handler);
     }
 
+    /**
+     * Creates a new {@code ScheduledThreadPoolExecutor} with the
+     * given core pool size whose work queue is a hierarchical hashed
+     * timing wheel with the given tick duration, in place of the
+     * default binary heap.
+     *
+     * <p>Scheduling, cancelling and expiring a task with a timing
+     * wheel take constant time regardless of the number of queued
+     * tasks, which suits executors holding very many short-lived
+     * timeouts.  In exchange, tasks become eligible to run at the
+     * first tick boundary at or after their trigger time, so they may
+     * run up to one tick late (never early), and tasks that become
+     * eligible in the same tick run in the order they were scheduled
+     * rather than by trigger time.  Such executors start with the
+     * {@linkplain #setRemoveOnCancelPolicy remove-on-cancel policy}
+     * enabled, since removal is cheap.
+     *
+     * @param corePoolSize the number of threads to keep in the pool, even
+     *        if they are idle, unless {@code allowCoreThreadTimeOut} is set
+     * @param tickDuration the resolution of the timing wheel
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @throws IllegalArgumentException if {@code corePoolSize < 0} or
+     *         {@code tickDuration <= 0}
+     * @throws NullPointerException if {@code unit} is null
+     * @since 1.8
+     */
+    public ScheduledThreadPoolExecutor(int corePoolSize,
+                                       long tickDuration,
+                                       TimeUnit unit) {
+        super(corePoolSize, Integer.MAX_VALUE, 0, NANOSECONDS,
+              new TimingWheelQueue(unit.toNanos(tickDuration)));
+        removeOnCancel = true;
+    }
+
+    /**
+     * Creates a new {@code ScheduledThreadPoolExecutor} with the
+     * given initial parameters, whose work queue is a hierarchical
+     * hashed timing wheel with the given tick duration.
+     *
+     * @param corePoolSize the number of threads to keep in the pool, even
+     *        if they are idle, unless {@code allowCoreThreadTimeOut} is set
+     * @param tickDuration the resolution of the timing wheel
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @param threadFactory the factory to use when the executor
+     *        creates a new thread
+     * @param handler the handler to use when execution is blocked
+     *        because the thread bounds and queue capacities are reached
+     * @throws IllegalArgumentException if {@code corePoolSize < 0} or
+     *         {@code tickDuration <= 0}
+     * @throws NullPointerException if {@code unit}, {@code threadFactory}
+     *         or {@code handler} is null
+     * @see #ScheduledThreadPoolExecutor(int, long, TimeUnit)
+     * @since 1.8
+     */
+    public ScheduledThreadPoolExecutor(int corePoolSize,
+                                       long tickDuration,
+                                       TimeUnit unit,
+                                       ThreadFactory threadFactory,
+                                       RejectedExecutionHandler handler) {
+        super(corePoolSize, Integer.MAX_VALUE, 0, NANOSECONDS,
+              new TimingWheelQueue(unit.toNanos(tickDuration)),
+              threadFactory, handler);
+        removeOnCancel = true;
+    }
+
     /**
      * Returns the trigger time of a delayed action.
      */
@@ -715,7 +786,8 @@ public class ScheduledThreadPoolExecutor
     /**
      * Sets the policy on whether cancelled tasks should be immediately
      * removed from the work queue at time of cancellation.  This value is
-     * by default {@code false}.
+     * by default {@code false}, except for executors constructed with a
+     * timing wheel tick duration.
      *
      * @param value if {@code true}, remove on cancellation, else don't
      * @see #getRemoveOnCancelPolicy
@@ -728,7 +800,8 @@ public class ScheduledThreadPoolExecutor
     /**
      * Gets the policy on whether cancelled tasks should be immediately
      * removed from the work queue at time of cancellation.  This value is
-     * by default {@code false}.
+     * by default {@code false}, except for executors constructed with a
+     * timing wheel tick duration.
      *
      * @return {@code true} if cancelled tasks are immediately removed
      *         from the queue
@@ -1280,4 +1353,582 @@ public class ScheduledThreadPoolExecutor
             }
         }
     }
+
+    /**
+     * Hierarchical hashed timing wheel, the work queue used when a
+     * tick duration is given to the constructor.  Like
+     * DelayedWorkQueue, it is declared as a BlockingQueue<Runnable>
+     * even though it can only hold RunnableScheduledFutures.
+     */
+    static class TimingWheelQueue extends AbstractQueue<Runnable>
+        implements BlockingQueue<Runnable> {
+
+        /*
+         * Time is divided into ticks of tickNanos, counted from the
+         * creation of the queue.  A task whose trigger time falls in
+         * tick t (rounded up, so a task never runs early) is linked
+         * into one of WHEEL_SIZE buckets of one of LEVELS wheels:
+         * level k holds tasks due within WHEEL_SIZE^(k+1) ticks of
+         * the current tick, hashed by bits [k*WHEEL_BITS,
+         * (k+1)*WHEEL_BITS) of t.  Tasks due even later are parked in
+         * the last bucket the top level can address and re-placed
+         * when it is reached.
+         *
+         * Each time the current tick crosses a multiple of
+         * WHEEL_SIZE^k, the level-k bucket for the new tick is
+         * cascaded: its tasks are re-placed into lower levels, now
+         * that they are closer.  The level-0 bucket of each tick is
+         * then moved in one step to the ready list, from which take
+         * and poll return tasks.  Every task is cascaded at most
+         * LEVELS - 1 times, so scheduling, cancelling and expiring a
+         * task are all O(1), unlike the O(log n) sift operations of
+         * DelayedWorkQueue.
+         *
+         * Buckets are circular doubly-linked lists headed by sentinel
+         * Nodes, so a node can unlink itself without knowing its
+         * bucket.  ScheduledFutureTasks record their node (and set
+         * heapIndex to 0 while queued) so that cancellation with
+         * removeOnCancel set removes them eagerly; other
+         * RunnableScheduledFutures fall back to linear search, as in
+         * DelayedWorkQueue.
+         *
+         * Waiting follows the same Leader-Follower scheme as
+         * DelayedWorkQueue, except that the leader sleeps until the
+         * next tick that has work (an expiring level-0 bucket or a
+         * cascade), not until the trigger time of the earliest task.
+         */
+
+        private static final int WHEEL_BITS = 6;
+        private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+        private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+        private static final int LEVELS = 4;
+
+        /** Ticks addressable by the top level wheel */
+        private static final long MAX_SPAN = 1L << (WHEEL_BITS * LEVELS);
+
+        /**
+         * A linked queue entry, or the sentinel of a bucket.
+         */
+        static final class Node {
+            final RunnableScheduledFuture<?> task;
+            final TimingWheelQueue queue;
+            long deadline;      // trigger tick
+            Node prev, next;
+
+            Node(RunnableScheduledFuture<?> task, TimingWheelQueue queue) {
+                this.task = task;
+                this.queue = queue;
+                this.prev = this.next = this;
+            }
+
+            boolean isEmpty() {
+                return next == this;
+            }
+
+            /** Links n at the tail of this sentinel's list. */
+            void append(Node n) {
+                Node p = prev;
+                n.prev = p;
+                n.next = this;
+                p.next = n;
+                prev = n;
+            }
+
+            /** Unlinks this node from whatever list it is in. */
+            void unlink() {
+                next.prev = prev;
+                prev.next = next;
+                prev = next = null;
+            }
+        }
+
+        private final long tickNanos;
+        private final long origin;
+        private final Node[][] wheels = new Node[LEVELS][WHEEL_SIZE];
+        private final Node ready = new Node(null, this);
+        private long currentTick;
+        private int wheelCount;     // nodes in wheels, not ready
+        private final ReentrantLock lock = new ReentrantLock();
+        private int size = 0;
+
+        /**
+         * Thread designated to wait for the next tick with work.
+         * See DelayedWorkQueue.leader.
+         */
+        private Thread leader = null;
+
+        /**
+         * The tick the leader is waiting for.  An insertion due
+         * earlier invalidates the leader.
+         */
+        private long leaderTick;
+
+        /**
+         * Condition signalled when a task becomes ready earlier than
+         * the leader expects or a new thread may need to become
+         * leader.
+         */
+        private final Condition available = lock.newCondition();
+
+        TimingWheelQueue(long tickNanos) {
+            if (tickNanos <= 0)
+                throw new IllegalArgumentException();
+            this.tickNanos = tickNanos;
+            this.origin = System.nanoTime();
+            for (Node[] wheel : wheels)
+                for (int i = 0; i < WHEEL_SIZE; ++i)
+                    wheel[i] = new Node(null, this);
+        }
+
+        /**
+         * Returns the tick at which a task with the given delay may
+         * run.  The delay is used rather than the trigger time, which
+         * wraps around for delays near Long.MAX_VALUE; ticks beyond
+         * the range of nanoTime saturate rather than overflow into
+         * the past.
+         */
+        private long tickFor(long delay) {
+            if (delay <= 0L)
+                return 0L;
+            long elapsed = System.nanoTime() - origin;
+            long d = (delay > Long.MAX_VALUE - elapsed) ?
+                Long.MAX_VALUE : elapsed + delay;
+            long tick = d / tickNanos;
+            return (d % tickNanos == 0L) ? tick : tick + 1;
+        }
+
+        /**
+         * Links n into the ready list or the bucket for its deadline.
+         * Call only when holding lock.
+         */
+        private void place(Node n) {
+            long t = n.deadline, delta = t - currentTick;
+            if (delta <= 0L) {
+                ready.append(n);
+                return;
+            }
+            ++wheelCount;
+            if (delta >= MAX_SPAN)
+                t = currentTick + MAX_SPAN - 1;  // re-placed on cascade
+            int level = 0;
+            while (level < LEVELS - 1 &&
+                   (t - currentTick) >= (1L << (WHEEL_BITS * (level + 1))))
+                ++level;
+            wheels[level][(int)(t >>> (WHEEL_BITS * level)) & WHEEL_MASK].append(n);
+        }
+
+        /**
+         * Advances the current tick to the given tick, cascading
+         * buckets and moving expired ones to the ready list.  Call
+         * only when holding lock.
+         */
+        private void advanceTo(long tick) {
+            if (wheelCount == 0) {
+                if (tick > currentTick)
+                    currentTick = tick;     // nothing to cascade or expire
+                return;
+            }
+            while (currentTick < tick) {
+                long t = ++currentTick;
+                if (((int)t & WHEEL_MASK) == 0) {
+                    int top = 1;
+                    while (top < LEVELS - 1 &&
+                           ((t >>> (WHEEL_BITS * top)) & WHEEL_MASK) == 0)
+                        ++top;
+                    for (int level = top; level > 0; --level)
+                        cascade(wheels[level][(int)(t >>> (WHEEL_BITS * level)) & WHEEL_MASK]);
+                }
+                cascade(wheels[0][(int)t & WHEEL_MASK]); // all now ready
+            }
+        }
+
+        /**
+         * Re-places all nodes of the given bucket.
+         */
+        private void cascade(Node b) {
+            Node p = b.next;
+            if (p == b)
+                return;
+            b.next = b.prev = b;
+            while (p != b) {
+                Node next = p.next;
+                --wheelCount;
+                place(p);
+                p = next;
+            }
+        }
+
+        /**
+         * Returns the next tick after the current one at which
+         * advanceTo will do work: a nonempty level-0 bucket or a
+         * cascade.  Call only when holding lock.
+         */
+        private long nextWorkTick() {
+            long t = currentTick;
+            for (;;) {
+                ++t;
+                if (((int)t & WHEEL_MASK) == 0 ||
+                    !wheels[0][(int)t & WHEEL_MASK].isEmpty())
+                    return t;
+            }
+        }
+
+        /**
+         * Returns the nanoseconds to wait until the given tick.
+         */
+        private long nanosUntil(long tick) {
+            return origin + tick * tickNanos - System.nanoTime();
+        }
+
+        /**
+         * Brings the wheel up to date and returns the first ready
+         * task, or null if none.  Call only when holding lock.
+         */
+        private RunnableScheduledFuture<?> pollReady() {
+            advanceTo((System.nanoTime() - origin) / tickNanos);
+            Node n = ready.next;
+            if (n == ready)
+                return null;
+            return finishPoll(n);
+        }
+
+        /**
+         * Unlinks n and clears its task's queue bookkeeping.  Call
+         * only when holding lock.
+         */
+        private RunnableScheduledFuture<?> finishPoll(Node n) {
+            if (n.deadline > currentTick)
+                --wheelCount;
+            n.unlink();
+            --size;
+            RunnableScheduledFuture<?> t = n.task;
+            if (t instanceof ScheduledFutureTask) {
+                ScheduledFutureTask<?> f = (ScheduledFutureTask<?>)t;
+                f.wheelNode = null;
+                f.heapIndex = -1;
+            }
+            return t;
+        }
+
+        /**
+         * Finds the node of the given task, or null if absent.  Call
+         * only when holding lock.
+         */
+        private Node nodeOf(Object x) {
+            if (x != null) {
+                if (x instanceof ScheduledFutureTask) {
+                    Node n = ((ScheduledFutureTask<?>)x).wheelNode;
+                    // Sanity check; x could be from some other pool
+                    return (n != null && n.queue == this && n.task == x) ? n : null;
+                }
+                Node n = find(ready, x);
+                for (int l = 0; n == null && l < LEVELS; ++l)
+                    for (int i = 0; n == null && i < WHEEL_SIZE; ++i)
+                        n = find(wheels[l][i], x);
+                return n;
+            }
+            return null;
+        }
+
+        private static Node find(Node b, Object x) {
+            for (Node p = b.next; p != b; p = p.next)
+                if (x.equals(p.task))
+                    return p;
+            return null;
+        }
+
+        /**
+         * Appends the tasks of all queued nodes to the given list.
+         */
+        private void collect(List<Object> list) {
+            for (Node p = ready.next; p != ready; p = p.next)
+                list.add(p.task);
+            for (Node[] wheel : wheels)
+                for (Node b : wheel)
+                    for (Node p = b.next; p != b; p = p.next)
+                        list.add(p.task);
+        }
+
+        public boolean contains(Object x) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                return nodeOf(x) != null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean remove(Object x) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                Node n = nodeOf(x);
+                if (n == null)
+                    return false;
+                finishPoll(n);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int size() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        public int remainingCapacity() {
+            return Integer.MAX_VALUE;
+        }
+
+        /**
+         * Returns a ready task if there is one, else some queued task
+         * that is not necessarily the next to become ready, else null.
+         */
+        public RunnableScheduledFuture<?> peek() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                advanceTo((System.nanoTime() - origin) / tickNanos);
+                if (ready.next != ready)
+                    return ready.next.task;
+                for (Node[] wheel : wheels)
+                    for (Node b : wheel)
+                        if (!b.isEmpty())
+                            return b.next.task;
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean offer(Runnable x) {
+            if (x == null)
+                throw new NullPointerException();
+            RunnableScheduledFuture<?> e = (RunnableScheduledFuture<?>)x;
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                Node n = new Node(e, this);
+                n.deadline = tickFor(e.getDelay(NANOSECONDS));
+                if (e instanceof ScheduledFutureTask) {
+                    ScheduledFutureTask<?> f = (ScheduledFutureTask<?>)e;
+                    f.wheelNode = n;
+                    f.heapIndex = 0;
+                }
+                place(n);
+                ++size;
+                if (leader == null || n.deadline < leaderTick) {
+                    leader = null;
+                    available.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return true;
+        }
+
+        public void put(Runnable e) {
+            offer(e);
+        }
+
+        public boolean add(Runnable e) {
+            return offer(e);
+        }
+
+        public boolean offer(Runnable e, long timeout, TimeUnit unit) {
+            return offer(e);
+        }
+
+        public RunnableScheduledFuture<?> poll() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                return pollReady();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public RunnableScheduledFuture<?> take() throws InterruptedException {
+            final ReentrantLock lock = this.lock;
+            lock.lockInterruptibly();
+            try {
+                for (;;) {
+                    RunnableScheduledFuture<?> first = pollReady();
+                    if (first != null)
+                        return first;
+                    if (size == 0 || leader != null)
+                        available.await();
+                    else {
+                        Thread thisThread = Thread.currentThread();
+                        leader = thisThread;
+                        leaderTick = nextWorkTick();
+                        try {
+                            available.awaitNanos(nanosUntil(leaderTick));
+                        } finally {
+                            if (leader == thisThread)
+                                leader = null;
+                        }
+                    }
+                }
+            } finally {
+                if (leader == null && size != 0)
+                    available.signal();
+                lock.unlock();
+            }
+        }
+
+        public RunnableScheduledFuture<?> poll(long timeout, TimeUnit unit)
+            throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            final ReentrantLock lock = this.lock;
+            lock.lockInterruptibly();
+            try {
+                for (;;) {
+                    RunnableScheduledFuture<?> first = pollReady();
+                    if (first != null)
+                        return first;
+                    if (nanos <= 0)
+                        return null;
+                    if (size == 0 || leader != null)
+                        nanos = available.awaitNanos(nanos);
+                    else {
+                        long tick = nextWorkTick();
+                        long delay = nanosUntil(tick);
+                        if (nanos < delay)
+                            nanos = available.awaitNanos(nanos);
+                        else {
+                            Thread thisThread = Thread.currentThread();
+                            leader = thisThread;
+                            leaderTick = tick;
+                            try {
+                                long timeLeft = available.awaitNanos(delay);
+                                nanos -= delay - timeLeft;
+                            } finally {
+                                if (leader == thisThread)
+                                    leader = null;
+                            }
+                        }
+                    }
+                }
+            } finally {
+                if (leader == null && size != 0)
+                    available.signal();
+                lock.unlock();
+            }
+        }
+
+        public void clear() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                while (ready.next != ready)
+                    finishPoll(ready.next);
+                for (Node[] wheel : wheels)
+                    for (Node b : wheel)
+                        while (!b.isEmpty())
+                            finishPoll(b.next);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int drainTo(Collection<? super Runnable> c) {
+            return drainTo(c, Integer.MAX_VALUE);
+        }
+
+        public int drainTo(Collection<? super Runnable> c, int maxElements) {
+            if (c == null)
+                throw new NullPointerException();
+            if (c == this)
+                throw new IllegalArgumentException();
+            if (maxElements <= 0)
+                return 0;
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                advanceTo((System.nanoTime() - origin) / tickNanos);
+                int n = 0;
+                Node first;
+                while (n < maxElements && (first = ready.next) != ready) {
+                    c.add(first.task);   // In this order, in case add() throws.
+                    finishPoll(first);
+                    ++n;
+                }
+                return n;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public Object[] toArray() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                List<Object> list = new ArrayList<>(size);
+                collect(list);
+                return list.toArray();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public <T> T[] toArray(T[] a) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                List<Object> list = new ArrayList<>(size);
+                collect(list);
+                return list.toArray(a);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public Iterator<Runnable> iterator() {
+            return new Itr(toArray());
+        }
+
+        /**
+         * Snapshot iterator that works off a copy of the queued tasks.
+         */
+        private class Itr implements Iterator<Runnable> {
+            final Object[] array;
+            int cursor = 0;     // index of next element to return
+            int lastRet = -1;   // index of last element, or -1 if no such
+
+            Itr(Object[] array) {
+                this.array = array;
+            }
+
+            public boolean hasNext() {
+                return cursor < array.length;
+            }
+
+            public Runnable next() {
+                if (cursor >= array.length)
+                    throw new NoSuchElementException();
+                lastRet = cursor;
+                return (Runnable)array[cursor++];
+            }
+
+            public void remove() {
+                if (lastRet < 0)
+                    throw new IllegalStateException();
+                TimingWheelQueue.this.remove(array[lastRet]);
+                lastRet = -1;
+            }
+        }
+    }
 }
@@ -0,0 +1,549 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An optionally-bounded {@linkplain BlockingQueue blocking queue}
+ * split into several lock-free stripes, intended as the work queue of
+ * a {@link ThreadPoolExecutor} fed by many producer threads.
+ *
+ * <p>A {@link LinkedBlockingQueue} funnels every producer through its
+ * single {@code putLock} and every consumer through its {@code
+ * takeLock}.  This queue instead gives each thread a home stripe,
+ * chosen by the same per-thread probe that {@link ConcurrentHashMap}
+ * and {@link java.util.concurrent.atomic.LongAdder} use to spread
+ * contention.  Elements are inserted into the inserting thread's home
+ * stripe; removal first polls the removing thread's home stripe and
+ * otherwise steals from the others, in the manner of the work queues
+ * of {@link ForkJoinPool}.  Pool worker threads thus mostly consume
+ * from a queue of their own, and tasks submitted by a running task
+ * tend to be executed by the same worker.  Locking is only used to
+ * park consumers when the whole queue is empty (and producers when a
+ * bounded queue is full).
+ *
+ * <p>Because all {@code ThreadPoolExecutor} policy is expressed in
+ * terms of its work queue, using this queue retains that class's core
+ * and maximum pool sizing, {@link RejectedExecutionHandler} and
+ * {@code beforeExecute}/{@code afterExecute} hooks unchanged.  See
+ * {@link Executors#newStripedThreadPool(int)}.
+ *
+ * <p>This queue does not order elements FIFO overall: each stripe is
+ * FIFO, but elements inserted by different threads may be removed in
+ * any order.  Unless a capacity is given, the {@code size} method is
+ * not a constant-time operation, and is only an estimate in the
+ * presence of concurrent modification.  Iterators are <i>weakly
+ * consistent</i>.
+ *
+ * <p>This class and its iterator implement all of the
+ * <em>optional</em> methods of the {@link Collection} and {@link
+ * Iterator} interfaces.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @since 1.8
+ * @param <E> the type of elements held in this collection
+ */
+public class StripedBlockingQueue<E> extends AbstractQueue<E>
+        implements BlockingQueue<E>, java.io.Serializable {
+    private static final long serialVersionUID = 6470918263406233671L;
+
+    /*
+     * Each stripe is a ConcurrentLinkedQueue, so uncontended inserts
+     * and removals are a single CAS on a queue shared with few other
+     * threads.
+     *
+     * Parking uses a classic Dekker-style handshake: a consumer about
+     * to block increments the (volatile) waiter count under waitLock
+     * and then rescans all stripes before awaiting; a producer first
+     * inserts and then reads the waiter count, signalling under the
+     * lock only if it is nonzero.  Either the rescan sees the new
+     * element or the producer sees the waiter, so no wakeup is lost,
+     * and the common case of busy consumers never touches the lock.
+     *
+     * Bounded queues additionally reserve a slot in an AtomicInteger
+     * before inserting.  That counter is the only state shared by all
+     * producers, and it is absent in unbounded queues.
+     */
+
+    /**
+     * The largest number of stripes.
+     */
+    private static final int MAX_STRIPES = 1 << 16;
+
+    /** The stripes; length is a power of two. */
+    private final ConcurrentLinkedQueue<E>[] stripes;
+
+    /** The capacity bound, or Integer.MAX_VALUE if none */
+    private final int capacity;
+
+    /** Current number of elements, or null if unbounded */
+    private final AtomicInteger count;
+
+    /** Lock held by threads about to park */
+    private final ReentrantLock waitLock = new ReentrantLock();
+
+    /** Wait queue for waiting takes */
+    private final Condition notEmpty = waitLock.newCondition();
+
+    /** Wait queue for waiting puts */
+    private final Condition notFull = waitLock.newCondition();
+
+    /** Number of consumers parked or about to park on notEmpty */
+    private transient volatile int takeWaiters;
+
+    /** Number of producers parked or about to park on notFull */
+    private transient volatile int putWaiters;
+
+    /**
+     * Creates an unbounded {@code StripedBlockingQueue} with one
+     * stripe per available processor.
+     */
+    public StripedBlockingQueue() {
+        this(Runtime.getRuntime().availableProcessors(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an unbounded {@code StripedBlockingQueue} with enough
+     * stripes for the given number of concurrently active threads.
+     *
+     * @param parallelism the expected number of concurrently
+     *        inserting or removing threads
+     * @throws IllegalArgumentException if {@code parallelism} is not
+     *         greater than zero
+     */
+    public StripedBlockingQueue(int parallelism) {
+        this(parallelism, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a {@code StripedBlockingQueue} with enough stripes for
+     * the given number of concurrently active threads and the given
+     * (fixed) capacity.
+     *
+     * @param parallelism the expected number of concurrently
+     *        inserting or removing threads
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code parallelism} or
+     *         {@code capacity} is not greater than zero
+     */
+    @SuppressWarnings("unchecked")
+    public StripedBlockingQueue(int parallelism, int capacity) {
+        if (parallelism <= 0 || capacity <= 0)
+            throw new IllegalArgumentException();
+        int n = 1;
+        while (n < parallelism && n < MAX_STRIPES)
+            n <<= 1;
+        ConcurrentLinkedQueue<E>[] qs =
+            (ConcurrentLinkedQueue<E>[])new ConcurrentLinkedQueue<?>[n];
+        for (int i = 0; i < n; ++i)
+            qs[i] = new ConcurrentLinkedQueue<E>();
+        this.stripes = qs;
+        this.capacity = capacity;
+        this.count = (capacity == Integer.MAX_VALUE) ? null : new AtomicInteger();
+    }
+
+    /**
+     * Returns the probe-based home stripe index of the current thread.
+     */
+    private static int probe() {
+        int h;
+        if ((h = ThreadLocalRandom.getProbe()) == 0) {
+            ThreadLocalRandom.localInit();      // force initialization
+            h = ThreadLocalRandom.getProbe();
+        }
+        return h;
+    }
+
+    /**
+     * Signals a waiting take. Called only from put/offer.
+     */
+    private void signalNotEmpty() {
+        if (takeWaiters != 0) {
+            final ReentrantLock lock = this.waitLock;
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Accounts for a removed element, signalling a waiting put.
+     */
+    private void removed() {
+        if (count != null) {
+            count.getAndDecrement();
+            if (putWaiters != 0) {
+                final ReentrantLock lock = this.waitLock;
+                lock.lock();
+                try {
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves space for one element, returning false if full.
+     */
+    private boolean reserve() {
+        final AtomicInteger count = this.count;
+        if (count != null) {
+            for (int c;;) {
+                if ((c = count.get()) >= capacity)
+                    return false;
+                if (count.compareAndSet(c, c + 1))
+                    break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes an element from the home stripe of the current thread,
+     * else steals one from another stripe, else returns null.
+     */
+    private E scan() {
+        final ConcurrentLinkedQueue<E>[] qs = stripes;
+        int n = qs.length, h = probe();
+        for (int i = 0; i < n; ++i) {
+            E e;
+            if ((e = qs[(h + i) & (n - 1)].poll()) != null)
+                return e;
+        }
+        return null;
+    }
+
+    /**
+     * Inserts e, for which space has been reserved, into the current
+     * thread's stripe.
+     */
+    private void insert(E e) {
+        stripes[probe() & (stripes.length - 1)].offer(e);
+        signalNotEmpty();
+    }
+
+    /**
+     * Inserts the specified element at the tail of the current
+     * thread's stripe if it is possible to do so immediately without
+     * exceeding the queue's capacity, returning {@code true} upon
+     * success and {@code false} if this queue is full.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null) throw new NullPointerException();
+        if (!reserve())
+            return false;
+        insert(e);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element into this queue, waiting if
+     * necessary for space to become available.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public void put(E e) throws InterruptedException {
+        if (e == null) throw new NullPointerException();
+        if (!reserve()) {
+            final ReentrantLock lock = this.waitLock;
+            lock.lockInterruptibly();
+            try {
+                putWaiters++;
+                try {
+                    while (!reserve())
+                        notFull.await();
+                } finally {
+                    putWaiters--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        insert(e);
+    }
+
+    /**
+     * Inserts the specified element into this queue, waiting up to
+     * the specified wait time if necessary for space to become
+     * available.
+     *
+     * @return {@code true} if successful, or {@code false} if
+     *         the specified waiting time elapses before space is available
+     * @throws InterruptedException {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        if (e == null) throw new NullPointerException();
+        if (!reserve()) {
+            long nanos = unit.toNanos(timeout);
+            final ReentrantLock lock = this.waitLock;
+            lock.lockInterruptibly();
+            try {
+                putWaiters++;
+                try {
+                    while (!reserve()) {
+                        if (nanos <= 0L)
+                            return false;
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                } finally {
+                    putWaiters--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        insert(e);
+        return true;
+    }
+
+    public E poll() {
+        E e = scan();
+        if (e != null)
+            removed();
+        return e;
+    }
+
+    public E take() throws InterruptedException {
+        E e;
+        if ((e = poll()) != null)
+            return e;
+        final ReentrantLock lock = this.waitLock;
+        lock.lockInterruptibly();
+        try {
+            takeWaiters++;
+            try {
+                while ((e = poll()) == null)
+                    notEmpty.await();
+            } finally {
+                takeWaiters--;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return e;
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e;
+        if ((e = poll()) != null)
+            return e;
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.waitLock;
+        lock.lockInterruptibly();
+        try {
+            takeWaiters++;
+            try {
+                while ((e = poll()) == null) {
+                    if (nanos <= 0L)
+                        return null;
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+            } finally {
+                takeWaiters--;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return e;
+    }
+
+    public E peek() {
+        final ConcurrentLinkedQueue<E>[] qs = stripes;
+        int n = qs.length, h = probe();
+        for (int i = 0; i < n; ++i) {
+            E e;
+            if ((e = qs[(h + i) & (n - 1)].peek()) != null)
+                return e;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of elements in this queue.  Unless the
+     * queue is bounded, this requires a traversal of all stripes and
+     * is only an estimate under concurrent modification.
+     *
+     * @return the number of elements in this queue
+     */
+    public int size() {
+        if (count != null)
+            return count.get();
+        long n = 0L;
+        for (ConcurrentLinkedQueue<E> q : stripes)
+            n += q.size();
+        return (n >= Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int)n;
+    }
+
+    public boolean isEmpty() {
+        for (ConcurrentLinkedQueue<E> q : stripes) {
+            if (!q.isEmpty())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of additional elements that this queue can
+     * ideally (in the absence of memory or resource constraints)
+     * accept without blocking, or {@code Integer.MAX_VALUE} if it is
+     * unbounded.
+     */
+    public int remainingCapacity() {
+        return (count == null) ? Integer.MAX_VALUE : capacity - count.get();
+    }
+
+    /**
+     * Removes a single instance of the specified element from this
+     * queue, if it is present.
+     *
+     * @param o element to be removed from this queue, if present
+     * @return {@code true} if this queue changed as a result of the call
+     */
+    public boolean remove(Object o) {
+        if (o == null) return false;
+        for (ConcurrentLinkedQueue<E> q : stripes) {
+            if (q.remove(o)) {
+                removed();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        for (ConcurrentLinkedQueue<E> q : stripes) {
+            if (q.contains(o))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all of the elements from this queue.  Elements are
+     * polled one at a time, so this method is not atomic: other
+     * threads may observe the queue partially cleared, and elements
+     * inserted concurrently may or may not be removed.  The queue will
+     * be empty after this call returns, unless elements are
+     * concurrently inserted.
+     */
+    public void clear() {
+        while (poll() != null)
+            ;
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this)
+            throw new IllegalArgumentException();
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            ++n;
+        }
+        return n;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue, stripe by
+     * stripe.
+     *
+     * <p>The returned iterator is
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private int stripe;
+        private Iterator<E> it = stripes[0].iterator();
+        private E lastRet;
+
+        public boolean hasNext() {
+            while (!it.hasNext()) {
+                if (++stripe >= stripes.length)
+                    return false;
+                it = stripes[stripe].iterator();
+            }
+            return true;
+        }
+
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return lastRet = it.next();
+        }
+
+        public void remove() {
+            E e = lastRet;
+            if (e == null)
+                throw new IllegalStateException();
+            lastRet = null;
+            StripedBlockingQueue.this.remove(e);
+        }
+    }
+}
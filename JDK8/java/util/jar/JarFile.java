@@ -37,6 +37,7 @@ import java.security.cert.Certificate;
 import java.security.AccessController;
 import java.security.CodeSource;
 import sun.misc.IOUtils;
+import sun.misc.JavaUtilZipFileAccess;
 import sun.security.action.GetPropertyAction;
 import sun.security.util.ManifestEntryVerifier;
 import sun.misc.SharedSecrets;
@@ -74,6 +75,9 @@ class JarFile extends ZipFile {
     private JarVerifier jv;
     private boolean jvInitialized;
     private boolean verify;
+    // true if opened with OPEN_MAPPED, which reads the file without the
+    // native zip library
+    private final boolean mapped;
 
     // indicates if Class-Path attribute present (only valid if hasCheckedSpecialAttributes true)
     private boolean hasClassPathAttribute;
@@ -85,6 +89,9 @@ class JarFile extends ZipFile {
         SharedSecrets.setJavaUtilJarAccess(new JavaUtilJarAccessImpl());
     }
 
+    private static final JavaUtilZipFileAccess JUZFA =
+        SharedSecrets.getJavaUtilZipFileAccess();
+
     /**
      * The JAR manifest file name.
      */
@@ -149,7 +156,8 @@ class JarFile extends ZipFile {
     /**
      * Creates a new <code>JarFile</code> to read from the specified
      * <code>File</code> object in the specified mode.  The mode argument
-     * must be either <tt>OPEN_READ</tt> or <tt>OPEN_READ | OPEN_DELETE</tt>.
+     * must be <tt>OPEN_READ</tt>, optionally combined with
+     * <tt>OPEN_DELETE</tt> and <tt>OPEN_MAPPED</tt>.
      *
      * @param file the jar file to be opened for reading
      * @param verify whether or not to verify the jar file if
@@ -165,6 +173,7 @@ class JarFile extends ZipFile {
     public JarFile(File file, boolean verify, int mode) throws IOException {
         super(file, mode);
         this.verify = verify;
+        this.mapped = (mode & OPEN_MAPPED) != 0;
     }
 
     /**
@@ -206,6 +215,16 @@ class JarFile extends ZipFile {
 
     private native String[] getMetaInfEntryNames();
 
+    /*
+     * Returns the names of the "META-INF/" entries, or null if there are
+     * none.  A mapped jar file has no native zip file to read them from,
+     * so they are read from its mapped central directory instead.
+     */
+    private String[] metaInfEntryNames() {
+        return mapped ? JUZFA.getMetaInfEntryNames(this)
+                      : getMetaInfEntryNames();
+    }
+
     /**
      * Returns the <code>JarEntry</code> for the given entry name or
      * <code>null</code> if not found.
@@ -330,7 +349,7 @@ class JarFile extends ZipFile {
         }
 
         if (verify) {
-            String[] names = getMetaInfEntryNames();
+            String[] names = metaInfEntryNames();
             if (names != null) {
                 for (int i = 0; i < names.length; i++) {
                     String name = names[i].toUpperCase(Locale.ENGLISH);
@@ -362,7 +381,7 @@ class JarFile extends ZipFile {
 
         // Verify "META-INF/" entries...
         try {
-            String[] names = getMetaInfEntryNames();
+            String[] names = metaInfEntryNames();
             if (names != null) {
                 for (int i = 0; i < names.length; i++) {
                     String uname = names[i].toUpperCase(Locale.ENGLISH);
@@ -495,7 +514,7 @@ class JarFile extends ZipFile {
             if (manEntry == null) {
                 // If not found, then iterate through all the "META-INF/"
                 // entries to find a match.
-                String[] names = getMetaInfEntryNames();
+                String[] names = metaInfEntryNames();
                 if (names != null) {
                     for (int i = 0; i < names.length; i++) {
                         if (MANIFEST_NAME.equals(
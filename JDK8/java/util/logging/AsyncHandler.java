@@ -0,0 +1,560 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <tt>Handler</tt> that publishes records to a target <tt>Handler</tt>
+ * asynchronously, on a background thread.
+ * <p>
+ * Callers of <tt>publish</tt> only check the level and filter and
+ * place the <tt>LogRecord</tt> into a bounded, lock-free ring buffer.
+ * A single daemon thread drains the buffer in batches and publishes
+ * each record to the target, which does the formatting and I/O.  The
+ * target is flushed once per batch ("group flush") rather than after
+ * every record.  Request
+ * threads therefore neither serialize on the target's monitor nor
+ * wait for its I/O.
+ * <p>
+ * As the record is published on another thread, the caller's source
+ * class and method are inferred before the record is queued.  The
+ * parameters of the record are not copied, so objects passed as
+ * parameters should not be mutated after logging.
+ * <p>
+ * When the buffer is full, the <i>overflow policy</i> decides what
+ * happens to a new record:
+ * <ul>
+ * <li> {@link OverflowPolicy#BLOCK} waits until space is available
+ *      (the default); </li>
+ * <li> {@link OverflowPolicy#DROP} discards the record; </li>
+ * <li> {@link OverflowPolicy#DISCARD_BELOW_LEVEL} discards the record
+ *      if its level is below the <i>discard level</i>, and otherwise
+ *      waits for space. </li>
+ * </ul>
+ * Discarded records are counted.  The number of queued and discarded
+ * records of every open <tt>AsyncHandler</tt> is available through
+ * the {@link LoggingMXBean}.
+ * <p>
+ * <b>Configuration:</b>
+ * By default each <tt>AsyncHandler</tt> is initialized using the following
+ * <tt>LogManager</tt> configuration properties where <tt>&lt;handler-name&gt;</tt>
+ * refers to the fully-qualified class name of the handler.
+ * If properties are not defined
+ * (or have invalid values) then the specified default values are used.
+ * If no default value is defined then a RuntimeException is thrown.
+ * <ul>
+ * <li>   &lt;handler-name&gt;.level
+ *        specifies the level for the <tt>Handler</tt>
+ *        (defaults to <tt>Level.ALL</tt>). </li>
+ * <li>   &lt;handler-name&gt;.filter
+ *        specifies the name of a <tt>Filter</tt> class to use
+ *        (defaults to no <tt>Filter</tt>). </li>
+ * <li>   &lt;handler-name&gt;.size
+ *        defines the buffer size, rounded up to a power of two
+ *        (defaults to 8192). </li>
+ * <li>   &lt;handler-name&gt;.batch
+ *        defines the largest number of records published between
+ *        two flushes of the target (defaults to 256). </li>
+ * <li>   &lt;handler-name&gt;.overflow
+ *        defines the overflow policy, one of <tt>BLOCK</tt>,
+ *        <tt>DROP</tt> or <tt>DISCARD_BELOW_LEVEL</tt>
+ *        (defaults to <tt>BLOCK</tt>). </li>
+ * <li>   &lt;handler-name&gt;.discardLevel
+ *        defines the discard level (defaults to <tt>Level.WARNING</tt>). </li>
+ * <li>   &lt;handler-name&gt;.target
+ *        specifies the name of the target <tt>Handler </tt> class.
+ *        (no default). </li>
+ * </ul>
+ * <p>
+ * For example, the properties for {@code AsyncHandler} would be:
+ * <ul>
+ * <li>   java.util.logging.AsyncHandler.target=java.util.logging.FileHandler </li>
+ * <li>   java.util.logging.AsyncHandler.overflow=DISCARD_BELOW_LEVEL </li>
+ * </ul>
+ *
+ * @see MemoryHandler
+ * @since 1.8
+ */
+public class AsyncHandler extends Handler {
+
+    /**
+     * What to do with a record published while the buffer is full.
+     *
+     * @since 1.8
+     */
+    public enum OverflowPolicy {
+        /** Wait until there is room in the buffer. */
+        BLOCK,
+        /** Discard the record. */
+        DROP,
+        /** Discard records below the discard level, wait for the rest. */
+        DISCARD_BELOW_LEVEL
+    }
+
+    /*
+     * The buffer is a bounded multi-producer, single-consumer ring in
+     * the style of Vyukov's bounded queue: each slot carries a
+     * sequence number telling whether it is free for the producer
+     * ticket equal to it, or full for the consumer ticket one less.
+     * Producers claim a ticket by CAS on tail; only the drain thread
+     * advances head, so it needs no CAS.
+     *
+     * The drain thread parks when the buffer is empty.  Producers
+     * unpark it only if it announced that it is about to park, so an
+     * uncontended publish is one CAS and two volatile writes.
+     */
+
+    private static final int DEFAULT_SIZE = 8192;
+    private static final int DEFAULT_BATCH = 256;
+    private static final int MAX_SIZE = 1 << 30;
+
+    /** Nanoseconds a waiting producer or flusher parks between checks */
+    private static final long WAIT_NANOS = 100_000L;
+
+    /** All open handlers, for LoggingMXBean */
+    private static final Set<AsyncHandler> handlers =
+        ConcurrentHashMap.newKeySet();
+
+    /** Numbers the handlers so that their names are unique */
+    private static final AtomicInteger handlerCount = new AtomicInteger();
+
+    private Handler target;
+    private volatile OverflowPolicy overflowPolicy;
+    private volatile Level discardLevel;
+    private int batchSize;
+    private int mask;
+    private AtomicReferenceArray<LogRecord> buffer;
+    private AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean drainerParked;
+    private volatile boolean closed;
+    private volatile Thread drainer;
+    private String name;
+
+    // Private method to configure an AsyncHandler from LogManager
+    // properties and/or default values as specified in the class
+    // javadoc.  A positive size overrides the configured buffer size.
+    private void configure(int size) {
+        LogManager manager = LogManager.getLogManager();
+        String cname = getClass().getName();
+
+        if (size <= 0) {
+            size = manager.getIntProperty(cname + ".size", DEFAULT_SIZE);
+            if (size <= 0) {
+                size = DEFAULT_SIZE;
+            }
+        }
+        initBuffer(size);
+        batchSize = manager.getIntProperty(cname + ".batch", DEFAULT_BATCH);
+        if (batchSize <= 0) {
+            batchSize = DEFAULT_BATCH;
+        }
+        overflowPolicy = OverflowPolicy.BLOCK;
+        String policy = manager.getStringProperty(cname + ".overflow", null);
+        if (policy != null) {
+            try {
+                overflowPolicy = OverflowPolicy.valueOf(policy.trim());
+            } catch (IllegalArgumentException ex) {
+                // we use the default
+            }
+        }
+        discardLevel = manager.getLevelProperty(cname + ".discardLevel", Level.WARNING);
+        setLevel(manager.getLevelProperty(cname + ".level", Level.ALL));
+        setFilter(manager.getFilterProperty(cname + ".filter", null));
+    }
+
+    /**
+     * Create an <tt>AsyncHandler</tt> and configure it based on
+     * <tt>LogManager</tt> configuration properties.
+     */
+    public AsyncHandler() {
+        sealed = false;
+        configure(0);
+        sealed = true;
+
+        LogManager manager = LogManager.getLogManager();
+        String handlerName = getClass().getName();
+        String targetName = manager.getProperty(handlerName + ".target");
+        if (targetName == null) {
+            throw new RuntimeException("The handler " + handlerName
+                    + " does not specify a target");
+        }
+        Class<?> clz;
+        try {
+            clz = ClassLoader.getSystemClassLoader().loadClass(targetName);
+            target = (Handler) clz.newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("AsyncHandler can't load handler target \"" + targetName + "\"" , e);
+        }
+        start();
+    }
+
+    /**
+     * Create an <tt>AsyncHandler</tt>.
+     * <p>
+     * The <tt>AsyncHandler</tt> is configured based on <tt>LogManager</tt>
+     * properties (or their default values) except that the given
+     * buffer size and overflow policy are used.
+     *
+     * @param target  the Handler to which to publish output.
+     * @param size    the number of log records to buffer (must be greater
+     *                than zero); rounded up to a power of two
+     * @param overflowPolicy  what to do when the buffer is full
+     *
+     * @throws IllegalArgumentException if {@code size <= 0}
+     */
+    public AsyncHandler(Handler target, int size, OverflowPolicy overflowPolicy) {
+        if (target == null || overflowPolicy == null) {
+            throw new NullPointerException();
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        sealed = false;
+        configure(size);
+        sealed = true;
+        this.target = target;
+        this.overflowPolicy = overflowPolicy;
+        start();
+    }
+
+    private void initBuffer(int size) {
+        int n = 1;
+        while (n < size && n < MAX_SIZE) {
+            n <<= 1;
+        }
+        mask = n - 1;
+        buffer = new AtomicReferenceArray<>(n);
+        sequences = new AtomicLongArray(n);
+        for (int i = 0; i < n; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    private void start() {
+        name = getClass().getName() + "-" + handlerCount.incrementAndGet();
+        startDrainer();
+        handlers.add(this);
+    }
+
+    private void startDrainer() {
+        Thread t = new Thread(this::drain, name);
+        t.setDaemon(true);
+        drainer = t;
+        t.start();
+    }
+
+    /**
+     * Queue a <tt>LogRecord</tt> for publication by the target.
+     * <p>
+     * If the record is loggable by this handler, its caller is
+     * inferred and it is placed in the buffer, subject to the
+     * overflow policy if the buffer is full.
+     *
+     * @param  record  description of the log event. A null record is
+     *                 silently ignored and is not published
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        // Must be inferred on the logging thread, not the drainer
+        if (record.isReusable()) {
+            record = record.copy();
+        } else {
+            record.getSourceClassName();
+        }
+        while (!offer(record)) {
+            OverflowPolicy policy = overflowPolicy;
+            if (policy == OverflowPolicy.DROP ||
+                (policy == OverflowPolicy.DISCARD_BELOW_LEVEL &&
+                 record.getLevel().intValue() < discardLevel.intValue())) {
+                dropped.incrementAndGet();
+                return;
+            }
+            if (closed) {
+                return;
+            }
+            wakeDrainer();
+            LockSupport.parkNanos(this, WAIT_NANOS);
+        }
+        if (drainerParked) {
+            wakeDrainer();
+        }
+    }
+
+    private boolean offer(LogRecord record) {
+        final AtomicLongArray seqs = sequences;
+        for (;;) {
+            long t = tail.get();
+            int i = (int) t & mask;
+            long dif = seqs.get(i) - t;
+            if (dif == 0L) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    buffer.lazySet(i, record);
+                    seqs.set(i, t + 1);      // publishes the record
+                    return true;
+                }
+            } else if (dif < 0L) {
+                return false;                // full
+            }
+        }
+    }
+
+    /**
+     * Removes the next record, or returns null if none is ready.
+     * Called only by the drainer.
+     */
+    private LogRecord poll() {
+        long h = head;
+        int i = (int) h & mask;
+        if (sequences.get(i) != h + 1) {
+            return null;
+        }
+        LogRecord r = buffer.get(i);
+        buffer.lazySet(i, null);
+        sequences.set(i, h + mask + 1);      // frees the slot
+        head = h + 1;
+        return r;
+    }
+
+    private void wakeDrainer() {
+        drainerParked = false;
+        LockSupport.unpark(drainer);
+    }
+
+    private void drain() {
+        boolean done = false;
+        try {
+            drainRecords();
+            done = true;
+        } finally {
+            if (!done) {
+                // An Error escaped the target.  Drain on a new thread,
+                // so that producers waiting for space are not stranded,
+                // and let the Error terminate this one.
+                startDrainer();
+            }
+        }
+    }
+
+    private void drainRecords() {
+        for (;;) {
+            int n = 0;
+            LogRecord r;
+            while (n < batchSize && (r = poll()) != null) {
+                try {
+                    target.publish(r);
+                } catch (Exception ex) {
+                    reportError(null, ex, ErrorManager.WRITE_FAILURE);
+                }
+                n++;
+            }
+            if (n > 0) {
+                try {
+                    target.flush();          // group flush of this batch
+                } catch (Exception ex) {
+                    reportError(null, ex, ErrorManager.FLUSH_FAILURE);
+                }
+            }
+            if (closed && head == tail.get()) {
+                return;
+            }
+            drainerParked = true;
+            if (head == tail.get() && !closed) {
+                LockSupport.park(this);
+            }
+            drainerParked = false;
+        }
+    }
+
+    /**
+     * Waits until every record queued before this call has been
+     * published, then flushes the target <tt>Handler</tt>.
+     */
+    @Override
+    public void flush() {
+        if (Thread.currentThread() != drainer) {
+            long t = tail.get();
+            while (head < t && drainer.isAlive()) {
+                wakeDrainer();
+                LockSupport.parkNanos(this, WAIT_NANOS);
+            }
+        }
+        target.flush();
+    }
+
+    /**
+     * Close the <tt>Handler</tt> and free all associated resources.
+     * Records already queued are published first.  This will also
+     * close the target <tt>Handler</tt>.
+     *
+     * @exception  SecurityException  if a security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    @Override
+    public void close() throws SecurityException {
+        checkPermission();
+        closed = true;
+        handlers.remove(this);
+        wakeDrainer();
+        if (Thread.currentThread() != drainer) {
+            boolean interrupted = false;
+            while (drainer.isAlive()) {
+                try {
+                    drainer.join();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        target.close();
+        setLevel(Level.OFF);
+    }
+
+    /**
+     * Set the overflow policy.
+     *
+     * @param policy the new overflow policy
+     * @exception  SecurityException  if a security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    public void setOverflowPolicy(OverflowPolicy policy) throws SecurityException {
+        if (policy == null) {
+            throw new NullPointerException();
+        }
+        checkPermission();
+        overflowPolicy = policy;
+    }
+
+    /**
+     * Get the overflow policy.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Set the discard level.  Under the
+     * {@link OverflowPolicy#DISCARD_BELOW_LEVEL} policy, records below
+     * this level are discarded while the buffer is full.
+     *
+     * @param newLevel the new discard level
+     * @exception  SecurityException  if a security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    public void setDiscardLevel(Level newLevel) throws SecurityException {
+        if (newLevel == null) {
+            throw new NullPointerException();
+        }
+        checkPermission();
+        discardLevel = newLevel;
+    }
+
+    /**
+     * Get the discard level.
+     *
+     * @return the discard level
+     */
+    public Level getDiscardLevel() {
+        return discardLevel;
+    }
+
+    /**
+     * Returns the name under which this handler is reported by the
+     * {@link LoggingMXBean}.
+     *
+     * @return the handler name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of records waiting to be published.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        long n = tail.get() - head;
+        return (n <= 0L) ? 0 : (int) n;
+    }
+
+    /**
+     * Returns the capacity of the buffer.
+     *
+     * @return the buffer capacity
+     */
+    public int getQueueCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the number of records discarded because the buffer was
+     * full.
+     *
+     * @return the discarded record count
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // Management support for Logging
+
+    static List<String> getHandlerNames() {
+        List<String> names = new ArrayList<>();
+        for (AsyncHandler h : handlers) {
+            names.add(h.name);
+        }
+        return names;
+    }
+
+    static AsyncHandler getHandler(String name) {
+        for (AsyncHandler h : handlers) {
+            if (h.name.equals(name)) {
+                return h;
+            }
+        }
+        return null;
+    }
+}
@@ -42,6 +42,12 @@ package java.util.logging;
 
 public abstract class Formatter {
 
+    // The MessageFormat built by the last call to formatMessage that
+    // needed one, reused while the pattern and default locale stay
+    // the same.  Guarded by this.
+    private java.text.MessageFormat messageFormat;
+    private String messagePattern;
+
     /**
      * Construct a new formatter.
      */
@@ -135,7 +141,7 @@ public abstract class Formatter {
             // 1 of the first 4 parameters
             if (format.indexOf("{0") >= 0 || format.indexOf("{1") >=0 ||
                         format.indexOf("{2") >=0|| format.indexOf("{3") >=0) {
-                return java.text.MessageFormat.format(format, parameters);
+                return messageFormat(format).format(parameters);
             }
             return format;
 
@@ -144,4 +150,18 @@ public abstract class Formatter {
             return format;
         }
     }
+
+    // Returns a MessageFormat for the given pattern in the default
+    // locale, as java.text.MessageFormat.format would construct.
+    private java.text.MessageFormat messageFormat(String pattern) {
+        java.text.MessageFormat mf = messageFormat;
+        if (mf == null || !pattern.equals(messagePattern) ||
+                !mf.getLocale().equals(
+                    java.util.Locale.getDefault(java.util.Locale.Category.FORMAT))) {
+            mf = new java.text.MessageFormat(pattern);
+            messageFormat = mf;
+            messagePattern = pattern;
+        }
+        return mf;
+    }
 }
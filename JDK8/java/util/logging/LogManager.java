@@ -111,6 +111,12 @@ import sun.misc.SharedSecrets;
  * to false a Handler needs to be configured for this logger otherwise
  * no logging messages are delivered.
  *
+ * <li>A property "&lt;logger&gt;.reuseRecords". This defines a boolean
+ * value. When set to true the logger reuses a per-thread LogRecord for
+ * the records created by its convenience logging methods, see
+ * {@link Logger#setReuseRecords Logger.setReuseRecords}. By default
+ * records are not reused.
+ *
  * <li>A property "config".  This property is intended to allow
  * arbitrary configuration code to be run.  The property defines a
  * whitespace or comma separated list of class names.  A new instance will be
@@ -860,6 +866,9 @@ public class LogManager {
                             logger.setUseParentHandlers(false);
                         }
                     }
+                    if (owner.getBooleanProperty(name + ".reuseRecords", false)) {
+                        logger.setReuseRecords(true);
+                    }
                     return null;
                 }
             });
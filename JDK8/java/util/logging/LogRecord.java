@@ -141,6 +141,11 @@ public class LogRecord implements java.io.Serializable {
     private transient Object parameters[];
     private transient ResourceBundle resourceBundle;
 
+    // Set for the per-thread records that Logger reuses when record
+    // reuse is enabled; see Logger.setReuseRecords.
+    private transient boolean reusable;
+    private transient boolean inUse;
+
     /**
      * Returns the default value for a new LogRecord's threadID.
      */
@@ -186,6 +191,95 @@ public class LogRecord implements java.io.Serializable {
         needToInferCaller = true;
    }
 
+    // Private constructor used by copy().
+    private LogRecord(LogRecord r) {
+        level = r.level;
+        sequenceNumber = r.sequenceNumber;
+        sourceClassName = r.sourceClassName;
+        sourceMethodName = r.sourceMethodName;
+        message = r.message;
+        threadID = r.threadID;
+        millis = r.millis;
+        thrown = r.thrown;
+        loggerName = r.loggerName;
+        resourceBundleName = r.resourceBundleName;
+        needToInferCaller = r.needToInferCaller;
+        parameters = r.parameters;
+        resourceBundle = r.resourceBundle;
+    }
+
+    /**
+     * Creates a record that Logger may reinitialize and hand out again
+     * on the current thread.
+     */
+    static LogRecord newReusable() {
+        LogRecord r = new LogRecord(Level.OFF, null);
+        r.reusable = true;
+        return r;
+    }
+
+    /**
+     * Reinitializes this reusable record as if it had just been
+     * constructed with the given level and message, and marks it in use.
+     * Returns false, leaving the record untouched, if it is already in
+     * use further up the current thread's stack (a handler that logs
+     * while publishing, for instance).
+     */
+    boolean reinitialize(Level level, String msg) {
+        if (inUse) {
+            return false;
+        }
+        inUse = true;
+        this.level = level;
+        message = msg;
+        sequenceNumber = globalSequenceNumber.getAndIncrement();
+        threadID = defaultThreadID();
+        millis = System.currentTimeMillis();
+        needToInferCaller = true;
+        sourceClassName = null;
+        sourceMethodName = null;
+        thrown = null;
+        loggerName = null;
+        resourceBundleName = null;
+        parameters = null;
+        resourceBundle = null;
+        return true;
+    }
+
+    /**
+     * Returns this reusable record to its owning thread, dropping the
+     * references it holds so that they are not retained until the
+     * thread next logs.
+     */
+    void release() {
+        message = null;
+        thrown = null;
+        parameters = null;
+        resourceBundle = null;
+        inUse = false;
+    }
+
+    /**
+     * Returns true if this record may be reinitialized once the logging
+     * call that produced it returns.  Handlers that keep a record beyond
+     * the call to {@code publish} must retain {@link #copy} instead.
+     */
+    boolean isReusable() {
+        return reusable;
+    }
+
+    /**
+     * Returns a record with the same properties as this one that is
+     * never reused.  The caller is inferred first, while the logging
+     * call is still on the stack, since the copy will outlive it.
+     */
+    LogRecord copy() {
+        if (needToInferCaller) {
+            inferCaller();
+        }
+        return new LogRecord(this);
+    }
+
     /**
      * Get the source Logger's name.
      *
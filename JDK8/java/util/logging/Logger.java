@@ -259,6 +259,7 @@ public class Logger {
         new CopyOnWriteArrayList<>();
     private volatile LoggerBundle loggerBundle = NO_RESOURCE_BUNDLE;
     private volatile boolean useParentHandlers = true;
+    private volatile boolean reuseRecords;
     private volatile Filter filter;
     private boolean anonymous;
 
@@ -750,6 +751,43 @@ public class Logger {
         }
     }
 
+    // Per-thread records handed out by newLogRecord when record reuse
+    // is enabled.  Each thread owns exactly one; a nested logging call
+    // made while it is in use falls back to allocating.
+    private static final ThreadLocal<LogRecord> reusableRecords =
+        new ThreadLocal<LogRecord>() {
+            @Override
+            protected LogRecord initialValue() {
+                return LogRecord.newReusable();
+            }
+        };
+
+    // private support method for logging.
+    // Returns the calling thread's reusable record, reinitialized, if
+    // record reuse is enabled and the record is free, or a new record.
+    private LogRecord newLogRecord(Level level, String msg) {
+        if (reuseRecords) {
+            LogRecord lr = reusableRecords.get();
+            if (lr.reinitialize(level, msg)) {
+                return lr;
+            }
+        }
+        return new LogRecord(level, msg);
+    }
+
+    // private support method for logging.
+    // Logs a record obtained from newLogRecord, releasing it afterwards
+    // if it is the calling thread's reusable record.
+    private void logAndRelease(LogRecord lr) {
+        try {
+            log(lr);
+        } finally {
+            if (lr.isReusable()) {
+                lr.release();
+            }
+        }
+    }
+
     // private support method for logging.
     // We fill in the logger name, resource bundle name, and
     // resource bundle and then call "void log(LogRecord)".
@@ -762,7 +800,7 @@ public class Logger {
             lr.setResourceBundleName(ebname);
             lr.setResourceBundle(bundle);
         }
-        log(lr);
+        logAndRelease(lr);
     }
 
 
@@ -784,7 +822,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         doLog(lr);
     }
 
@@ -806,7 +844,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msgSupplier.get());
+        LogRecord lr = newLogRecord(level, msgSupplier.get());
         doLog(lr);
     }
 
@@ -825,7 +863,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         Object params[] = { param1 };
         lr.setParameters(params);
         doLog(lr);
@@ -846,7 +884,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setParameters(params);
         doLog(lr);
     }
@@ -871,7 +909,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setThrown(thrown);
         doLog(lr);
     }
@@ -899,7 +937,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msgSupplier.get());
+        LogRecord lr = newLogRecord(level, msgSupplier.get());
         lr.setThrown(thrown);
         doLog(lr);
     }
@@ -925,7 +963,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         doLog(lr);
@@ -952,7 +990,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msgSupplier.get());
+        LogRecord lr = newLogRecord(level, msgSupplier.get());
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         doLog(lr);
@@ -977,7 +1015,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         Object params[] = { param1 };
@@ -1004,7 +1042,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         lr.setParameters(params);
@@ -1035,7 +1073,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         lr.setThrown(thrown);
@@ -1069,7 +1107,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msgSupplier.get());
+        LogRecord lr = newLogRecord(level, msgSupplier.get());
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         lr.setThrown(thrown);
@@ -1090,7 +1128,7 @@ public class Logger {
             lr.setResourceBundleName(rbname);
             lr.setResourceBundle(findResourceBundle(rbname, false));
         }
-        log(lr);
+        logAndRelease(lr);
     }
 
     // Private support method for logging for "logrb" methods.
@@ -1100,7 +1138,7 @@ public class Logger {
             lr.setResourceBundleName(rb.getBaseBundleName());
             lr.setResourceBundle(rb);
         }
-        log(lr);
+        logAndRelease(lr);
     }
 
     /**
@@ -1131,7 +1169,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         doLog(lr, bundleName);
@@ -1166,7 +1204,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         Object params[] = { param1 };
@@ -1203,7 +1241,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         lr.setParameters(params);
@@ -1236,7 +1274,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         if (params != null && params.length != 0) {
@@ -1279,7 +1317,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         lr.setThrown(thrown);
@@ -1317,7 +1355,7 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newLogRecord(level, msg);
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         lr.setThrown(thrown);
@@ -1440,7 +1478,7 @@ public class Logger {
         if (!isLoggable(Level.FINER)) {
             return;
         }
-        LogRecord lr = new LogRecord(Level.FINER, "THROW");
+        LogRecord lr = newLogRecord(Level.FINER, "THROW");
         lr.setSourceClassName(sourceClass);
         lr.setSourceMethodName(sourceMethod);
         lr.setThrown(thrown);
@@ -1810,6 +1848,47 @@ public class Logger {
         return useParentHandlers;
     }
 
+    /**
+     * Specify whether or not this logger may reuse a per-thread
+     * LogRecord for the records that its convenience logging methods
+     * create.
+     * <p>
+     * When reuse is enabled, the {@code log}, {@code logp}, {@code logrb},
+     * {@code entering}, {@code exiting} and {@code throwing} methods fill
+     * in a LogRecord owned by the calling thread instead of allocating a
+     * new one, and reinitialize it on that thread's next logging call.
+     * The Handlers in this package that keep records beyond
+     * {@link Handler#publish publish}, such as {@link MemoryHandler} and
+     * {@link AsyncHandler}, retain a copy instead.  Reuse should only
+     * be enabled when any other Handler, Filter or {@code log(LogRecord)}
+     * override that receives records from this logger does not retain
+     * them either.
+     * <p>
+     * Records passed directly to {@link #log(LogRecord)} are never
+     * reused.  Reuse is disabled by default.
+     *
+     * @param reuseRecords   true if this logger may reuse log records.
+     * @throws  SecurityException if a security manager exists,
+     *          this logger is not anonymous, and the caller
+     *          does not have LoggingPermission("control").
+     * @since 1.8
+     */
+    public void setReuseRecords(boolean reuseRecords) {
+        checkPermission();
+        this.reuseRecords = reuseRecords;
+    }
+
+    /**
+     * Discover whether or not this logger reuses per-thread log records.
+     *
+     * @return  true if this logger may reuse log records
+     * @see #setReuseRecords
+     * @since 1.8
+     */
+    public boolean getReuseRecords() {
+        return reuseRecords;
+    }
+
     private static ResourceBundle findSystemResourceBundle(final Locale locale) {
         // the resource bundle is in a restricted package
         return AccessController.doPrivileged(new PrivilegedAction<ResourceBundle>() {
@@ -116,4 +116,18 @@ class Logging implements LoggingMXBean {
             return p.getName();
         }
     }
+
+    public List<String> getAsyncHandlerNames() {
+        return AsyncHandler.getHandlerNames();
+    }
+
+    public int getAsyncHandlerQueueDepth(String handlerName) {
+        AsyncHandler h = AsyncHandler.getHandler(handlerName);
+        return (h == null) ? -1 : h.getQueueDepth();
+    }
+
+    public long getAsyncHandlerDroppedCount(String handlerName) {
+        AsyncHandler h = AsyncHandler.getHandler(handlerName);
+        return (h == null) ? -1L : h.getDroppedCount();
+    }
 }
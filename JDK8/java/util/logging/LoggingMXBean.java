@@ -136,4 +136,49 @@ public interface LoggingMXBean {
      *         is returned.
      */
     public String getParentLoggerName(String loggerName);
+
+    /**
+     * Returns the names of the currently open {@link AsyncHandler}s.
+     *
+     * @return A list of <tt>String</tt> each of which is the
+     *         {@linkplain AsyncHandler#getName name} of an open
+     *         <tt>AsyncHandler</tt>.
+     *
+     * @since 1.8
+     */
+    public default java.util.List<String> getAsyncHandlerNames() {
+        return java.util.Collections.emptyList();
+    }
+
+    /**
+     * Returns the number of records queued in the specified
+     * {@link AsyncHandler} and not yet published to its target.
+     *
+     * @param handlerName The name of an <tt>AsyncHandler</tt>.
+     *
+     * @return the queue depth of the specified handler, or -1 if
+     *         no such handler is open.
+     *
+     * @see AsyncHandler#getQueueDepth
+     * @since 1.8
+     */
+    public default int getAsyncHandlerQueueDepth(String handlerName) {
+        return -1;
+    }
+
+    /**
+     * Returns the number of records discarded by the specified
+     * {@link AsyncHandler} because its buffer was full.
+     *
+     * @param handlerName The name of an <tt>AsyncHandler</tt>.
+     *
+     * @return the discarded record count of the specified handler,
+     *         or -1 if no such handler is open.
+     *
+     * @see AsyncHandler#getDroppedCount
+     * @since 1.8
+     */
+    public default long getAsyncHandlerDroppedCount(String handlerName) {
+        return -1L;
+    }
 }
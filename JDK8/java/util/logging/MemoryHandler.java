@@ -194,7 +194,7 @@ public class MemoryHandler extends Handler {
             return;
         }
         int ix = (start+count)%buffer.length;
-        buffer[ix] = record;
+        buffer[ix] = record.isReusable() ? record.copy() : record;
         if (count < buffer.length) {
             count++;
         } else {
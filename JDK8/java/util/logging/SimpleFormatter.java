@@ -28,7 +28,13 @@ package java.util.logging;
 
 import java.io.*;
 import java.text.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import sun.util.logging.LoggingSupport;
 
 /**
@@ -60,7 +66,17 @@ public class SimpleFormatter extends Formatter {
 
     // format string for printing the log record
     private static final String format = LoggingSupport.getSimpleFormat();
+    // the format string split up front, or null if it must be
+    // formatted with String.format every time
+    private static final CompiledFormat compiledFormat =
+        CompiledFormat.compile(format);
+    // largest output whose buffer is kept for the next record
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
     private final Date dat = new Date();
+    private final Object[] args = new Object[6];
+    private StringBuilder buf;
+    private java.util.Formatter formatter;
 
     /**
      * Format the given LogRecord.
@@ -138,19 +154,24 @@ public class SimpleFormatter extends Formatter {
      * @return a formatted log record
      */
     public synchronized String format(LogRecord record) {
+        final CompiledFormat cf = compiledFormat;
         dat.setTime(record.getMillis());
-        String source;
-        if (record.getSourceClassName() != null) {
-            source = record.getSourceClassName();
-            if (record.getSourceMethodName() != null) {
-               source += " " + record.getSourceMethodName();
+        // The source is only looked up if the format prints it, so that
+        // the caller is not inferred for records that never show it.
+        String source = null;
+        if (cf == null || cf.uses(2)) {
+            if (record.getSourceClassName() != null) {
+                source = record.getSourceClassName();
+                if (record.getSourceMethodName() != null) {
+                   source += " " + record.getSourceMethodName();
+                }
+            } else {
+                source = record.getLoggerName();
             }
-        } else {
-            source = record.getLoggerName();
         }
         String message = formatMessage(record);
         String throwable = "";
-        if (record.getThrown() != null) {
+        if ((cf == null || cf.uses(6)) && record.getThrown() != null) {
             StringWriter sw = new StringWriter();
             PrintWriter pw = new PrintWriter(sw);
             pw.println();
@@ -158,12 +179,165 @@ public class SimpleFormatter extends Formatter {
             pw.close();
             throwable = sw.toString();
         }
-        return String.format(format,
-                             dat,
-                             source,
-                             record.getLoggerName(),
-                             record.getLevel().getLocalizedLevelName(),
-                             message,
-                             throwable);
+        if (cf == null) {
+            return String.format(format,
+                                 dat,
+                                 source,
+                                 record.getLoggerName(),
+                                 record.getLevel().getLocalizedLevelName(),
+                                 message,
+                                 throwable);
+        }
+        final Object[] a = args;
+        a[0] = dat;
+        a[1] = source;
+        a[2] = record.getLoggerName();
+        a[3] = record.getLevel().getLocalizedLevelName();
+        a[4] = message;
+        a[5] = throwable;
+        try {
+            return cf.format(a, this);
+        } finally {
+            Arrays.fill(a, 1, a.length, null);
+        }
+    }
+
+    // Returns the buffer that the compiled format writes into, emptied.
+    private StringBuilder buffer() {
+        StringBuilder sb = buf;
+        if (sb == null || sb.capacity() > MAX_RETAINED_CAPACITY) {
+            buf = sb = new StringBuilder(256);
+            formatter = null;
+        }
+        sb.setLength(0);
+        return sb;
+    }
+
+    // Returns a java.util.Formatter writing into the current buffer
+    // for the default format locale, as String.format would use.
+    private java.util.Formatter formatter() {
+        Locale l = Locale.getDefault(Locale.Category.FORMAT);
+        java.util.Formatter f = formatter;
+        if (f == null || f.locale() != l) {
+            formatter = f = new java.util.Formatter(buf, l);
+        }
+        return f;
+    }
+
+    /**
+     * A format string split into literal text and conversions, each of
+     * which names its argument explicitly.  Plain {@code %n$s}
+     * conversions are appended directly and any other conversion is
+     * compiled into a {@link java.util.Formatter.Template}, so that the
+     * format string is parsed once rather than on every record.
+     */
+    private static final class CompiledFormat {
+        // Same as the format specifier syntax used by java.util.Formatter
+        private static final Pattern SPECIFIER = Pattern.compile(
+            "%(\\d+\\$)?([-#+ 0,(\\<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+
+        // For each part: the literal in literals if index is 0, otherwise
+        // the conversion in templates to apply to args[index - 1], or
+        // null for %s.
+        private final String[] literals;
+        private final java.util.Formatter.Template[] templates;
+        private final int[] indexes;
+        private final int used;
+
+        private CompiledFormat(String[] literals,
+                               java.util.Formatter.Template[] templates,
+                               int[] indexes, int used) {
+            this.literals = literals;
+            this.templates = templates;
+            this.indexes = indexes;
+            this.used = used;
+        }
+
+        /**
+         * Returns the compiled form of the given valid format string, or
+         * null if it uses ordinary or relative indexing, which cannot be
+         * split into independent conversions.
+         */
+        static CompiledFormat compile(String format) {
+            List<String> literals = new ArrayList<>();
+            List<java.util.Formatter.Template> templates = new ArrayList<>();
+            List<Integer> indexes = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int used = 0;
+            int i = 0;
+            Matcher m = SPECIFIER.matcher(format);
+            while (m.find()) {
+                literal.append(format, i, m.start());
+                i = m.end();
+                char c = m.group(6).charAt(0);
+                boolean plain = m.group(2).isEmpty() && m.group(3) == null
+                    && m.group(4) == null && m.group(5) == null;
+                if (c == '%' || c == 'n') {
+                    if (m.group(1) != null || !plain) {
+                        return null;
+                    }
+                    literal.append(c == '%' ? "%" : System.lineSeparator());
+                    continue;
+                }
+                String index = m.group(1);
+                if (index == null) {
+                    return null;
+                }
+                int n = Integer.parseInt(index.substring(0, index.length() - 1));
+                if (n < 1 || n > 6) {
+                    return null;
+                }
+                if (literal.length() > 0) {
+                    literals.add(literal.toString());
+                    templates.add(null);
+                    indexes.add(0);
+                    literal.setLength(0);
+                }
+                literals.add(null);
+                templates.add(plain && c == 's'
+                              ? null : java.util.Formatter.compile(m.group()));
+                indexes.add(n);
+                used |= 1 << n;
+            }
+            literal.append(format, i, format.length());
+            if (literal.length() > 0) {
+                literals.add(literal.toString());
+                templates.add(null);
+                indexes.add(0);
+            }
+            int[] ix = new int[indexes.size()];
+            for (int k = 0; k < ix.length; k++) {
+                ix[k] = indexes.get(k);
+            }
+            int size = ix.length;
+            return new CompiledFormat(
+                literals.toArray(new String[size]),
+                templates.toArray(new java.util.Formatter.Template[size]),
+                ix, used);
+        }
+
+        /**
+         * Returns true if the format refers to the given argument,
+         * numbered from 1.
+         */
+        boolean uses(int n) {
+            return (used & (1 << n)) != 0;
+        }
+
+        String format(Object[] args, SimpleFormatter owner) {
+            StringBuilder sb = owner.buffer();
+            for (int k = 0; k < indexes.length; k++) {
+                int n = indexes[k];
+                java.util.Formatter.Template t = templates[k];
+                if (n == 0) {
+                    sb.append(literals[k]);
+                } else if (t == null) {
+                    sb.append(String.valueOf(args[n - 1]));
+                } else {
+                    owner.formatter().format(t, args);
+                }
+            }
+            return sb.toString();
+        }
     }
 }
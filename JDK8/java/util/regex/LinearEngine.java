@@ -0,0 +1,1272 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.regex;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The matching engine used for patterns compiled with the
+ * {@link Pattern#LINEAR_TIME} flag.
+ * <p>
+ * The object tree built by the {@code Pattern} parser is translated into a
+ * small program for a nondeterministic automaton. Counted repetitions are
+ * expanded, alternation and the optional part of a quantifier become
+ * prioritized splits, and groups become instructions that record the
+ * current position. The program is executed by simulating all of its
+ * threads in lock step over the input, in the manner of Thompson and Pike,
+ * which takes time proportional to the length of the input times the
+ * length of the program no matter what the input is. Threads are kept in
+ * priority order so that the leftmost match found, and the group values
+ * recorded for it, are those the backtracking engine would have found.
+ * <p>
+ * Most searches in practice fail, so a search is first run through a lazily
+ * built deterministic automaton that merely answers whether a match may
+ * start at or after the search position. Its states are sets of program
+ * threads, created the first time they are reached and cached for the
+ * lifetime of the pattern; the cache is shared by all matchers and is
+ * bounded, and a search that would exceed the bound falls back to the
+ * simulation. The automaton treats every assertion other than the
+ * beginning of input as always satisfied, and lets a repetition both
+ * continue and stop after an iteration that may have been empty, so it may
+ * report a match that the simulation then rejects, but it never misses one.
+ * <p>
+ * The simulation also runs threads of lower priority than the match, which
+ * the backtracking engine would never have tried. So that {@link
+ * Matcher#hitEnd} and {@link Matcher#requireEnd} are those the backtracking
+ * engine reports, each thread carries the effects on them of its own path
+ * and of the threads of higher priority that died before it, and only
+ * those carried by the match, or left by threads of higher priority that
+ * die after it, are recorded.
+ * <p>
+ * Constructs whose semantics depend on backtracking, such as
+ * backreferences, lookaround, atomic groups and possessive quantifiers,
+ * are rejected when the pattern is compiled.
+ */
+final class LinearEngine {
+
+    // Instructions that consume input
+    private static final int CHAR      = 0;   // BMP character x
+    private static final int CHAR_I    = 1;   // ASCII case insensitive x
+    private static final int CHAR_U    = 2;   // Unicode case insensitive x
+    private static final int CP        = 3;   // code point x
+    private static final int CP_I      = 4;   // ASCII case insensitive x
+    private static final int CP_U      = 5;   // Unicode case insensitive x
+    private static final int PROP      = 6;   // character property ref
+    private static final int LINE_END  = 7;   // \R
+
+    // Instructions that do not consume input
+    private static final int MATCH     = 8;   // accept
+    private static final int JMP       = 9;   // goto x
+    private static final int SPLIT     = 10;  // goto x, then y
+    private static final int SAVE      = 11;  // slot x = position
+    private static final int GROUP     = 12;  // group y = (slot x, position)
+    private static final int EMPTY     = 13;  // if slot x == position goto y
+    private static final int ASSERT    = 14;  // zero width assertion x
+
+    // Assertions
+    private static final int BEGIN          = 0;
+    private static final int END            = 1;
+    private static final int CARET          = 2;
+    private static final int UNIX_CARET     = 3;
+    private static final int DOLLAR         = 4;
+    private static final int DOLLAR_M       = 5;
+    private static final int UNIX_DOLLAR    = 6;
+    private static final int UNIX_DOLLAR_M  = 7;
+    private static final int BOUND          = 8;
+
+    // Effects of a thread on Matcher.hitEnd and requireEnd
+    private static final int HIT_END     = 1;
+    private static final int REQUIRE_END = 2;
+    // Result of an assertion that holds, combined with its effects
+    private static final int PASS        = 4;
+
+    /**
+     * Upper bound on the number of instructions a pattern may compile to.
+     * Counted repetitions are expanded, so this effectively limits the
+     * product of nested repetition counts.
+     */
+    private static final int MAX_PROGRAM_SIZE = 50000;
+
+    /**
+     * Upper bound on the number of automaton states cached per pattern.
+     */
+    private static final int MAX_DFA_STATES = 2048;
+
+    /**
+     * Upper bound on the number of automaton states cached per pattern set.
+     */
+    private static final int MAX_SET_DFA_STATES = 8192;
+
+    /**
+     * Upper bound on the number of transitions on non-ASCII characters
+     * cached per automaton state. Further transitions are recomputed each
+     * time they are taken.
+     */
+    private static final int MAX_OTHER_TRANSITIONS = 256;
+
+    /**
+     * Result of a search in the automaton when the cache is exhausted.
+     */
+    private static final int UNKNOWN = -1;
+
+    private final String pattern;
+
+    // The program
+    private int[] ops = new int[32];
+    private int[] xs = new int[32];
+    private int[] ys = new int[32];
+    private Object[] refs = new Object[32];
+    private int size;
+
+    /**
+     * Number of capture slots of each thread: the group boundaries, the
+     * pattern's locals, the position at which the thread started, and its
+     * effects on the end of input flags.
+     */
+    private final int groupSlots;
+    private final int firstSlot;
+    private final int flagsSlot;
+    private final int capsLength;
+
+    /**
+     * The minimum length of a match; no search is started past
+     * {@code to - minLength}.
+     */
+    private final int minLength;
+
+    /**
+     * True if a match may start anywhere, that is the pattern is not
+     * anchored at the beginning of input.
+     */
+    private final boolean startAnywhere;
+
+    /**
+     * True if the pattern may match supplementary characters, in which case
+     * matches never start between the two halves of a surrogate pair.
+     */
+    private final boolean hasSupplementary;
+
+    /**
+     * The instructions that consume input or accept which a thread started
+     * after the beginning of the search may reach without consuming input,
+     * assuming all assertions other than the beginning of input hold.
+     */
+    private final int[] restart;
+
+    // The deterministic automaton, or null if it is not used
+    private final ConcurrentHashMap<DState, DState> dstates;
+    private final DState dstart;
+    private final int maxStates;
+
+    /**
+     * Compiles the object tree of the given pattern.
+     *
+     * @throws PatternSyntaxException
+     *         if the pattern uses a construct this engine does not support
+     */
+    LinearEngine(Pattern p, boolean hasSupplementary) {
+        pattern = p.pattern();
+        groupSlots = p.capturingGroupCount * 2;
+        firstSlot = groupSlots + p.localCount;
+        flagsSlot = firstSlot + 1;
+        capsLength = firstSlot + 2;
+        Pattern.TreeInfo info = new Pattern.TreeInfo();
+        p.matchRoot.study(info);
+        minLength = info.minLength;
+        startAnywhere = !(p.matchRoot instanceof Pattern.Begin);
+        this.hasSupplementary = hasSupplementary;
+
+        chain(p.matchRoot, null, -1);
+
+        restart = closure(new int[] { 0 }, 1, false);
+        boolean dfa = true;
+        for (int pc = 0; pc < size; pc++) {
+            if (ops[pc] == LINE_END)
+                dfa = false;
+        }
+        maxStates = MAX_DFA_STATES;
+        if (dfa) {
+            dstates = new ConcurrentHashMap<>();
+            dstart = state(closure(new int[] { 0 }, 1, true));
+        } else {
+            dstates = null;
+            dstart = null;
+        }
+    }
+
+    /**
+     * Combines the programs of the given engines, none of which may match
+     * a line terminator sequence, into one whose accepting instructions
+     * carry the index of the engine they come from. Only the deterministic
+     * automaton of the result is used, through {@link #scan}.
+     */
+    LinearEngine(LinearEngine[] engines) {
+        pattern = null;
+        groupSlots = 0;
+        firstSlot = 0;
+        flagsSlot = 1;
+        capsLength = 2;
+        minLength = 0;
+        startAnywhere = true;
+        hasSupplementary = false;
+
+        int k = engines.length;
+        int total = k;
+        for (LinearEngine e : engines)
+            total += e.size;
+        ops = new int[total];
+        xs = new int[total];
+        ys = new int[total];
+        refs = new Object[total];
+        size = k;
+        for (int j = 0; j < k; j++) {
+            // A chain of splits to the start of each program
+            LinearEngine e = engines[j];
+            int off = size;
+            if (j < k - 1) {
+                ops[j] = SPLIT;
+                xs[j] = off;
+                ys[j] = j + 1;
+            } else {
+                ops[j] = JMP;
+                xs[j] = off;
+            }
+            for (int pc = 0; pc < e.size; pc++) {
+                int op = e.ops[pc];
+                int x = e.xs[pc];
+                int y = e.ys[pc];
+                if (op == JMP || op == SPLIT)
+                    x += off;
+                if (op == SPLIT || (op == EMPTY && y >= 0))
+                    y += off;
+                if (op == MATCH)
+                    x = j;
+                ops[size] = op;
+                xs[size] = x;
+                ys[size] = y;
+                refs[size] = e.refs[pc];
+                size++;
+            }
+        }
+
+        restart = closure(new int[] { 0 }, 1, false);
+        maxStates = MAX_SET_DFA_STATES;
+        dstates = new ConcurrentHashMap<>();
+        dstart = state(closure(new int[] { 0 }, 1, true));
+    }
+
+    /**
+     * Returns true if the deterministic automaton of this pattern may be
+     * combined with others, that is the pattern never matches a line
+     * terminator sequence.
+     */
+    boolean combinable() {
+        return dstates != null;
+    }
+
+    /**
+     * Returns true if the deterministic automaton of this pattern tells
+     * exactly whether a match exists in the whole input: the only
+     * assertion it uses is the beginning of input, there are no checks for
+     * an empty iteration of a group, which the automaton assumes may both
+     * pass and fail, and a match never starts between the two halves of a
+     * surrogate pair when it could.
+     */
+    boolean exact() {
+        if (hasSupplementary)
+            return false;
+        for (int pc = 0; pc < size; pc++) {
+            if (ops[pc] == EMPTY ||
+                ops[pc] == ASSERT && xs[pc] != BEGIN)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Searches for the next match at or after {@code from}, in the manner
+     * of {@link Matcher#search}.
+     */
+    boolean search(Matcher matcher, int from) {
+        if (dstates != null) {
+            int r = find(matcher, from);
+            if (r == 0) {
+                // A failed search hits the end of input wherever it can
+                // start; otherwise the automaton, which lets threads pass
+                // assertions, only tells when the end cannot be hit.
+                if (startAnywhere)
+                    matcher.hitEnd = true;
+                else if (matcher.hitEnd)
+                    run(matcher, from, false);
+                return false;
+            }
+        }
+        boolean result = run(matcher, from, false);
+        if (!result && startAnywhere)
+            matcher.hitEnd = true;
+        return result;
+    }
+
+    /**
+     * Attempts a match starting exactly at {@code from}, in the manner of
+     * {@link Matcher#match}.
+     */
+    boolean match(Matcher matcher, int from) {
+        return run(matcher, from, true);
+    }
+
+    //
+    // Translation of the object tree.
+    //
+
+    private PatternSyntaxException unsupported(String construct) {
+        return new PatternSyntaxException(construct +
+            " is not supported with LINEAR_TIME", pattern, -1);
+    }
+
+    private PatternSyntaxException tooLarge() {
+        return new PatternSyntaxException(
+            "Repetition too large for LINEAR_TIME", pattern, -1);
+    }
+
+    private int emit(int op, int x, int y, Object ref) {
+        if (size == ops.length) {
+            if (size >= MAX_PROGRAM_SIZE)
+                throw tooLarge();
+            int n = Math.min(size * 2, MAX_PROGRAM_SIZE);
+            ops = Arrays.copyOf(ops, n);
+            xs = Arrays.copyOf(xs, n);
+            ys = Arrays.copyOf(ys, n);
+            refs = Arrays.copyOf(refs, n);
+        }
+        ops[size] = op;
+        xs[size] = x;
+        ys[size] = y;
+        refs[size] = ref;
+        return size++;
+    }
+
+    /**
+     * Emits the instructions for the nodes from {@code node} up to, but
+     * not including, {@code end}, or up to the group tail with the local
+     * index {@code endLocal}.
+     */
+    private void chain(Pattern.Node node, Pattern.Node end, int endLocal) {
+        while (node != end) {
+            if (node instanceof Pattern.LastNode) {
+                emit(MATCH, 0, 0, null);
+                return;
+            } else if (node instanceof Pattern.Single) {
+                emit(CHAR, ((Pattern.Single)node).c, 0, null);
+            } else if (node instanceof Pattern.SingleS) {
+                emit(CP, ((Pattern.SingleS)node).c, 0, null);
+            } else if (node instanceof Pattern.CharProperty) {
+                emit(PROP, 0, 0, node);
+            } else if (node instanceof Pattern.Slice) {
+                slice(CHAR, ((Pattern.SliceNode)node).buffer);
+            } else if (node instanceof Pattern.SliceI) {
+                slice(CHAR_I, ((Pattern.SliceNode)node).buffer);
+            } else if (node instanceof Pattern.SliceU) {
+                slice(CHAR_U, ((Pattern.SliceNode)node).buffer);
+            } else if (node instanceof Pattern.SliceS) {
+                slice(CP, ((Pattern.SliceNode)node).buffer);
+            } else if (node instanceof Pattern.SliceUS) {
+                slice(CP_U, ((Pattern.SliceNode)node).buffer);
+            } else if (node instanceof Pattern.SliceIS) {
+                slice(CP_I, ((Pattern.SliceNode)node).buffer);
+            } else if (node instanceof Pattern.LineEnding) {
+                emit(LINE_END, 0, 0, null);
+            } else if (node instanceof Pattern.Begin) {
+                emit(ASSERT, BEGIN, 0, null);
+            } else if (node instanceof Pattern.End) {
+                emit(ASSERT, END, 0, null);
+            } else if (node instanceof Pattern.Caret) {
+                emit(ASSERT, CARET, 0, null);
+            } else if (node instanceof Pattern.UnixCaret) {
+                emit(ASSERT, UNIX_CARET, 0, null);
+            } else if (node instanceof Pattern.Dollar) {
+                emit(ASSERT, ((Pattern.Dollar)node).multiline ?
+                     DOLLAR_M : DOLLAR, 0, null);
+            } else if (node instanceof Pattern.UnixDollar) {
+                emit(ASSERT, ((Pattern.UnixDollar)node).multiline ?
+                     UNIX_DOLLAR_M : UNIX_DOLLAR, 0, null);
+            } else if (node instanceof Pattern.Bound) {
+                emit(ASSERT, BOUND, 0, node);
+            } else if (node instanceof Pattern.GroupHead) {
+                emit(SAVE, groupSlots + ((Pattern.GroupHead)node).localIndex,
+                     0, null);
+            } else if (node instanceof Pattern.GroupTail) {
+                Pattern.GroupTail tail = (Pattern.GroupTail)node;
+                if (tail.localIndex == endLocal)
+                    return;
+                emit(GROUP, groupSlots + tail.localIndex, tail.groupIndex,
+                     null);
+            } else if (node instanceof Pattern.BranchConn) {
+                // Reached only at the end of the last alternative
+            } else if (node instanceof Pattern.Branch) {
+                Pattern.Branch b = (Pattern.Branch)node;
+                int[] joins = new int[b.size];
+                for (int n = 0; n < b.size; n++) {
+                    int split = n < b.size - 1 ? emit(SPLIT, size + 1, 0, null)
+                                               : -1;
+                    if (b.atoms[n] != null)
+                        chain(b.atoms[n], b.conn, -1);
+                    joins[n] = emit(JMP, 0, 0, null);
+                    if (split >= 0)
+                        ys[split] = size;
+                }
+                for (int join : joins)
+                    xs[join] = size;
+                node = b.conn;
+            } else if (node instanceof Pattern.Ques) {
+                Pattern.Ques q = (Pattern.Ques)node;
+                if (q.type != Pattern.GREEDY && q.type != Pattern.LAZY)
+                    throw unsupported("Possessive quantifier or independent group");
+                int split = emit(SPLIT, 0, 0, null);
+                chain(q.atom, Pattern.accept, -1);
+                branch(split, size, q.type == Pattern.GREEDY);
+            } else if (node instanceof Pattern.Curly) {
+                Pattern.Curly c = (Pattern.Curly)node;
+                if (c.type != Pattern.GREEDY && c.type != Pattern.LAZY)
+                    throw unsupported("Possessive quantifier");
+                repeat(node, c.cmin, c.cmax, c.type == Pattern.GREEDY,
+                       -1, false);
+            } else if (node instanceof Pattern.GroupCurly) {
+                Pattern.GroupCurly g = (Pattern.GroupCurly)node;
+                if (g.type != Pattern.GREEDY && g.type != Pattern.LAZY)
+                    throw unsupported("Possessive quantifier");
+                repeat(node, g.cmin, g.cmax, g.type == Pattern.GREEDY,
+                       groupSlots + g.localIndex, false);
+            } else if (node instanceof Pattern.Prolog) {
+                Pattern.Loop loop = ((Pattern.Prolog)node).loop;
+                repeat(loop, loop.cmin, loop.cmax,
+                       !(loop instanceof Pattern.LazyLoop),
+                       groupSlots + loop.beginIndex, true);
+                node = loop;
+            } else if (node instanceof Pattern.BackRef ||
+                       node instanceof Pattern.CIBackRef ||
+                       node instanceof Pattern.GroupRef) {
+                throw unsupported("Back reference");
+            } else if (node instanceof Pattern.Pos ||
+                       node instanceof Pattern.Neg ||
+                       node instanceof Pattern.Behind ||
+                       node instanceof Pattern.NotBehind) {
+                throw unsupported("Lookaround");
+            } else if (node instanceof Pattern.LastMatch) {
+                throw unsupported("\\G");
+            } else {
+                throw unsupported(node.getClass().getSimpleName());
+            }
+            node = node.next;
+        }
+    }
+
+    private void slice(int op, int[] buf) {
+        for (int c : buf)
+            emit(op, c, 0, null);
+    }
+
+    /**
+     * Sets the targets of a split whose first branch immediately follows
+     * it and whose second branch is {@code other}, preferring the first
+     * branch if {@code greedy} is true.
+     */
+    private void branch(int split, int other, boolean greedy) {
+        if (greedy) {
+            xs[split] = split + 1;
+            ys[split] = other;
+        } else {
+            xs[split] = other;
+            ys[split] = split + 1;
+        }
+    }
+
+    /**
+     * Emits one iteration of the body of a repetition.
+     */
+    private void body(Pattern.Node node) {
+        if (node instanceof Pattern.Curly) {
+            chain(((Pattern.Curly)node).atom, Pattern.accept, -1);
+        } else if (node instanceof Pattern.GroupCurly) {
+            Pattern.GroupCurly g = (Pattern.GroupCurly)node;
+            emit(SAVE, groupSlots + g.localIndex, 0, null);
+            chain(g.atom, null, g.localIndex);
+            if (g.capture)
+                emit(GROUP, groupSlots + g.localIndex, g.groupIndex, null);
+        } else {
+            Pattern.Loop loop = (Pattern.Loop)node;
+            chain(loop.body, loop, -1);
+        }
+    }
+
+    /**
+     * Emits a repetition of {@code node} between {@code cmin} and
+     * {@code cmax} times. If {@code empty} is a slot index then an
+     * iteration that matched the empty string ends the repetition, as the
+     * backtracking engine does; {@code always} says whether this also
+     * applies to the required iterations. A reluctant repetition of a
+     * deterministic group simply fails on an empty iteration, because the
+     * remainder of the pattern has already been tried at that position.
+     */
+    private void repeat(Pattern.Node node, int cmin, int cmax,
+                        boolean greedy, int empty, boolean always) {
+        if (cmin > MAX_PROGRAM_SIZE ||
+            cmax != Pattern.MAX_REPS && cmax - cmin > MAX_PROGRAM_SIZE)
+            throw tooLarge();
+        int[] exits = new int[8];
+        int nexits = 0;
+        for (int j = 0; j < cmin; j++) {
+            body(node);
+            if (empty >= 0 && always) {
+                if (nexits == exits.length)
+                    exits = Arrays.copyOf(exits, nexits * 2);
+                exits[nexits++] = emit(EMPTY, empty, 0, null);
+            }
+        }
+        boolean fail = empty >= 0 && !always && !greedy;
+        if (cmax == Pattern.MAX_REPS) {
+            int split = emit(SPLIT, 0, 0, null);
+            body(node);
+            if (empty >= 0) {
+                int check = emit(EMPTY, empty, fail ? -1 : 0, null);
+                if (!fail) {
+                    if (nexits == exits.length)
+                        exits = Arrays.copyOf(exits, nexits * 2);
+                    exits[nexits++] = check;
+                }
+            }
+            emit(JMP, split, 0, null);
+            branch(split, size, greedy);
+        } else {
+            int[] splits = new int[Math.max(cmax - cmin, 0)];
+            for (int j = 0; j < splits.length; j++) {
+                splits[j] = emit(SPLIT, 0, 0, null);
+                body(node);
+                if (empty >= 0) {
+                    int check = emit(EMPTY, empty, fail ? -1 : 0, null);
+                    if (!fail) {
+                        if (nexits == exits.length)
+                            exits = Arrays.copyOf(exits, nexits * 2);
+                        exits[nexits++] = check;
+                    }
+                }
+            }
+            for (int split : splits)
+                branch(split, size, greedy);
+        }
+        for (int j = 0; j < nexits; j++)
+            ys[exits[j]] = size;
+    }
+
+    //
+    // Simulation of the automaton.
+    //
+
+    /**
+     * Returns whether the instruction at {@code pc} accepts the code point
+     * {@code cp}. Instructions for BMP characters and properties see a
+     * supplementary character as its high surrogate, which they never
+     * accept.
+     */
+    private boolean accepts(int pc, int cp) {
+        int x = xs[pc];
+        switch (ops[pc]) {
+        case CHAR:
+        case CP:
+            return cp == x;
+        case CHAR_I:
+            return cp <= Character.MAX_VALUE &&
+                (cp == x || ASCII.toLower(cp) == x);
+        case CP_I:
+            return cp == x || ASCII.toLower(cp) == x;
+        case CHAR_U:
+            return cp <= Character.MAX_VALUE &&
+                (cp == x ||
+                 Character.toLowerCase(Character.toUpperCase(cp)) == x);
+        case CP_U:
+            return cp == x ||
+                Character.toLowerCase(Character.toUpperCase(cp)) == x;
+        case PROP:
+            return ((Pattern.CharProperty)refs[pc]).isSatisfiedBy(cp);
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns the code point at {@code i}, not looking past {@code to}.
+     */
+    private static int codePointAt(CharSequence seq, int i, int to) {
+        char c = seq.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < to) {
+            char d = seq.charAt(i + 1);
+            if (Character.isLowSurrogate(d))
+                return Character.toCodePoint(c, d);
+        }
+        return c;
+    }
+
+    /**
+     * Evaluates a zero width assertion at position {@code i}. Returns
+     * {@code PASS} if it holds, combined with the flags for the effects on
+     * {@link Matcher#hitEnd} and {@link Matcher#requireEnd} that the
+     * corresponding node of the object tree has.
+     */
+    private int test(int pc, Matcher matcher, CharSequence seq, int i) {
+        switch (xs[pc]) {
+        case BEGIN: {
+            int fromIndex = matcher.anchoringBounds ? matcher.from : 0;
+            return i == fromIndex ? PASS : 0;
+        }
+        case END: {
+            int endIndex = matcher.anchoringBounds ?
+                matcher.to : matcher.getTextLength();
+            return i == endIndex ? PASS | HIT_END : 0;
+        }
+        case CARET:
+        case UNIX_CARET: {
+            int startIndex = matcher.from;
+            int endIndex = matcher.to;
+            if (!matcher.anchoringBounds) {
+                startIndex = 0;
+                endIndex = matcher.getTextLength();
+            }
+            if (i == endIndex)
+                return HIT_END;
+            if (i > startIndex) {
+                char ch = seq.charAt(i - 1);
+                if (xs[pc] == UNIX_CARET)
+                    return ch == '\n' ? PASS : 0;
+                if (ch != '\n' && ch != '\r'
+                    && (ch|1) != '\u2029'
+                    && ch != '\u0085') {
+                    return 0;
+                }
+                if (ch == '\r' && seq.charAt(i) == '\n')
+                    return 0;
+            }
+            return PASS;
+        }
+        case DOLLAR:
+        case DOLLAR_M: {
+            boolean multiline = xs[pc] == DOLLAR_M;
+            int endIndex = matcher.anchoringBounds ?
+                matcher.to : matcher.getTextLength();
+            if (!multiline) {
+                if (i < endIndex - 2)
+                    return 0;
+                if (i == endIndex - 2) {
+                    if (seq.charAt(i) != '\r' || seq.charAt(i + 1) != '\n')
+                        return 0;
+                }
+            }
+            if (i < endIndex) {
+                char ch = seq.charAt(i);
+                if (ch == '\n') {
+                    if (i > 0 && seq.charAt(i - 1) == '\r')
+                        return 0;
+                    if (multiline)
+                        return PASS;
+                } else if (ch == '\r' || ch == '\u0085' ||
+                           (ch|1) == '\u2029') {
+                    if (multiline)
+                        return PASS;
+                } else {
+                    return 0;
+                }
+            }
+            return PASS | HIT_END | REQUIRE_END;
+        }
+        case UNIX_DOLLAR:
+        case UNIX_DOLLAR_M: {
+            boolean multiline = xs[pc] == UNIX_DOLLAR_M;
+            int endIndex = matcher.anchoringBounds ?
+                matcher.to : matcher.getTextLength();
+            if (i < endIndex) {
+                if (seq.charAt(i) != '\n')
+                    return 0;
+                if (multiline)
+                    return PASS;
+                if (i != endIndex - 1)
+                    return 0;
+            }
+            return PASS | HIT_END | REQUIRE_END;
+        }
+        default: {
+            // Bound records its effects in the matcher, whose flags are
+            // only set from those of the threads when the run ends
+            Pattern.Bound b = (Pattern.Bound)refs[pc];
+            matcher.hitEnd = false;
+            matcher.requireEnd = false;
+            int r = (b.check(matcher, i, seq) & b.type) > 0 ? PASS : 0;
+            if (matcher.hitEnd)
+                r |= HIT_END;
+            if (matcher.requireEnd)
+                r |= REQUIRE_END;
+            return r;
+        }
+        }
+    }
+
+    /**
+     * An ordered list of threads for one input position, together with
+     * the set of instructions already visited while building it.
+     */
+    private static final class Threads {
+        final int[] pcs;
+        final int[][] caps;
+        int count;
+        final int[] dense;
+        final int[] sparse;
+        int visited;
+
+        Threads(int n) {
+            pcs = new int[n];
+            caps = new int[n][];
+            dense = new int[n];
+            sparse = new int[n];
+        }
+
+        /**
+         * Marks {@code key} visited, returning false if it already was.
+         */
+        boolean visit(int key) {
+            int k = sparse[key];
+            if (k < visited && dense[k] == key)
+                return false;
+            sparse[key] = visited;
+            dense[visited++] = key;
+            return true;
+        }
+
+        void add(int pc, int[] c) {
+            pcs[count] = pc;
+            caps[count++] = c;
+        }
+
+        void clear() {
+            Arrays.fill(caps, 0, count, null);
+            count = 0;
+            visited = 0;
+        }
+    }
+
+    /**
+     * The state of one run of the simulation besides its thread lists.
+     * <p>
+     * The backtracking engine sets {@link Matcher#hitEnd} and {@link
+     * Matcher#requireEnd} along every path it tries before the one that
+     * matches, which are the paths of higher priority than the match. The
+     * simulation also runs threads of lower priority, so each thread
+     * instead keeps in its flags slot the effects of its own path and of
+     * every thread of higher priority that has died. Threads are advanced
+     * in priority order, so the effects of the threads that die while the
+     * list for the next position is built are accumulated, and passed on
+     * to the threads added after them.
+     */
+    private static final class Run {
+        final int[] stack;
+        final int[][] capsStack;
+        // Effects of the threads that died so far in this step
+        int step;
+        // Effects of all the threads that died
+        int dead;
+        // Effects of the threads that died since the last match
+        int since;
+
+        Run(int n) {
+            stack = new int[n];
+            capsStack = new int[n][];
+        }
+
+        void die(int flags) {
+            step |= flags;
+            dead |= flags;
+            since |= flags;
+        }
+    }
+
+    /**
+     * Returns {@code caps}, or a copy of it, with {@code flags} added to
+     * its flags slot.
+     */
+    private int[] withFlags(int[] caps, int flags) {
+        if ((flags & ~caps[flagsSlot]) == 0)
+            return caps;
+        caps = caps.clone();
+        caps[flagsSlot] |= flags;
+        return caps;
+    }
+
+    /**
+     * Adds the thread at {@code pc} to the list for position {@code i},
+     * following the instructions that do not consume input. Alternatives
+     * are explored in priority order using an explicit stack. A split or
+     * consuming instruction reached a second time at the same position is
+     * dropped, since the thread that reached it first has the higher
+     * priority; other instructions may be passed more than once, so that
+     * a repetition can record a final empty iteration as the backtracking
+     * engine does.
+     */
+    private void add(Threads list, int pc, int[] caps, Run run,
+                     Matcher matcher, CharSequence seq, int i) {
+        int[] stack = run.stack;
+        int[][] capsStack = run.capsStack;
+        int sp = 0;
+        for (;;) {
+            switch (ops[pc]) {
+            case JMP:
+                pc = xs[pc];
+                continue;
+            case SPLIT:
+                if (!list.visit(pc)) {
+                    run.die(caps[flagsSlot]);
+                    break;
+                }
+                stack[sp] = ys[pc];
+                capsStack[sp++] = caps;
+                pc = xs[pc];
+                continue;
+            case SAVE:
+                caps = caps.clone();
+                caps[xs[pc]] = i;
+                pc++;
+                continue;
+            case GROUP:
+                caps = caps.clone();
+                caps[ys[pc]] = caps[xs[pc]];
+                caps[ys[pc] + 1] = i;
+                pc++;
+                continue;
+            case EMPTY:
+                if (caps[xs[pc]] != i) {
+                    pc++;
+                    continue;
+                }
+                if (ys[pc] >= 0) {
+                    pc = ys[pc];
+                    continue;
+                }
+                run.die(caps[flagsSlot]);
+                break;
+            case ASSERT: {
+                int r = test(pc, matcher, seq, i);
+                caps = withFlags(caps, r & ~PASS);
+                if ((r & PASS) != 0) {
+                    pc++;
+                    continue;
+                }
+                run.die(caps[flagsSlot]);
+                break;
+            }
+            default:
+                if (list.visit(pc))
+                    list.add(pc, withFlags(caps, run.step));
+                else
+                    run.die(caps[flagsSlot]);
+                break;
+            }
+            if (sp == 0)
+                return;
+            pc = stack[--sp];
+            caps = capsStack[sp];
+            capsStack[sp] = null;
+        }
+    }
+
+    /**
+     * Returns false if no thread started at {@code i}, after the beginning
+     * of the search, can get past the character there.
+     */
+    private boolean mayStart(CharSequence seq, int i, int to) {
+        int cp = codePointAt(seq, i, to);
+        for (int pc : restart) {
+            int op = ops[pc];
+            if (op == MATCH || op == LINE_END || accepts(pc, cp))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs the threads of the program over the input from {@code from}.
+     * If {@code anchored} is true only a match starting at {@code from} is
+     * sought, otherwise the leftmost one. On success the match and its
+     * groups are stored in the matcher. Whether the end of input was hit
+     * or is required is stored in either case.
+     * <p>
+     * Threads advance one char at a time. A thread that consumes a
+     * surrogate pair is parked, in its place in the list, for one position
+     * before continuing, so that threads remain in priority order even
+     * though they advance by different amounts.
+     */
+    private boolean run(Matcher matcher, int from, boolean anchored) {
+        CharSequence seq = matcher.text;
+        int to = matcher.to;
+        // A pattern anchored at the beginning of input is only tried at
+        // from by the backtracking engine, whatever the length of input
+        int guard = anchored || !startAnywhere ? from : to - minLength;
+        int n = size * 2;
+        Threads clist = new Threads(n);
+        Threads nlist = new Threads(n);
+        Run run = new Run(size);
+        int[] matched = null;
+        int last = -1;
+        for (int i = from; ; i++) {
+            if (clist.count == 0 && matched == null && i > from && !anchored) {
+                // No thread is alive, so skip to where one may start. No
+                // assertion can hit the end of input before to - 2.
+                while (i < to - 2 && i <= guard && !mayStart(seq, i, to))
+                    i++;
+            }
+            if (matched == null && i <= guard && (i == from || i >= to ||
+                !hasSupplementary || !Character.isLowSurrogate(seq.charAt(i))
+                || !Character.isHighSurrogate(seq.charAt(i - 1)))) {
+                // Every thread that died had a higher priority
+                int[] caps = new int[capsLength];
+                Arrays.fill(caps, -1);
+                caps[firstSlot] = i;
+                caps[flagsSlot] = run.dead;
+                run.step = 0;
+                add(clist, 0, caps, run, matcher, seq, i);
+            }
+            run.step = 0;
+            if (clist.count == 0 && (matched != null || i >= guard))
+                break;
+            int cp = i < to ? codePointAt(seq, i, to) : -1;
+            for (int t = 0; t < clist.count; t++) {
+                int pc = clist.pcs[t];
+                int[] caps = clist.caps[t];
+                if (pc >= size) {
+                    // Second half of a surrogate pair
+                    add(nlist, pc - size, caps, run, matcher, seq, i + 1);
+                    continue;
+                }
+                int op = ops[pc];
+                if (op == MATCH) {
+                    if (matcher.acceptMode == Matcher.ENDANCHOR && i != to) {
+                        run.die(caps[flagsSlot]);
+                        continue;
+                    }
+                    matched = withFlags(caps, run.step);
+                    last = i;
+                    run.since = 0;
+                    // Cut off the threads of lower priority
+                    break;
+                }
+                if (i >= to) {
+                    run.die(caps[flagsSlot] | HIT_END);
+                    continue;
+                }
+                int len;
+                if (op == LINE_END) {
+                    char ch = seq.charAt(i);
+                    if (ch == '\r' && i + 1 < to && seq.charAt(i + 1) == '\n')
+                        len = 2;
+                    else if (ch == 0x0A || ch == 0x0B || ch == 0x0C ||
+                             ch == 0x0D || ch == 0x85 || ch == 0x2028 ||
+                             ch == 0x2029)
+                        len = 1;
+                    else
+                        len = 0;
+                } else {
+                    len = accepts(pc, cp) ? Character.charCount(cp) : 0;
+                }
+                if (len == 1) {
+                    add(nlist, pc + 1, caps, run, matcher, seq, i + 1);
+                } else if (len == 2 && nlist.visit(pc + 1 + size)) {
+                    nlist.add(pc + 1 + size, withFlags(caps, run.step));
+                } else {
+                    run.die(caps[flagsSlot]);
+                }
+            }
+            if (i >= to)
+                break;
+            Threads tmp = clist;
+            clist = nlist;
+            nlist = tmp;
+            nlist.clear();
+        }
+        int flags = matched != null ? matched[flagsSlot] | run.since
+                                    : run.dead;
+        matcher.hitEnd = (flags & HIT_END) != 0;
+        matcher.requireEnd = (flags & REQUIRE_END) != 0;
+        if (matched == null)
+            return false;
+        int[] groups = matcher.groups;
+        for (int k = 2; k < groupSlots; k++)
+            groups[k] = matched[k];
+        matcher.first = matched[firstSlot];
+        matcher.last = last;
+        groups[0] = matcher.first;
+        groups[1] = last;
+        return true;
+    }
+
+    //
+    // The deterministic automaton.
+    //
+
+    /**
+     * A state of the deterministic automaton: the set of instructions that
+     * consume input or accept which the threads alive at some position
+     * may be at. Transitions are computed on demand; those on ASCII
+     * characters are kept in an array, a bounded number of the others in a
+     * map. States are immutable apart from their transitions, which are
+     * benignly racy.
+     */
+    private static final class DState {
+        final int[] pcs;
+        final int[] accepted;
+        final boolean match;
+        final int hash;
+        final DState[] ascii = new DState[128];
+        final ConcurrentHashMap<Integer, DState> others =
+            new ConcurrentHashMap<>();
+
+        DState(int[] pcs, int[] accepted) {
+            this.pcs = pcs;
+            this.accepted = accepted;
+            this.match = accepted.length != 0;
+            this.hash = Arrays.hashCode(pcs);
+        }
+
+        void putOther(int cp, DState t) {
+            if (others.size() < MAX_OTHER_TRANSITIONS)
+                others.put(cp, t);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object o) {
+            return o instanceof DState && Arrays.equals(pcs, ((DState)o).pcs);
+        }
+    }
+
+    /**
+     * Returns the sorted set of instructions that consume input or accept
+     * reachable from the first {@code n} instructions of {@code pcs}
+     * without consuming input. Assertions are assumed to hold, except that
+     * the beginning of input holds only if {@code begin} is true.
+     */
+    private int[] closure(int[] pcs, int n, boolean begin) {
+        boolean[] seen = new boolean[size];
+        int[] stack = new int[n + size];
+        int sp = 0;
+        int count = 0;
+        for (int k = n - 1; k >= 0; k--)
+            stack[sp++] = pcs[k];
+        int[] result = new int[size];
+        while (sp > 0) {
+            int pc = stack[--sp];
+            while (!seen[pc]) {
+                seen[pc] = true;
+                switch (ops[pc]) {
+                case JMP:
+                    pc = xs[pc];
+                    continue;
+                case SPLIT:
+                    stack[sp++] = ys[pc];
+                    pc = xs[pc];
+                    continue;
+                case EMPTY:
+                    if (ys[pc] >= 0)
+                        stack[sp++] = ys[pc];
+                    pc++;
+                    continue;
+                case ASSERT:
+                    if (xs[pc] == BEGIN && !begin)
+                        break;
+                    pc++;
+                    continue;
+                case SAVE:
+                case GROUP:
+                    pc++;
+                    continue;
+                default:
+                    result[count++] = pc;
+                    break;
+                }
+                break;
+            }
+        }
+        result = Arrays.copyOf(result, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the canonical state for the given set of instructions, in
+     * which {@code accepted} holds the labels of its accepting ones, or
+     * null if the cache of states is full.
+     */
+    private DState state(int[] pcs) {
+        int[] accepted = new int[pcs.length];
+        int n = 0;
+        for (int pc : pcs) {
+            if (ops[pc] == MATCH)
+                accepted[n++] = xs[pc];
+        }
+        DState s = new DState(pcs, Arrays.copyOf(accepted, n));
+        DState t = dstates.get(s);
+        if (t != null)
+            return t;
+        if (dstates.size() >= maxStates)
+            return null;
+        t = dstates.putIfAbsent(s, s);
+        return t != null ? t : s;
+    }
+
+    /**
+     * Computes the transition of state {@code s} on the code point
+     * {@code cp}, including the threads that start at the next position.
+     */
+    private DState next(DState s, int cp) {
+        int[] targets = new int[s.pcs.length + restart.length];
+        int n = 0;
+        for (int pc : s.pcs) {
+            if (accepts(pc, cp))
+                targets[n++] = pc + 1;
+        }
+        if (startAnywhere && !hasSupplementary && cp > Character.MAX_VALUE) {
+            // A match may also start at the low surrogate of the pair
+            int low = Character.lowSurrogate(cp);
+            for (int pc : restart) {
+                if (accepts(pc, low))
+                    targets[n++] = pc + 1;
+            }
+        }
+        int[] next = closure(targets, n, false);
+        if (startAnywhere) {
+            int[] all = Arrays.copyOf(next, next.length + restart.length);
+            System.arraycopy(restart, 0, all, next.length, restart.length);
+            Arrays.sort(all);
+            int m = 0;
+            for (int k = 0; k < all.length; k++) {
+                if (m == 0 || all[m - 1] != all[k])
+                    all[m++] = all[k];
+            }
+            next = Arrays.copyOf(all, m);
+        }
+        return state(next);
+    }
+
+    /**
+     * Runs the deterministic automaton from {@code from}. Returns 1 if a
+     * match may exist, 0 if there is none, or {@code UNKNOWN} if the state
+     * cache is exhausted. When there is no match the end of input is
+     * recorded as hit if any thread was still alive there, which it must
+     * be for the simulation to hit it.
+     */
+    private int find(Matcher matcher, int from) {
+        CharSequence seq = matcher.text;
+        int to = matcher.to;
+        DState s = dstart;
+        if (s.match)
+            return 1;
+        int i = from;
+        while (i < to) {
+            if (s.pcs.length == 0)
+                return 0;
+            char c = seq.charAt(i);
+            DState t;
+            if (c < 128) {
+                t = s.ascii[c];
+                if (t == null) {
+                    t = next(s, c);
+                    if (t == null)
+                        return UNKNOWN;
+                    s.ascii[c] = t;
+                }
+                i++;
+            } else {
+                int cp = codePointAt(seq, i, to);
+                t = s.others.get(cp);
+                if (t == null) {
+                    t = next(s, cp);
+                    if (t == null)
+                        return UNKNOWN;
+                    s.putOther(cp, t);
+                }
+                i += Character.charCount(cp);
+            }
+            s = t;
+            if (s.match)
+                return 1;
+        }
+        if (s.pcs.length != 0)
+            matcher.hitEnd = true;
+        return 0;
+    }
+
+    /**
+     * Runs the combined automaton over the whole of {@code seq}, setting
+     * {@code found[j]} for every engine {@code j} that may have a match.
+     * Stops early once an engine {@code j} with {@code stop[j]} set is
+     * found, if {@code stop} is not null. Returns false if the state cache
+     * is exhausted, in which case {@code found} is incomplete.
+     */
+    boolean scan(CharSequence seq, boolean[] found, boolean[] stop) {
+        int to = seq.length();
+        DState s = dstart;
+        int i = 0;
+        while (true) {
+            for (int j : s.accepted) {
+                found[j] = true;
+                if (stop != null && stop[j])
+                    return true;
+            }
+            if (i >= to)
+                return true;
+            char c = seq.charAt(i);
+            DState t;
+            if (c < 128) {
+                t = s.ascii[c];
+                if (t == null) {
+                    t = next(s, c);
+                    if (t == null)
+                        return false;
+                    s.ascii[c] = t;
+                }
+                i++;
+            } else {
+                int cp = codePointAt(seq, i, to);
+                t = s.others.get(cp);
+                if (t == null) {
+                    t = next(s, cp);
+                    if (t == null)
+                        return false;
+                    s.putOther(cp, t);
+                }
+                i += Character.charCount(cp);
+            }
+            s = t;
+        }
+    }
+}
@@ -1245,7 +1245,9 @@ public final class Matcher implements MatchResult {
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         acceptMode = NOANCHOR;
-        boolean result = parentPattern.root.match(this, from, text);
+        LinearEngine engine = parentPattern.linearEngine;
+        boolean result = (engine != null) ? engine.search(this, from)
+                                          : parentPattern.root.match(this, from, text);
         if (!result)
             this.first = -1;
         this.oldLast = this.last;
@@ -1267,7 +1269,9 @@ public final class Matcher implements MatchResult {
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         acceptMode = anchor;
-        boolean result = parentPattern.matchRoot.match(this, from, text);
+        LinearEngine engine = parentPattern.linearEngine;
+        boolean result = (engine != null) ? engine.match(this, from)
+                                          : parentPattern.matchRoot.match(this, from, text);
         if (!result)
             this.first = -1;
         this.oldLast = this.last;
@@ -917,6 +917,36 @@ public final class Pattern
      */
     public static final int UNICODE_CHARACTER_CLASS = 0x100;
 
+    /**
+     * Enables matching in time linear in the length of the input.
+     *
+     * <p> By default a pattern is matched by backtracking, which may take
+     * time exponential in the length of the input for some expressions,
+     * such as <tt>(a|aa)*b</tt>.  When this flag is specified the pattern
+     * is instead matched by simulating the corresponding finite automaton,
+     * so that every match operation completes in time proportional to the
+     * product of the length of the input and the size of the pattern.
+     * This makes the flag suitable for expressions supplied by untrusted
+     * users.  The matches found, the values of the capturing groups and
+     * the results of {@link Matcher#hitEnd hitEnd} and {@link
+     * Matcher#requireEnd requireEnd} are those that would be found without
+     * the flag, except in rare cases involving a repetition, within another
+     * repetition, that may match the empty string.  In those cases
+     * {@code hitEnd} and {@code requireEnd} may return {@code true} where
+     * they would otherwise return {@code false}.
+     *
+     * <p> Back references, lookahead and lookbehind, atomic groups,
+     * possessive quantifiers and the <tt>\G</tt> boundary matcher cannot be
+     * matched in this way; compiling a pattern that uses any of them with
+     * this flag throws a {@link PatternSyntaxException}, as does a pattern
+     * whose counted repetitions are too large to expand.
+     *
+     * <p> There is no embedded flag character for enabling linear-time
+     * matching.  </p>
+     * @since 1.8
+     */
+    public static final int LINEAR_TIME = 0x200;
+
     /* Pattern has only two serialized components: The pattern string
      * and the flags, which are all that is needed to recompile the pattern
      * when it is deserialized.
@@ -1015,6 +1045,12 @@ public final class Pattern
      */
     private transient boolean hasSupplementary;
 
+    /**
+     * The engine that performs all match operations when the pattern was
+     * compiled with the LINEAR_TIME flag, or null otherwise.
+     */
+    transient LinearEngine linearEngine;
+
     /**
      * Compiles the given regular expression into a pattern.
      *
@@ -1039,8 +1075,8 @@ public final class Pattern
      *         Match flags, a bit mask that may include
      *         {@link #CASE_INSENSITIVE}, {@link #MULTILINE}, {@link #DOTALL},
      *         {@link #UNICODE_CASE}, {@link #CANON_EQ}, {@link #UNIX_LINES},
-     *         {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS}
-     *         and {@link #COMMENTS}
+     *         {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS},
+     *         {@link #LINEAR_TIME} and {@link #COMMENTS}
      *
      * @return the given regular expression compiled into a pattern with the given flags
      * @throws  IllegalArgumentException
@@ -1718,6 +1754,9 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
             root = hasSupplementary ? new StartS(matchRoot) : new Start(matchRoot);
         }
 
+        if (has(LINEAR_TIME))
+            linearEngine = new LinearEngine(this, hasSupplementary);
+
         // Release temporary storage
         temp = null;
         buffer = null;
@@ -3765,7 +3804,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Abstract node class to match one character satisfying some
      * boolean property.
      */
-    private static abstract class CharProperty extends Node {
+    static abstract class CharProperty extends Node {
         abstract boolean isSatisfiedBy(int ch);
         CharProperty complement() {
             return new CharProperty() {
@@ -3793,7 +3832,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Optimized version of CharProperty that works only for
      * properties never satisfied by Supplementary characters.
      */
-    private static abstract class BmpCharProperty extends CharProperty {
+    static abstract class BmpCharProperty extends CharProperty {
         boolean match(Matcher matcher, int i, CharSequence seq) {
             if (i < matcher.to) {
                 return isSatisfiedBy(seq.charAt(i))
@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.regex;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A compiled set of regular expressions that are searched for together.
+ *
+ * <p> A pattern set answers, in a single pass over its input, which of its
+ * patterns occur in it: the result of {@link #find(CharSequence) find} is
+ * the same as calling {@link Matcher#find() find} on a fresh matcher of
+ * each pattern in turn, but the cost of the search does not grow with the
+ * number of patterns in the way a loop over the patterns does. A typical
+ * use is matching each line of a log against many keywords and
+ * expressions:
+ *
+ * <blockquote><pre>
+ * PatternSet set = PatternSet.compile("ERROR", "WARN", "timeout after \\d+ms");
+ * for (String line : lines) {
+ *     for (int i : set.find(line))
+ *         counts[i]++;
+ * }</pre></blockquote>
+ *
+ * <p> Patterns that are plain literals are combined into an Aho-Corasick
+ * automaton, which finds all occurrences of any of them in time
+ * proportional to the length of the input. The other patterns are compiled
+ * with the {@link Pattern#LINEAR_TIME} flag where possible, and their
+ * programs are combined into a single lazily built deterministic
+ * automaton; a pattern whose match the automaton cannot confirm on its
+ * own, for instance because it contains a word boundary, is confirmed with
+ * its own matcher only when the automaton reports it may match. Patterns
+ * that use constructs which cannot be matched in linear time, such as
+ * backreferences or lookaround, are searched for one at a time.
+ *
+ * <p> Instances of this class are immutable and are safe for use by
+ * multiple concurrent threads.
+ *
+ * @see Pattern
+ * @since 1.8
+ */
+public final class PatternSet {
+
+    private static final int[] NONE = new int[0];
+
+    private final String[] regexes;
+    private final int flags;
+    private final Pattern[] patterns;
+
+    // The patterns that match any input
+    private final int[] always;
+
+    // The Aho-Corasick automaton of the literal patterns; node 0 is the root
+    private final char[][] labels;
+    private final int[][] children;
+    private final int[] fail;
+    private final int[][] outputs;
+    private final int[] rootAscii;
+
+    // The combined automaton of the patterns compiled for linear time
+    private final LinearEngine combined;
+    private final int[] combinedIndex;
+    private final boolean[] exact;
+
+    // The patterns searched for one at a time
+    private final int[] others;
+
+    /**
+     * Compiles the given regular expressions into a pattern set.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @return the given regular expressions compiled into a pattern set
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of any of the expressions is invalid
+     */
+    public static PatternSet compile(String... regexes) {
+        return new PatternSet(regexes.clone(), 0);
+    }
+
+    /**
+     * Compiles the given regular expressions into a pattern set with the
+     * given flags, which apply to each of the expressions as in
+     * {@link Pattern#compile(String, int)}. The index of each expression
+     * in the set is its position in the iteration order of the collection.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @param  flags
+     *         Match flags, a bit mask that may include the flags accepted
+     *         by {@link Pattern#compile(String, int)}
+     *
+     * @return the given regular expressions compiled into a pattern set
+     *
+     * @throws  IllegalArgumentException
+     *          If bit values other than those corresponding to the defined
+     *          match flags are set in <tt>flags</tt>
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of any of the expressions is invalid, or if
+     *          <tt>flags</tt> includes {@link Pattern#LINEAR_TIME} and an
+     *          expression uses a construct that flag does not support
+     */
+    public static PatternSet compile(Collection<String> regexes, int flags) {
+        return new PatternSet(regexes.toArray(new String[regexes.size()]),
+                              flags);
+    }
+
+    private PatternSet(String[] regexes, int flags) {
+        this.regexes = regexes;
+        this.flags = flags;
+        int n = regexes.length;
+        patterns = new Pattern[n];
+        int[] alwaysIndex = new int[n];
+        int alwaysCount = 0;
+        String[] literals = new String[n];
+        int[] literalIndex = new int[n];
+        int literalCount = 0;
+        LinearEngine[] engines = new LinearEngine[n];
+        int[] engineIndex = new int[n];
+        int engineCount = 0;
+        int[] otherIndex = new int[n];
+        int otherCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            Pattern p = compile(regexes[i], flags);
+            patterns[i] = p;
+            String literal = literal(p);
+            if (literal != null && literal.isEmpty()) {
+                alwaysIndex[alwaysCount++] = i;
+            } else if (literal != null) {
+                literals[literalCount] = literal;
+                literalIndex[literalCount++] = i;
+            } else if (p.linearEngine != null &&
+                       p.linearEngine.combinable()) {
+                engines[engineCount] = p.linearEngine;
+                engineIndex[engineCount++] = i;
+            } else {
+                otherIndex[otherCount++] = i;
+            }
+        }
+        always = Arrays.copyOf(alwaysIndex, alwaysCount);
+        others = Arrays.copyOf(otherIndex, otherCount);
+
+        if (engineCount > 0) {
+            engines = Arrays.copyOf(engines, engineCount);
+            combined = new LinearEngine(engines);
+            combinedIndex = Arrays.copyOf(engineIndex, engineCount);
+            exact = new boolean[engineCount];
+            for (int j = 0; j < engineCount; j++)
+                exact[j] = engines[j].exact();
+        } else {
+            combined = null;
+            combinedIndex = NONE;
+            exact = new boolean[0];
+        }
+
+        // Build the trie, inserting the literals in order so that the
+        // children of each node are sorted by their labels
+        Integer[] order = new Integer[literalCount];
+        for (int k = 0; k < literalCount; k++)
+            order[k] = k;
+        final String[] lits = literals;
+        Arrays.sort(order, (a, b) -> lits[a].compareTo(lits[b]));
+        int capacity = 1;
+        for (int k = 0; k < literalCount; k++)
+            capacity += literals[k].length();
+        char[][] lab = new char[capacity][];
+        int[][] kids = new int[capacity][];
+        int[][] own = new int[capacity][];
+        lab[0] = new char[0];
+        kids[0] = NONE;
+        own[0] = NONE;
+        int nodes = 1;
+        for (int k : order) {
+            String s = literals[k];
+            int node = 0;
+            for (int d = 0; d < s.length(); d++) {
+                char c = s.charAt(d);
+                int m = kids[node].length;
+                if (m > 0 && lab[node][m - 1] == c) {
+                    node = kids[node][m - 1];
+                } else {
+                    lab[node] = Arrays.copyOf(lab[node], m + 1);
+                    lab[node][m] = c;
+                    kids[node] = Arrays.copyOf(kids[node], m + 1);
+                    kids[node][m] = nodes;
+                    lab[nodes] = new char[0];
+                    kids[nodes] = NONE;
+                    own[nodes] = NONE;
+                    node = nodes++;
+                }
+            }
+            own[node] = Arrays.copyOf(own[node], own[node].length + 1);
+            own[node][own[node].length - 1] = literalIndex[k];
+        }
+        labels = Arrays.copyOf(lab, nodes);
+        children = Arrays.copyOf(kids, nodes);
+
+        rootAscii = new int[128];
+        Arrays.fill(rootAscii, -1);
+        for (int m = 0; m < labels[0].length; m++) {
+            if (labels[0][m] < 128)
+                rootAscii[labels[0][m]] = children[0][m];
+        }
+
+        // Compute the failure links breadth first, so that the output of
+        // a node may include that of the longest proper suffix it links to
+        fail = new int[nodes];
+        outputs = new int[nodes][];
+        outputs[0] = NONE;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int v : children[0]) {
+            outputs[v] = own[v];
+            queue.add(v);
+        }
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int m = 0; m < labels[u].length; m++) {
+                char c = labels[u][m];
+                int v = children[u][m];
+                int f = fail[u];
+                int g;
+                while ((g = child(f, c)) < 0 && f != 0)
+                    f = fail[f];
+                fail[v] = g < 0 ? 0 : g;
+                int[] inherited = outputs[fail[v]];
+                if (inherited.length == 0) {
+                    outputs[v] = own[v];
+                } else {
+                    int[] out = Arrays.copyOf(own[v],
+                                              own[v].length + inherited.length);
+                    System.arraycopy(inherited, 0, out, own[v].length,
+                                     inherited.length);
+                    outputs[v] = out;
+                }
+                queue.add(v);
+            }
+        }
+    }
+
+    /**
+     * Compiles a member of the set, for linear time matching if the flags
+     * do not say otherwise and the expression allows it.
+     */
+    private static Pattern compile(String regex, int flags) {
+        if ((flags & Pattern.LINEAR_TIME) != 0)
+            return Pattern.compile(regex, flags);
+        try {
+            return Pattern.compile(regex, flags | Pattern.LINEAR_TIME);
+        } catch (PatternSyntaxException x) {
+            // Not supported in linear time; genuine errors are thrown again
+            return Pattern.compile(regex, flags);
+        }
+    }
+
+    /**
+     * Returns the string the given pattern matches if it matches exactly
+     * one string of characters, none of which is a surrogate, and null
+     * otherwise.
+     */
+    private static String literal(Pattern p) {
+        Pattern.Node node = p.matchRoot;
+        if (node == Pattern.lastAccept)
+            return "";
+        if (node.next != Pattern.lastAccept)
+            return null;
+        int[] buf;
+        if (node instanceof Pattern.Single)
+            buf = new int[] { ((Pattern.Single)node).c };
+        else if (node instanceof Pattern.Slice)
+            buf = ((Pattern.SliceNode)node).buffer;
+        else
+            return null;
+        char[] chars = new char[buf.length];
+        for (int k = 0; k < buf.length; k++) {
+            if (Character.isSurrogate((char)buf[k]))
+                return null;
+            chars[k] = (char)buf[k];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the child of trie node {@code node} labelled {@code c}, or
+     * -1 if there is none.
+     */
+    private int child(int node, char c) {
+        if (node == 0 && c < 128)
+            return rootAscii[c];
+        char[] lab = labels[node];
+        int lo = 0;
+        int hi = lab.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lab[mid] < c)
+                lo = mid + 1;
+            else if (lab[mid] > c)
+                hi = mid - 1;
+            else
+                return children[node][mid];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of patterns in this set.
+     *
+     * @return  The number of patterns in this set
+     */
+    public int size() {
+        return regexes.length;
+    }
+
+    /**
+     * Returns the regular expression with the given index in this set.
+     *
+     * @param  index
+     *         The index of the pattern
+     *
+     * @return  The source of the pattern with the given index
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the index is negative or not less than {@link #size()}
+     */
+    public String pattern(int index) {
+        return regexes[index];
+    }
+
+    /**
+     * Returns the match flags the patterns of this set were compiled with.
+     *
+     * @return  The match flags specified when this set was compiled
+     */
+    public int flags() {
+        return flags;
+    }
+
+    /**
+     * Returns the indices of the patterns in this set that occur in the
+     * given input, in increasing order. A pattern occurs in the input if
+     * {@link Matcher#find() find} on a new matcher of that pattern for the
+     * input would return true.
+     *
+     * @param  input
+     *         The character sequence to be searched
+     *
+     * @return  The indices of the patterns that occur in the input, in
+     *          increasing order; empty if there are none
+     */
+    public int[] find(CharSequence input) {
+        boolean[] found = new boolean[regexes.length];
+        search(input, found, false);
+        int count = 0;
+        for (boolean f : found) {
+            if (f)
+                count++;
+        }
+        int[] result = new int[count];
+        count = 0;
+        for (int i = 0; i < found.length; i++) {
+            if (found[i])
+                result[count++] = i;
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether any of the patterns in this set occurs in the given
+     * input. The search stops at the first pattern found.
+     *
+     * @param  input
+     *         The character sequence to be searched
+     *
+     * @return  <tt>true</tt> if, and only if, at least one pattern of this
+     *          set occurs in the input
+     */
+    public boolean findAny(CharSequence input) {
+        return search(input, new boolean[regexes.length], true);
+    }
+
+    /**
+     * Marks the patterns that occur in the input. If {@code any} is true
+     * the search stops at the first one found. Returns true if any
+     * pattern was found.
+     */
+    private boolean search(CharSequence input, boolean[] found, boolean any) {
+        boolean result = false;
+        for (int i : always) {
+            found[i] = true;
+            result = true;
+        }
+        if (result && any)
+            return true;
+
+        if (labels[0].length > 0) {
+            int node = 0;
+            int len = input.length();
+            for (int k = 0; k < len; k++) {
+                char c = input.charAt(k);
+                int next;
+                while ((next = child(node, c)) < 0 && node != 0)
+                    node = fail[node];
+                node = next < 0 ? 0 : next;
+                int[] out = outputs[node];
+                if (out.length > 0) {
+                    for (int i : out)
+                        found[i] = true;
+                    result = true;
+                    if (any)
+                        return true;
+                }
+            }
+        }
+
+        if (combined != null) {
+            boolean[] maybe = new boolean[combinedIndex.length];
+            boolean complete = combined.scan(input, maybe, any ? exact : null);
+            for (int j = 0; j < maybe.length; j++) {
+                int i = combinedIndex[j];
+                if (complete && !maybe[j])
+                    continue;
+                if ((complete && exact[j]) ||
+                    patterns[i].matcher(input).find()) {
+                    found[i] = true;
+                    result = true;
+                    if (any)
+                        return true;
+                }
+            }
+        }
+
+        for (int i : others) {
+            if (any && result)
+                return true;
+            if (patterns[i].matcher(input).find()) {
+                found[i] = true;
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the string representation of this pattern set, which lists
+     * the source of each of its patterns.
+     *
+     * @return  The string representation of this pattern set
+     */
+    public String toString() {
+        return Arrays.toString(regexes);
+    }
+}
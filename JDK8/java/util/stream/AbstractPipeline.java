@@ -213,6 +213,31 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         this.depth = previousStage.depth + 1;
     }
 
+    /**
+     * Constructor for an intermediate operation stage that takes the place
+     * of the last stage of an existing pipeline, a stateless one, and
+     * performs both its operation and a further one.  The new stage is
+     * appended to the upstream of the stage it replaces, which is consumed.
+     *
+     * @param opFlags the operation flags for the new stage, which cover both
+     * operations
+     * @param fusedStage the stage to replace
+     */
+    AbstractPipeline(int opFlags, AbstractPipeline<E_IN, ?, ?> fusedStage) {
+        if (fusedStage.linkedOrConsumed)
+            throw new IllegalStateException(MSG_STREAM_LINKED);
+        assert fusedStage.previousStage != null && !fusedStage.opIsStateful();
+        fusedStage.linkedOrConsumed = true;
+        AbstractPipeline previousStage = fusedStage.previousStage;
+        previousStage.nextStage = this;
+
+        this.previousStage = previousStage;
+        this.sourceOrOpFlags = opFlags & StreamOpFlag.OP_MASK;
+        this.combinedFlags = StreamOpFlag.combineOpFlags(opFlags, previousStage.combinedFlags);
+        this.sourceStage = previousStage.sourceStage;
+        this.depth = previousStage.depth + 1;
+    }
+
 
     // Terminal evaluation methods
 
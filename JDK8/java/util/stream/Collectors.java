@@ -24,6 +24,9 @@
  */
 package java.util.stream;
 
+import java.math.BigDecimal;
+import java.math.BigDecimalAccumulator;
+import java.math.MathContext;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.ArrayList;
@@ -51,6 +54,7 @@ import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
@@ -196,6 +200,32 @@ public final class Collectors {
         }
     }
 
+    /**
+     * Implementation class for a {@code Collector} whose result container
+     * can be created with room for a given number of elements, which a
+     * stream of known size uses instead of the supplier.
+     *
+     * @param <T> the type of elements to be collected
+     * @param <A> the type of the result container
+     * @param <R> the type of the result
+     */
+    static class SizedCollectorImpl<T, A, R> extends CollectorImpl<T, A, R> {
+        private final IntFunction<A> sizedSupplier;
+
+        SizedCollectorImpl(Supplier<A> supplier,
+                           IntFunction<A> sizedSupplier,
+                           BiConsumer<A, T> accumulator,
+                           BinaryOperator<A> combiner,
+                           Set<Characteristics> characteristics) {
+            super(supplier, accumulator, combiner, characteristics);
+            this.sizedSupplier = sizedSupplier;
+        }
+
+        IntFunction<A> sizedSupplier() {
+            return sizedSupplier;
+        }
+    }
+
     /**
      * Returns a {@code Collector} that accumulates the input elements into a
      * new {@code Collection}, in encounter order.  The {@code Collection} is
@@ -227,9 +257,11 @@ public final class Collectors {
      */
     public static <T>
     Collector<T, ?, List<T>> toList() {
-        return new CollectorImpl<>((Supplier<List<T>>) ArrayList::new, List::add,
-                                   (left, right) -> { left.addAll(right); return left; },
-                                   CH_ID);
+        return new SizedCollectorImpl<>((Supplier<List<T>>) ArrayList::new,
+                                        (IntFunction<List<T>>) ArrayList::new,
+                                        List::add,
+                                        (left, right) -> { left.addAll(right); return left; },
+                                        CH_ID);
     }
 
     /**
@@ -633,6 +665,74 @@ public final class Collectors {
                 CH_NOID);
     }
 
+    /**
+     * Returns a {@code Collector} that produces the sum of a
+     * {@code BigDecimal}-valued function applied to the input elements.  If
+     * no elements are present, the result is {@code BigDecimal.ZERO}.
+     *
+     * <p>The sum is exact, and equal in both value and scale to the result
+     * of adding up the values with {@link BigDecimal#add(BigDecimal)
+     * BigDecimal.add}, in any order.  It is accumulated in place by a
+     * {@link BigDecimalAccumulator}, rather than allocating a new
+     * {@code BigDecimal} for each element.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper a function extracting the property to be summed
+     * @return a {@code Collector} that produces the sum of a derived property
+     * @since 1.8
+     */
+    public static <T> Collector<T, ?, BigDecimal>
+    summingBigDecimal(Function<? super T, ? extends BigDecimal> mapper) {
+        return new CollectorImpl<>(
+                BigDecimalAccumulator::new,
+                (a, t) -> a.add(mapper.apply(t)),
+                BigDecimalAccumulator::combine,
+                BigDecimalAccumulator::toBigDecimal,
+                CH_NOID);
+    }
+
+    /**
+     * Returns a {@code Collector} that produces the arithmetic mean of a
+     * {@code BigDecimal}-valued function applied to the input elements.  If
+     * no elements are present, the result is {@code BigDecimal.ZERO}.
+     *
+     * <p>The values are summed exactly, as by {@link
+     * #summingBigDecimal(Function)}, and the average is the sum divided by
+     * the number of values, as by {@link BigDecimal#divide(BigDecimal,
+     * MathContext) BigDecimal.divide(BigDecimal, MathContext)}.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper a function extracting the property to be averaged
+     * @param mc the context to use for the division
+     * @return a {@code Collector} that produces the average of a derived
+     * property
+     * @throws ArithmeticException from the collection if the average is
+     * inexact but the rounding mode is {@code UNNECESSARY} or
+     * {@code mc.precision == 0} and the quotient has a non-terminating
+     * decimal expansion
+     * @since 1.8
+     */
+    public static <T> Collector<T, ?, BigDecimal>
+    averagingBigDecimal(Function<? super T, ? extends BigDecimal> mapper,
+                        MathContext mc) {
+        Objects.requireNonNull(mc);
+        return new CollectorImpl<>(
+                BigDecimalAverage::new,
+                (a, t) -> { a.sum.add(mapper.apply(t)); a.count++; },
+                (a, b) -> { a.sum.combine(b.sum); a.count += b.count; return a; },
+                a -> (a.count == 0) ? BigDecimal.ZERO
+                        : a.sum.toBigDecimal().divide(BigDecimal.valueOf(a.count), mc),
+                CH_NOID);
+    }
+
+    /**
+     * The running sum and count of {@link #averagingBigDecimal}.
+     */
+    private static final class BigDecimalAverage {
+        final BigDecimalAccumulator sum = new BigDecimalAccumulator();
+        long count;
+    }
+
     /**
      * Returns a {@code Collector} which performs a reduction of its
      * input elements under a specified {@code BinaryOperator} using the
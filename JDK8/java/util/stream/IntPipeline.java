@@ -91,6 +91,17 @@ abstract class IntPipeline<E_IN>
         super(upstream, opFlags);
     }
 
+    /**
+     * Constructor for an intermediate operation that is fused with the last
+     * stage of an existing pipeline, taking its place.
+     *
+     * @param opFlags the operation flags for both operations
+     * @param fusedStage the stateless stage to replace
+     */
+    IntPipeline(int opFlags, AbstractPipeline<E_IN, ?, ?> fusedStage) {
+        super(opFlags, fusedStage);
+    }
+
     /**
      * Adapt a {@code Sink<Integer> to an {@code IntConsumer}, ideally simply
      * by casting.
@@ -223,18 +234,9 @@ abstract class IntPipeline<E_IN>
     @Override
     public final IntStream map(IntUnaryOperator mapper) {
         Objects.requireNonNull(mapper);
-        return new StatelessOp<Integer>(this, StreamShape.INT_VALUE,
-                                        StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT) {
-            @Override
-            Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
-                return new Sink.ChainedInt<Integer>(sink) {
-                    @Override
-                    public void accept(int t) {
-                        downstream.accept(mapper.applyAsInt(t));
-                    }
-                };
-            }
-        };
+        if (this instanceof FilterMapOp)
+            return ((FilterMapOp) this).fuseMap(mapper);
+        return new FilterMapOp(this, null, mapper);
     }
 
     @Override
@@ -329,24 +331,9 @@ abstract class IntPipeline<E_IN>
     @Override
     public final IntStream filter(IntPredicate predicate) {
         Objects.requireNonNull(predicate);
-        return new StatelessOp<Integer>(this, StreamShape.INT_VALUE,
-                                        StreamOpFlag.NOT_SIZED) {
-            @Override
-            Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
-                return new Sink.ChainedInt<Integer>(sink) {
-                    @Override
-                    public void begin(long size) {
-                        downstream.begin(-1);
-                    }
-
-                    @Override
-                    public void accept(int t) {
-                        if (predicate.test(t))
-                            downstream.accept(t);
-                    }
-                };
-            }
-        };
+        if (this instanceof FilterMapOp)
+            return ((FilterMapOp) this).fuseFilter(predicate);
+        return new FilterMapOp(this, predicate, null);
     }
 
     @Override
@@ -595,12 +582,113 @@ abstract class IntPipeline<E_IN>
             assert upstream.getOutputShape() == inputShape;
         }
 
+        /**
+         * Construct a new IntStream by fusing a stateless intermediate
+         * operation with the last stage of an existing stream, which must
+         * also be stateless.
+         * @param opFlags Operation flags for the new stage
+         * @param fusedStage The stage to replace
+         */
+        StatelessOp(int opFlags, StatelessOp<E_IN> fusedStage) {
+            super(opFlags, fusedStage);
+        }
+
         @Override
         final boolean opIsStateful() {
             return false;
         }
     }
 
+    /**
+     * A stateless stage that filters its elements and maps those that pass.
+     * Either operation may be absent.  A {@code filter} or {@code map}
+     * operation appended to such a stage is fused with it where possible,
+     * so that a run of them shares a single pipeline stage and sink.
+     */
+    static final class FilterMapOp extends StatelessOp<Integer> {
+        private final IntPredicate predicate;
+        private final IntUnaryOperator mapper;
+
+        FilterMapOp(AbstractPipeline<?, Integer, ?> upstream,
+                    IntPredicate predicate, IntUnaryOperator mapper) {
+            super(upstream, StreamShape.INT_VALUE, opFlags(predicate, mapper));
+            this.predicate = predicate;
+            this.mapper = mapper;
+        }
+
+        private FilterMapOp(IntPredicate predicate, IntUnaryOperator mapper,
+                            FilterMapOp fusedStage) {
+            super(opFlags(predicate, mapper), fusedStage);
+            this.predicate = predicate;
+            this.mapper = mapper;
+        }
+
+        private static int opFlags(Object predicate, Object mapper) {
+            return (predicate != null ? StreamOpFlag.NOT_SIZED : 0)
+                   | (mapper != null ? StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT : 0);
+        }
+
+        /**
+         * Returns a stage that filters the output of this one, replacing it
+         * unless it maps its elements.
+         */
+        IntStream fuseFilter(IntPredicate p) {
+            if (mapper != null)
+                return new FilterMapOp(this, p, null);
+            IntPredicate first = predicate;
+            return new FilterMapOp(first == null ? p : t -> first.test(t) && p.test(t),
+                                   null, this);
+        }
+
+        /**
+         * Returns a stage that replaces this one and maps its output.
+         */
+        IntStream fuseMap(IntUnaryOperator f) {
+            IntUnaryOperator first = mapper;
+            return new FilterMapOp(predicate,
+                                   first == null ? f : t -> f.applyAsInt(first.applyAsInt(t)),
+                                   this);
+        }
+
+        @Override
+        Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
+            if (predicate == null) {
+                return new Sink.ChainedInt<Integer>(sink) {
+                    @Override
+                    public void accept(int t) {
+                        downstream.accept(mapper.applyAsInt(t));
+                    }
+                };
+            } else if (mapper == null) {
+                return new Sink.ChainedInt<Integer>(sink) {
+                    @Override
+                    public void begin(long size) {
+                        downstream.begin(-1);
+                    }
+
+                    @Override
+                    public void accept(int t) {
+                        if (predicate.test(t))
+                            downstream.accept(t);
+                    }
+                };
+            } else {
+                return new Sink.ChainedInt<Integer>(sink) {
+                    @Override
+                    public void begin(long size) {
+                        downstream.begin(-1);
+                    }
+
+                    @Override
+                    public void accept(int t) {
+                        if (predicate.test(t))
+                            downstream.accept(mapper.applyAsInt(t));
+                    }
+                };
+            }
+        }
+    }
+
     /**
      * Base class for a stateful intermediate stage of an IntStream.
      *
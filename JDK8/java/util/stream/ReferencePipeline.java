@@ -94,6 +94,17 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         super(upstream, opFlags);
     }
 
+    /**
+     * Constructor for an intermediate operation that is fused with the last
+     * stage of an existing pipeline, taking its place.
+     *
+     * @param opFlags the operation flags for both operations
+     * @param fusedStage the stateless stage to replace
+     */
+    ReferencePipeline(int opFlags, AbstractPipeline<P_IN, ?, ?> fusedStage) {
+        super(opFlags, fusedStage);
+    }
+
     // Shape-specific methods
 
     @Override
@@ -159,42 +170,18 @@ abstract class ReferencePipeline<P_IN, P_OUT>
     @Override
     public final Stream<P_OUT> filter(Predicate<? super P_OUT> predicate) {
         Objects.requireNonNull(predicate);
-        return new StatelessOp<P_OUT, P_OUT>(this, StreamShape.REFERENCE,
-                                     StreamOpFlag.NOT_SIZED) {
-            @Override
-            Sink<P_OUT> opWrapSink(int flags, Sink<P_OUT> sink) {
-                return new Sink.ChainedReference<P_OUT, P_OUT>(sink) {
-                    @Override
-                    public void begin(long size) {
-                        downstream.begin(-1);
-                    }
-
-                    @Override
-                    public void accept(P_OUT u) {
-                        if (predicate.test(u))
-                            downstream.accept(u);
-                    }
-                };
-            }
-        };
+        if (this instanceof FilterMapOp)
+            return ((FilterMapOp<?, P_OUT>) this).fuseFilter(predicate);
+        return new FilterMapOp<>(this, predicate, null);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public final <R> Stream<R> map(Function<? super P_OUT, ? extends R> mapper) {
         Objects.requireNonNull(mapper);
-        return new StatelessOp<P_OUT, R>(this, StreamShape.REFERENCE,
-                                     StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT) {
-            @Override
-            Sink<P_OUT> opWrapSink(int flags, Sink<R> sink) {
-                return new Sink.ChainedReference<P_OUT, R>(sink) {
-                    @Override
-                    public void accept(P_OUT u) {
-                        downstream.accept(mapper.apply(u));
-                    }
-                };
-            }
-        };
+        if (this instanceof FilterMapOp)
+            return ((FilterMapOp<?, P_OUT>) this).fuseMap(mapper);
+        return new FilterMapOp<>(this, null, mapper);
     }
 
     @Override
@@ -619,12 +606,127 @@ abstract class ReferencePipeline<P_IN, P_OUT>
             assert upstream.getOutputShape() == inputShape;
         }
 
+        /**
+         * Construct a new Stream by fusing a stateless intermediate
+         * operation with the last stage of an existing stream, which must
+         * also be stateless.
+         *
+         * @param opFlags Operation flags for the new stage
+         * @param fusedStage The stage to replace
+         */
+        StatelessOp(int opFlags, StatelessOp<E_IN, ?> fusedStage) {
+            super(opFlags, fusedStage);
+        }
+
         @Override
         final boolean opIsStateful() {
             return false;
         }
     }
 
+    /**
+     * A stateless stage that filters its elements and maps those that pass.
+     * Either operation may be absent, in which case all elements pass or
+     * are passed on unchanged.  A {@code filter} or {@code map} operation
+     * appended to such a stage is fused with it where possible, so that a
+     * run of them shares a single pipeline stage and a single sink.
+     *
+     * @param <E_IN> type of elements in the upstream source
+     * @param <E_OUT> type of elements produced by this stage
+     */
+    static final class FilterMapOp<E_IN, E_OUT> extends StatelessOp<E_IN, E_OUT> {
+        private final Predicate<? super E_IN> predicate;
+        private final Function<? super E_IN, ? extends E_OUT> mapper;
+
+        FilterMapOp(AbstractPipeline<?, E_IN, ?> upstream,
+                    Predicate<? super E_IN> predicate,
+                    Function<? super E_IN, ? extends E_OUT> mapper) {
+            super(upstream, StreamShape.REFERENCE, opFlags(predicate, mapper));
+            this.predicate = predicate;
+            this.mapper = mapper;
+        }
+
+        private FilterMapOp(Predicate<? super E_IN> predicate,
+                            Function<? super E_IN, ? extends E_OUT> mapper,
+                            FilterMapOp<E_IN, ?> fusedStage) {
+            super(opFlags(predicate, mapper), fusedStage);
+            this.predicate = predicate;
+            this.mapper = mapper;
+        }
+
+        private static int opFlags(Object predicate, Object mapper) {
+            return (predicate != null ? StreamOpFlag.NOT_SIZED : 0)
+                   | (mapper != null ? StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT : 0);
+        }
+
+        /**
+         * Returns a stage that filters the output of this one, replacing it
+         * unless it maps its elements.
+         */
+        @SuppressWarnings("unchecked")
+        Stream<E_OUT> fuseFilter(Predicate<? super E_OUT> p) {
+            if (mapper != null)
+                return new FilterMapOp<>(this, p, null);
+            // Without a mapper the elements of this stage are its input
+            Predicate<? super E_IN> q = (Predicate<? super E_IN>) p;
+            Predicate<? super E_IN> first = predicate;
+            return new FilterMapOp<E_IN, E_OUT>(
+                    first == null ? q : t -> first.test(t) && q.test(t),
+                    null, this);
+        }
+
+        /**
+         * Returns a stage that replaces this one and maps its output.
+         */
+        @SuppressWarnings("unchecked")
+        <R> Stream<R> fuseMap(Function<? super E_OUT, ? extends R> f) {
+            Function<? super E_IN, ? extends E_OUT> first = mapper;
+            Function<? super E_IN, ? extends R> m = (first == null)
+                    ? (Function<? super E_IN, ? extends R>) f
+                    : t -> f.apply(first.apply(t));
+            return new FilterMapOp<E_IN, R>(predicate, m, this);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Sink<E_IN> opWrapSink(int flags, Sink<E_OUT> sink) {
+            if (predicate == null) {
+                return new Sink.ChainedReference<E_IN, E_OUT>(sink) {
+                    @Override
+                    public void accept(E_IN u) {
+                        downstream.accept(mapper.apply(u));
+                    }
+                };
+            } else if (mapper == null) {
+                return new Sink.ChainedReference<E_IN, E_OUT>(sink) {
+                    @Override
+                    public void begin(long size) {
+                        downstream.begin(-1);
+                    }
+
+                    @Override
+                    public void accept(E_IN u) {
+                        if (predicate.test(u))
+                            downstream.accept((E_OUT) u);
+                    }
+                };
+            } else {
+                return new Sink.ChainedReference<E_IN, E_OUT>(sink) {
+                    @Override
+                    public void begin(long size) {
+                        downstream.begin(-1);
+                    }
+
+                    @Override
+                    public void accept(E_IN u) {
+                        if (predicate.test(u))
+                            downstream.accept(mapper.apply(u));
+                    }
+                };
+            }
+        }
+    }
+
     /**
      * Base class for a stateful intermediate stage of a Stream.
      *
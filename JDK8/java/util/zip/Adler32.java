@@ -113,9 +113,8 @@ class Adler32 implements Checksum {
         } else if (buffer.hasArray()) {
             adler = updateBytes(adler, buffer.array(), pos + buffer.arrayOffset(), rem);
         } else {
-            byte[] b = new byte[rem];
-            buffer.get(b);
-            adler = updateBytes(adler, b, 0, b.length);
+            // A read-only heap buffer: checksum it in place
+            adler = updateBuffer(adler, buffer, pos, rem);
         }
         buffer.position(limit);
     }
@@ -134,6 +133,66 @@ class Adler32 implements Checksum {
         return (long)adler & 0xffffffffL;
     }
 
+    /**
+     * Returns the Adler-32 checksum of the concatenation of two byte
+     * sequences, given the checksum of each and the length of the second.
+     * This allows the checksum of data that was split into parts, for
+     * example to be processed in parallel, to be computed from the
+     * checksums of the parts without revisiting the data.
+     *
+     * @param adler1 the Adler-32 value of the first sequence
+     * @param adler2 the Adler-32 value of the second sequence
+     * @param len2 the length in bytes of the second sequence
+     * @return the Adler-32 value of the first sequence followed by the
+     *         second
+     * @throws IllegalArgumentException if {@code len2} is negative
+     * @since 1.8
+     */
+    public static long combine(long adler1, long adler2, long len2) {
+        if (len2 < 0) {
+            throw new IllegalArgumentException("len2 < 0");
+        }
+        // As zlib's adler32_combine: each byte of the second sequence
+        // adds the first sum of the first sequence to the second sum once.
+        long rem = len2 % BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (rem * sum1) % BASE;
+        sum1 += (adler2 & 0xffff) + BASE - 1;
+        sum2 += ((adler1 >> 16) & 0xffff) + ((adler2 >> 16) & 0xffff)
+                + BASE - rem;
+        if (sum1 >= BASE) sum1 -= BASE;
+        if (sum1 >= BASE) sum1 -= BASE;
+        if (sum2 >= (BASE << 1)) sum2 -= (BASE << 1);
+        if (sum2 >= BASE) sum2 -= BASE;
+        return sum1 | (sum2 << 16);
+    }
+
+    // Largest prime smaller than 65536
+    private static final int BASE = 65521;
+
+    // Largest n such that 255n(n+1)/2 + (n+1)(BASE-1) fits in 32 unsigned bits
+    private static final int NMAX = 5552;
+
+    /*
+     * Updates the checksum with the bytes of the buffer from pos to
+     * pos + len, without moving the buffer's position.
+     */
+    private static int updateBuffer(int adler, ByteBuffer b, int pos, int len) {
+        long s1 = adler & 0xffff;
+        long s2 = adler >>> 16;
+        while (len > 0) {
+            int n = Math.min(len, NMAX);
+            len -= n;
+            for (int end = pos + n; pos < end; pos++) {
+                s1 += b.get(pos) & 0xff;
+                s2 += s1;
+            }
+            s1 %= BASE;
+            s2 %= BASE;
+        }
+        return (int)((s2 << 16) | s1);
+    }
+
     private native static int update(int adler, int b);
     private native static int updateBytes(int adler, byte[] b, int off,
                                           int len);
@@ -26,6 +26,7 @@
 package java.util.zip;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import sun.nio.ch.DirectBuffer;
 
 /**
@@ -110,9 +111,8 @@ class CRC32 implements Checksum {
         } else if (buffer.hasArray()) {
             crc = updateBytes(crc, buffer.array(), pos + buffer.arrayOffset(), rem);
         } else {
-            byte[] b = new byte[rem];
-            buffer.get(b);
-            crc = updateBytes(crc, b, 0, b.length);
+            // A read-only heap buffer: checksum it in place
+            crc = updateSlicing8(Slicing8.TABLE, crc, buffer, pos, rem);
         }
         buffer.position(limit);
     }
@@ -131,6 +131,166 @@ class CRC32 implements Checksum {
         return (long)crc & 0xffffffffL;
     }
 
+    /**
+     * Returns the CRC-32 of the concatenation of two byte sequences, given
+     * the CRC-32 of each and the length of the second.  This allows the
+     * checksum of data that was split into parts, for example to be
+     * processed in parallel, to be computed from the checksums of the
+     * parts without revisiting the data.
+     *
+     * <p> The combination takes time proportional to the logarithm of
+     * {@code len2}.
+     *
+     * @param crc1 the CRC-32 value of the first sequence
+     * @param crc2 the CRC-32 value of the second sequence
+     * @param len2 the length in bytes of the second sequence
+     * @return the CRC-32 value of the first sequence followed by the
+     *         second
+     * @throws IllegalArgumentException if {@code len2} is negative
+     * @since 1.8
+     */
+    public static long combine(long crc1, long crc2, long len2) {
+        if (len2 < 0) {
+            throw new IllegalArgumentException("len2 < 0");
+        }
+        return combine((int)crc1, (int)crc2, len2, POLY) & 0xffffffffL;
+    }
+
+    /*
+     * Returns the CRC of the concatenation of two sequences for the given
+     * reflected polynomial.  Appending len2 zero bytes is a linear operator
+     * over GF(2); it is applied to crc1 by repeated squaring of the
+     * operator for one zero bit, as zlib's crc32_combine does.
+     */
+    static int combine(int crc1, int crc2, long len2, int poly) {
+        if (len2 == 0) {
+            return crc1;
+        }
+        int[] even = new int[32];
+        int[] odd = new int[32];
+        odd[0] = poly;
+        int row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        gf2MatrixSquare(even, odd); // operator for two zero bits
+        gf2MatrixSquare(odd, even); // operator for four zero bits
+        do {
+            // First pass gives the operator for one zero byte
+            gf2MatrixSquare(even, odd);
+            if ((len2 & 1) != 0) {
+                crc1 = gf2MatrixTimes(even, crc1);
+            }
+            len2 >>>= 1;
+            if (len2 == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((len2 & 1) != 0) {
+                crc1 = gf2MatrixTimes(odd, crc1);
+            }
+            len2 >>>= 1;
+        } while (len2 != 0);
+        return crc1 ^ crc2;
+    }
+
+    private static int gf2MatrixTimes(int[] mat, int vec) {
+        int sum = 0;
+        for (int i = 0; vec != 0; i++, vec >>>= 1) {
+            if ((vec & 1) != 0) {
+                sum ^= mat[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(int[] square, int[] mat) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(mat, mat[n]);
+        }
+    }
+
+    // The CRC-32 polynomial, reflected
+    private static final int POLY = 0xedb88320;
+
+    // Slicing-by-8 tables, only built if a buffer needs them
+    private static class Slicing8 {
+        static final int[] TABLE = slicing8Table(POLY);
+    }
+
+    /*
+     * Returns the eight 256-entry tables, one after another, for
+     * computing a reflected CRC eight bytes at a time.  Entry n of table k
+     * is the CRC of byte n followed by k zero bytes.
+     */
+    static int[] slicing8Table(int poly) {
+        int[] t = new int[8 * 256];
+        for (int n = 0; n < 256; n++) {
+            int c = n;
+            for (int k = 0; k < 8; k++) {
+                c = (c & 1) != 0 ? (c >>> 1) ^ poly : c >>> 1;
+            }
+            t[n] = c;
+        }
+        for (int n = 0; n < 256; n++) {
+            int c = t[n];
+            for (int k = 1; k < 8; k++) {
+                c = (c >>> 8) ^ t[c & 0xff];
+                t[(k << 8) + n] = c;
+            }
+        }
+        return t;
+    }
+
+    /*
+     * Updates a reflected CRC, in its final (inverted) form, with the given
+     * bytes using slicing-by-8 tables.
+     */
+    static int updateSlicing8(int[] t, int crc, byte[] b, int off, int len) {
+        crc = ~crc;
+        for (; len >= 8; off += 8, len -= 8) {
+            int lo = ((b[off] & 0xff) | (b[off + 1] & 0xff) << 8 |
+                      (b[off + 2] & 0xff) << 16 | (b[off + 3] & 0xff) << 24)
+                     ^ crc;
+            int hi = (b[off + 4] & 0xff) | (b[off + 5] & 0xff) << 8 |
+                     (b[off + 6] & 0xff) << 16 | (b[off + 7] & 0xff) << 24;
+            crc = slice8(t, lo, hi);
+        }
+        for (; len > 0; off++, len--) {
+            crc = (crc >>> 8) ^ t[(crc ^ b[off]) & 0xff];
+        }
+        return ~crc;
+    }
+
+    /*
+     * Updates a reflected CRC, in its final (inverted) form, with the
+     * bytes of the buffer from pos to pos + len, without moving the
+     * buffer's position.
+     */
+    static int updateSlicing8(int[] t, int crc, ByteBuffer b, int pos, int len) {
+        boolean reverse = b.order() != ByteOrder.LITTLE_ENDIAN;
+        crc = ~crc;
+        for (; len >= 8; pos += 8, len -= 8) {
+            long v = b.getLong(pos);
+            if (reverse) {
+                v = Long.reverseBytes(v);
+            }
+            crc = slice8(t, (int)v ^ crc, (int)(v >>> 32));
+        }
+        for (; len > 0; pos++, len--) {
+            crc = (crc >>> 8) ^ t[(crc ^ b.get(pos)) & 0xff];
+        }
+        return ~crc;
+    }
+
+    private static int slice8(int[] t, int lo, int hi) {
+        return t[(7 << 8) + (lo & 0xff)] ^ t[(6 << 8) + ((lo >>> 8) & 0xff)] ^
+               t[(5 << 8) + ((lo >>> 16) & 0xff)] ^ t[(4 << 8) + (lo >>> 24)] ^
+               t[(3 << 8) + (hi & 0xff)] ^ t[(2 << 8) + ((hi >>> 8) & 0xff)] ^
+               t[(1 << 8) + ((hi >>> 16) & 0xff)] ^ t[hi >>> 24];
+    }
+
     private native static int update(int crc, int b);
     private native static int updateBytes(int crc, byte[] b, int off, int len);
 
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.zip;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A class that can be used to compute the CRC-32C of a data stream.
+ *
+ * <p> CRC-32C is defined in <a href="http://www.ietf.org/rfc/rfc3720.txt">
+ * RFC 3720</a>: Internet Small Computer Systems Interface (iSCSI).  It uses
+ * the Castagnoli polynomial, which detects more errors in short messages
+ * than the polynomial used by {@link CRC32}.
+ *
+ * <p> Passing a {@code null} argument to a method in this class will cause
+ * a {@link NullPointerException} to be thrown.
+ *
+ * @see Checksum
+ * @since 1.8
+ */
+public final class CRC32C implements Checksum {
+
+    // The CRC-32C (Castagnoli) polynomial, reflected
+    private static final int POLY = 0x82f63b78;
+
+    // Slicing-by-8 tables
+    private static final int[] TABLE = CRC32.slicing8Table(POLY);
+
+    private int crc;
+
+    /**
+     * Creates a new CRC32C object.
+     */
+    public CRC32C() {
+    }
+
+    /**
+     * Updates the CRC-32C checksum with the specified byte (the low
+     * eight bits of the argument b).
+     *
+     * @param b the byte to update the checksum with
+     */
+    public void update(int b) {
+        crc = ~((~crc >>> 8) ^ TABLE[(~crc ^ b) & 0xff]);
+    }
+
+    /**
+     * Updates the CRC-32C checksum with the specified array of bytes.
+     *
+     * @throws  ArrayIndexOutOfBoundsException
+     *          if {@code off} is negative, or {@code len} is negative,
+     *          or {@code off+len} is greater than the length of the
+     *          array {@code b}
+     */
+    public void update(byte[] b, int off, int len) {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        crc = CRC32.updateSlicing8(TABLE, crc, b, off, len);
+    }
+
+    /**
+     * Updates the CRC-32C checksum with the specified array of bytes.
+     *
+     * @param b the array of bytes to update the checksum with
+     */
+    public void update(byte[] b) {
+        crc = CRC32.updateSlicing8(TABLE, crc, b, 0, b.length);
+    }
+
+    /**
+     * Updates the checksum with the bytes from the specified buffer.
+     *
+     * The checksum is updated using
+     * buffer.{@link java.nio.Buffer#remaining() remaining()}
+     * bytes starting at
+     * buffer.{@link java.nio.Buffer#position() position()}
+     * Upon return, the buffer's position will
+     * be updated to its limit; its limit will not have been changed.
+     *
+     * @param buffer the ByteBuffer to update the checksum with
+     */
+    public void update(ByteBuffer buffer) {
+        int pos = buffer.position();
+        int limit = buffer.limit();
+        assert (pos <= limit);
+        int rem = limit - pos;
+        if (rem <= 0)
+            return;
+        if (buffer.hasArray()) {
+            crc = CRC32.updateSlicing8(TABLE, crc, buffer.array(),
+                                       pos + buffer.arrayOffset(), rem);
+        } else {
+            crc = CRC32.updateSlicing8(TABLE, crc, buffer, pos, rem);
+        }
+        buffer.position(limit);
+    }
+
+    /**
+     * Resets CRC-32C to initial value.
+     */
+    public void reset() {
+        crc = 0;
+    }
+
+    /**
+     * Returns CRC-32C value.
+     */
+    public long getValue() {
+        return (long)crc & 0xffffffffL;
+    }
+
+    /**
+     * Returns the CRC-32C of the concatenation of two byte sequences,
+     * given the CRC-32C of each and the length of the second.
+     *
+     * @param crc1 the CRC-32C value of the first sequence
+     * @param crc2 the CRC-32C value of the second sequence
+     * @param len2 the length in bytes of the second sequence
+     * @return the CRC-32C value of the first sequence followed by the
+     *         second
+     * @throws IllegalArgumentException if {@code len2} is negative
+     * @see CRC32#combine
+     */
+    public static long combine(long crc1, long crc2, long len2) {
+        if (len2 < 0) {
+            throw new IllegalArgumentException("len2 < 0");
+        }
+        return CRC32.combine((int)crc1, (int)crc2, len2, POLY) & 0xffffffffL;
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.zip;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class implements a stream filter for writing compressed data in
+ * the GZIP file format, compressing on several threads at once.
+ *
+ * <p> Data written to the stream is split into blocks of a fixed size,
+ * and the blocks are deflated concurrently by tasks in a
+ * {@link ForkJoinPool}.  Each block is primed with the last 32K of the
+ * data before it as a preset dictionary, so the compression ratio is
+ * close to that of a single {@link Deflater}, and ends with a
+ * {@linkplain Deflater#SYNC_FLUSH sync flush} so that the compressed
+ * blocks can be joined.  The CRC-32 of each block is also computed by its
+ * task and the block checksums are joined with {@link CRC32#combine}.
+ * The output is a single standard GZIP member that can be read by
+ * {@link GZIPInputStream}.
+ *
+ * <p> Compressed blocks are written to the underlying stream in order by
+ * the thread that writes to this stream.  At most a small multiple of
+ * the pool's parallelism of blocks are compressed ahead of the output,
+ * so memory use is bounded by the block size and the parallelism.
+ *
+ * <p> Like {@link GZIPOutputStream}, instances of this class are not
+ * safe for use by multiple concurrent threads.
+ *
+ * @see GZIPOutputStream
+ * @since 1.8
+ */
+public
+class ParallelGZIPOutputStream extends FilterOutputStream {
+    /*
+     * GZIP header magic number.
+     */
+    private final static int GZIP_MAGIC = 0x8b1f;
+
+    /*
+     * Trailer size in bytes.
+     */
+    private final static int TRAILER_SIZE = 8;
+
+    /*
+     * Size of the deflate window, and so of the useful preset dictionary.
+     */
+    private final static int DICT_SIZE = 32 * 1024;
+
+    /*
+     * Default block size.
+     */
+    private final static int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    private final ForkJoinPool pool;
+    private final int maxPending;
+
+    // Blocks being compressed, in output order
+    private final Queue<BlockTask> pending = new ArrayDeque<>();
+
+    // Deflaters not in use by any task, shared by the tasks
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+
+    private byte[] block;        // the block being filled
+    private int count;           // number of bytes in block
+    private byte[] prev;         // the last block submitted, if any
+    private int prevCount;       // number of bytes in prev
+
+    private long crc;            // CRC-32 of the data written out so far
+    private long totalIn;        // number of bytes written out so far
+    private boolean finished;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new output stream that compresses in blocks of the
+     * specified size using the specified pool.
+     *
+     * @param out the output stream
+     * @param blockSize the size in bytes of the blocks that are compressed
+     *        independently
+     * @param pool the pool in which to compress blocks
+     * @exception IOException If an I/O error has occurred.
+     * @exception IllegalArgumentException if {@code blockSize <= 0}
+     */
+    public ParallelGZIPOutputStream(OutputStream out, int blockSize,
+                                    ForkJoinPool pool)
+        throws IOException
+    {
+        super(out);
+        if (out == null || pool == null) {
+            throw new NullPointerException();
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size <= 0");
+        }
+        this.pool = pool;
+        this.maxPending = Math.max(2, pool.getParallelism() * 2);
+        this.block = new byte[blockSize];
+        writeHeader();
+    }
+
+    /**
+     * Creates a new output stream with a default block size that
+     * compresses using the {@linkplain ForkJoinPool#commonPool() common
+     * pool}.
+     *
+     * @param out the output stream
+     * @exception IOException If an I/O error has occurred.
+     */
+    public ParallelGZIPOutputStream(OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Writes a byte to the compressed output stream.
+     *
+     * @param b the byte to be written
+     * @exception IOException if an I/O error has occurred
+     */
+    public void write(int b) throws IOException {
+        ensureNotFinished();
+        block[count++] = (byte)b;
+        if (count == block.length) {
+            submit(false);
+        }
+    }
+
+    /**
+     * Writes array of bytes to the compressed output stream. This method
+     * will block until all the bytes are buffered or written, and may
+     * block while earlier blocks are compressed.
+     *
+     * @param b the data to be written
+     * @param off the start offset of the data
+     * @param len the length of the data
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureNotFinished();
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            int n = Math.min(len, block.length - count);
+            System.arraycopy(b, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == block.length) {
+                submit(false);
+            }
+        }
+    }
+
+    /**
+     * Flushes the compressed output stream.  Any buffered data is
+     * compressed, all compressed data is written to the underlying
+     * stream, and the underlying stream is then flushed.
+     *
+     * @exception IOException if an I/O error has occurred
+     */
+    public void flush() throws IOException {
+        ensureOpen();
+        if (!finished) {
+            if (count > 0) {
+                submit(false);
+            }
+            while (!pending.isEmpty()) {
+                writeBlock();
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Finishes writing compressed data to the output stream without closing
+     * the underlying stream. Use this method when applying multiple filters
+     * in succession to the same output stream.
+     * @exception IOException if an I/O error has occurred
+     */
+    public void finish() throws IOException {
+        ensureOpen();
+        if (!finished) {
+            submit(true);
+            while (!pending.isEmpty()) {
+                writeBlock();
+            }
+            byte[] trailer = new byte[TRAILER_SIZE];
+            writeInt((int)crc, trailer, 0);       // CRC-32 of uncompr. data
+            writeInt((int)totalIn, trailer, 4);   // Number of uncompr. bytes
+            out.write(trailer);
+            finished = true;
+        }
+    }
+
+    /**
+     * Writes remaining compressed data to the output stream and closes the
+     * underlying stream.
+     * @exception IOException if an I/O error has occurred
+     */
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                finish();
+            } finally {
+                closed = true;
+                // Tasks still running after a failure end their own
+                BlockTask t;
+                while ((t = pending.poll()) != null) {
+                    t.cancel(false);
+                }
+                Deflater def;
+                while ((def = deflaters.poll()) != null) {
+                    def.end();
+                }
+                out.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void ensureNotFinished() throws IOException {
+        ensureOpen();
+        if (finished) {
+            throw new IOException("write beyond end of stream");
+        }
+    }
+
+    /*
+     * Hands the current block to a new task, first writing out the
+     * oldest block if too many are pending.
+     */
+    private void submit(boolean last) throws IOException {
+        if (pending.size() >= maxPending) {
+            writeBlock();
+        }
+        BlockTask t = new BlockTask(block, count, prev, prevCount, last);
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            t.fork();
+        } else {
+            pool.execute(t);
+        }
+        pending.add(t);
+        prev = block;
+        prevCount = count;
+        block = new byte[block.length];
+        count = 0;
+    }
+
+    /*
+     * Waits for the oldest pending block and writes it out.
+     */
+    private void writeBlock() throws IOException {
+        BlockTask t = pending.poll();
+        byte[] b = t.join();
+        out.write(b, 0, t.outCount);
+        crc = CRC32.combine(crc, t.crc, t.inCount);
+        totalIn += t.inCount;
+    }
+
+    /*
+     * Compresses one block, leaving the compressed bytes as the result
+     * and the block's length and CRC-32 in fields.
+     */
+    private final class BlockTask extends RecursiveTask<byte[]> {
+        private static final long serialVersionUID = 4087421541924346154L;
+
+        private final byte[] in;
+        private final int inCount;
+        private final byte[] dict;
+        private final int dictCount;
+        private final boolean last;
+        int outCount;
+        long crc;
+
+        BlockTask(byte[] in, int inCount, byte[] dict, int dictCount,
+                  boolean last) {
+            this.in = in;
+            this.inCount = inCount;
+            this.dict = dict;
+            this.dictCount = dictCount;
+            this.last = last;
+        }
+
+        protected byte[] compute() {
+            CRC32 c = new CRC32();
+            c.update(in, 0, inCount);
+            crc = c.getValue();
+
+            Deflater def = deflaters.poll();
+            if (def == null) {
+                def = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            }
+            try {
+                if (dict != null) {
+                    int n = Math.min(dictCount, DICT_SIZE);
+                    def.setDictionary(dict, dictCount - n, n);
+                }
+                def.setInput(in, 0, inCount);
+                // Room for incompressible data and the flush marker
+                byte[] out = new byte[inCount + (inCount >>> 8) + 64];
+                int len = 0;
+                if (last) {
+                    def.finish();
+                    while (!def.finished()) {
+                        if (len == out.length) {
+                            out = Arrays.copyOf(out, out.length << 1);
+                        }
+                        len += def.deflate(out, len, out.length - len);
+                    }
+                } else {
+                    int n;
+                    do {
+                        if (len == out.length) {
+                            out = Arrays.copyOf(out, out.length << 1);
+                        }
+                        n = def.deflate(out, len, out.length - len,
+                                        Deflater.SYNC_FLUSH);
+                        len += n;
+                    } while (len == out.length);
+                }
+                outCount = len;
+                return out;
+            } finally {
+                if (closed) {
+                    def.end();
+                } else {
+                    def.reset();
+                    deflaters.add(def);
+                    // close() may have drained the queue since closed was
+                    // read; whichever of the two removes def ends it
+                    if (closed && deflaters.remove(def)) {
+                        def.end();
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Writes GZIP member header.
+     */
+    private void writeHeader() throws IOException {
+        out.write(new byte[] {
+                      (byte) GZIP_MAGIC,        // Magic number (short)
+                      (byte)(GZIP_MAGIC >> 8),  // Magic number (short)
+                      Deflater.DEFLATED,        // Compression method (CM)
+                      0,                        // Flags (FLG)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Extra flags (XFLG)
+                      0                         // Operating system (OS)
+                  });
+    }
+
+    /*
+     * Writes integer in Intel byte order to a byte array, starting at a
+     * given offset.
+     */
+    private void writeInt(int i, byte[] buf, int offset) {
+        buf[offset] = (byte)(i & 0xff);
+        buf[offset + 1] = (byte)((i >> 8) & 0xff);
+        buf[offset + 2] = (byte)((i >> 16) & 0xff);
+        buf[offset + 3] = (byte)((i >> 24) & 0xff);
+    }
+}
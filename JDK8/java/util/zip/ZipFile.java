@@ -30,18 +30,23 @@ import java.io.InputStream;
 import java.io.IOException;
 import java.io.EOFException;
 import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -63,6 +68,7 @@ class ZipFile implements ZipConstants, Closeable {
     private final int total;       // total number of entries
     private final boolean locsig;  // if zip file starts with LOCSIG (usually true)
     private volatile boolean closeRequested = false;
+    private final MappedSource mapped; // non-null if opened with OPEN_MAPPED
 
     private static final int STORED = ZipEntry.STORED;
     private static final int DEFLATED = ZipEntry.DEFLATED;
@@ -81,6 +87,24 @@ class ZipFile implements ZipConstants, Closeable {
      */
     public static final int OPEN_DELETE = 0x4;
 
+    /**
+     * Mode flag to open a zip file by memory-mapping it.  The central
+     * directory is read once, when the file is opened, into an index
+     * from entry name to directory record.  Entries are then looked up
+     * and read without locking, so that different threads can read
+     * different entries concurrently, and the contents of <tt>STORED</tt>
+     * entries are available from {@link #getByteBuffer getByteBuffer}
+     * without copying.
+     *
+     * <p> The mapping is released when this <tt>ZipFile</tt> and any
+     * buffers returned by <tt>getByteBuffer</tt> are no longer
+     * referenced, not when the zip file is closed.  Zip files larger than
+     * <tt>Integer.MAX_VALUE</tt> bytes cannot be opened in this mode.
+     *
+     * @since 1.8
+     */
+    public static final int OPEN_MAPPED = 0x8;
+
     static {
         /* Zip library is loaded from System.initializeSystemClass */
         initIDs();
@@ -129,7 +153,8 @@ class ZipFile implements ZipConstants, Closeable {
     /**
      * Opens a new <code>ZipFile</code> to read from the specified
      * <code>File</code> object in the specified mode.  The mode argument
-     * must be either <tt>OPEN_READ</tt> or <tt>OPEN_READ | OPEN_DELETE</tt>.
+     * must be <tt>OPEN_READ</tt>, optionally combined with
+     * <tt>OPEN_DELETE</tt> and <tt>OPEN_MAPPED</tt>.
      *
      * <p>First, if there is a security manager, its <code>checkRead</code>
      * method is called with the <code>name</code> argument as its argument to
@@ -174,7 +199,8 @@ class ZipFile implements ZipConstants, Closeable {
     /**
      * Opens a new <code>ZipFile</code> to read from the specified
      * <code>File</code> object in the specified mode.  The mode argument
-     * must be either <tt>OPEN_READ</tt> or <tt>OPEN_READ | OPEN_DELETE</tt>.
+     * must be <tt>OPEN_READ</tt>, optionally combined with
+     * <tt>OPEN_DELETE</tt> and <tt>OPEN_MAPPED</tt>.
      *
      * <p>First, if there is a security manager, its <code>checkRead</code>
      * method is called with the <code>name</code> argument as its argument to
@@ -206,7 +232,7 @@ class ZipFile implements ZipConstants, Closeable {
     public ZipFile(File file, int mode, Charset charset) throws IOException
     {
         if (((mode & OPEN_READ) == 0) ||
-            ((mode & ~(OPEN_READ | OPEN_DELETE)) != 0)) {
+            ((mode & ~(OPEN_READ | OPEN_DELETE | OPEN_MAPPED)) != 0)) {
             throw new IllegalArgumentException("Illegal mode: 0x"+
                                                Integer.toHexString(mode));
         }
@@ -222,12 +248,23 @@ class ZipFile implements ZipConstants, Closeable {
             throw new NullPointerException("charset is null");
         this.zc = ZipCoder.get(charset);
         long t0 = System.nanoTime();
-        jzfile = open(name, mode, file.lastModified(), usemmap);
+        if ((mode & OPEN_MAPPED) != 0) {
+            this.mapped = MappedSource.open(file, charset);
+            if ((mode & OPEN_DELETE) != 0 && !file.delete()) {
+                file.deleteOnExit();
+            }
+            this.total = mapped.total;
+            this.locsig = mapped.startsWithLOC();
+        } else {
+            this.mapped = null;
+            jzfile = open(name, mode & ~OPEN_MAPPED, file.lastModified(),
+                          usemmap);
+            this.total = getTotal(jzfile);
+            this.locsig = startsWithLOC(jzfile);
+        }
         sun.misc.PerfCounter.getZipFileOpenTime().addElapsedTimeFrom(t0);
         sun.misc.PerfCounter.getZipFileCount().increment();
         this.name = name;
-        this.total = getTotal(jzfile);
-        this.locsig = startsWithLOC(jzfile);
     }
 
     /**
@@ -289,6 +326,10 @@ class ZipFile implements ZipConstants, Closeable {
      * Since 1.7
      */
     public String getComment() {
+        if (mapped != null) {
+            ensureOpen();
+            return mapped.getComment();
+        }
         synchronized (this) {
             ensureOpen();
             byte[] bcomm = getCommentBytes(jzfile);
@@ -310,6 +351,10 @@ class ZipFile implements ZipConstants, Closeable {
         if (name == null) {
             throw new NullPointerException("name");
         }
+        if (mapped != null) {
+            ensureOpen();
+            return mapped.getEntry(name, ensuretrailingslash);
+        }
         long jzentry = 0;
         synchronized (this) {
             ensureOpen();
@@ -360,6 +405,9 @@ class ZipFile implements ZipConstants, Closeable {
         if (entry == null) {
             throw new NullPointerException("entry");
         }
+        if (mapped != null) {
+            return getMappedInputStream(entry);
+        }
         long jzentry = 0;
         ZipFileInputStream in = null;
         synchronized (this) {
@@ -386,8 +434,8 @@ class ZipFile implements ZipConstants, Closeable {
                 if (size > 65536) size = 8192;
                 if (size <= 0) size = 4096;
                 Inflater inf = getInflater();
-                InputStream is =
-                    new ZipFileInflaterInputStream(in, inf, (int)size);
+                InputStream is = new ZipFileInflaterInputStream(
+                    in, getEntrySize(jzentry), inf, (int)size);
                 synchronized (streams) {
                     streams.put(is, inf);
                 }
@@ -398,15 +446,121 @@ class ZipFile implements ZipConstants, Closeable {
         }
     }
 
+    /*
+     * getInputStream for a zip file opened with OPEN_MAPPED.  Nothing
+     * here locks the ZipFile: the entry is found in the immutable index
+     * and its data is read from a slice of the mapping owned by the
+     * returned stream.
+     */
+    private InputStream getMappedInputStream(ZipEntry entry)
+        throws IOException
+    {
+        ensureOpen();
+        int pos = mapped.getEntryPos(entry);
+        if (pos == -1) {
+            return null;
+        }
+        MappedInputStream in = new MappedInputStream(mapped.getData(pos));
+        switch (mapped.getMethod(pos)) {
+        case STORED:
+            // Holds no native resources, so need not be tracked for close
+            return in;
+        case DEFLATED:
+            long entrySize = mapped.getSize(pos);
+            long size = entrySize + 2; // Inflater likes a bit of slack
+            if (size > 65536) size = 8192;
+            if (size <= 0) size = 4096;
+            Inflater inf = getInflater();
+            InputStream is =
+                new ZipFileInflaterInputStream(in, entrySize, inf, (int)size);
+            synchronized (streams) {
+                streams.put(is, inf);
+            }
+            return is;
+        default:
+            throw new ZipException("invalid compression method");
+        }
+    }
+
+    /**
+     * Returns a read-only buffer holding the uncompressed contents of the
+     * specified zip file entry, or null if the entry is not found.
+     *
+     * <p> If this zip file was opened with {@link #OPEN_MAPPED} and the
+     * entry is <tt>STORED</tt>, the buffer is a slice of the mapped file
+     * and no bytes are copied.  Such a buffer remains readable after this
+     * zip file is closed.  Otherwise the entry is read in full, as if
+     * from the stream returned by {@link #getInputStream getInputStream},
+     * into a new buffer.
+     *
+     * @param entry the zip file entry
+     * @return a read-only buffer with the contents of the entry, or null
+     *         if the entry is not found
+     * @throws ZipException if a ZIP format error has occurred
+     * @throws IOException if an I/O error has occurred
+     * @throws IllegalStateException if the zip file has been closed
+     * @throws OutOfMemoryError if the entry is larger than can be held
+     *         in a buffer
+     * @since 1.8
+     */
+    public ByteBuffer getByteBuffer(ZipEntry entry) throws IOException {
+        if (entry == null) {
+            throw new NullPointerException("entry");
+        }
+        if (mapped != null) {
+            ensureOpen();
+            int pos = mapped.getEntryPos(entry);
+            if (pos == -1) {
+                return null;
+            }
+            if (mapped.getMethod(pos) == STORED) {
+                return mapped.getData(pos);
+            }
+        }
+        try (InputStream in = getInputStream(entry)) {
+            if (in == null) {
+                return null;
+            }
+            long size = entry.getSize();
+            byte[] buf = new byte[(size > 0 && size < MAX_BUFFER_SIZE)
+                                  ? (int) size : 8192];
+            int n = 0;
+            for (;;) {
+                if (n == buf.length) {
+                    // Full: grow only if there is more to come
+                    int b = in.read();
+                    if (b < 0) {
+                        break;
+                    }
+                    if (buf.length == MAX_BUFFER_SIZE) {
+                        throw new OutOfMemoryError("Required array size too large");
+                    }
+                    buf = Arrays.copyOf(buf, (int) Math.min(
+                        (long) buf.length << 1, MAX_BUFFER_SIZE));
+                    buf[n++] = (byte) b;
+                }
+                int r = in.read(buf, n, buf.length - n);
+                if (r < 0) {
+                    break;
+                }
+                n += r;
+            }
+            return ByteBuffer.wrap(buf, 0, n).slice().asReadOnlyBuffer();
+        }
+    }
+
+    // The maximum size of array to allocate; some VMs reserve header words
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
     private class ZipFileInflaterInputStream extends InflaterInputStream {
         private volatile boolean closeRequested = false;
         private boolean eof = false;
-        private final ZipFileInputStream zfin;
+        private final long entrySize;
 
-        ZipFileInflaterInputStream(ZipFileInputStream zfin, Inflater inf,
-                int size) {
+        ZipFileInflaterInputStream(InputStream zfin, long entrySize,
+                Inflater inf, int size) {
             super(zfin, inf, size);
-            this.zfin = zfin;
+            this.entrySize = entrySize;
         }
 
         public void close() throws IOException {
@@ -443,7 +597,7 @@ class ZipFile implements ZipConstants, Closeable {
         public int available() throws IOException {
             if (closeRequested)
                 return 0;
-            long avail = zfin.size() - inf.getBytesWritten();
+            long avail = entrySize - inf.getBytesWritten();
             return (avail > (long) Integer.MAX_VALUE ?
                     Integer.MAX_VALUE : (int) avail);
         }
@@ -459,11 +613,9 @@ class ZipFile implements ZipConstants, Closeable {
      */
     private Inflater getInflater() {
         Inflater inf;
-        synchronized (inflaterCache) {
-            while (null != (inf = inflaterCache.poll())) {
-                if (false == inf.ended()) {
-                    return inf;
-                }
+        while (null != (inf = inflaterCache.poll())) {
+            if (false == inf.ended()) {
+                return inf;
             }
         }
         return new Inflater(true);
@@ -475,14 +627,12 @@ class ZipFile implements ZipConstants, Closeable {
     private void releaseInflater(Inflater inf) {
         if (false == inf.ended()) {
             inf.reset();
-            synchronized (inflaterCache) {
-                inflaterCache.add(inf);
-            }
+            inflaterCache.add(inf);
         }
     }
 
     // List of available Inflater objects for decompression
-    private Deque<Inflater> inflaterCache = new ArrayDeque<>();
+    private final Queue<Inflater> inflaterCache = new ConcurrentLinkedQueue<>();
 
     /**
      * Returns the path name of the ZIP file.
@@ -494,9 +644,13 @@ class ZipFile implements ZipConstants, Closeable {
 
     private class ZipEntryIterator implements Enumeration<ZipEntry>, Iterator<ZipEntry> {
         private int i = 0;
+        private int pos;    // position of the next CEN header if mapped
 
         public ZipEntryIterator() {
             ensureOpen();
+            if (mapped != null) {
+                pos = mapped.cenpos;
+            }
         }
 
         public boolean hasMoreElements() {
@@ -504,6 +658,10 @@ class ZipFile implements ZipConstants, Closeable {
         }
 
         public boolean hasNext() {
+            if (mapped != null) {
+                ensureOpen();
+                return i < total;
+            }
             synchronized (ZipFile.this) {
                 ensureOpen();
                 return i < total;
@@ -515,6 +673,16 @@ class ZipFile implements ZipConstants, Closeable {
         }
 
         public ZipEntry next() {
+            if (mapped != null) {
+                ensureOpen();
+                if (i >= total) {
+                    throw new NoSuchElementException();
+                }
+                i++;
+                ZipEntry ze = mapped.getZipEntry(null, pos);
+                pos = mapped.nextPos(pos);
+                return ze;
+            }
             synchronized (ZipFile.this) {
                 ensureOpen();
                 if (i >= total) {
@@ -645,10 +813,8 @@ class ZipFile implements ZipConstants, Closeable {
 
             // Release cached inflaters
             Inflater inf;
-            synchronized (inflaterCache) {
-                while (null != (inf = inflaterCache.poll())) {
-                    inf.end();
-                }
+            while (null != (inf = inflaterCache.poll())) {
+                inf.end();
             }
 
             if (jzfile != 0) {
@@ -686,7 +852,7 @@ class ZipFile implements ZipConstants, Closeable {
             throw new IllegalStateException("zip file closed");
         }
 
-        if (jzfile == 0) {
+        if (jzfile == 0 && mapped == null) {
             throw new IllegalStateException("The object is not initialized.");
         }
     }
@@ -794,12 +960,477 @@ class ZipFile implements ZipConstants, Closeable {
         }
     }
 
+    /*
+     * Input stream over the (possibly compressed) data of an entry in a
+     * zip file opened with OPEN_MAPPED.  Each stream reads from its own
+     * slice of the mapping, so reads take no locks.
+     */
+    private class MappedInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        MappedInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        public int read(byte b[], int off, int len) throws IOException {
+            ensureOpenOrZipException();
+            int rem = buf.remaining();
+            if (rem == 0) {
+                return -1;
+            }
+            if (len <= 0) {
+                return 0;
+            }
+            if (len > rem) {
+                len = rem;
+            }
+            buf.get(b, off, len);
+            return len;
+        }
+
+        public int read() throws IOException {
+            ensureOpenOrZipException();
+            return buf.hasRemaining() ? buf.get() & 0xff : -1;
+        }
+
+        public long skip(long n) {
+            if (n <= 0) {
+                return 0;
+            }
+            int k = (int) Math.min(n, buf.remaining());
+            buf.position(buf.position() + k);
+            return k;
+        }
+
+        public int available() {
+            return buf.remaining();
+        }
+
+        public void close() {
+            buf.position(buf.limit());
+        }
+    }
+
+    /*
+     * The mapped contents and central directory index of a zip file
+     * opened with OPEN_MAPPED.  All state is fixed once constructed and
+     * the mapping is only ever read at absolute positions, so instances
+     * may be used by any number of threads without locking.
+     */
+    private static final class MappedSource {
+        private final ByteBuffer buf;     // the whole file, little-endian
+        private final int locpos;         // position of the first LOC header
+        private final int cenpos;         // position of the first CEN header
+        private final int total;          // number of entries
+        private final int endpos;         // position of the END header
+        private final int[] table;        // pairs of name hash, CEN position
+        private final int mask;           // table index mask, in pairs
+        private final int[] metapos;      // CEN positions of META-INF/ names
+        private final Charset charset;    // for names not flagged UTF-8
+        private final boolean utf8;       // whether charset is UTF-8
+
+        private static final byte[] META_INF =
+            { 'M', 'E', 'T', 'A', '-', 'I', 'N', 'F', '/' };
+
+        static MappedSource open(File file, Charset charset)
+            throws IOException
+        {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                FileChannel ch = raf.getChannel();
+                long len = ch.size();
+                if (len > Integer.MAX_VALUE) {
+                    throw new ZipException("zip file too large to map");
+                }
+                ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, len);
+                return new MappedSource(buf.order(ByteOrder.LITTLE_ENDIAN),
+                                        charset);
+            }
+        }
+
+        private MappedSource(ByteBuffer buf, Charset charset)
+            throws ZipException
+        {
+            this.buf = buf;
+            this.charset = charset;
+            this.utf8 = charset.name().equals(StandardCharsets.UTF_8.name());
+            int end = findEND();
+            this.endpos = end;
+            long cenlen = get32(end + ENDSIZ);
+            long cenoff = get32(end + ENDOFF);
+            long cenend = end;
+            if (cenlen == ZIP64_MAGICVAL || cenoff == ZIP64_MAGICVAL ||
+                get16(end + ENDTOT) == ZIP64_MAGICCOUNT) {
+                // The ZIP64 END header immediately follows the directory
+                int loc64 = end - ZIP64_LOCHDR;
+                if (loc64 >= 0 && get32(loc64) == ZIP64_LOCSIG) {
+                    long end64 = get64(loc64 + ZIP64_LOCOFF);
+                    if (end64 >= 0 && end64 <= loc64 - ZIP64_ENDHDR &&
+                        get32((int) end64) == ZIP64_ENDSIG) {
+                        cenlen = get64((int) end64 + ZIP64_ENDSIZ);
+                        cenoff = get64((int) end64 + ZIP64_ENDOFF);
+                        cenend = end64;
+                    }
+                }
+            }
+            // Tolerate data prepended to the zip file by measuring back
+            // from the END header rather than trusting the CEN offset.
+            long cen = cenend - cenlen;
+            if (cenlen < 0 || cen < 0 || cenoff < 0 || cenoff > cen) {
+                throw new ZipException(
+                    "invalid END header (bad central directory offset)");
+            }
+            this.cenpos = (int) cen;
+            this.locpos = (int) (cen - cenoff);
+
+            // Walk the directory once to count and validate the entries.
+            int[] positions = new int[Math.max(get16(end + ENDTOT), 16)];
+            int n = 0;
+            int[] metas = new int[8];
+            int nmeta = 0;
+            for (int pos = cenpos; pos < cenend; pos = nextPos(pos)) {
+                if (pos + CENHDR > cenend || get32(pos) != CENSIG) {
+                    throw new ZipException("invalid CEN header (bad signature)");
+                }
+                if (nextPos(pos) > cenend) {
+                    throw new ZipException("invalid CEN header (bad header size)");
+                }
+                if (n == positions.length) {
+                    positions = Arrays.copyOf(positions, n << 1);
+                }
+                positions[n++] = pos;
+                if (isMetaName(pos + CENHDR, get16(pos + CENNAM))) {
+                    if (nmeta == metas.length) {
+                        metas = Arrays.copyOf(metas, nmeta << 1);
+                    }
+                    metas[nmeta++] = pos;
+                }
+            }
+            this.total = n;
+            this.metapos = Arrays.copyOf(metas, nmeta);
+
+            // Index the entries by name; at most half full.
+            int cap = Integer.highestOneBit(Math.max(n, 8)) << 3;
+            int[] tab = new int[cap];
+            int m = (cap >>> 1) - 1;
+            Arrays.fill(tab, -1);
+            for (int k = 0; k < n; k++) {
+                int pos = positions[k];
+                int h = hash(pos + CENHDR, get16(pos + CENNAM));
+                int i = spread(h) & m;
+                while (tab[(i << 1) + 1] != -1) {
+                    i = (i + 1) & m;
+                }
+                tab[i << 1] = h;
+                tab[(i << 1) + 1] = pos;
+            }
+            this.table = tab;
+            this.mask = m;
+        }
+
+        // Locates the END header by scanning back over the comment.
+        private int findEND() throws ZipException {
+            int len = buf.limit();
+            int min = Math.max(0, len - ENDHDR - 0xFFFF);
+            for (int end = len - ENDHDR; end >= min; end--) {
+                if (get32(end) == ENDSIG &&
+                    end + ENDHDR + get16(end + ENDCOM) <= len) {
+                    return end;
+                }
+            }
+            throw new ZipException("zip END header not found");
+        }
+
+        // Returns true if the name at off starts with "META-INF/", ignoring
+        // the case of ASCII letters as the native lookup does.
+        private boolean isMetaName(int off, int len) {
+            if (len < META_INF.length) {
+                return false;
+            }
+            for (int k = 0; k < META_INF.length; k++) {
+                int c = buf.get(off + k);
+                if (c >= 'a' && c <= 'z') {
+                    c += 'A' - 'a';
+                }
+                if (c != META_INF[k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /*
+         * Returns the names of the entries in the META-INF directory and
+         * its subdirectories, or null if there are none.
+         */
+        String[] getMetaInfEntryNames() {
+            if (metapos.length == 0) {
+                return null;
+            }
+            String[] names = new String[metapos.length];
+            for (int k = 0; k < names.length; k++) {
+                int pos = metapos[k];
+                names[k] = decode(pos + CENHDR, get16(pos + CENNAM),
+                                  (get16(pos + CENFLG) & EFS) != 0);
+            }
+            return names;
+        }
+
+        boolean startsWithLOC() {
+            return buf.limit() >= LOCHDR && get32(0) == LOCSIG;
+        }
+
+        // Returns the position of the CEN header following the one at pos.
+        int nextPos(int pos) {
+            return pos + CENHDR + get16(pos + CENNAM) + get16(pos + CENEXT)
+                       + get16(pos + CENCOM);
+        }
+
+        String getComment() {
+            int len = get16(endpos + ENDCOM);
+            if (len == 0) {
+                return null;
+            }
+            return decode(endpos + ENDHDR, len, false);
+        }
+
+        ZipEntry getEntry(String name, boolean useFoundName) {
+            int pos = getEntryPos(encode(name, false), true);
+            if (pos == -1) {
+                return null;
+            }
+            return getZipEntry(useFoundName ? null : name, pos);
+        }
+
+        // Returns the position of the CEN header for the given entry, or -1.
+        int getEntryPos(ZipEntry entry) {
+            return getEntryPos(encode(entry.name, (entry.flag & EFS) != 0),
+                               false);
+        }
+
+        /*
+         * Encodes a name in the charset of this file, or in UTF-8 if
+         * forceUTF8 is true.  A ZipCoder holds charset coders, which are
+         * not thread-safe, so ASCII names in UTF-8 are encoded here and a
+         * coder is created only for the remaining names.
+         */
+        private byte[] encode(String s, boolean forceUTF8) {
+            if (!utf8 && !forceUTF8) {
+                return ZipCoder.get(charset).getBytes(s);
+            }
+            int len = s.length();
+            byte[] b = new byte[len];
+            for (int k = 0; k < len; k++) {
+                char c = s.charAt(k);
+                if (c >= 0x80) {
+                    return ZipCoder.get(StandardCharsets.UTF_8).getBytes(s);
+                }
+                b[k] = (byte) c;
+            }
+            return b;
+        }
+
+        /*
+         * Decodes the name or comment of len bytes at off, in the same
+         * way as encode.
+         */
+        private String decode(int off, int len, boolean forceUTF8) {
+            if (!utf8 && !forceUTF8) {
+                return ZipCoder.get(charset).toString(getBytes(off, len), len);
+            }
+            char[] ca = new char[len];
+            for (int k = 0; k < len; k++) {
+                byte b = buf.get(off + k);
+                if (b < 0) {
+                    return ZipCoder.get(StandardCharsets.UTF_8)
+                                   .toString(getBytes(off, len), len);
+                }
+                ca[k] = (char) b;
+            }
+            return new String(ca);
+        }
+
+        /*
+         * Returns the position of the CEN header for the given encoded
+         * name, or -1.  If addSlash is true and there is no such entry,
+         * looks up the name with a slash appended, as the native lookup
+         * does.
+         */
+        private int getEntryPos(byte[] name, boolean addSlash) {
+            int h = 0;
+            for (byte b : name) {
+                h = 31 * h + b;
+            }
+            int pos = find(name, h, false);
+            if (pos == -1 && addSlash && name.length > 0 &&
+                name[name.length - 1] != '/') {
+                pos = find(name, 31 * h + '/', true);
+            }
+            return pos;
+        }
+
+        private int find(byte[] name, int h, boolean slash) {
+            int nlen = slash ? name.length + 1 : name.length;
+            final int[] tab = table;
+            for (int i = spread(h) & mask; ; i = (i + 1) & mask) {
+                int pos = tab[(i << 1) + 1];
+                if (pos == -1) {
+                    return -1;
+                }
+                if (tab[i << 1] == h && get16(pos + CENNAM) == nlen &&
+                    nameEquals(pos + CENHDR, name, slash)) {
+                    return pos;
+                }
+            }
+        }
+
+        private boolean nameEquals(int off, byte[] name, boolean slash) {
+            for (int k = 0; k < name.length; k++) {
+                if (buf.get(off + k) != name[k]) {
+                    return false;
+                }
+            }
+            return !slash || buf.get(off + name.length) == '/';
+        }
+
+        private int hash(int off, int len) {
+            int h = 0;
+            for (int end = off + len; off < end; off++) {
+                h = 31 * h + buf.get(off);
+            }
+            return h;
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+
+        int getMethod(int pos) {
+            return get16(pos + CENHOW);
+        }
+
+        long getSize(int pos) {
+            return getZip64(pos, get32(pos + CENLEN), 0);
+        }
+
+        long getCSize(int pos) {
+            long size = get32(pos + CENLEN);
+            return getZip64(pos, get32(pos + CENSIZ),
+                            size == ZIP64_MAGICVAL ? 1 : 0);
+        }
+
+        /*
+         * Returns the given 32-bit value from the CEN header at pos, or the
+         * 64-bit value it stands for in the ZIP64 extra field.  The ZIP64
+         * field holds only the values that overflowed, in the order size,
+         * compressed size, LOC offset; skip is the number of overflowed
+         * values that precede the one wanted.
+         */
+        private long getZip64(int pos, long value, int skip) {
+            if (value != ZIP64_MAGICVAL) {
+                return value;
+            }
+            int off = pos + CENHDR + get16(pos + CENNAM);
+            int end = off + get16(pos + CENEXT);
+            while (off + 4 <= end) {
+                int tag = get16(off);
+                int sz = get16(off + 2);
+                off += 4;
+                if (off + sz > end) {
+                    break;
+                }
+                if (tag == ZIP64_EXTID) {
+                    int at = off + (skip << 3);
+                    if (at + 8 <= off + sz) {
+                        return get64(at);
+                    }
+                    break;
+                }
+                off += sz;
+            }
+            return value;
+        }
+
+        /*
+         * Returns a read-only slice of the mapping holding the compressed
+         * data of the entry whose CEN header is at pos.
+         */
+        ByteBuffer getData(int pos) throws ZipException {
+            long size = get32(pos + CENLEN);
+            long csize = get32(pos + CENSIZ);
+            int skip = (size == ZIP64_MAGICVAL ? 1 : 0)
+                       + (csize == ZIP64_MAGICVAL ? 1 : 0);
+            long loc = locpos + getZip64(pos, get32(pos + CENOFF), skip);
+            if (loc < 0 || loc + LOCHDR > cenpos || get32((int) loc) != LOCSIG) {
+                throw new ZipException("invalid LOC header (bad signature)");
+            }
+            long start = loc + LOCHDR + get16((int) loc + LOCNAM)
+                             + get16((int) loc + LOCEXT);
+            long end = start + getCSize(pos);
+            if (end < start || end > cenpos) {
+                throw new ZipException("invalid LOC header (bad entry size)");
+            }
+            ByteBuffer data = buf.duplicate();
+            data.limit((int) end);
+            data.position((int) start);
+            return data.slice();
+        }
+
+        ZipEntry getZipEntry(String name, int pos) {
+            ZipEntry e = new ZipEntry();
+            e.flag = get16(pos + CENFLG);  // get the flag first
+            int nlen = get16(pos + CENNAM);
+            int elen = get16(pos + CENEXT);
+            int clen = get16(pos + CENCOM);
+            if (name != null) {
+                e.name = name;
+            } else {
+                e.name = decode(pos + CENHDR, nlen, (e.flag & EFS) != 0);
+            }
+            e.xdostime = get32(pos + CENTIM);
+            e.crc = get32(pos + CENCRC);
+            e.size = getSize(pos);
+            e.csize = getCSize(pos);
+            e.method = getMethod(pos);
+            if (elen > 0) {
+                e.setExtra0(getBytes(pos + CENHDR + nlen, elen), false);
+            }
+            if (clen > 0) {
+                e.comment = decode(pos + CENHDR + nlen + elen, clen,
+                                   (e.flag & EFS) != 0);
+            }
+            return e;
+        }
+
+        private byte[] getBytes(int off, int len) {
+            byte[] b = new byte[len];
+            ByteBuffer src = buf.duplicate();
+            src.position(off);
+            src.get(b);
+            return b;
+        }
+
+        private int get16(int off) {
+            return buf.getShort(off) & 0xffff;
+        }
+
+        private long get32(int off) {
+            return buf.getInt(off) & 0xffffffffL;
+        }
+
+        private long get64(int off) {
+            return buf.getLong(off);
+        }
+    }
+
     static {
         sun.misc.SharedSecrets.setJavaUtilZipFileAccess(
             new sun.misc.JavaUtilZipFileAccess() {
                 public boolean startsWithLocHeader(ZipFile zip) {
                     return zip.startsWithLocHeader();
                 }
+                public String[] getMetaInfEntryNames(ZipFile zip) {
+                    return zip.getMetaInfEntryNames();
+                }
              }
         );
     }
@@ -812,6 +1443,16 @@ class ZipFile implements ZipConstants, Closeable {
         return locsig;
     }
 
+    /*
+     * Returns the names of the META-INF entries of a zip file opened with
+     * OPEN_MAPPED, read from its mapped central directory, or null if
+     * there are none.
+     */
+    private String[] getMetaInfEntryNames() {
+        ensureOpen();
+        return mapped.getMetaInfEntryNames();
+    }
+
     private static native long open(String name, int mode, long lastModified,
                                     boolean usemmap) throws IOException;
     private static native int getTotal(long jzfile);